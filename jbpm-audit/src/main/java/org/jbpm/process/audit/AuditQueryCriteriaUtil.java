@@ -47,6 +47,7 @@ import static org.kie.internal.query.QueryParameterIdentifiers.WORK_ITEM_ID_LIST
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
@@ -168,7 +169,7 @@ public class AuditQueryCriteriaUtil extends QueryCriteriaUtil {
     protected <T> List<T> createQueryAndCallApplyMetaCriteriaAndGetResult(QueryWhere queryWhere, CriteriaQuery<T> criteriaQuery, CriteriaBuilder builder) { 
         EntityManager em = getEntityManager();
         Object newTx = joinTransaction(em);
-        Query query = em.createQuery(criteriaQuery);
+        Query query = createQuery(em, criteriaQuery);
     
         applyMetaCriteriaToQuery(query, queryWhere);
         
@@ -180,6 +181,24 @@ public class AuditQueryCriteriaUtil extends QueryCriteriaUtil {
         return result;
     }
 
+    @Override
+    protected <T> Stream<T> createQueryAndCallApplyMetaCriteriaAndGetResultStream(QueryWhere queryWhere, CriteriaQuery<T> criteriaQuery, CriteriaBuilder builder, int fetchSize) {
+        EntityManager em = getEntityManager();
+        Object newTx = joinTransaction(em);
+        try {
+            Query query = createQuery(em, criteriaQuery);
+
+            applyMetaCriteriaToQuery(query, queryWhere);
+
+            // the entity manager is closed when the stream is closed
+            Stream<T> result = getResultStream(em, query, fetchSize);
+            return result.onClose(() -> closeEntityManager(em, newTx));
+        } catch( RuntimeException re ) {
+            closeEntityManager(em, newTx);
+            throw re;
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <R,T> Predicate implSpecificCreatePredicateFromSingleCriteria( 
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -340,6 +341,16 @@ public class JPAAuditLogService extends JPAService implements AuditLogService {
         return convertListToInterfaceList(results, resultClass);
     }
 
+    /**
+     * Retrieves the results of the query lazily, <code>fetchSize</code> rows at a time.
+     * </p>
+     * The returned {@link Stream} keeps the {@link EntityManager} open and <b>must</b> be closed.
+     */
+    public <T,R> Stream<R> streamLogs(QueryWhere queryData, Class<T> queryClass, Class<R> resultClass, int fetchSize) {
+        Stream<T> results = getQueryCriteriaUtil(queryClass).doCriteriaQueryStream(queryData, queryClass, fetchSize);
+        return results.map(resultClass::cast);
+    }
+
     private final AuditQueryCriteriaUtil queryUtil = new AuditQueryCriteriaUtil(this);
    
     protected QueryCriteriaUtil getQueryCriteriaUtil(Class<?> queryType) {
@@ -18,16 +18,17 @@ package org.jbpm.process.audit.query;
 
 import org.jbpm.process.audit.JPAAuditLogService;
 import org.jbpm.process.audit.command.AuditCommand;
+import org.jbpm.query.jpa.builder.StreamableParametrizedQuery;
 import org.jbpm.query.jpa.builder.impl.AbstractQueryBuilderImpl;
 import org.jbpm.query.jpa.data.QueryWhere;
 import org.kie.api.runtime.CommandExecutor;
 import org.kie.api.runtime.Context;
-import org.kie.internal.query.ParametrizedQuery;
 import org.kie.internal.query.QueryParameterIdentifiers;
 import org.kie.internal.runtime.manager.audit.query.AuditLogQueryBuilder;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.kie.internal.query.QueryParameterIdentifiers.*;
 
@@ -136,13 +137,18 @@ public abstract class AbstractAuditQueryBuilderImpl<T,R> extends AbstractQueryBu
     protected abstract Class getQueryType();
     
     @Override
-    public ParametrizedQuery<R> build() {
-        return new ParametrizedQuery<R>() {
+    public StreamableParametrizedQuery<R> build() {
+        return new StreamableParametrizedQuery<R>() {
             private QueryWhere queryData = new QueryWhere(getQueryWhere()); 
+            private int queryFetchSize = fetchSize;
             @Override
             public List<R> getResultList() {
                 return getJpaAuditLogService().queryLogs(queryData, getQueryType(), getResultType());
             }
+            @Override
+            public Stream<R> getResultStream() {
+                return getJpaAuditLogService().streamLogs(queryData, getQueryType(), getResultType(), queryFetchSize);
+            }
         };
     }
 
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.audit.query;
+
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.cleanDB;
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.createTestNodeInstanceLogData;
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.createTestProcessInstanceLogData;
+import static org.jbpm.test.persistence.util.PersistenceUtil.JBPM_PERSISTENCE_UNIT_NAME;
+import static org.jbpm.test.persistence.util.PersistenceUtil.cleanUp;
+import static org.jbpm.test.persistence.util.PersistenceUtil.setupWithPoolingDataSource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.kie.api.runtime.EnvironmentName.ENTITY_MANAGER_FACTORY;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.jbpm.process.audit.JPAAuditLogService;
+import org.jbpm.process.audit.ProcessInstanceLog;
+import org.jbpm.query.jpa.builder.StreamableParametrizedQuery;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.kie.api.runtime.manager.audit.NodeInstanceLog;
+import org.kie.internal.runtime.manager.audit.query.AuditLogQueryBuilder.OrderBy;
+
+public class AuditQueryPagingTest {
+
+    private static HashMap<String, Object> context;
+    private static EntityManagerFactory emf;
+    private static JPAAuditLogService auditLogService;
+
+    private ProcessInstanceLog [] pilTestData;
+
+    @BeforeClass
+    public static void configure() {
+        AbstractBaseTest.hackTheDatabaseMetadataLoggerBecauseTheresALogbackXmlInTheClasspath();
+        context = setupWithPoolingDataSource(JBPM_PERSISTENCE_UNIT_NAME);
+        emf = (EntityManagerFactory) context.get(ENTITY_MANAGER_FACTORY);
+        auditLogService = new JPAAuditLogService(emf);
+    }
+
+    @AfterClass
+    public static void reset() {
+        cleanUp(context);
+    }
+
+    @Before
+    public void setUp() {
+        pilTestData = createTestProcessInstanceLogData(emf);
+        createTestNodeInstanceLogData(emf);
+    }
+
+    @After
+    public void tearDown() {
+        cleanDB(emf);
+    }
+
+    @Test
+    public void seekByIdTest() {
+        List<ProcessInstanceLog> expected = new ArrayList<ProcessInstanceLog>();
+        for( ProcessInstanceLog pil : pilTestData ) {
+            expected.add(pil);
+        }
+        expected.sort(Comparator.comparing(ProcessInstanceLog::getId));
+
+        List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> result = new ArrayList<>();
+        List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> page = query().maxResults(3).build().getResultList();
+        while( ! page.isEmpty() ) {
+            assertTrue(page.size() <= 3);
+            result.addAll(page);
+            long lastId = ((ProcessInstanceLog) page.get(page.size()-1)).getId();
+            page = query().seekAfter(lastId).maxResults(3).build().getResultList();
+        }
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void seekByOrderByValueTest() {
+        // two of the process instance logs have the same process id
+        List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> expected = query().ascending(OrderBy.processId).build().getResultList();
+        assertEquals(pilTestData.length, expected.size());
+        assertEquals(expected, seekPages(OrderBy.processId, true, 2));
+
+        expected = query().descending(OrderBy.processInstanceId).build().getResultList();
+        assertEquals(pilTestData.length, expected.size());
+        assertEquals(expected, seekPages(OrderBy.processInstanceId, false, 2));
+    }
+
+    @Test
+    public void seekPagesMatchOffsetPagesTest() {
+        int pageSize = 4;
+        for( int offset = 0; offset < pilTestData.length; offset += pageSize ) {
+            List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> offsetPage
+                = query().ascending(OrderBy.processId).offset(offset).maxResults(pageSize).build().getResultList();
+            if( offset > 0 ) {
+                ProcessInstanceLog last
+                    = (ProcessInstanceLog) query().ascending(OrderBy.processId).offset(offset - 1).maxResults(1).build().getResultList().get(0);
+                List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> seekPage
+                    = query().seekAfter(last.getProcessId(), last.getId()).ascending(OrderBy.processId).maxResults(pageSize).build().getResultList();
+                assertEquals(offsetPage, seekPage);
+            }
+        }
+    }
+
+    @Test
+    public void seekByNullableOrderByValueTest() {
+        // the process id of every third process instance log is null
+        List<Long> nullIds = new ArrayList<Long>();
+        for( int i = 0; i < pilTestData.length; i += 3 ) {
+            nullIds.add(pilTestData[i].getId());
+        }
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        em.createQuery("update ProcessInstanceLog set processId = null where id in (:ids)").setParameter("ids", nullIds).executeUpdate();
+        em.getTransaction().commit();
+        em.close();
+
+        // the null values are ordered last, or first when descending
+        List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> expected = query().ascending(OrderBy.processId).build().getResultList();
+        assertEquals(pilTestData.length, expected.size());
+        for( int i = 0; i < expected.size(); ++i ) {
+            assertEquals(i >= expected.size() - nullIds.size(), expected.get(i).getProcessId() == null);
+        }
+        for( int pageSize = 1; pageSize <= 4; ++pageSize ) {
+            assertEquals(expected, seekPages(OrderBy.processId, true, pageSize));
+        }
+
+        expected = query().descending(OrderBy.processId).build().getResultList();
+        assertEquals(pilTestData.length, expected.size());
+        for( int i = 0; i < expected.size(); ++i ) {
+            assertEquals(i < nullIds.size(), expected.get(i).getProcessId() == null);
+        }
+        for( int pageSize = 1; pageSize <= 4; ++pageSize ) {
+            assertEquals(expected, seekPages(OrderBy.processId, false, pageSize));
+        }
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void seekWithoutOrderByValueTest() {
+        query().seekAfter(pilTestData[0].getId()).ascending(OrderBy.processId).build().getResultList();
+    }
+
+    @Test
+    public void streamTest() {
+        ProcInstLogQueryBuilderImpl builder = query();
+        builder.fetchSize(2).ascending(OrderBy.processInstanceId);
+        StreamableParametrizedQuery<org.kie.api.runtime.manager.audit.ProcessInstanceLog> query = builder.build();
+        List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> expected = query.getResultList();
+        try( Stream<org.kie.api.runtime.manager.audit.ProcessInstanceLog> stream = query.getResultStream() ) {
+            assertEquals(expected, stream.collect(Collectors.toList()));
+        }
+
+        builder = query();
+        builder.maxResults(5);
+        try( Stream<org.kie.api.runtime.manager.audit.ProcessInstanceLog> stream = builder.build().getResultStream() ) {
+            assertEquals(5, stream.count());
+        }
+
+        NodeInstLogQueryBuilderImpl nodeQuery = (NodeInstLogQueryBuilderImpl) auditLogService.nodeInstanceLogQuery();
+        List<NodeInstanceLog> nodeLogs = nodeQuery.build().getResultList();
+        nodeQuery.fetchSize(3);
+        try( Stream<NodeInstanceLog> stream = nodeQuery.build().getResultStream() ) {
+            assertEquals(nodeLogs.size(), stream.count());
+        }
+    }
+
+    private ProcInstLogQueryBuilderImpl query() {
+        return (ProcInstLogQueryBuilderImpl) auditLogService.processInstanceLogQuery();
+    }
+
+    private List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> seekPages(OrderBy orderBy, boolean ascending, int pageSize) {
+        List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> result = new ArrayList<>();
+        ProcessInstanceLog last = null;
+        while( true ) {
+            ProcInstLogQueryBuilderImpl builder = query();
+            if( ascending ) {
+                builder.ascending(orderBy);
+            } else {
+                builder.descending(orderBy);
+            }
+            if( last != null ) {
+                Object lastValue = orderBy == OrderBy.processId ? last.getProcessId() : last.getProcessInstanceId();
+                builder.seekAfter(lastValue, last.getId());
+            }
+            List<org.kie.api.runtime.manager.audit.ProcessInstanceLog> page = builder.maxResults(pageSize).build().getResultList();
+            if( page.isEmpty() ) {
+                return result;
+            }
+            result.addAll(page);
+            last = (ProcessInstanceLog) page.get(page.size()-1);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.audit.query;
+
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.cleanDB;
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.createTestNodeInstanceLogData;
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.createTestProcessInstanceLogData;
+import static org.jbpm.process.audit.query.AuditQueryDataUtil.createTestVariableInstanceLogData;
+import static org.jbpm.test.persistence.util.PersistenceUtil.JBPM_PERSISTENCE_UNIT_NAME;
+import static org.jbpm.test.persistence.util.PersistenceUtil.cleanUp;
+import static org.jbpm.test.persistence.util.PersistenceUtil.setupWithPoolingDataSource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.kie.api.runtime.EnvironmentName.ENTITY_MANAGER_FACTORY;
+import static org.kie.internal.query.QueryParameterIdentifiers.LAST_VARIABLE_LIST;
+import static org.kie.internal.query.QueryParameterIdentifiers.NODE_NAME_LIST;
+import static org.kie.internal.query.QueryParameterIdentifiers.PROCESS_ID_LIST;
+import static org.kie.internal.query.QueryParameterIdentifiers.PROCESS_INSTANCE_ID_LIST;
+import static org.kie.internal.query.QueryParameterIdentifiers.START_DATE_LIST;
+
+import java.util.HashMap;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.jbpm.process.audit.AuditQueryCriteriaUtil;
+import org.jbpm.process.audit.JPAAuditLogService;
+import org.jbpm.process.audit.NodeInstanceLog;
+import org.jbpm.process.audit.ProcessInstanceLog;
+import org.jbpm.process.audit.VariableInstanceLog;
+import org.jbpm.query.jpa.data.QueryWhere;
+import org.jbpm.query.jpa.impl.QueryPlanCache;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AuditQueryPlanCacheTest {
+
+    private static HashMap<String, Object> context;
+    private static EntityManagerFactory emf;
+    private static JPAAuditLogService auditLogService;
+
+    private ProcessInstanceLog [] pilTestData;
+    private NodeInstanceLog [] nilTestData;
+
+    private AuditQueryCriteriaUtil cachedUtil;
+    private AuditQueryCriteriaUtil util;
+    private QueryPlanCache cache;
+
+    @BeforeClass
+    public static void configure() {
+        AbstractBaseTest.hackTheDatabaseMetadataLoggerBecauseTheresALogbackXmlInTheClasspath();
+        context = setupWithPoolingDataSource(JBPM_PERSISTENCE_UNIT_NAME);
+        emf = (EntityManagerFactory) context.get(ENTITY_MANAGER_FACTORY);
+        auditLogService = new JPAAuditLogService(emf);
+    }
+
+    @AfterClass
+    public static void reset() {
+        cleanUp(context);
+    }
+
+    @Before
+    public void setUp() {
+        pilTestData = createTestProcessInstanceLogData(emf);
+        createTestVariableInstanceLogData(emf);
+        nilTestData = createTestNodeInstanceLogData(emf);
+
+        cache = new QueryPlanCache(16);
+        cachedUtil = new AuditQueryCriteriaUtil(auditLogService);
+        cachedUtil.setQueryPlanCache(cache);
+        util = new AuditQueryCriteriaUtil(auditLogService);
+        util.setQueryPlanCache(null);
+    }
+
+    @After
+    public void tearDown() {
+        cleanDB(emf);
+    }
+
+    @Test
+    public void sameShapeReusesQueryPlanTest() {
+        for( ProcessInstanceLog pil : pilTestData ) {
+            QueryWhere where = new QueryWhere();
+            where.addParameter(PROCESS_ID_LIST, pil.getProcessId());
+            assertSameResult(where, ProcessInstanceLog.class);
+        }
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(pilTestData.length - 1, cache.getHits());
+        assertTrue(cache.getHitRate() > 0.9);
+    }
+
+    @Test
+    public void listArityIsPartOfShapeTest() {
+        QueryWhere where = new QueryWhere();
+        where.addParameter(PROCESS_INSTANCE_ID_LIST, pilTestData[0].getProcessInstanceId(), pilTestData[1].getProcessInstanceId());
+        assertSameResult(where, ProcessInstanceLog.class);
+
+        where = new QueryWhere();
+        where.addParameter(PROCESS_INSTANCE_ID_LIST, pilTestData[2].getProcessInstanceId(), pilTestData[3].getProcessInstanceId());
+        assertSameResult(where, ProcessInstanceLog.class);
+
+        where = new QueryWhere();
+        where.addParameter(PROCESS_INSTANCE_ID_LIST,
+                pilTestData[4].getProcessInstanceId(), pilTestData[5].getProcessInstanceId(), pilTestData[6].getProcessInstanceId());
+        assertSameResult(where, ProcessInstanceLog.class);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void rangeRegexpGroupAndMetaCriteriaTest() {
+        for( int i = 0; i < 3; ++i ) {
+            // range criteria are combined (modified) when creating the query, so use separate instances
+            QueryWhere where = createRangeRegexpGroupQueryWhere(i);
+            List<ProcessInstanceLog> result = cachedUtil.doCriteriaQuery(where, ProcessInstanceLog.class);
+            List<ProcessInstanceLog> expected = util.doCriteriaQuery(createRangeRegexpGroupQueryWhere(i), ProcessInstanceLog.class);
+            assertEquals(expected, result);
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+
+        // a different range operator is a different shape
+        QueryWhere where = new QueryWhere();
+        where.addRangeParameter(START_DATE_LIST, pilTestData[0].getStart(), true);
+        assertSameResult(where, ProcessInstanceLog.class);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void differentQueryTypesAreSeparateShapesTest() {
+        QueryWhere where = new QueryWhere();
+        where.addParameter(PROCESS_INSTANCE_ID_LIST, nilTestData[0].getProcessInstanceId());
+        assertSameResult(where, NodeInstanceLog.class);
+
+        where = new QueryWhere();
+        where.addParameter(PROCESS_INSTANCE_ID_LIST, pilTestData[0].getProcessInstanceId());
+        assertSameResult(where, ProcessInstanceLog.class);
+
+        where = new QueryWhere();
+        where.setToLike();
+        where.addParameter(NODE_NAME_LIST, nilTestData[1].getNodeName());
+        assertSameResult(where, NodeInstanceLog.class);
+
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void implementationSpecificCriteriaAreNotCachedTest() {
+        for( int i = 0; i < 2; ++i ) {
+            QueryWhere where = new QueryWhere();
+            where.addParameter(LAST_VARIABLE_LIST, true);
+            List<VariableInstanceLog> cachedResult = cachedUtil.doCriteriaQuery(where, VariableInstanceLog.class);
+            assertFalse(cachedResult.isEmpty());
+        }
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getUncacheable());
+        assertEquals(0, cache.getHitRate(), 0);
+    }
+
+    @Test
+    public void disabledCacheTest() {
+        assertNull(util.getQueryPlanCache());
+        QueryWhere where = new QueryWhere();
+        where.addParameter(PROCESS_ID_LIST, pilTestData[3].getProcessId());
+        assertEquals(2, util.doCriteriaQuery(where, ProcessInstanceLog.class).size());
+    }
+
+    private <T> void assertSameResult(QueryWhere where, Class<T> queryType) {
+        List<T> result = cachedUtil.doCriteriaQuery(where, queryType);
+        List<T> expected = util.doCriteriaQuery(where, queryType);
+        assertEquals(expected, result);
+    }
+
+    private QueryWhere createRangeRegexpGroupQueryWhere(int i) {
+        QueryWhere where = new QueryWhere();
+        where.setToIntersection();
+        where.addRangeParameter(START_DATE_LIST, pilTestData[i].getStart(), true);
+        where.addRangeParameter(START_DATE_LIST, pilTestData[i + 5].getStart(), false);
+        where.newGroup();
+        where.setToUnion();
+        where.setToLike();
+        where.addParameter(PROCESS_ID_LIST, pilTestData[i].getProcessId().substring(0, 3) + "*");
+        where.setToNormal();
+        where.addParameter(PROCESS_ID_LIST, pilTestData[i + 1].getProcessId());
+        where.endGroup();
+        where.setDescending(PROCESS_INSTANCE_ID_LIST);
+        where.setCount(3);
+        return where;
+    }
+}
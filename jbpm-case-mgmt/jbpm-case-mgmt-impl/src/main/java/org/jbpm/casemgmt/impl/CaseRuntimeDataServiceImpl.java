@@ -42,7 +42,11 @@ import org.jbpm.casemgmt.api.model.CaseStatus;
 import org.jbpm.casemgmt.api.model.instance.CaseInstance;
 import org.jbpm.casemgmt.api.model.instance.CaseMilestoneInstance;
 import org.jbpm.casemgmt.api.model.instance.CaseStageInstance;
+import org.jbpm.casemgmt.api.model.instance.MilestoneStatus;
 import org.jbpm.casemgmt.api.model.instance.StageStatus;
+import org.jbpm.casemgmt.impl.audit.CaseMilestoneLog;
+import org.jbpm.casemgmt.impl.audit.CaseProjectionEventListener;
+import org.jbpm.casemgmt.impl.audit.CaseStageLog;
 import org.jbpm.casemgmt.impl.model.AdHocFragmentImpl;
 import org.jbpm.casemgmt.impl.model.CaseDefinitionComparator;
 import org.jbpm.casemgmt.impl.model.CaseDefinitionImpl;
@@ -107,6 +111,9 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
     
     // default statuses set to active only
     private List<CaseStatus> statuses = Arrays.asList(CaseStatus.OPEN);
+
+    // use case projection maintained by CaseProjectionEventListener for milestones, stages and sub cases
+    private boolean caseProjectionEnabled = CaseProjectionEventListener.isEnabled();
     
     private static final List<Status> allActiveStatus = Arrays.asList(
         Status.Created,
@@ -148,6 +155,10 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
         this.deploymentRolesManager = deploymentRolesManager;
     }
 
+    public void setCaseProjectionEnabled(boolean caseProjectionEnabled) {
+        this.caseProjectionEnabled = caseProjectionEnabled;
+    }
+
     /*
      * Deploy and undeploy handling
      */    
@@ -343,6 +354,9 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
         if (pi == null || !pi.getState().equals(ProcessInstance.STATE_ACTIVE)) {
             throw new CaseNotFoundException("No case instance found with id " + caseId + " or it's not active anymore");
         }
+        if (caseProjectionEnabled) {
+            return getCaseMilestonesFromProjection(caseId, achievedOnly, queryContext);
+        }
         CorrelationKey correlationKey = correlationKeyFactory.newCorrelationKey(caseId);
 
         Collection<org.jbpm.services.api.model.NodeInstanceDesc> nodes = runtimeDataService.getNodeInstancesByCorrelationKeyNodeType(correlationKey,
@@ -373,6 +387,22 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
         return applyPagination(sortedMilestones, queryContext);
     }
 
+    private Collection<CaseMilestoneInstance> getCaseMilestonesFromProjection(String caseId, boolean achievedOnly, QueryContext queryContext) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("caseId", caseId);
+        if (achievedOnly) {
+            params.put("statuses", Arrays.asList(MilestoneStatus.Completed.ordinal()));
+        } else {
+            params.put("statuses", Arrays.asList(MilestoneStatus.Available.ordinal(), MilestoneStatus.Completed.ordinal()));
+        }
+        applyPaging(params, queryContext);
+        List<CaseMilestoneLog> milestones = commandService.execute(new QueryNameCommand<List<CaseMilestoneLog>>("getCaseMilestonesFromProjection", params));
+
+        return milestones.stream()
+                         .map(m -> new CaseMilestoneInstanceImpl(m.getMilestoneId(), m.getMilestoneName(), m.getStatus() == MilestoneStatus.Completed, m.getAchievedAt()))
+                         .collect(toList());
+    }
+
     private int compareMilestones(CaseMilestoneInstance o1, CaseMilestoneInstance o2) {
         if (o1.getAchievedAt() == null) {
             return -1;
@@ -391,6 +421,10 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
         
         CaseDefinition caseDef = getCase(pi.getDeploymentId(), pi.getProcessId());
         List<CaseStageInstance> stages = internalGetCaseStages(caseDef, caseId, activeOnly, queryContext);
+        if (caseProjectionEnabled) {
+            // already paged by the projection query
+            return Collections.unmodifiableCollection(stages);
+        }
         
         return applyPagination(stages, queryContext);
     }
@@ -441,11 +475,18 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
 
     @Override
     public Collection<CaseInstance> getSubCaseInstancesByParentCaseId(String parentCaseId, List<CaseStatus> statuses, QueryContext queryContext) {
+        if (caseProjectionEnabled) {
+            return getDescendantCasesFromProjection(parentCaseId, 1, 1, statuses, queryContext);
+        }
         return getSubCases(Arrays.asList(parentCaseId), statuses, queryContext);
     }
 
     @Override
     public Collection<CaseInstance> getAllDescendantSubCaseInstancesByParentCaseId(String parentCaseId, List<CaseStatus> statuses) {
+        if (caseProjectionEnabled) {
+            // closure table holds all levels of the hierarchy so single query is enough
+            return getDescendantCasesFromProjection(parentCaseId, 1, Integer.MAX_VALUE, statuses, null);
+        }
         // this will iterate foreach level. It will do as much queries as levels in the hierarchy
         List<CaseInstance> cases = new ArrayList<>();
         List<String> ids = Arrays.asList(parentCaseId);
@@ -467,6 +508,18 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
         return commandService.execute(new QueryNameCommand<List<CaseInstance>>("getSubCaseInstancesByParentCaseIds", params));
     }
 
+    private Collection<CaseInstance> getDescendantCasesFromProjection(String parentCaseId, int minDepth, int maxDepth, List<CaseStatus> statuses, QueryContext queryContext) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("parentCaseId", parentCaseId);
+        params.put("minDepth", minDepth);
+        params.put("maxDepth", maxDepth);
+        params.put("statuses", resolveCaseStatuses(statuses));
+        // query defines its own (hierarchy) ordering, so only paging is taken from the query context
+        applyPaging(params, queryContext);
+        applyDeploymentFilter(params);
+        return commandService.execute(new QueryNameCommand<List<CaseInstance>>("getDescendantCaseInstancesFromProjection", params));
+    }
+
     @Override
     public Collection<CaseInstance> getCaseInstancesByDeployment(String deploymentId, List<CaseStatus> statuses, QueryContext queryContext) {
         Map<String, Object> params = new HashMap<String, Object>();
@@ -640,6 +693,9 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
      */
     
     public List<CaseStageInstance> internalGetCaseStages(CaseDefinition caseDef, String caseId, boolean activeOnly, QueryContext queryContext) {
+        if (caseProjectionEnabled) {
+            return getCaseStagesFromProjection(caseDef, caseId, activeOnly, queryContext);
+        }
         
         CorrelationKey correlationKey = correlationKeyFactory.newCorrelationKey(caseId);
         Collection<org.jbpm.services.api.model.NodeInstanceDesc> nodes = runtimeDataService.getNodeInstancesByCorrelationKeyNodeType(correlationKey, 
@@ -688,6 +744,32 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
     }
     
     
+    protected List<CaseStageInstance> getCaseStagesFromProjection(CaseDefinition caseDef, String caseId, boolean activeOnly, QueryContext queryContext) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("caseId", caseId);
+        if (activeOnly) {
+            params.put("statuses", Arrays.asList(StageStatus.Active.ordinal()));
+        } else {
+            params.put("statuses", Arrays.asList(StageStatus.Available.ordinal(), StageStatus.Active.ordinal(), StageStatus.Completed.ordinal(), StageStatus.Canceled.ordinal()));
+        }
+        applyPaging(params, queryContext);
+        List<CaseStageLog> stageLogs = commandService.execute(new QueryNameCommand<List<CaseStageLog>>("getCaseStagesFromProjection", params));
+
+        Map<String, CaseStage> stagesById = caseDef.getCaseStages().stream()
+        .collect(toMap(CaseStage::getId, c -> c));
+        List<CaseStageInstance> stages = new ArrayList<>();
+        for (CaseStageLog stageLog : stageLogs) {
+            CaseStage stage = stagesById.get(stageLog.getStageId());
+            Collection<AdHocFragment> adHocFragments = stage == null ? Collections.emptyList() : stage.getAdHocFragments();
+            Collection<org.jbpm.services.api.model.NodeInstanceDesc> activeNodes = Collections.emptyList();
+            if (stageLog.getStatus() == StageStatus.Active) {
+                activeNodes = getActiveNodesForCaseAndStage(caseId, stageLog.getStageId(), new QueryContext(0, 100));
+            }
+            stages.add(new CaseStageInstanceImpl(stageLog.getStageId(), stageLog.getStageName(), adHocFragments, activeNodes, stageLog.getStatus()));
+        }
+        return stages;
+    }
+
     protected Collection<org.jbpm.services.api.model.NodeInstanceDesc> getActiveNodesForCaseAndStage(String caseId, String stageId, QueryContext queryContext) {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("caseId", caseId + "%");
@@ -826,6 +908,13 @@ public class CaseRuntimeDataServiceImpl implements CaseRuntimeDataService, Deplo
         }
     }
 
+    protected void applyPaging(Map<String, Object> params, QueryContext queryContext) {
+        if (queryContext != null) {
+            params.put("firstResult", queryContext.getOffset());
+            params.put("maxResults", queryContext.getCount());
+        }
+    }
+
     protected void applyDeploymentFilter(Map<String, Object> params) {
         if (deploymentRolesManager != null) {
             List<String> deploymentIdForUser = deploymentRolesManager.getDeploymentsForUser(identityProvider);
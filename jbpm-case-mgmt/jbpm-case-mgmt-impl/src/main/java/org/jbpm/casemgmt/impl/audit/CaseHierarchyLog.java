@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.casemgmt.impl.audit;
+
+import java.io.Serializable;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Closure table entry of the case/sub-case hierarchy, maintained by {@link CaseProjectionEventListener}.
+ * Every case has an entry referencing itself (path length 0) and one entry for each of its ancestors,
+ * so all descendants of a case can be found with a single lookup by ancestor.
+ */
+@Entity
+@Table(name = "CaseHierarchyLog", indexes = {@Index(name = "IDX_CaseHierarchyLog_ancestor", columnList = "ancestorCaseId"),
+                                             @Index(name = "IDX_CaseHierarchyLog_desc", columnList = "descendantCaseId")},
+        uniqueConstraints = {@UniqueConstraint(name = "UK_CaseHierarchyLog", columnNames = {"ancestorCaseId", "descendantCaseId"})})
+@SequenceGenerator(name = "caseHierarchyLogIdSeq", sequenceName = "CASE_HIERARCHY_LOG_ID_SEQ", allocationSize = 1)
+public class CaseHierarchyLog implements Serializable {
+
+    private static final long serialVersionUID = -4464553178453318617L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "caseHierarchyLogIdSeq")
+    private long id;
+
+    private String ancestorCaseId;
+
+    private String descendantCaseId;
+
+    private String parentCaseId;
+
+    private long processInstanceId;
+
+    private int pathLength;
+
+    public CaseHierarchyLog() {
+
+    }
+
+    public CaseHierarchyLog(String ancestorCaseId, String descendantCaseId, String parentCaseId, long processInstanceId, int pathLength) {
+        this.ancestorCaseId = ancestorCaseId;
+        this.descendantCaseId = descendantCaseId;
+        this.parentCaseId = parentCaseId;
+        this.processInstanceId = processInstanceId;
+        this.pathLength = pathLength;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getAncestorCaseId() {
+        return ancestorCaseId;
+    }
+
+    public void setAncestorCaseId(String ancestorCaseId) {
+        this.ancestorCaseId = ancestorCaseId;
+    }
+
+    public String getDescendantCaseId() {
+        return descendantCaseId;
+    }
+
+    public void setDescendantCaseId(String descendantCaseId) {
+        this.descendantCaseId = descendantCaseId;
+    }
+
+    public String getParentCaseId() {
+        return parentCaseId;
+    }
+
+    public void setParentCaseId(String parentCaseId) {
+        this.parentCaseId = parentCaseId;
+    }
+
+    public long getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(long processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public void setPathLength(int pathLength) {
+        this.pathLength = pathLength;
+    }
+
+    @Override
+    public String toString() {
+        return "CaseHierarchyLog [id=" + id + ", ancestorCaseId=" + ancestorCaseId + ", descendantCaseId=" + descendantCaseId + ", parentCaseId=" + parentCaseId + ", processInstanceId=" + processInstanceId + ", pathLength=" + pathLength + "]";
+    }
+}
@@ -34,4 +34,15 @@ public class CaseInstanceAuditConstants {
     public static final String FIND_CASE_DATA_QUERY = "select itemName from CaseFileDataLog where caseId =:caseId";
     public static final String FIND_CASE_DATA_BY_NAME_QUERY = "select cfdl from CaseFileDataLog cfdl where cfdl.caseId =:caseId and cfdl.itemName =:itemName";
     public static final String DELETE_CASE_DATA_BY_NAME_QUERY = "delete from CaseFileDataLog where caseId =:caseId and itemName in (:itemNames)";
+
+    public static final String FIND_PARENT_CASE_ID_QUERY = "select trim(correlationKey) from ProcessInstanceLog where processInstanceId =:piID and processType = 2";
+    public static final String FIND_CASE_ANCESTORS_QUERY = "select h from CaseHierarchyLog h where h.descendantCaseId =:caseId";
+    public static final String UPDATE_CASE_HIERARCHY_PROCESS_INST_ID_QUERY = "update CaseHierarchyLog set processInstanceId =:piID where descendantCaseId =:caseId";
+    public static final String DELETE_CASE_HIERARCHY_QUERY = "delete from CaseHierarchyLog where ancestorCaseId =:caseId or descendantCaseId =:caseId";
+    public static final String FIND_CASE_MILESTONES_QUERY = "select m from CaseMilestoneLog m where m.caseId =:caseId";
+    public static final String FIND_CASE_MILESTONE_BY_NAME_QUERY = "select m from CaseMilestoneLog m where m.caseId =:caseId and m.milestoneName =:name";
+    public static final String DELETE_CASE_MILESTONES_QUERY = "delete from CaseMilestoneLog where caseId =:caseId";
+    public static final String ACTIVATE_CASE_STAGE_QUERY = "update CaseStageLog set stageName =:stageName, nodeInstanceId =:nodeInstanceId, status =:status, lastModified =:lastModified where caseId =:caseId and stageId =:stageId and nodeInstanceId is null";
+    public static final String COMPLETE_CASE_STAGE_QUERY = "update CaseStageLog set status =:status, lastModified =:lastModified where caseId =:caseId and stageId =:stageId and nodeInstanceId =:nodeInstanceId";
+    public static final String DELETE_CASE_STAGES_QUERY = "delete from CaseStageLog where caseId =:caseId";
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.casemgmt.impl.audit;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.UniqueConstraint;
+
+import org.jbpm.casemgmt.api.model.instance.MilestoneStatus;
+
+/**
+ * Projection of a single milestone of a case instance, maintained by {@link CaseProjectionEventListener}.
+ * There is exactly one entry per milestone name and case, holding the first time the milestone was achieved.
+ */
+@Entity
+@Table(name = "CaseMilestoneLog", indexes = {@Index(name = "IDX_CaseMilestoneLog_caseId", columnList = "caseId")},
+        uniqueConstraints = {@UniqueConstraint(name = "UK_CaseMilestoneLog", columnNames = {"caseId", "milestoneName"})})
+@SequenceGenerator(name = "caseMilestoneLogIdSeq", sequenceName = "CASE_MILESTONE_LOG_ID_SEQ", allocationSize = 1)
+public class CaseMilestoneLog implements Serializable {
+
+    private static final long serialVersionUID = -2716372473624418396L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "caseMilestoneLogIdSeq")
+    private long id;
+
+    private String caseId;
+
+    private String milestoneId;
+
+    private String milestoneName;
+
+    private int status;
+
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date achievedAt;
+
+    public CaseMilestoneLog() {
+
+    }
+
+    public CaseMilestoneLog(String caseId, String milestoneId, String milestoneName) {
+        this.caseId = caseId;
+        this.milestoneId = milestoneId;
+        this.milestoneName = milestoneName;
+        this.status = MilestoneStatus.Available.ordinal();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getCaseId() {
+        return caseId;
+    }
+
+    public void setCaseId(String caseId) {
+        this.caseId = caseId;
+    }
+
+    public String getMilestoneId() {
+        return milestoneId;
+    }
+
+    public void setMilestoneId(String milestoneId) {
+        this.milestoneId = milestoneId;
+    }
+
+    public String getMilestoneName() {
+        return milestoneName;
+    }
+
+    public void setMilestoneName(String milestoneName) {
+        this.milestoneName = milestoneName;
+    }
+
+    public MilestoneStatus getStatus() {
+        return MilestoneStatus.values()[status];
+    }
+
+    public void setStatus(MilestoneStatus status) {
+        this.status = status.ordinal();
+    }
+
+    public Date getAchievedAt() {
+        return achievedAt;
+    }
+
+    public void setAchievedAt(Date achievedAt) {
+        this.achievedAt = achievedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CaseMilestoneLog [id=" + id + ", caseId=" + caseId + ", milestoneId=" + milestoneId + ", milestoneName=" + milestoneName + ", status=" + getStatus() + ", achievedAt=" + achievedAt + "]";
+    }
+}
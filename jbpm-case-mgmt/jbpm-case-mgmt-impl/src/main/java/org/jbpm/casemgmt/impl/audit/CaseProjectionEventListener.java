@@ -0,0 +1,299 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.casemgmt.impl.audit;
+
+import static java.util.stream.Collectors.toSet;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.ACTIVATE_CASE_STAGE_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.COMPLETE_CASE_STAGE_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.DELETE_CASE_HIERARCHY_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.DELETE_CASE_MILESTONES_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.DELETE_CASE_STAGES_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.FIND_CASE_ANCESTORS_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.FIND_CASE_MILESTONES_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.FIND_CASE_MILESTONE_BY_NAME_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.FIND_PARENT_CASE_ID_QUERY;
+import static org.jbpm.casemgmt.impl.audit.CaseInstanceAuditConstants.UPDATE_CASE_HIERARCHY_PROCESS_INST_ID_QUERY;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.core.ClassObjectFilter;
+import org.jbpm.casemgmt.api.event.CaseDestroyEvent;
+import org.jbpm.casemgmt.api.event.CaseEventListener;
+import org.jbpm.casemgmt.api.event.CaseReopenEvent;
+import org.jbpm.casemgmt.api.event.CaseStartEvent;
+import org.jbpm.casemgmt.api.model.instance.CaseFileInstance;
+import org.jbpm.casemgmt.api.model.instance.MilestoneStatus;
+import org.jbpm.casemgmt.api.model.instance.StageStatus;
+import org.jbpm.casemgmt.impl.model.instance.CaseFileInstanceImpl;
+import org.jbpm.shared.services.impl.TransactionalCommandService;
+import org.jbpm.shared.services.impl.commands.MergeObjectCommand;
+import org.jbpm.shared.services.impl.commands.PersistObjectCommand;
+import org.jbpm.shared.services.impl.commands.QueryStringCommand;
+import org.jbpm.shared.services.impl.commands.UpdateStringCommand;
+import org.jbpm.workflow.core.WorkflowProcess;
+import org.jbpm.workflow.core.node.DynamicNode;
+import org.jbpm.workflow.core.node.MilestoneNode;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.NodeContainer;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessEvent;
+import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.api.event.process.ProcessStartedEvent;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.runtime.Cacheable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains the case read model used by {@link org.jbpm.casemgmt.impl.CaseRuntimeDataServiceImpl}
+ * when the case projection is enabled:
+ * <ul>
+ *  <li>{@link CaseMilestoneLog} - status of every milestone of a case</li>
+ *  <li>{@link CaseStageLog} - status of every stage of a case</li>
+ *  <li>{@link CaseHierarchyLog} - closure table of the case/sub-case hierarchy</li>
+ * </ul>
+ * Milestones and stages are registered as available when the case's main process instance starts and are
+ * updated as nodes are triggered and left, the hierarchy is recorded when the case is started.
+ * <br/>
+ * Projection is disabled by default, it can be enabled with <code>org.jbpm.cases.projection.enabled</code>
+ * system property and requires the case projection tables (case_projection_tables_*.sql) to be created.
+ */
+public class CaseProjectionEventListener extends DefaultProcessEventListener implements CaseEventListener, Cacheable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaseProjectionEventListener.class);
+
+    public static final String CASE_PROJECTION_ENABLED = "org.jbpm.cases.projection.enabled";
+
+    private TransactionalCommandService commandService;
+
+    public CaseProjectionEventListener(TransactionalCommandService commandService) {
+        this.commandService = commandService;
+    }
+
+    @Override
+    public void beforeProcessStarted(ProcessStartedEvent event) {
+        // only main process instance of the case defines its milestones and stages
+        String caseId = getMainCaseId(event);
+        if (caseId == null) {
+            return;
+        }
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("caseId", caseId);
+        // case might have been reopened so register only milestones that are not known yet
+        List<CaseMilestoneLog> currentMilestones = commandService.execute(new QueryStringCommand<List<CaseMilestoneLog>>(FIND_CASE_MILESTONES_QUERY, parameters));
+        Set<String> knownMilestones = currentMilestones.stream().map(CaseMilestoneLog::getMilestoneName).collect(toSet());
+        // while stages always reflect the current process instance
+        commandService.execute(new UpdateStringCommand(DELETE_CASE_STAGES_QUERY, parameters));
+
+        List<Object> insert = new ArrayList<>();
+        collectMilestones(caseId, processInstance.getWorkflowProcess(), knownMilestones, insert);
+        for (Node node : processInstance.getWorkflowProcess().getNodes()) {
+            if (node instanceof DynamicNode) {
+                insert.add(new CaseStageLog(caseId, (String) node.getMetaData().get("UniqueId"), node.getName()));
+            }
+        }
+        logger.debug("Registering {} milestones and stages for case {}", insert.size(), caseId);
+        commandService.execute(new PersistObjectCommand(insert.toArray()));
+    }
+
+    @Override
+    public void afterNodeTriggered(ProcessNodeTriggeredEvent event) {
+        Node node = event.getNodeInstance().getNode();
+        if (node instanceof DynamicNode) {
+            String caseId = getMainCaseId(event);
+            if (caseId == null || !(node.getNodeContainer() instanceof WorkflowProcess)) {
+                return;
+            }
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("caseId", caseId);
+            parameters.put("stageId", node.getMetaData().get("UniqueId"));
+            parameters.put("stageName", event.getNodeInstance().getNodeName());
+            parameters.put("nodeInstanceId", event.getNodeInstance().getId());
+            parameters.put("status", StageStatus.Active.ordinal());
+            parameters.put("lastModified", event.getEventDate());
+            int updated = commandService.execute(new UpdateStringCommand(ACTIVATE_CASE_STAGE_QUERY, parameters));
+            if (updated == 0) {
+                // stage is triggered again or has multiple instances
+                CaseStageLog stage = new CaseStageLog(caseId, (String) node.getMetaData().get("UniqueId"), event.getNodeInstance().getNodeName());
+                stage.setNodeInstanceId(event.getNodeInstance().getId());
+                stage.setStatus(StageStatus.Active);
+                stage.setLastModified(event.getEventDate());
+                commandService.execute(new PersistObjectCommand(stage));
+            }
+            logger.debug("Stage {} of case {} activated", node.getName(), caseId);
+        }
+    }
+
+    @Override
+    public void afterNodeLeft(ProcessNodeLeftEvent event) {
+        Node node = event.getNodeInstance().getNode();
+        boolean cancelled = ((NodeInstanceImpl) event.getNodeInstance()).getCancelType() != null;
+        if (node instanceof MilestoneNode && !cancelled) {
+            String caseId = getCaseId(event);
+            if (caseId == null) {
+                return;
+            }
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("caseId", caseId);
+            parameters.put("name", node.getName());
+            List<CaseMilestoneLog> milestones = commandService.execute(new QueryStringCommand<List<CaseMilestoneLog>>(FIND_CASE_MILESTONE_BY_NAME_QUERY, parameters));
+            if (milestones.isEmpty()) {
+                // milestone that is not part of case definition e.g. from a sub process
+                CaseMilestoneLog milestone = new CaseMilestoneLog(caseId, (String) node.getMetaData().get("UniqueId"), node.getName());
+                milestone.setStatus(MilestoneStatus.Completed);
+                milestone.setAchievedAt(event.getEventDate());
+                commandService.execute(new PersistObjectCommand(milestone));
+            } else if (milestones.get(0).getStatus() != MilestoneStatus.Completed) {
+                // keep the time of the first achievement
+                CaseMilestoneLog milestone = milestones.get(0);
+                milestone.setStatus(MilestoneStatus.Completed);
+                milestone.setAchievedAt(event.getEventDate());
+                commandService.execute(new MergeObjectCommand(milestone));
+            }
+            logger.debug("Milestone {} achieved in case {}", node.getName(), caseId);
+        } else if (node instanceof DynamicNode) {
+            String caseId = getMainCaseId(event);
+            if (caseId == null) {
+                return;
+            }
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("caseId", caseId);
+            parameters.put("stageId", node.getMetaData().get("UniqueId"));
+            parameters.put("nodeInstanceId", event.getNodeInstance().getId());
+            parameters.put("status", StageStatus.Completed.ordinal());
+            parameters.put("lastModified", event.getEventDate());
+            commandService.execute(new UpdateStringCommand(COMPLETE_CASE_STAGE_QUERY, parameters));
+            logger.debug("Stage {} of case {} completed", node.getName(), caseId);
+        }
+    }
+
+    @Override
+    public void afterCaseStarted(CaseStartEvent event) {
+        CaseFileInstance caseFile = event.getCaseFile();
+        String caseId = event.getCaseId();
+        List<CaseHierarchyLog> entries = new ArrayList<>();
+        entries.add(new CaseHierarchyLog(caseId, caseId, null, event.getProcessInstanceId(), 0));
+
+        Long parentInstanceId = caseFile instanceof CaseFileInstanceImpl ? ((CaseFileInstanceImpl) caseFile).getParentInstanceId() : null;
+        if (parentInstanceId != null && parentInstanceId >= 0) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("piID", parentInstanceId);
+            List<String> parentCaseIds = commandService.execute(new QueryStringCommand<List<String>>(FIND_PARENT_CASE_ID_QUERY, parameters));
+            if (!parentCaseIds.isEmpty()) {
+                String parentCaseId = parentCaseIds.get(0);
+                parameters = new HashMap<>();
+                parameters.put("caseId", parentCaseId);
+                List<CaseHierarchyLog> ancestors = commandService.execute(new QueryStringCommand<List<CaseHierarchyLog>>(FIND_CASE_ANCESTORS_QUERY, parameters));
+                for (CaseHierarchyLog ancestor : ancestors) {
+                    entries.add(new CaseHierarchyLog(ancestor.getAncestorCaseId(), caseId, parentCaseId, event.getProcessInstanceId(), ancestor.getPathLength() + 1));
+                }
+                logger.debug("Case {} registered as sub case of {} with {} ancestors", caseId, parentCaseId, ancestors.size());
+            }
+        }
+        commandService.execute(new PersistObjectCommand(entries.toArray()));
+    }
+
+    @Override
+    public void afterCaseReopen(CaseReopenEvent event) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("piID", event.getProcessInstanceId());
+        parameters.put("caseId", event.getCaseId());
+        int updated = commandService.execute(new UpdateStringCommand(UPDATE_CASE_HIERARCHY_PROCESS_INST_ID_QUERY, parameters));
+        logger.debug("Updated {} hierarchy entries for reopened case {}", updated, event.getCaseId());
+    }
+
+    @Override
+    public void afterCaseDestroyed(CaseDestroyEvent event) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("caseId", event.getCaseId());
+        commandService.execute(new UpdateStringCommand(DELETE_CASE_MILESTONES_QUERY, parameters));
+        commandService.execute(new UpdateStringCommand(DELETE_CASE_STAGES_QUERY, parameters));
+        // both the case's own ancestry and the links of its sub cases to it
+        commandService.execute(new UpdateStringCommand(DELETE_CASE_HIERARCHY_QUERY, parameters));
+    }
+
+    @Override
+    public void close() {
+        // no-op
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(CASE_PROJECTION_ENABLED);
+    }
+
+    /*
+     * Helper methods
+     */
+
+    protected String getCaseId(ProcessEvent event) {
+        CaseFileInstance caseFile = getCaseFile((KieSession) event.getKieRuntime());
+        if (caseFile != null) {
+            return caseFile.getCaseId();
+        }
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
+        if (Integer.valueOf(WorkflowProcess.CASE_TYPE).equals(((WorkflowProcess) processInstance.getProcess()).getProcessType())) {
+            // case started as regular process instance, without case file
+            return getCorrelationKey(processInstance);
+        }
+        return null;
+    }
+
+    protected String getMainCaseId(ProcessEvent event) {
+        String caseId = getCaseId(event);
+        if (caseId == null || !caseId.equals(getCorrelationKey((WorkflowProcessInstanceImpl) event.getProcessInstance()))) {
+            return null;
+        }
+        return caseId;
+    }
+
+    protected String getCorrelationKey(WorkflowProcessInstanceImpl processInstance) {
+        String correlationKey = processInstance.getCorrelationKey();
+        if (correlationKey == null) {
+            return String.valueOf(processInstance.getId());
+        }
+        return correlationKey;
+    }
+
+    protected void collectMilestones(String caseId, NodeContainer container, Set<String> knownMilestones, List<Object> result) {
+        for (Node node : container.getNodes()) {
+            if (node instanceof MilestoneNode && knownMilestones.add(node.getName())) {
+                result.add(new CaseMilestoneLog(caseId, (String) node.getMetaData().get("UniqueId"), node.getName()));
+            }
+            if (node instanceof NodeContainer) {
+                collectMilestones(caseId, (NodeContainer) node, knownMilestones, result);
+            }
+        }
+    }
+
+    protected CaseFileInstance getCaseFile(KieSession ksession) {
+        Collection<? extends Object> caseFiles = ksession.getObjects(new ClassObjectFilter(CaseFileInstance.class));
+        if (caseFiles.isEmpty()) {
+            return null;
+        }
+        return (CaseFileInstance) caseFiles.iterator().next();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.casemgmt.impl.audit;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+
+import org.jbpm.casemgmt.api.model.instance.StageStatus;
+
+/**
+ * Projection of a single stage of a case instance, maintained by {@link CaseProjectionEventListener}.
+ * Every stage of the case definition has an entry until it is triggered, then there is one entry per stage
+ * node instance so repeated or multi instance stages are represented the same way as in the process.
+ */
+@Entity
+@Table(name = "CaseStageLog", indexes = {@Index(name = "IDX_CaseStageLog_caseId", columnList = "caseId")})
+@SequenceGenerator(name = "caseStageLogIdSeq", sequenceName = "CASE_STAGE_LOG_ID_SEQ", allocationSize = 1)
+public class CaseStageLog implements Serializable {
+
+    private static final long serialVersionUID = 3183204939185730117L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "caseStageLogIdSeq")
+    private long id;
+
+    private String caseId;
+
+    private String stageId;
+
+    private String stageName;
+
+    private Long nodeInstanceId;
+
+    private int status;
+
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date lastModified;
+
+    public CaseStageLog() {
+
+    }
+
+    public CaseStageLog(String caseId, String stageId, String stageName) {
+        this.caseId = caseId;
+        this.stageId = stageId;
+        this.stageName = stageName;
+        this.status = StageStatus.Available.ordinal();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getCaseId() {
+        return caseId;
+    }
+
+    public void setCaseId(String caseId) {
+        this.caseId = caseId;
+    }
+
+    public String getStageId() {
+        return stageId;
+    }
+
+    public void setStageId(String stageId) {
+        this.stageId = stageId;
+    }
+
+    public String getStageName() {
+        return stageName;
+    }
+
+    public void setStageName(String stageName) {
+        this.stageName = stageName;
+    }
+
+    public Long getNodeInstanceId() {
+        return nodeInstanceId;
+    }
+
+    public void setNodeInstanceId(Long nodeInstanceId) {
+        this.nodeInstanceId = nodeInstanceId;
+    }
+
+    public StageStatus getStatus() {
+        return StageStatus.values()[status];
+    }
+
+    public void setStatus(StageStatus status) {
+        this.status = status.ordinal();
+    }
+
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Date lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "CaseStageLog [id=" + id + ", caseId=" + caseId + ", stageId=" + stageId + ", stageName=" + stageName + ", nodeInstanceId=" + nodeInstanceId + ", status=" + getStatus() + ", lastModified=" + lastModified + "]";
+    }
+}
@@ -26,6 +26,7 @@ import org.jbpm.runtime.manager.impl.PerCaseRuntimeManager;
 import org.jbpm.services.api.ProcessService;
 import org.jbpm.services.api.RuntimeDataService;
 import org.jbpm.services.api.model.ProcessInstanceDesc;
+import org.jbpm.services.api.model.ProcessInstanceOperationResult;
 import org.kie.api.runtime.Context;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.manager.RuntimeManager;
@@ -87,7 +88,13 @@ public class CancelCaseCommand extends CaseCommand<Void> {
         caseEventSupport.fireBeforeCaseCancelled(caseId, caseFile, processInstanceIds);
         
         logger.debug("Case {} consists of following process instances (ids) {}", caseId, processInstanceIds);
-        processService.abortProcessInstances(processInstanceIds);
+        for (ProcessInstanceOperationResult result : processService.abortProcessInstances(processInstanceIds)) {
+            // the case is not cancelled when one of its process instances could not be aborted
+            if (!result.isSuccessful()) {
+                Exception error = result.getError();
+                throw error instanceof RuntimeException ? (RuntimeException) error : new RuntimeException(error);
+            }
+        }
         caseEventSupport.fireAfterCaseCancelled(caseId, caseFile, processInstanceIds);
         
         if (destroy) {
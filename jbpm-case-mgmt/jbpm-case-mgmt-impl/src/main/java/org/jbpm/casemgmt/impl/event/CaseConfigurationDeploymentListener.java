@@ -25,6 +25,7 @@ import java.util.Properties;
 
 import org.jbpm.casemgmt.api.event.CaseEventListener;
 import org.jbpm.casemgmt.impl.audit.CaseInstanceAuditLoggerFactory;
+import org.jbpm.casemgmt.impl.audit.CaseProjectionEventListener;
 import org.jbpm.casemgmt.impl.wih.NotifyParentCaseEventListener;
 import org.jbpm.runtime.manager.impl.PerCaseRuntimeManager;
 import org.jbpm.runtime.manager.impl.SimpleRuntimeEnvironment;
@@ -81,6 +82,9 @@ public class CaseConfigurationDeploymentListener implements DeploymentEventListe
             
             CaseEventListener auditEventListener = getCaseAuditEventListener(runtimeManager, commandService);
             caseEventListeners.add(auditEventListener);
+            if (CaseProjectionEventListener.isEnabled()) {
+                caseEventListeners.add(new CaseProjectionEventListener(commandService));
+            }
             caseEventListeners.add(new NotifyParentCaseEventListener(identityProvider, runtimeManager));
             CaseEventSupport caseEventSupport = new CaseEventSupport(identityProvider, caseEventListeners);            
             ((PerCaseRuntimeManager) runtimeManager).setCaseEventSupport(caseEventSupport);
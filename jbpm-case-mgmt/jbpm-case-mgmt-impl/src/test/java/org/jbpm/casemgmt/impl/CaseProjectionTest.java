@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.casemgmt.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.jbpm.casemgmt.api.model.CaseDefinition;
+import org.jbpm.casemgmt.api.model.CaseMilestone;
+import org.jbpm.casemgmt.api.model.CaseStatus;
+import org.jbpm.casemgmt.api.model.instance.CaseFileInstance;
+import org.jbpm.casemgmt.api.model.instance.CaseInstance;
+import org.jbpm.casemgmt.api.model.instance.CaseMilestoneInstance;
+import org.jbpm.casemgmt.api.model.instance.CaseStageInstance;
+import org.jbpm.casemgmt.api.model.instance.MilestoneStatus;
+import org.jbpm.casemgmt.api.model.instance.StageStatus;
+import org.jbpm.casemgmt.impl.audit.CaseHierarchyLog;
+import org.jbpm.casemgmt.impl.audit.CaseProjectionEventListener;
+import org.jbpm.casemgmt.impl.util.AbstractCaseServicesBaseTest;
+import org.jbpm.services.task.impl.model.UserImpl;
+import org.junit.Test;
+import org.kie.api.runtime.query.QueryContext;
+import org.kie.api.task.model.OrganizationalEntity;
+import org.kie.api.task.model.TaskSummary;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseProjectionTest extends AbstractCaseServicesBaseTest {
+
+    protected static final String QUERY_SUB_CASE_P_ID = "CaseWithSubCaseQuery";
+    protected static final String SUB_CASE_ID = "SUB-0000000001";
+    protected static final String MID_CASE_ID = "IT-0000000001";
+
+    @Override
+    protected List<String> getProcessDefinitionFiles() {
+        List<String> processes = new ArrayList<String>();
+        processes.add("cases/UserTaskCase.bpmn2");
+        processes.add("cases/CaseWithTwoStages.bpmn2");
+        processes.add("cases/CaseWithSubCase.bpmn2");
+        processes.add("cases/CaseWithSubCaseQuery.bpmn2");
+        processes.add("cases/EmptyCase.bpmn2");
+        processes.add("cases/SubSubCase.bpmn2");
+        // add processes that can be used by cases but are not cases themselves
+        processes.add("processes/DataVerificationProcess.bpmn2");
+        return processes;
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        System.setProperty(CaseProjectionEventListener.CASE_PROJECTION_ENABLED, "true");
+        super.setUp();
+    }
+
+    @Override
+    public void tearDown() {
+        System.clearProperty(CaseProjectionEventListener.CASE_PROJECTION_ENABLED);
+        super.tearDown();
+    }
+
+    @Test
+    public void testCaseMilestonesFromProjection() {
+        Map<String, OrganizationalEntity> roleAssignments = new HashMap<>();
+        roleAssignments.put("owner", new UserImpl(USER));
+
+        CaseFileInstance caseFile = caseService.newCaseFileInstance(deploymentUnit.getIdentifier(), USER_TASK_CASE_P_ID, new HashMap<>(), roleAssignments);
+        String caseId = caseService.startCase(deploymentUnit.getIdentifier(), USER_TASK_CASE_P_ID, caseFile);
+        assertThat(caseId).isEqualTo(HR_CASE_ID);
+        try {
+            CaseDefinition caseDef = caseRuntimeDataService.getCase(deploymentUnit.getIdentifier(), USER_TASK_CASE_P_ID);
+            Map<String, String> milestoneIds = caseDef.getCaseMilestones().stream().collect(toMap(CaseMilestone::getName, CaseMilestone::getId));
+
+            Collection<CaseMilestoneInstance> milestones = caseRuntimeDataService.getCaseInstanceMilestones(caseId, true, new QueryContext());
+            assertThat(milestones).isEmpty();
+
+            milestones = caseRuntimeDataService.getCaseInstanceMilestones(caseId, false, new QueryContext());
+            assertThat(milestones).hasSize(2).allMatch(m -> m.getStatus() == MilestoneStatus.Available);
+
+            caseService.triggerAdHocFragment(caseId, "Milestone1", null);
+
+            milestones = caseRuntimeDataService.getCaseInstanceMilestones(caseId, true, new QueryContext());
+            assertThat(milestones).hasSize(1);
+            CaseMilestoneInstance achieved = milestones.iterator().next();
+            assertThat(achieved.getName()).isEqualTo("Milestone1");
+            assertThat(achieved.getId()).isEqualTo(milestoneIds.get("Milestone1"));
+            assertThat(achieved.getStatus()).isEqualTo(MilestoneStatus.Completed);
+            assertThat(achieved.getAchievedAt()).isNotNull();
+
+            // not achieved milestones come first and pages are taken in the database
+            milestones = caseRuntimeDataService.getCaseInstanceMilestones(caseId, false, new QueryContext(0, 1));
+            assertThat(milestones).extracting(CaseMilestoneInstance::getName).containsExactly("Milestone2");
+            milestones = caseRuntimeDataService.getCaseInstanceMilestones(caseId, false, new QueryContext(1, 1));
+            assertThat(milestones).extracting(CaseMilestoneInstance::getName).containsExactly("Milestone1");
+            milestones = caseRuntimeDataService.getCaseInstanceMilestones(caseId, false, new QueryContext(2, 1));
+            assertThat(milestones).isEmpty();
+        } finally {
+            caseService.cancelCase(caseId);
+        }
+    }
+
+    @Test
+    public void testCaseStagesFromProjection() {
+        Map<String, OrganizationalEntity> roleAssignments = new HashMap<>();
+        roleAssignments.put("owner", new UserImpl(USER));
+
+        CaseFileInstance caseFile = caseService.newCaseFileInstance(deploymentUnit.getIdentifier(), TWO_STAGES_CASE_P_ID, new HashMap<>(), roleAssignments);
+        String caseId = caseService.startCase(deploymentUnit.getIdentifier(), TWO_STAGES_CASE_P_ID, caseFile);
+        assertThat(caseId).isNotNull();
+        try {
+            Collection<CaseStageInstance> stages = caseRuntimeDataService.getCaseInstanceStages(caseId, true, new QueryContext());
+            assertThat(stages).hasSize(1);
+            CaseStageInstance stage = stages.iterator().next();
+            assertThat(stage.getName()).isEqualTo("Stage One");
+            assertThat(stage.getStatus()).isEqualTo(StageStatus.Active);
+            assertThat(stage.getAdHocFragments()).hasSize(1);
+
+            stages = caseRuntimeDataService.getCaseInstanceStages(caseId, false, new QueryContext());
+            assertThat(stages).extracting(CaseStageInstance::getStatus).containsExactly(StageStatus.Active, StageStatus.Available);
+
+            caseService.addDataToCaseFile(caseId, "customData", "nextStagePlease");
+
+            stages = caseRuntimeDataService.getCaseInstanceStages(caseId, true, new QueryContext());
+            assertThat(stages).extracting(CaseStageInstance::getName).containsExactly("Stage Two");
+
+            stages = caseRuntimeDataService.getCaseInstanceStages(caseId, false, new QueryContext(0, 1));
+            assertThat(stages).hasSize(1);
+            assertThat(stages.iterator().next().getName()).isEqualTo("Stage One");
+            assertThat(stages.iterator().next().getStatus()).isEqualTo(StageStatus.Completed);
+            assertThat(stages.iterator().next().getActiveNodes()).isEmpty();
+        } finally {
+            caseService.cancelCase(caseId);
+        }
+    }
+
+    @Test
+    public void testDescendantSubCasesFromProjection() {
+        Map<String, OrganizationalEntity> roleAssignments = new HashMap<>();
+        roleAssignments.put("owner", new UserImpl("john"));
+        roleAssignments.put("manager", new UserImpl("mary"));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "John Doe");
+        CaseFileInstance caseFile = caseService.newCaseFileInstance(deploymentUnit.getIdentifier(), QUERY_SUB_CASE_P_ID, data, roleAssignments);
+        String caseId = caseService.startCase(deploymentUnit.getIdentifier(), QUERY_SUB_CASE_P_ID, caseFile);
+        assertThat(caseId).isEqualTo(SUB_CASE_ID);
+        try {
+            caseService.triggerAdHocFragment(caseId, "Sub Case", null);
+            caseService.triggerAdHocFragment(MID_CASE_ID, "Sub Case", null);
+
+            EntityManager em = emf.createEntityManager();
+            try {
+                List<CaseHierarchyLog> ancestors = em.createQuery("select h from CaseHierarchyLog h where h.descendantCaseId = :caseId order by h.pathLength", CaseHierarchyLog.class)
+                                                     .setParameter("caseId", HR_CASE_ID)
+                                                     .getResultList();
+                assertThat(ancestors).extracting(CaseHierarchyLog::getAncestorCaseId).containsExactly(HR_CASE_ID, MID_CASE_ID, SUB_CASE_ID);
+                assertThat(ancestors).extracting(CaseHierarchyLog::getPathLength).containsExactly(0, 1, 2);
+                assertThat(ancestors).extracting(CaseHierarchyLog::getParentCaseId).containsExactly(null, MID_CASE_ID, MID_CASE_ID);
+            } finally {
+                em.close();
+            }
+
+            List<CaseStatus> allStatus = Arrays.asList(CaseStatus.values());
+            Collection<CaseInstance> subCases = caseRuntimeDataService.getSubCaseInstancesByParentCaseId(SUB_CASE_ID, allStatus, new QueryContext());
+            assertThat(subCases).extracting(CaseInstance::getCaseId).containsExactly(MID_CASE_ID);
+            assertThat(subCases).extracting(CaseInstance::getParentCaseId).containsExactly(SUB_CASE_ID);
+
+            Collection<CaseInstance> descendants = caseRuntimeDataService.getAllDescendantSubCaseInstancesByParentCaseId(SUB_CASE_ID, allStatus);
+            assertThat(descendants).extracting(CaseInstance::getCaseId).containsExactly(MID_CASE_ID, HR_CASE_ID);
+            assertThat(descendants).extracting(CaseInstance::getParentCaseId).containsExactly(SUB_CASE_ID, MID_CASE_ID);
+
+            descendants = caseRuntimeDataService.getAllDescendantSubCaseInstancesByParentCaseId(MID_CASE_ID, allStatus);
+            assertThat(descendants).extracting(CaseInstance::getCaseId).containsExactly(HR_CASE_ID);
+
+            // ordering of the query context does not apply to the hierarchy query, paging does
+            subCases = caseRuntimeDataService.getSubCaseInstancesByParentCaseId(SUB_CASE_ID, allStatus, new QueryContext(0, 1, "start", false));
+            assertThat(subCases).extracting(CaseInstance::getCaseId).containsExactly(MID_CASE_ID);
+            subCases = caseRuntimeDataService.getSubCaseInstancesByParentCaseId(SUB_CASE_ID, allStatus, new QueryContext(1, 1));
+            assertThat(subCases).isEmpty();
+
+            List<TaskSummary> tasks = caseRuntimeDataService.getCaseTasksAssignedAsPotentialOwner(HR_CASE_ID, "john", null, new QueryContext());
+            processService.abortProcessInstance(tasks.get(0).getProcessInstanceId());
+
+            descendants = caseRuntimeDataService.getAllDescendantSubCaseInstancesByParentCaseId(SUB_CASE_ID, Arrays.asList(CaseStatus.OPEN));
+            assertThat(descendants).extracting(CaseInstance::getCaseId).containsExactly(MID_CASE_ID);
+        } finally {
+            caseService.cancelCase(caseId);
+        }
+    }
+
+    @Test
+    public void testCaseHierarchyRemovedWhenCaseDestroyed() {
+        Map<String, OrganizationalEntity> roleAssignments = new HashMap<>();
+        roleAssignments.put("owner", new UserImpl("john"));
+        roleAssignments.put("manager", new UserImpl("mary"));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "John Doe");
+        CaseFileInstance caseFile = caseService.newCaseFileInstance(deploymentUnit.getIdentifier(), QUERY_SUB_CASE_P_ID, data, roleAssignments);
+        String caseId = caseService.startCase(deploymentUnit.getIdentifier(), QUERY_SUB_CASE_P_ID, caseFile);
+        assertThat(caseId).isEqualTo(SUB_CASE_ID);
+        try {
+            caseService.triggerAdHocFragment(caseId, "Sub Case", null);
+            assertThat(countHierarchyEntries(MID_CASE_ID)).isEqualTo(2);
+
+            caseService.destroyCase(MID_CASE_ID);
+
+            assertThat(countHierarchyEntries(MID_CASE_ID)).isZero();
+            assertThat(countHierarchyEntries(caseId)).isEqualTo(1);
+            assertThat(caseRuntimeDataService.getAllDescendantSubCaseInstancesByParentCaseId(caseId, Arrays.asList(CaseStatus.values()))).isEmpty();
+        } finally {
+            caseService.cancelCase(caseId);
+        }
+    }
+
+    private long countHierarchyEntries(String caseId) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("select count(h) from CaseHierarchyLog h where h.ancestorCaseId = :caseId or h.descendantCaseId = :caseId", Long.class)
+                     .setParameter("caseId", caseId)
+                     .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+}
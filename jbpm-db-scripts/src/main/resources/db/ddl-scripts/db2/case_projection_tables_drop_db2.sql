@@ -0,0 +1,3 @@
+drop table CaseHierarchyLog;
+drop table CaseMilestoneLog;
+drop table CaseStageLog;
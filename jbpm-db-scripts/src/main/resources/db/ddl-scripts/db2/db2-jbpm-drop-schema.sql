@@ -10,6 +10,7 @@ drop table ContextMappingInfo;
 drop table CorrelationKeyInfo;
 drop table CorrelationPropertyInfo;
 drop table Deadline;
+drop table DeadlineTemplate;
 drop table Delegation_delegates;
 drop table DeploymentStore;
 drop table email_header;
@@ -102,6 +102,7 @@
 
     create table CorrelationKeyInfo (
         keyId bigint generated by default as identity,
+        keyHash varchar(64),
         name varchar(255),
         processInstanceId bigint not null,
         OPTLOCK integer,
@@ -123,6 +124,14 @@
         escalated smallint,
         Deadlines_StartDeadLine_Id bigint,
         Deadlines_EndDeadLine_Id bigint,
+        Deadline_Template_Id bigint,
+        primary key (id)
+    );
+
+    create table DeadlineTemplate (
+        id bigint generated by default as identity,
+        deploymentId varchar(255),
+        templateKey varchar(255) not null,
         primary key (id)
     );
 
@@ -154,6 +163,7 @@
         id bigint generated by default as identity,
         name varchar(255),
         Deadline_Escalation_Id bigint,
+        DeadlineTemplate_Escalation_Id bigint,
         primary key (id)
     );
 
@@ -530,6 +540,16 @@
         foreign key (Deadline_Escalation_Id) 
         references Deadline;
 
+    alter table Deadline 
+        add constraint FK_Deadline_Template 
+        foreign key (Deadline_Template_Id) 
+        references DeadlineTemplate;
+
+    alter table Escalation 
+        add constraint FK_Escalation_DeadlineTmpl 
+        foreign key (DeadlineTemplate_Escalation_Id) 
+        references DeadlineTemplate;
+
     alter table EventTypes 
         add constraint FK_nrecj4617iwxlc65ij6m7lsl1 
         foreign key (InstanceId) 
@@ -710,12 +730,16 @@
     create index IDX_Attachment_DataId ON Attachment(TaskData_Attachments_Id);
     create index IDX_BoolExpr_Id ON BooleanExpression(Escalation_Constraints_Id);
     create index IDX_CorrPropInfo_Id ON CorrelationPropertyInfo(correlationKey_keyId);
+    create unique index IDX_CorrelationKeyInfo_hash ON CorrelationKeyInfo(keyHash);
     create index IDX_Deadline_StartId ON Deadline(Deadlines_StartDeadLine_Id);
     create index IDX_Deadline_EndId ON Deadline(Deadlines_EndDeadLine_Id);
+    create index IDX_Deadline_TemplateId ON Deadline(Deadline_Template_Id);
+    create index IDX_DeadlineTemplate_Key ON DeadlineTemplate(templateKey);
     create index IDX_Delegation_EntityId ON Delegation_delegates(entity_id);
     create index IDX_Delegation_TaskId ON Delegation_delegates(task_id);
     create index IDX_ErrorInfo_Id ON ErrorInfo(REQUEST_ID);
     create index IDX_Escalation_Id ON Escalation(Deadline_Escalation_Id);
+    create index IDX_Escalation_TemplateId ON Escalation(DeadlineTemplate_Escalation_Id);
     create index IDX_EventTypes_Id ON EventTypes(InstanceId);
     create index IDX_I18NText_SubjId ON I18NText(Task_Subjects_Id);
     create index IDX_I18NText_NameId ON I18NText(Task_Names_Id);
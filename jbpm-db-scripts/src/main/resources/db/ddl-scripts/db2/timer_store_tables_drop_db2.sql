@@ -0,0 +1,2 @@
+drop table TimerStoreJob;
+drop table TimerStoreLease;
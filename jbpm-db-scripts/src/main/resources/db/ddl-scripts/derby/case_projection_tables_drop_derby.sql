@@ -0,0 +1,3 @@
+drop table CaseHierarchyLog if exists;
+drop table CaseMilestoneLog if exists;
+drop table CaseStageLog if exists;
@@ -0,0 +1,13 @@
+    create table TaskInboxEntry (
+        id bigint generated by default as identity,
+        actualOwner varchar(255),
+        entityId varchar(255),
+        status varchar(255),
+        taskId bigint,
+        type integer,
+        primary key (id)
+    );
+
+    create index IDX_TaskInboxEntry_entity on TaskInboxEntry(entityId,taskId);
+
+    create index IDX_TaskInboxEntry_taskId on TaskInboxEntry(taskId);
@@ -10,6 +10,7 @@ drop table ContextMappingInfo if exists;
 drop table CorrelationKeyInfo if exists;
 drop table CorrelationPropertyInfo if exists;
 drop table Deadline if exists;
+drop table DeadlineTemplate if exists;
 drop table Delegation_delegates if exists;
 drop table DeploymentStore if exists;
 drop table email_header if exists;
@@ -0,0 +1,2 @@
+drop table TimerStoreJob if exists;
+drop table TimerStoreLease if exists;
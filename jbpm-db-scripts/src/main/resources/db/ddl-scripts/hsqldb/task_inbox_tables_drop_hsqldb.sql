@@ -0,0 +1 @@
+drop table TaskInboxEntry if exists;
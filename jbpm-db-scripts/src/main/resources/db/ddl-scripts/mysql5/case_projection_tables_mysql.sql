@@ -0,0 +1,44 @@
+    create table CaseHierarchyLog (
+        id bigint not null auto_increment,
+        ancestorCaseId varchar(255),
+        descendantCaseId varchar(255),
+        parentCaseId varchar(255),
+        pathLength integer not null,
+        processInstanceId bigint not null,
+        primary key (id)
+    );
+
+    alter table CaseHierarchyLog
+        add constraint UK_CaseHierarchyLog unique (ancestorCaseId, descendantCaseId);
+
+    create index IDX_CaseHierarchyLog_ancestor on CaseHierarchyLog(ancestorCaseId);
+
+    create index IDX_CaseHierarchyLog_desc on CaseHierarchyLog(descendantCaseId);
+
+    create table CaseMilestoneLog (
+        id bigint not null auto_increment,
+        achievedAt datetime,
+        caseId varchar(255),
+        milestoneId varchar(255),
+        milestoneName varchar(255),
+        status integer not null,
+        primary key (id)
+    );
+
+    alter table CaseMilestoneLog
+        add constraint UK_CaseMilestoneLog unique (caseId, milestoneName);
+
+    create index IDX_CaseMilestoneLog_caseId on CaseMilestoneLog(caseId);
+
+    create table CaseStageLog (
+        id bigint not null auto_increment,
+        caseId varchar(255),
+        lastModified datetime,
+        nodeInstanceId bigint,
+        stageId varchar(255),
+        stageName varchar(255),
+        status integer not null,
+        primary key (id)
+    );
+
+    create index IDX_CaseStageLog_caseId on CaseStageLog(caseId);
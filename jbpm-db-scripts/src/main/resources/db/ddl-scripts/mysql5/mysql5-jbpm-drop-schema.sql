@@ -8,6 +8,8 @@ alter table Delegation_delegates drop foreign key FK_gn7ula51sk55wj1o1m57guqxb;
 alter table Delegation_delegates drop foreign key FK_fajq6kossbsqwr3opkrctxei3;
 alter table ErrorInfo drop foreign key FK_cms0met37ggfw5p5gci3otaq0;
 alter table Escalation drop foreign key FK_ay2gd4fvl9yaapviyxudwuvfg;
+alter table Deadline drop foreign key FK_Deadline_Template;
+alter table Escalation drop foreign key FK_Escalation_DeadlineTmpl;
 alter table I18NText drop foreign key FK_k16jpgrh67ti9uedf6konsu1p;
 alter table I18NText drop foreign key FK_fd9uk6hemv2dx1ojovo7ms3vp;
 alter table I18NText drop foreign key FK_4eyfp69ucrron2hr7qx4np2fp;
@@ -54,6 +56,7 @@ drop table if exists ContextMappingInfo;
 drop table if exists CorrelationKeyInfo;
 drop table if exists CorrelationPropertyInfo;
 drop table if exists Deadline;
+drop table if exists DeadlineTemplate;
 drop table if exists Delegation_delegates;
 drop table if exists DeploymentStore;
 drop table if exists email_header;
@@ -109,6 +109,7 @@
 
     create table CorrelationKeyInfo (
         keyId bigint not null auto_increment,
+        keyHash varchar(64),
         name varchar(255),
         processInstanceId bigint not null,
         OPTLOCK integer,
@@ -131,6 +132,14 @@
         escalated smallint,
         Deadlines_StartDeadLine_Id bigint,
         Deadlines_EndDeadLine_Id bigint,
+        Deadline_Template_Id bigint,
+        primary key (id)
+    );
+
+    create table DeadlineTemplate (
+        id bigint not null auto_increment,
+        deploymentId varchar(255),
+        templateKey varchar(255) not null,
         primary key (id)
     );
 
@@ -164,6 +173,7 @@
         id bigint not null auto_increment,
         name varchar(255),
         Deadline_Escalation_Id bigint,
+        DeadlineTemplate_Escalation_Id bigint,
         primary key (id)
     );
 
@@ -533,6 +543,8 @@
         foreign key (correlationKey_keyId) 
         references CorrelationKeyInfo (keyId);
 
+    create unique index IDX_CorrelationKeyInfo_hash on CorrelationKeyInfo(keyHash);
+
     alter table Deadline 
         add index IDX_Deadline_StartId (Deadlines_StartDeadLine_Id), 
         add constraint FK_68w742sge00vco2cq3jhbvmgx 
@@ -563,12 +575,26 @@
         foreign key (REQUEST_ID) 
         references RequestInfo (id);
 
+    create index IDX_DeadlineTemplate_Key on DeadlineTemplate(templateKey);
+
     alter table Escalation 
         add index IDX_Escalation_Id (Deadline_Escalation_Id), 
         add constraint FK_ay2gd4fvl9yaapviyxudwuvfg 
         foreign key (Deadline_Escalation_Id) 
         references Deadline (id);
 
+    alter table Deadline 
+        add index IDX_Deadline_TemplateId (Deadline_Template_Id), 
+        add constraint FK_Deadline_Template 
+        foreign key (Deadline_Template_Id) 
+        references DeadlineTemplate (id);
+
+    alter table Escalation 
+        add index IDX_Escalation_TemplateId (DeadlineTemplate_Escalation_Id), 
+        add constraint FK_Escalation_DeadlineTmpl 
+        foreign key (DeadlineTemplate_Escalation_Id) 
+        references DeadlineTemplate (id);
+
     alter table I18NText 
         add index IDX_I18NText_SubjId (Task_Subjects_Id), 
         add constraint FK_k16jpgrh67ti9uedf6konsu1p 
@@ -0,0 +1,2 @@
+drop table if exists TimerStoreJob;
+drop table if exists TimerStoreLease;
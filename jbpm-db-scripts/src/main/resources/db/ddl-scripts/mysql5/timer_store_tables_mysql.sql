@@ -0,0 +1,18 @@
+    create table TimerStoreJob (
+        jobName varchar(255) not null,
+        claimedUntil bigint,
+        fireTime bigint not null,
+        jobData longblob,
+        owner varchar(255),
+        timerServiceId varchar(255),
+        primary key (jobName)
+    );
+
+    create index IDX_TimerStoreJob_fireTime on TimerStoreJob(fireTime);
+
+    create table TimerStoreLease (
+        slice bigint not null,
+        expiresAt bigint not null,
+        nodeId varchar(255),
+        primary key (slice)
+    );
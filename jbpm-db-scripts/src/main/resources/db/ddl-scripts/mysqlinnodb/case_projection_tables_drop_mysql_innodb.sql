@@ -0,0 +1,3 @@
+drop table if exists CaseHierarchyLog;
+drop table if exists CaseMilestoneLog;
+drop table if exists CaseStageLog;
@@ -0,0 +1,6 @@
+drop table CaseHierarchyLog cascade constraints;
+drop table CaseMilestoneLog cascade constraints;
+drop table CaseStageLog cascade constraints;
+drop sequence CASE_HIERARCHY_LOG_ID_SEQ;
+drop sequence CASE_MILESTONE_LOG_ID_SEQ;
+drop sequence CASE_STAGE_LOG_ID_SEQ;
@@ -0,0 +1,50 @@
+    create table CaseHierarchyLog (
+        id number(19,0) not null,
+        ancestorCaseId varchar2(255 char),
+        descendantCaseId varchar2(255 char),
+        parentCaseId varchar2(255 char),
+        pathLength number(10,0) not null,
+        processInstanceId number(19,0) not null,
+        primary key (id)
+    );
+
+    alter table CaseHierarchyLog
+        add constraint UK_CaseHierarchyLog unique (ancestorCaseId, descendantCaseId);
+
+    create index IDX_CaseHierarchyLog_ancestor on CaseHierarchyLog(ancestorCaseId);
+
+    create index IDX_CaseHierarchyLog_desc on CaseHierarchyLog(descendantCaseId);
+
+    create table CaseMilestoneLog (
+        id number(19,0) not null,
+        achievedAt timestamp,
+        caseId varchar2(255 char),
+        milestoneId varchar2(255 char),
+        milestoneName varchar2(255 char),
+        status number(10,0) not null,
+        primary key (id)
+    );
+
+    alter table CaseMilestoneLog
+        add constraint UK_CaseMilestoneLog unique (caseId, milestoneName);
+
+    create index IDX_CaseMilestoneLog_caseId on CaseMilestoneLog(caseId);
+
+    create table CaseStageLog (
+        id number(19,0) not null,
+        caseId varchar2(255 char),
+        lastModified timestamp,
+        nodeInstanceId number(19,0),
+        stageId varchar2(255 char),
+        stageName varchar2(255 char),
+        status number(10,0) not null,
+        primary key (id)
+    );
+
+    create index IDX_CaseStageLog_caseId on CaseStageLog(caseId);
+
+    create sequence CASE_HIERARCHY_LOG_ID_SEQ;
+
+    create sequence CASE_MILESTONE_LOG_ID_SEQ;
+
+    create sequence CASE_STAGE_LOG_ID_SEQ;
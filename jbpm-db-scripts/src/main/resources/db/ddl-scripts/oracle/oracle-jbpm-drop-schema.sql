@@ -10,6 +10,7 @@ drop table ContextMappingInfo cascade constraints;
 drop table CorrelationKeyInfo cascade constraints;
 drop table CorrelationPropertyInfo cascade constraints;
 drop table Deadline cascade constraints;
+drop table DeadlineTemplate cascade constraints;
 drop table Delegation_delegates cascade constraints;
 drop table DeploymentStore cascade constraints;
 drop table email_header cascade constraints;
@@ -56,6 +57,7 @@ drop sequence CONTEXT_MAPPING_INFO_ID_SEQ;
 drop sequence CORRELATION_KEY_ID_SEQ;
 drop sequence CORRELATION_PROP_ID_SEQ;
 drop sequence DEADLINE_ID_SEQ;
+drop sequence DEADLINE_TEMPLATE_ID_SEQ;
 drop sequence DEPLOY_STORE_ID_SEQ;
 drop sequence EMAILNOTIFHEAD_ID_SEQ;
 drop sequence ERROR_INFO_ID_SEQ;
@@ -102,6 +102,7 @@
 
     create table CorrelationKeyInfo (
         keyId number(19,0) not null,
+        keyHash varchar2(64 char),
         name varchar2(255 char),
         processInstanceId number(19,0) not null,
         OPTLOCK number(10,0),
@@ -123,6 +124,14 @@
         escalated number(5,0),
         Deadlines_StartDeadLine_Id number(19,0),
         Deadlines_EndDeadLine_Id number(19,0),
+        Deadline_Template_Id number(19,0),
+        primary key (id)
+    );
+
+    create table DeadlineTemplate (
+        id number(19,0) not null,
+        deploymentId varchar2(255 char),
+        templateKey varchar2(255 char) not null,
         primary key (id)
     );
 
@@ -154,6 +163,7 @@
         id number(19,0) not null,
         name varchar2(255 char),
         Deadline_Escalation_Id number(19,0),
+        DeadlineTemplate_Escalation_Id number(19,0),
         primary key (id)
     );
 
@@ -533,6 +543,16 @@
         foreign key (Deadline_Escalation_Id) 
         references Deadline;
 
+    alter table Deadline 
+        add constraint FK_Deadline_Template 
+        foreign key (Deadline_Template_Id) 
+        references DeadlineTemplate;
+
+    alter table Escalation 
+        add constraint FK_Escalation_DeadlineTmpl 
+        foreign key (DeadlineTemplate_Escalation_Id) 
+        references DeadlineTemplate;
+
     alter table EventTypes 
         add constraint FK_nrecj4617iwxlc65ij6m7lsl1 
         foreign key (InstanceId) 
@@ -734,6 +754,8 @@
 
     create sequence DEADLINE_ID_SEQ;
 
+    create sequence DEADLINE_TEMPLATE_ID_SEQ;
+
     create sequence DEPLOY_STORE_ID_SEQ;
 
     create sequence EMAILNOTIFHEAD_ID_SEQ;
@@ -779,12 +801,16 @@
     create index IDX_Attachment_DataId ON Attachment(TaskData_Attachments_Id);
     create index IDX_BoolExpr_Id ON BooleanExpression(Escalation_Constraints_Id);
     create index IDX_CorrPropInfo_Id ON CorrelationPropertyInfo(correlationKey_keyId);
+    create unique index IDX_CorrelationKeyInfo_hash ON CorrelationKeyInfo(keyHash);
     create index IDX_Deadline_StartId ON Deadline(Deadlines_StartDeadLine_Id);
     create index IDX_Deadline_EndId ON Deadline(Deadlines_EndDeadLine_Id);
+    create index IDX_Deadline_TemplateId ON Deadline(Deadline_Template_Id);
+    create index IDX_DeadlineTemplate_Key ON DeadlineTemplate(templateKey);
     create index IDX_Delegation_EntityId ON Delegation_delegates(entity_id);
     create index IDX_Delegation_TaskId ON Delegation_delegates(task_id);
     create index IDX_ErrorInfo_Id ON ErrorInfo(REQUEST_ID);
     create index IDX_Escalation_Id ON Escalation(Deadline_Escalation_Id);
+    create index IDX_Escalation_TemplateId ON Escalation(DeadlineTemplate_Escalation_Id);
     create index IDX_EventTypes_Id ON EventTypes(InstanceId);
     create index IDX_I18NText_SubjId ON I18NText(Task_Subjects_Id);
     create index IDX_I18NText_NameId ON I18NText(Task_Names_Id);
@@ -11,6 +11,7 @@ create sequence CONTEXT_MAPPING_INFO_ID_SEQ start with 1 increment by  50;
 create sequence CORRELATION_KEY_ID_SEQ start with 1 increment by  50;
 create sequence CORRELATION_PROP_ID_SEQ start with 1 increment by  50;
 create sequence DEADLINE_ID_SEQ start with 1 increment by  1;
+create sequence DEADLINE_TEMPLATE_ID_SEQ start with 1 increment by  1;
 create sequence DEPLOY_STORE_ID_SEQ start with 1 increment by  1;
 create sequence EMAILNOTIFHEAD_ID_SEQ start with 1 increment by  1;
 create sequence ERROR_INFO_ID_SEQ start with 1 increment by  50;
@@ -40,14 +41,15 @@ create table CaseIdInfo (id number(19,0) not null, caseIdPrefix varchar2(255 cha
 create table CaseRoleAssignmentLog (id number(19,0) not null, caseId varchar2(255 char), entityId varchar2(255 char), processInstanceId number(19,0) not null, roleName varchar2(255 char), type number(10,0) not null, primary key (id));
 create table Content (id number(19,0) not null, content blob, primary key (id));
 create table ContextMappingInfo (mappingId number(19,0) not null, CONTEXT_ID varchar2(255 char) not null, KSESSION_ID number(19,0) not null, OWNER_ID varchar2(255 char), OPTLOCK number(10,0), primary key (mappingId));
-create table CorrelationKeyInfo (keyId number(19,0) not null, name varchar2(255 char), processInstanceId number(19,0) not null, OPTLOCK number(10,0), primary key (keyId));
+create table CorrelationKeyInfo (keyId number(19,0) not null, keyHash varchar2(64 char), name varchar2(255 char), processInstanceId number(19,0) not null, OPTLOCK number(10,0), primary key (keyId));
 create table CorrelationPropertyInfo (propertyId number(19,0) not null, name varchar2(255 char), value varchar2(255 char), OPTLOCK number(10,0), correlationKey_keyId number(19,0), primary key (propertyId));
-create table Deadline (id number(19,0) not null, deadline_date timestamp, escalated number(5,0), Deadlines_StartDeadLine_Id number(19,0), Deadlines_EndDeadLine_Id number(19,0), primary key (id));
+create table Deadline (id number(19,0) not null, deadline_date timestamp, escalated number(5,0), Deadlines_StartDeadLine_Id number(19,0), Deadlines_EndDeadLine_Id number(19,0), Deadline_Template_Id number(19,0), primary key (id));
+create table DeadlineTemplate (id number(19,0) not null, deploymentId varchar2(255 char), templateKey varchar2(255 char) not null, primary key (id));
 create table Delegation_delegates (task_id number(19,0) not null, entity_id varchar2(255 char) not null);
 create table DeploymentStore (id number(19,0) not null, attributes varchar2(255 char), DEPLOYMENT_ID varchar2(255 char), deploymentUnit clob, state number(10,0), updateDate timestamp, primary key (id));
 create table email_header (id number(19,0) not null, body clob, fromAddress varchar2(255 char), language varchar2(255 char), replyToAddress varchar2(255 char), subject varchar2(255 char), primary key (id));
 create table ErrorInfo (id number(19,0) not null, message varchar2(255 char), stacktrace long, timestamp timestamp, REQUEST_ID number(19,0) not null, primary key (id));
-create table Escalation (id number(19,0) not null, name varchar2(255 char), Deadline_Escalation_Id number(19,0), primary key (id));
+create table Escalation (id number(19,0) not null, name varchar2(255 char), Deadline_Escalation_Id number(19,0), DeadlineTemplate_Escalation_Id number(19,0), primary key (id));
 create table EventTypes (InstanceId number(19,0) not null, element varchar2(255 char));
 create table ExecutionErrorInfo (id number(19,0) not null, ERROR_ACK number(5,0), ERROR_ACK_AT timestamp, ERROR_ACK_BY varchar2(255 char), ACTIVITY_ID number(19,0), ACTIVITY_NAME varchar2(255 char), DEPLOYMENT_ID varchar2(255 char), ERROR_INFO clob, ERROR_DATE timestamp, ERROR_ID varchar2(255 char), ERROR_MSG varchar2(255 char), INIT_ACTIVITY_ID number(19,0), JOB_ID number(19,0), PROCESS_ID varchar2(255 char), PROCESS_INST_ID number(19,0), ERROR_TYPE varchar2(255 char), primary key (id));
 create table I18NText (id number(19,0) not null, language varchar2(255 char), shortText varchar2(255 char), text clob, Task_Subjects_Id number(19,0), Task_Names_Id number(19,0), Task_Descriptions_Id number(19,0), Reassignment_Documentation_Id number(19,0), Notification_Subjects_Id number(19,0), Notification_Names_Id number(19,0), Notification_Documentation_Id number(19,0), Notification_Descriptions_Id number(19,0), Deadline_Documentation_Id number(19,0), primary key (id));
@@ -99,14 +101,18 @@ create index IDX_CMI_Context on ContextMappingInfo (CONTEXT_ID);
 create index IDX_CMI_KSession on ContextMappingInfo (KSESSION_ID);
 create index IDX_CMI_Owner on ContextMappingInfo (OWNER_ID);
 alter table CorrelationKeyInfo add constraint IDX_CorrelationKeyInfo_name unique (name);
+alter table CorrelationKeyInfo add constraint IDX_CorrelationKeyInfo_hash unique (keyHash);
 create index IDX_CorrPropInfo_Id on CorrelationPropertyInfo (correlationKey_keyId);
 create index IDX_Deadline_StartId on Deadline (Deadlines_StartDeadLine_Id);
 create index IDX_Deadline_EndId on Deadline (Deadlines_EndDeadLine_Id);
+create index IDX_Deadline_TemplateId on Deadline (Deadline_Template_Id);
+create index IDX_DeadlineTemplate_Key on DeadlineTemplate (templateKey);
 create index IDX_Delegation_EntityId on Delegation_delegates (entity_id);
 create index IDX_Delegation_TaskId on Delegation_delegates (task_id);
 alter table DeploymentStore add constraint UK85rgskt09thd8mkkfl3tb0y81 unique (DEPLOYMENT_ID);
 create index IDX_ErrorInfo_Id on ErrorInfo (REQUEST_ID);
 create index IDX_Escalation_Id on Escalation (Deadline_Escalation_Id);
+create index IDX_Escalation_TemplateId on Escalation (DeadlineTemplate_Escalation_Id);
 create index IDX_EventTypes_Id on EventTypes (InstanceId);
 create index IDX_EventTypes_element on EventTypes (element);
 create index IDX_ErrorInfo_pInstId on ExecutionErrorInfo (PROCESS_INST_ID);
@@ -184,6 +190,8 @@ alter table Delegation_delegates add constraint FKewkdyi0wrgy9byp6abyglpcxq fore
 alter table Delegation_delegates add constraint FK85x3trafk3wfbrv719cafr591 foreign key (task_id) references Task;
 alter table ErrorInfo add constraint FKdarp6ushq06q39jmij3fdpdbs foreign key (REQUEST_ID) references RequestInfo;
 alter table Escalation add constraint FK37v8ova8ti6jiblda7n6j298e foreign key (Deadline_Escalation_Id) references Deadline;
+alter table Deadline add constraint FK_Deadline_Template foreign key (Deadline_Template_Id) references DeadlineTemplate;
+alter table Escalation add constraint FK_Escalation_DeadlineTmpl foreign key (DeadlineTemplate_Escalation_Id) references DeadlineTemplate;
 alter table EventTypes add constraint FKj0o3uve2nqo5yrjwrkc9jfttq foreign key (InstanceId) references ProcessInstanceInfo;
 alter table I18NText add constraint FKcd6eb4q62d9ab8p0di8pb99ch foreign key (Task_Subjects_Id) references Task;
 alter table I18NText add constraint FKiogka67sji8fk4cp7a369895i foreign key (Task_Names_Id) references Task;
@@ -0,0 +1,2 @@
+drop table TaskInboxEntry cascade constraints;
+drop sequence TASK_INBOX_ID_SEQ;
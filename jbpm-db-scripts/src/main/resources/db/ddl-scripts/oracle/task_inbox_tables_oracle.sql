@@ -0,0 +1,15 @@
+    create table TaskInboxEntry (
+        id number(19,0) not null,
+        actualOwner varchar2(255 char),
+        entityId varchar2(255 char),
+        status varchar2(255 char),
+        taskId number(19,0),
+        type number(10,0),
+        primary key (id)
+    );
+
+    create index IDX_TaskInboxEntry_entity on TaskInboxEntry(entityId,taskId);
+
+    create index IDX_TaskInboxEntry_taskId on TaskInboxEntry(taskId);
+
+    create sequence TASK_INBOX_ID_SEQ;
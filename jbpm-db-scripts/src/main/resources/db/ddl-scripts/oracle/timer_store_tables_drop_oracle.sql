@@ -0,0 +1,2 @@
+drop table TimerStoreJob cascade constraints;
+drop table TimerStoreLease cascade constraints;
@@ -0,0 +1,18 @@
+    create table TimerStoreJob (
+        jobName varchar2(255 char) not null,
+        claimedUntil number(19,0),
+        fireTime number(19,0) not null,
+        jobData blob,
+        owner varchar2(255 char),
+        timerServiceId varchar2(255 char),
+        primary key (jobName)
+    );
+
+    create index IDX_TimerStoreJob_fireTime on TimerStoreJob(fireTime);
+
+    create table TimerStoreLease (
+        slice number(19,0) not null,
+        expiresAt number(19,0) not null,
+        nodeId varchar2(255 char),
+        primary key (slice)
+    );
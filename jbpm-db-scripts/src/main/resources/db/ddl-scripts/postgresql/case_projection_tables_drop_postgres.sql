@@ -0,0 +1,6 @@
+drop table if exists CaseHierarchyLog cascade;
+drop table if exists CaseMilestoneLog cascade;
+drop table if exists CaseStageLog cascade;
+drop sequence if exists CASE_HIERARCHY_LOG_ID_SEQ;
+drop sequence if exists CASE_MILESTONE_LOG_ID_SEQ;
+drop sequence if exists CASE_STAGE_LOG_ID_SEQ;
@@ -0,0 +1,50 @@
+    create table CaseHierarchyLog (
+        id int8 not null,
+        ancestorCaseId varchar(255),
+        descendantCaseId varchar(255),
+        parentCaseId varchar(255),
+        pathLength int4 not null,
+        processInstanceId int8 not null,
+        primary key (id)
+    );
+
+    alter table CaseHierarchyLog
+        add constraint UK_CaseHierarchyLog unique (ancestorCaseId, descendantCaseId);
+
+    create index IDX_CaseHierarchyLog_ancestor on CaseHierarchyLog(ancestorCaseId);
+
+    create index IDX_CaseHierarchyLog_desc on CaseHierarchyLog(descendantCaseId);
+
+    create table CaseMilestoneLog (
+        id int8 not null,
+        achievedAt timestamp,
+        caseId varchar(255),
+        milestoneId varchar(255),
+        milestoneName varchar(255),
+        status int4 not null,
+        primary key (id)
+    );
+
+    alter table CaseMilestoneLog
+        add constraint UK_CaseMilestoneLog unique (caseId, milestoneName);
+
+    create index IDX_CaseMilestoneLog_caseId on CaseMilestoneLog(caseId);
+
+    create table CaseStageLog (
+        id int8 not null,
+        caseId varchar(255),
+        lastModified timestamp,
+        nodeInstanceId int8,
+        stageId varchar(255),
+        stageName varchar(255),
+        status int4 not null,
+        primary key (id)
+    );
+
+    create index IDX_CaseStageLog_caseId on CaseStageLog(caseId);
+
+    create sequence CASE_HIERARCHY_LOG_ID_SEQ;
+
+    create sequence CASE_MILESTONE_LOG_ID_SEQ;
+
+    create sequence CASE_STAGE_LOG_ID_SEQ;
@@ -8,6 +8,8 @@ alter table Delegation_delegates drop constraint FKewkdyi0wrgy9byp6abyglpcxq;
 alter table Delegation_delegates drop constraint FK85x3trafk3wfbrv719cafr591;
 alter table ErrorInfo drop constraint FKdarp6ushq06q39jmij3fdpdbs;
 alter table Escalation drop constraint FK37v8ova8ti6jiblda7n6j298e;
+alter table Deadline drop constraint FK_Deadline_Template;
+alter table Escalation drop constraint FK_Escalation_DeadlineTmpl;
 alter table EventTypes drop constraint FKj0o3uve2nqo5yrjwrkc9jfttq;
 alter table I18NText drop constraint FKcd6eb4q62d9ab8p0di8pb99ch;
 alter table I18NText drop constraint FKiogka67sji8fk4cp7a369895i;
@@ -55,6 +57,7 @@ drop table if exists ContextMappingInfo cascade;
 drop table if exists CorrelationKeyInfo cascade;
 drop table if exists CorrelationPropertyInfo cascade;
 drop table if exists Deadline cascade;
+drop table if exists DeadlineTemplate cascade;
 drop table if exists Delegation_delegates cascade;
 drop table if exists DeploymentStore cascade;
 drop table if exists email_header cascade;
@@ -101,6 +104,7 @@ drop sequence if exists CONTEXT_MAPPING_INFO_ID_SEQ;
 drop sequence if exists CORRELATION_KEY_ID_SEQ;
 drop sequence if exists CORRELATION_PROP_ID_SEQ;
 drop sequence if exists DEADLINE_ID_SEQ;
+drop sequence if exists DEADLINE_TEMPLATE_ID_SEQ;
 drop sequence if exists DEPLOY_STORE_ID_SEQ;
 drop sequence if exists EMAILNOTIFHEAD_ID_SEQ;
 drop sequence if exists ERROR_INFO_ID_SEQ;
@@ -11,6 +11,7 @@ create sequence CONTEXT_MAPPING_INFO_ID_SEQ start 1 increment 50;
 create sequence CORRELATION_KEY_ID_SEQ start 1 increment 50;
 create sequence CORRELATION_PROP_ID_SEQ start 1 increment 50;
 create sequence DEADLINE_ID_SEQ start 1 increment 1;
+create sequence DEADLINE_TEMPLATE_ID_SEQ start 1 increment 1;
 create sequence DEPLOY_STORE_ID_SEQ start 1 increment 1;
 create sequence EMAILNOTIFHEAD_ID_SEQ start 1 increment 1;
 create sequence ERROR_INFO_ID_SEQ start 1 increment 50;
@@ -40,14 +41,15 @@ create table CaseIdInfo (id int8 not null, caseIdPrefix varchar(255), currentVal
 create table CaseRoleAssignmentLog (id int8 not null, caseId varchar(255), entityId varchar(255), processInstanceId int8 not null, roleName varchar(255), type int4 not null, primary key (id));
 create table Content (id int8 not null, content oid, primary key (id));
 create table ContextMappingInfo (mappingId int8 not null, CONTEXT_ID varchar(255) not null, KSESSION_ID int8 not null, OWNER_ID varchar(255), OPTLOCK int4, primary key (mappingId));
-create table CorrelationKeyInfo (keyId int8 not null, name varchar(255), processInstanceId int8 not null, OPTLOCK int4, primary key (keyId));
+create table CorrelationKeyInfo (keyId int8 not null, keyHash varchar(64), name varchar(255), processInstanceId int8 not null, OPTLOCK int4, primary key (keyId));
 create table CorrelationPropertyInfo (propertyId int8 not null, name varchar(255), value varchar(255), OPTLOCK int4, correlationKey_keyId int8, primary key (propertyId));
-create table Deadline (id int8 not null, deadline_date timestamp, escalated int2, Deadlines_StartDeadLine_Id int8, Deadlines_EndDeadLine_Id int8, primary key (id));
+create table Deadline (id int8 not null, deadline_date timestamp, escalated int2, Deadlines_StartDeadLine_Id int8, Deadlines_EndDeadLine_Id int8, Deadline_Template_Id int8, primary key (id));
+create table DeadlineTemplate (id int8 not null, deploymentId varchar(255), templateKey varchar(255) not null, primary key (id));
 create table Delegation_delegates (task_id int8 not null, entity_id varchar(255) not null);
 create table DeploymentStore (id int8 not null, attributes varchar(255), DEPLOYMENT_ID varchar(255), deploymentUnit text, state int4, updateDate timestamp, primary key (id));
 create table email_header (id int8 not null, body text, fromAddress varchar(255), language varchar(255), replyToAddress varchar(255), subject varchar(255), primary key (id));
 create table ErrorInfo (id int8 not null, message varchar(255), stacktrace varchar(5000), timestamp timestamp, REQUEST_ID int8 not null, primary key (id));
-create table Escalation (id int8 not null, name varchar(255), Deadline_Escalation_Id int8, primary key (id));
+create table Escalation (id int8 not null, name varchar(255), Deadline_Escalation_Id int8, DeadlineTemplate_Escalation_Id int8, primary key (id));
 create table EventTypes (InstanceId int8 not null, element varchar(255));
 create table ExecutionErrorInfo (id int8 not null, ERROR_ACK int2, ERROR_ACK_AT timestamp, ERROR_ACK_BY varchar(255), ACTIVITY_ID int8, ACTIVITY_NAME varchar(255), DEPLOYMENT_ID varchar(255), ERROR_INFO text, ERROR_DATE timestamp, ERROR_ID varchar(255), ERROR_MSG varchar(255), INIT_ACTIVITY_ID int8, JOB_ID int8, PROCESS_ID varchar(255), PROCESS_INST_ID int8, ERROR_TYPE varchar(255), primary key (id));
 create table I18NText (id int8 not null, language varchar(255), shortText varchar(255), text text, Task_Subjects_Id int8, Task_Names_Id int8, Task_Descriptions_Id int8, Reassignment_Documentation_Id int8, Notification_Subjects_Id int8, Notification_Names_Id int8, Notification_Documentation_Id int8, Notification_Descriptions_Id int8, Deadline_Documentation_Id int8, primary key (id));
@@ -99,14 +101,18 @@ create index IDX_CMI_Context on ContextMappingInfo (CONTEXT_ID);
 create index IDX_CMI_KSession on ContextMappingInfo (KSESSION_ID);
 create index IDX_CMI_Owner on ContextMappingInfo (OWNER_ID);
 alter table CorrelationKeyInfo add constraint IDX_CorrelationKeyInfo_name unique (name);
+alter table CorrelationKeyInfo add constraint IDX_CorrelationKeyInfo_hash unique (keyHash);
 create index IDX_CorrPropInfo_Id on CorrelationPropertyInfo (correlationKey_keyId);
 create index IDX_Deadline_StartId on Deadline (Deadlines_StartDeadLine_Id);
 create index IDX_Deadline_EndId on Deadline (Deadlines_EndDeadLine_Id);
+create index IDX_Deadline_TemplateId on Deadline (Deadline_Template_Id);
+create index IDX_DeadlineTemplate_Key on DeadlineTemplate (templateKey);
 create index IDX_Delegation_EntityId on Delegation_delegates (entity_id);
 create index IDX_Delegation_TaskId on Delegation_delegates (task_id);
 alter table DeploymentStore add constraint UK85rgskt09thd8mkkfl3tb0y81 unique (DEPLOYMENT_ID);
 create index IDX_ErrorInfo_Id on ErrorInfo (REQUEST_ID);
 create index IDX_Escalation_Id on Escalation (Deadline_Escalation_Id);
+create index IDX_Escalation_TemplateId on Escalation (DeadlineTemplate_Escalation_Id);
 create index IDX_EventTypes_Id on EventTypes (InstanceId);
 create index IDX_EventTypes_element on EventTypes (element);
 create index IDX_ErrorInfo_pInstId on ExecutionErrorInfo (PROCESS_INST_ID);
@@ -184,6 +190,8 @@ alter table Delegation_delegates add constraint FKewkdyi0wrgy9byp6abyglpcxq fore
 alter table Delegation_delegates add constraint FK85x3trafk3wfbrv719cafr591 foreign key (task_id) references Task;
 alter table ErrorInfo add constraint FKdarp6ushq06q39jmij3fdpdbs foreign key (REQUEST_ID) references RequestInfo;
 alter table Escalation add constraint FK37v8ova8ti6jiblda7n6j298e foreign key (Deadline_Escalation_Id) references Deadline;
+alter table Deadline add constraint FK_Deadline_Template foreign key (Deadline_Template_Id) references DeadlineTemplate;
+alter table Escalation add constraint FK_Escalation_DeadlineTmpl foreign key (DeadlineTemplate_Escalation_Id) references DeadlineTemplate;
 alter table EventTypes add constraint FKj0o3uve2nqo5yrjwrkc9jfttq foreign key (InstanceId) references ProcessInstanceInfo;
 alter table I18NText add constraint FKcd6eb4q62d9ab8p0di8pb99ch foreign key (Task_Subjects_Id) references Task;
 alter table I18NText add constraint FKiogka67sji8fk4cp7a369895i foreign key (Task_Names_Id) references Task;
@@ -0,0 +1,2 @@
+drop table if exists TaskInboxEntry cascade;
+drop sequence if exists TASK_INBOX_ID_SEQ;
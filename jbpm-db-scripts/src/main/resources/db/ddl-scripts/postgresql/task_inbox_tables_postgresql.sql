@@ -0,0 +1,15 @@
+    create table TaskInboxEntry (
+        id int8 not null,
+        actualOwner varchar(255),
+        entityId varchar(255),
+        status varchar(255),
+        taskId int8,
+        type int4,
+        primary key (id)
+    );
+
+    create index IDX_TaskInboxEntry_entity on TaskInboxEntry(entityId,taskId);
+
+    create index IDX_TaskInboxEntry_taskId on TaskInboxEntry(taskId);
+
+    create sequence TASK_INBOX_ID_SEQ;
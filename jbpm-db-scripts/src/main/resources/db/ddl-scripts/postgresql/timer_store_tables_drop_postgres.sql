@@ -0,0 +1,2 @@
+drop table if exists TimerStoreJob cascade;
+drop table if exists TimerStoreLease cascade;
@@ -0,0 +1,18 @@
+    create table TimerStoreJob (
+        jobName varchar(255) not null,
+        claimedUntil int8,
+        fireTime int8 not null,
+        jobData bytea,
+        owner varchar(255),
+        timerServiceId varchar(255),
+        primary key (jobName)
+    );
+
+    create index IDX_TimerStoreJob_fireTime on TimerStoreJob(fireTime);
+
+    create table TimerStoreLease (
+        slice int8 not null,
+        expiresAt int8 not null,
+        nodeId varchar(255),
+        primary key (slice)
+    );
@@ -0,0 +1,13 @@
+    create table TaskInboxEntry (
+        id numeric(19,0) identity not null,
+        actualOwner varchar(255),
+        entityId varchar(255),
+        status varchar(255),
+        taskId numeric(19,0),
+        type int,
+        primary key (id)
+    );
+
+    create index IDX_TaskInboxEntry_entity on TaskInboxEntry(entityId,taskId);
+
+    create index IDX_TaskInboxEntry_taskId on TaskInboxEntry(taskId);
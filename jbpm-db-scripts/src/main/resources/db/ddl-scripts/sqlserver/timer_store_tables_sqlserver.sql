@@ -0,0 +1,18 @@
+    create table TimerStoreJob (
+        jobName varchar(255) not null,
+        claimedUntil numeric(19,0),
+        fireTime numeric(19,0) not null,
+        jobData image,
+        owner varchar(255),
+        timerServiceId varchar(255),
+        primary key (jobName)
+    );
+
+    create index IDX_TimerStoreJob_fireTime on TimerStoreJob(fireTime);
+
+    create table TimerStoreLease (
+        slice numeric(19,0) not null,
+        expiresAt numeric(19,0) not null,
+        nodeId varchar(255),
+        primary key (slice)
+    );
@@ -8,6 +8,8 @@ alter table Delegation_delegates drop constraint FK_gn7ula51sk55wj1o1m57guqxb;
 alter table Delegation_delegates drop constraint FK_fajq6kossbsqwr3opkrctxei3;
 alter table ErrorInfo drop constraint FK_cms0met37ggfw5p5gci3otaq0;
 alter table Escalation drop constraint FK_ay2gd4fvl9yaapviyxudwuvfg;
+alter table Deadline drop constraint FK_Deadline_Template;
+alter table Escalation drop constraint FK_Escalation_DeadlineTmpl;
 alter table EventTypes drop constraint FK_nrecj4617iwxlc65ij6m7lsl1;
 alter table I18NText drop constraint FK_k16jpgrh67ti9uedf6konsu1p;
 alter table I18NText drop constraint FK_fd9uk6hemv2dx1ojovo7ms3vp;
@@ -55,6 +57,7 @@ drop table ContextMappingInfo;
 drop table CorrelationKeyInfo;
 drop table CorrelationPropertyInfo;
 drop table Deadline;
+drop table DeadlineTemplate;
 drop table Delegation_delegates;
 drop table DeploymentStore;
 drop table email_header;
@@ -0,0 +1,6 @@
+drop table CaseHierarchyLog
+    go
+drop table CaseMilestoneLog
+    go
+drop table CaseStageLog
+    go
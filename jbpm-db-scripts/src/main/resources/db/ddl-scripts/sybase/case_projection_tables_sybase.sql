@@ -0,0 +1,53 @@
+    create table CaseHierarchyLog (
+        id bigint identity not null,
+        ancestorCaseId varchar(255) null,
+        descendantCaseId varchar(255) null,
+        parentCaseId varchar(255) null,
+        pathLength int not null,
+        processInstanceId numeric(19,0) not null,
+        primary key (id)
+    ) lock datarows
+    go
+
+    alter table CaseHierarchyLog
+        add constraint UK_CaseHierarchyLog unique (ancestorCaseId, descendantCaseId)
+    go
+
+    create index IDX_CaseHierarchyLog_ancestor on CaseHierarchyLog(ancestorCaseId)
+    go
+
+    create index IDX_CaseHierarchyLog_desc on CaseHierarchyLog(descendantCaseId)
+    go
+
+    create table CaseMilestoneLog (
+        id bigint identity not null,
+        achievedAt datetime null,
+        caseId varchar(255) null,
+        milestoneId varchar(255) null,
+        milestoneName varchar(255) null,
+        status int not null,
+        primary key (id)
+    ) lock datarows
+    go
+
+    alter table CaseMilestoneLog
+        add constraint UK_CaseMilestoneLog unique (caseId, milestoneName)
+    go
+
+    create index IDX_CaseMilestoneLog_caseId on CaseMilestoneLog(caseId)
+    go
+
+    create table CaseStageLog (
+        id bigint identity not null,
+        caseId varchar(255) null,
+        lastModified datetime null,
+        nodeInstanceId numeric(19,0) null,
+        stageId varchar(255) null,
+        stageName varchar(255) null,
+        status int not null,
+        primary key (id)
+    ) lock datarows
+    go
+
+    create index IDX_CaseStageLog_caseId on CaseStageLog(caseId)
+    go
@@ -18,6 +18,10 @@ alter table ErrorInfo drop constraint FK8B1186B6724A467
     go
 alter table Escalation drop constraint FK67B2C6B5D1E5CC1
     go
+alter table Deadline drop constraint FK_Deadline_Template
+    go
+alter table Escalation drop constraint FK_Escalation_DeadlineTmpl
+    go
 alter table EventTypes drop constraint FKB0E5621F7665489A
     go
 alter table I18NText drop constraint FK2349686BF4ACCD69
@@ -112,6 +116,8 @@ drop table CorrelationPropertyInfo
     go
 drop table Deadline
     go
+drop table DeadlineTemplate
+    go
 drop table Delegation_delegates
     go
 drop table DeploymentStore
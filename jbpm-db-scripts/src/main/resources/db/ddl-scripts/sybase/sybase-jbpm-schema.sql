@@ -110,6 +110,7 @@
 
     create table CorrelationKeyInfo (
         keyId numeric(19,0) identity not null,
+        keyHash varchar(64) null,
         name varchar(255) null,
         processInstanceId numeric(19,0) not null,
         OPTLOCK int null,
@@ -133,6 +134,15 @@
         escalated smallint null,
         Deadlines_StartDeadLine_Id numeric(19,0) null,
         Deadlines_EndDeadLine_Id numeric(19,0) null,
+        Deadline_Template_Id numeric(19,0) null,
+        primary key (id)
+    ) lock datarows
+    go
+
+    create table DeadlineTemplate (
+        id numeric(19,0) identity not null,
+        deploymentId varchar(255) null,
+        templateKey varchar(255) not null,
         primary key (id)
     ) lock datarows
     go
@@ -168,6 +178,7 @@
         id numeric(19,0) identity not null,
         name varchar(255) null,
         Deadline_Escalation_Id numeric(19,0) null,
+        DeadlineTemplate_Escalation_Id numeric(19,0) null,
         primary key (id)
     ) lock datarows
     go
@@ -583,6 +594,18 @@
         references Deadline
     go
 
+    alter table Deadline
+        add constraint FK_Deadline_Template
+        foreign key (Deadline_Template_Id)
+        references DeadlineTemplate
+    go
+
+    alter table Escalation
+        add constraint FK_Escalation_DeadlineTmpl
+        foreign key (DeadlineTemplate_Escalation_Id)
+        references DeadlineTemplate
+    go
+
     alter table EventTypes
         add constraint FKB0E5621F7665489A
         foreign key (InstanceId)
@@ -809,10 +832,16 @@
     go
     create index IDX_CorrPropInfo_Id ON CorrelationPropertyInfo(correlationKey_keyId)
     go
+    create unique index IDX_CorrelationKeyInfo_hash ON CorrelationKeyInfo(keyHash)
+    go
     create index IDX_Deadline_StartId ON Deadline(Deadlines_StartDeadLine_Id)
     go
     create index IDX_Deadline_EndId ON Deadline(Deadlines_EndDeadLine_Id)
     go
+    create index IDX_Deadline_TemplateId ON Deadline(Deadline_Template_Id)
+    go
+    create index IDX_DeadlineTemplate_Key ON DeadlineTemplate(templateKey)
+    go
     create index IDX_Delegation_EntityId ON Delegation_delegates(entity_id)
     go
     create index IDX_Delegation_TaskId ON Delegation_delegates(task_id)
@@ -821,6 +850,8 @@
     go
     create index IDX_Escalation_Id ON Escalation(Deadline_Escalation_Id)
     go
+    create index IDX_Escalation_TemplateId ON Escalation(DeadlineTemplate_Escalation_Id)
+    go
     create index IDX_EventTypes_Id ON EventTypes(InstanceId)
     go
     create index IDX_I18NText_SubjId ON I18NText(Task_Subjects_Id)
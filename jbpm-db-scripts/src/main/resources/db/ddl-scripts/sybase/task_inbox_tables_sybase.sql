@@ -0,0 +1,16 @@
+    create table TaskInboxEntry (
+        id bigint identity not null,
+        actualOwner varchar(255) null,
+        entityId varchar(255) null,
+        status varchar(255) null,
+        taskId numeric(19,0) null,
+        type int null,
+        primary key (id)
+    ) lock datarows
+    go
+
+    create index IDX_TaskInboxEntry_entity on TaskInboxEntry(entityId,taskId)
+    go
+
+    create index IDX_TaskInboxEntry_taskId on TaskInboxEntry(taskId)
+    go
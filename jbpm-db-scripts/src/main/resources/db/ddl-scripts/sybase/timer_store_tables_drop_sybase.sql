@@ -0,0 +1,4 @@
+drop table TimerStoreJob
+    go
+drop table TimerStoreLease
+    go
@@ -0,0 +1,21 @@
+    create table TimerStoreJob (
+        jobName varchar(255) not null,
+        claimedUntil numeric(19,0) null,
+        fireTime numeric(19,0) not null,
+        jobData image null,
+        owner varchar(255) null,
+        timerServiceId varchar(255) null,
+        primary key (jobName)
+    ) lock datarows
+    go
+
+    create index IDX_TimerStoreJob_fireTime on TimerStoreJob(fireTime)
+    go
+
+    create table TimerStoreLease (
+        slice numeric(19,0) not null,
+        expiresAt numeric(19,0) not null,
+        nodeId varchar(255) null,
+        primary key (slice)
+    ) lock datarows
+    go
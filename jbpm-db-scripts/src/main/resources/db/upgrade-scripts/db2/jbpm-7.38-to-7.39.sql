@@ -1 +1,40 @@
-CREATE INDEX IDX_PAsPot_TaskEntity ON PeopleAssignments_PotOwners(task_id,entity_id);
\ No newline at end of file
+CREATE INDEX IDX_PAsPot_TaskEntity ON PeopleAssignments_PotOwners(task_id,entity_id);
+
+CREATE TABLE DeadlineTemplate (
+    id bigint generated by default as identity,
+    deploymentId varchar(255),
+    templateKey varchar(255) not null,
+    primary key (id)
+);
+
+CREATE INDEX IDX_DeadlineTemplate_Key ON DeadlineTemplate(templateKey);
+
+ALTER TABLE Deadline ADD COLUMN Deadline_Template_Id bigint;
+
+ALTER TABLE Deadline ADD CONSTRAINT FK_Deadline_Template FOREIGN KEY (Deadline_Template_Id) REFERENCES DeadlineTemplate;
+
+CREATE INDEX IDX_Deadline_TemplateId ON Deadline(Deadline_Template_Id);
+
+ALTER TABLE Escalation ADD COLUMN DeadlineTemplate_Escalation_Id bigint;
+
+ALTER TABLE Escalation ADD CONSTRAINT FK_Escalation_DeadlineTmpl FOREIGN KEY (DeadlineTemplate_Escalation_Id) REFERENCES DeadlineTemplate;
+
+CREATE INDEX IDX_Escalation_TemplateId ON Escalation(DeadlineTemplate_Escalation_Id);
+
+ALTER TABLE CorrelationKeyInfo ADD COLUMN keyHash varchar(64);
+
+CREATE UNIQUE INDEX IDX_CorrelationKeyInfo_hash ON CorrelationKeyInfo(keyHash) EXCLUDE NULL KEYS;
+
+CREATE TABLE TaskInboxEntry (
+    id bigint generated by default as identity,
+    actualOwner varchar(255),
+    entityId varchar(255),
+    status varchar(255),
+    taskId bigint,
+    type integer,
+    primary key (id)
+);
+
+CREATE INDEX IDX_TaskInboxEntry_entity ON TaskInboxEntry(entityId,taskId);
+
+CREATE INDEX IDX_TaskInboxEntry_taskId ON TaskInboxEntry(taskId);
@@ -1 +1,44 @@
-CREATE INDEX IDX_PAsPot_TaskEntity ON PeopleAssignments_PotOwners(task_id,entity_id);
\ No newline at end of file
+CREATE INDEX IDX_PAsPot_TaskEntity ON PeopleAssignments_PotOwners(task_id,entity_id);
+
+CREATE TABLE DeadlineTemplate (
+    id number(19,0) not null,
+    deploymentId varchar2(255 char),
+    templateKey varchar2(255 char) not null,
+    primary key (id)
+);
+
+CREATE SEQUENCE DEADLINE_TEMPLATE_ID_SEQ;
+
+CREATE INDEX IDX_DeadlineTemplate_Key ON DeadlineTemplate(templateKey);
+
+ALTER TABLE Deadline ADD Deadline_Template_Id number(19,0);
+
+ALTER TABLE Deadline ADD CONSTRAINT FK_Deadline_Template FOREIGN KEY (Deadline_Template_Id) REFERENCES DeadlineTemplate;
+
+CREATE INDEX IDX_Deadline_TemplateId ON Deadline(Deadline_Template_Id);
+
+ALTER TABLE Escalation ADD DeadlineTemplate_Escalation_Id number(19,0);
+
+ALTER TABLE Escalation ADD CONSTRAINT FK_Escalation_DeadlineTmpl FOREIGN KEY (DeadlineTemplate_Escalation_Id) REFERENCES DeadlineTemplate;
+
+CREATE INDEX IDX_Escalation_TemplateId ON Escalation(DeadlineTemplate_Escalation_Id);
+
+ALTER TABLE CorrelationKeyInfo ADD keyHash varchar2(64 char);
+
+CREATE UNIQUE INDEX IDX_CorrelationKeyInfo_hash ON CorrelationKeyInfo(keyHash);
+
+CREATE TABLE TaskInboxEntry (
+    id number(19,0) not null,
+    actualOwner varchar2(255 char),
+    entityId varchar2(255 char),
+    status varchar2(255 char),
+    taskId number(19,0),
+    type number(10,0),
+    primary key (id)
+);
+
+CREATE INDEX IDX_TaskInboxEntry_entity ON TaskInboxEntry(entityId,taskId);
+
+CREATE INDEX IDX_TaskInboxEntry_taskId ON TaskInboxEntry(taskId);
+
+CREATE SEQUENCE TASK_INBOX_ID_SEQ;
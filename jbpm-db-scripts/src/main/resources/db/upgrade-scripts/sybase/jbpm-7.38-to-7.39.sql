@@ -1,2 +1,55 @@
 CREATE INDEX IDX_PAsPot_TaskEntity ON PeopleAssignments_PotOwners(task_id,entity_id)
-go
\ No newline at end of file
+go
+
+CREATE TABLE DeadlineTemplate (
+    id numeric(19,0) identity not null,
+    deploymentId varchar(255) null,
+    templateKey varchar(255) not null,
+    primary key (id)
+) lock datarows
+go
+
+CREATE INDEX IDX_DeadlineTemplate_Key ON DeadlineTemplate(templateKey)
+go
+
+ALTER TABLE Deadline ADD Deadline_Template_Id numeric(19,0) null
+go
+
+ALTER TABLE Deadline ADD CONSTRAINT FK_Deadline_Template FOREIGN KEY (Deadline_Template_Id) REFERENCES DeadlineTemplate
+go
+
+CREATE INDEX IDX_Deadline_TemplateId ON Deadline(Deadline_Template_Id)
+go
+
+ALTER TABLE Escalation ADD DeadlineTemplate_Escalation_Id numeric(19,0) null
+go
+
+ALTER TABLE Escalation ADD CONSTRAINT FK_Escalation_DeadlineTmpl FOREIGN KEY (DeadlineTemplate_Escalation_Id) REFERENCES DeadlineTemplate
+go
+
+CREATE INDEX IDX_Escalation_TemplateId ON Escalation(DeadlineTemplate_Escalation_Id)
+go
+
+ALTER TABLE CorrelationKeyInfo ADD keyHash varchar(64) null
+go
+
+-- not unique as existing correlation keys have no hash
+CREATE INDEX IDX_CorrelationKeyInfo_hash ON CorrelationKeyInfo(keyHash)
+go
+
+CREATE TABLE TaskInboxEntry (
+    id bigint identity not null,
+    actualOwner varchar(255) null,
+    entityId varchar(255) null,
+    status varchar(255) null,
+    taskId numeric(19,0) null,
+    type int null,
+    primary key (id)
+) lock datarows
+go
+
+CREATE INDEX IDX_TaskInboxEntry_entity ON TaskInboxEntry(entityId,taskId)
+go
+
+CREATE INDEX IDX_TaskInboxEntry_taskId ON TaskInboxEntry(taskId)
+go
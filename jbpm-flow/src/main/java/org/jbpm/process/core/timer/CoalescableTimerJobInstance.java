@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.core.timer;
+
+import java.util.List;
+
+import org.drools.core.time.impl.TimerJobInstance;
+
+/**
+ * Timer job instance that can be fired together with other due timer job instances
+ * that share the same coalescing key - e.g. timers of the same process instance or
+ * of the same (shared) knowledge session - within single command and transaction.
+ */
+public interface CoalescableTimerJobInstance extends TimerJobInstance {
+
+    /**
+     * Returns key of timers that can be fired together with this one
+     * @return coalescing key or null when this timer must always be fired on its own
+     */
+    String getCoalescingKey();
+
+    /**
+     * Fires all given timer job instances in one go, all of them have the same coalescing key as this instance
+     * (this instance included). In case of failure none of the timers is considered as fired.
+     * @param instances timer job instances to be fired
+     * @throws Exception in case any of the timers failed
+     */
+    void callCoalesced(List<TimerJobInstance> instances) throws Exception;
+}
@@ -74,4 +74,13 @@ public interface GlobalSchedulerService extends SchedulerService, InternalSchedu
      * @return
      */
     boolean isValid(GlobalJobHandle jobHandle);
+
+    /**
+     * Indicates if timers of existing sessions need to be initialized (by loading the sessions) when
+     * runtime manager starts, not needed by implementations that fire stored timers on their own.
+     * @return
+     */
+    default boolean isTimerInitRequired() {
+        return true;
+    }
 }
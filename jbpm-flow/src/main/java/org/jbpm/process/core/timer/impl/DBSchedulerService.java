@@ -0,0 +1,342 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.InitialContext;
+import javax.sql.DataSource;
+
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.TimerJobInstance;
+import org.jbpm.process.core.timer.GlobalSchedulerService;
+import org.jbpm.process.core.timer.NamedJobContext;
+import org.jbpm.process.core.timer.SchedulerServiceInterceptor;
+import org.jbpm.process.core.timer.impl.GlobalTimerService.GlobalJobHandle;
+import org.jbpm.process.core.timer.impl.db.TimerFiringMetrics;
+import org.jbpm.process.core.timer.impl.db.TimerStore;
+import org.jbpm.process.core.timer.impl.db.TimerStoreScheduler;
+import org.jbpm.process.instance.timer.TimerManager.ProcessJobContext;
+import org.jbpm.process.instance.timer.TimerManager.StartProcessJobContext;
+import org.kie.api.runtime.EnvironmentName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Data base backed <code>GlobalSchedulerService</code> that keeps timers in jBPM owned table
+ * (<code>TimerStoreJob</code>) indexed by fire time instead of relying on Quartz. Nodes of the cluster
+ * claim time slices via lease rows (<code>TimerStoreLease</code>) and only timers of the near future
+ * are held in memory in a hashed timing wheel and fired in batches - see {@link TimerStoreScheduler}.
+ * <br/>
+ * Data source is either given directly or looked up in JNDI under name given by
+ * <code>org.jbpm.timer.db.datasource</code> system property. All nodes using the same data source
+ * and node id share single scheduler engine.
+ * <br/>
+ * Setting <code>org.jbpm.timer.db.coalesce</code> to true fires due timers of the same process instance
+ * (or of the same session for singleton strategy) together in one command and transaction.
+ */
+public class DBSchedulerService implements GlobalSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DBSchedulerService.class);
+
+    public static final String DATASOURCE_PROPERTY = "org.jbpm.timer.db.datasource";
+
+    private static final String NODE_ID = System.getProperty("org.jbpm.timer.db.node");
+    private static final Boolean TRANSACTIONAL = Boolean.parseBoolean(System.getProperty("org.jbpm.timer.db.tx", "true"));
+    private static final Long SLICE_LENGTH = Long.parseLong(System.getProperty("org.jbpm.timer.db.slice", "30000"));
+    private static final Long LEASE_DURATION = Long.parseLong(System.getProperty("org.jbpm.timer.db.lease", "10000"));
+    private static final Long POLL_INTERVAL = Long.parseLong(System.getProperty("org.jbpm.timer.db.poll.interval", "1000"));
+    private static final Long TICK_DURATION = Long.parseLong(System.getProperty("org.jbpm.timer.db.tick", "100"));
+    private static final Integer BATCH_SIZE = Integer.parseInt(System.getProperty("org.jbpm.timer.db.batch.size", "100"));
+    private static final Integer THREAD_POOL_SIZE = Integer.parseInt(System.getProperty("org.jbpm.timer.db.threads", "5"));
+    private static final Integer FAILED_JOB_RETRIES = Integer.parseInt(System.getProperty("org.jbpm.timer.db.retries", "5"));
+    private static final Integer FAILED_JOB_DELAY = Integer.parseInt(System.getProperty("org.jbpm.timer.db.delay", "1000"));
+    private static final Boolean COALESCE_TIMERS = Boolean.parseBoolean(System.getProperty("org.jbpm.timer.db.coalesce", "false"));
+    private static final Long CLAIM_DURATION = Long.parseLong(System.getProperty("org.jbpm.timer.db.claim", "60000"));
+    private static final Integer DUE_JOBS_LIMIT = Integer.parseInt(System.getProperty("org.jbpm.timer.db.due.limit", "1000"));
+
+    // global data shared across all scheduler service instances of given node
+    private static final Map<String, TimerStoreScheduler> schedulers = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> schedulerUsages = new ConcurrentHashMap<>();
+
+    private AtomicLong idCounter = new AtomicLong();
+    private TimerService globalTimerService;
+    private SchedulerServiceInterceptor interceptor = new DelegateSchedulerServiceInterceptor(this);
+
+    private DataSource dataSource;
+    private String nodeId;
+    private TimerStoreScheduler scheduler;
+
+    public DBSchedulerService() {
+        this(null, NODE_ID);
+    }
+
+    public DBSchedulerService(DataSource dataSource) {
+        this(dataSource, NODE_ID);
+    }
+
+    public DBSchedulerService(DataSource dataSource, String nodeId) {
+        this.dataSource = dataSource;
+        this.nodeId = nodeId == null ? defaultNodeId() : nodeId;
+    }
+
+    @Override
+    public JobHandle scheduleJob(Job job, JobContext ctx, Trigger trigger) {
+        Long id = idCounter.getAndIncrement();
+        String jobName = getJobName(ctx, id);
+        logger.debug("Scheduling timer with name {}", jobName);
+        // check if given timer job is marked as new timer meaning it was never scheduled before,
+        // if so skip the check by timer name as it has no way to exist
+        if (!isNewTimer(ctx)) {
+            TimerJobInstance existing = scheduler.find(jobName);
+            if (existing != null) {
+                return existing.getJobHandle();
+            }
+        }
+        GlobalDBJobHandle jobHandle = new GlobalDBJobHandle(id, jobName, ((GlobalTimerService) globalTimerService).getTimerServiceId());
+        TimerJobInstance jobInstance = globalTimerService.
+                getTimerJobFactoryManager().createTimerJobInstance( job,
+                                                                    ctx,
+                                                                    trigger,
+                                                                    jobHandle,
+                                                                    (InternalSchedulerService) globalTimerService );
+        jobHandle.setTimerJobInstance(jobInstance);
+        if (ctx instanceof ProcessJobContext) {
+            ((ProcessJobContext) ctx).getTimer().setJobHandle(jobHandle);
+        }
+        interceptor.internalSchedule(jobInstance);
+        return jobHandle;
+    }
+
+    @Override
+    public boolean removeJob(JobHandle jobHandle) {
+        GlobalDBJobHandle dbJobHandle = (GlobalDBJobHandle) jobHandle;
+        boolean removed = scheduler.remove(dbJobHandle.getJobName());
+        if (dbJobHandle.getTimerJobInstance() != null) {
+            globalTimerService.getTimerJobFactoryManager().removeTimerJobInstance(dbJobHandle.getTimerJobInstance());
+        }
+        return removed;
+    }
+
+    @Override
+    public void internalSchedule(TimerJobInstance timerJobInstance) {
+        GlobalDBJobHandle jobHandle = (GlobalDBJobHandle) timerJobInstance.getJobHandle();
+        globalTimerService.getTimerJobFactoryManager().addTimerJobInstance(timerJobInstance);
+        try {
+            scheduler.schedule(jobHandle.getJobName(), jobHandle.getTimerServiceId(), timerJobInstance);
+        } catch (RuntimeException e) {
+            globalTimerService.getTimerJobFactoryManager().removeTimerJobInstance(timerJobInstance);
+            throw new RuntimeException("Exception while scheduling job", e);
+        }
+    }
+
+    @Override
+    public void initScheduler(TimerService timerService) {
+        this.globalTimerService = timerService;
+        synchronized (schedulers) {
+            scheduler = schedulers.get(nodeId);
+            if (scheduler == null) {
+                scheduler = new TimerStoreScheduler(new TimerStore(getDataSource()), nodeId);
+                scheduler.setSliceLength(SLICE_LENGTH);
+                scheduler.setLeaseDuration(LEASE_DURATION);
+                scheduler.setPollInterval(POLL_INTERVAL);
+                scheduler.setTickDuration(TICK_DURATION);
+                scheduler.setBatchSize(BATCH_SIZE);
+                scheduler.setThreadPoolSize(THREAD_POOL_SIZE);
+                scheduler.setFailedJobRetries(FAILED_JOB_RETRIES);
+                scheduler.setFailedJobDelay(FAILED_JOB_DELAY);
+                scheduler.setCoalesceTimers(COALESCE_TIMERS);
+                scheduler.setClaimDuration(CLAIM_DURATION);
+                scheduler.setDueJobsLimit(DUE_JOBS_LIMIT);
+                scheduler.start();
+                schedulers.put(nodeId, scheduler);
+            }
+            schedulerUsages.merge(nodeId, 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        synchronized (schedulers) {
+            Integer current = schedulerUsages.computeIfPresent(nodeId, (key, count) -> count > 1 ? count - 1 : null);
+            if (current == null && schedulers.remove(nodeId) != null) {
+                scheduler.stop();
+            }
+        }
+        scheduler = null;
+    }
+
+    public void forceShutdown() {
+        synchronized (schedulers) {
+            TimerStoreScheduler shared = schedulers.remove(nodeId);
+            schedulerUsages.remove(nodeId);
+            if (shared != null) {
+                shared.stop();
+            }
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public JobHandle buildJobHandleForContext(NamedJobContext ctx) {
+        return new GlobalDBJobHandle(-1, getJobName(ctx, -1L), ((GlobalTimerService) globalTimerService).getTimerServiceId());
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return TRANSACTIONAL;
+    }
+
+    @Override
+    public boolean isTimerInitRequired() {
+        // timers are stored in data base so there is no need to init them on start
+        return !isTransactional();
+    }
+
+    @Override
+    public boolean retryEnabled() {
+        return false;
+    }
+
+    @Override
+    public void setInterceptor(SchedulerServiceInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public boolean isValid(GlobalJobHandle jobHandle) {
+        if (scheduler == null) {
+            return false;
+        }
+        return scheduler.exists(((GlobalDBJobHandle) jobHandle).getJobName());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public TimerFiringMetrics getMetrics() {
+        synchronized (schedulers) {
+            TimerStoreScheduler shared = schedulers.get(nodeId);
+            return shared == null ? null : shared.getMetrics();
+        }
+    }
+
+    protected DataSource getDataSource() {
+        if (dataSource == null) {
+            String dataSourceName = System.getProperty(DATASOURCE_PROPERTY);
+            if (dataSourceName == null) {
+                throw new IllegalStateException("No data source given for DBSchedulerService, set " + DATASOURCE_PROPERTY + " system property");
+            }
+            try {
+                dataSource = (DataSource) InitialContext.doLookup(dataSourceName);
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to look up data source " + dataSourceName + " for DBSchedulerService", e);
+            }
+        }
+        return dataSource;
+    }
+
+    protected String getJobName(JobContext ctx, Long id) {
+        String jobname = null;
+        if (ctx instanceof ProcessJobContext) {
+            ProcessJobContext processCtx = (ProcessJobContext) ctx;
+            jobname = processCtx.getSessionId() + "-" + processCtx.getProcessInstanceId() + "-" + processCtx.getTimer().getId();
+            if (processCtx instanceof StartProcessJobContext) {
+                String deploymentId = (String) processCtx.getKnowledgeRuntime().getEnvironment().get(EnvironmentName.DEPLOYMENT_ID);
+                jobname = deploymentId + "-StartProcess-" + ((StartProcessJobContext) processCtx).getProcessId() + "-" + processCtx.getTimer().getId();
+            }
+        } else if (ctx instanceof NamedJobContext) {
+            jobname = ((NamedJobContext) ctx).getJobName();
+        } else {
+            jobname = "Timer-" + ctx.getClass().getSimpleName() + "-" + id;
+        }
+        return jobname;
+    }
+
+    protected boolean isNewTimer(JobContext ctx) {
+        if (ctx instanceof ProcessJobContext) {
+            return ((ProcessJobContext) ctx).isNewTimer();
+        }
+        return true;
+    }
+
+    protected static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString();
+    }
+
+    public static class GlobalDBJobHandle extends GlobalJobHandle {
+
+        private static final long serialVersionUID = 7396418473251246432L;
+        private String jobName;
+        private String timerServiceId;
+
+        public GlobalDBJobHandle(long id, String jobName, String timerServiceId) {
+            super(id);
+            this.jobName = jobName;
+            this.timerServiceId = timerServiceId;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public String getTimerServiceId() {
+            return timerServiceId;
+        }
+
+        @Override
+        public int hashCode() {
+            return jobName == null ? 0 : jobName.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            GlobalDBJobHandle other = (GlobalDBJobHandle) obj;
+            return jobName == null ? other.jobName == null : jobName.equals(other.jobName);
+        }
+
+        @Override
+        public String toString() {
+            return "GlobalDBJobHandle [jobName=" + jobName + ", timerServiceId=" + timerServiceId + "]";
+        }
+    }
+}
@@ -64,6 +64,7 @@ public class GlobalTimerService implements TimerService, InternalSchedulerServic
     protected final ConcurrentSkipListSet<GlobalJobHandle> startTimerJobs = new ConcurrentSkipListSet<>((o1, o2) -> ((Long) o1.getId()).compareTo(o2.getId()));
  
     private String timerServiceId;
+    private boolean sharedSession = false;
     
     public GlobalTimerService(RuntimeManager manager, GlobalSchedulerService schedulerService) {
         this.manager = manager;
@@ -262,6 +263,17 @@ public class GlobalTimerService implements TimerService, InternalSchedulerServic
         this.timerServiceId = timerServiceId;
     }
     
+    /**
+     * Indicates if all timers of this timer service are executed by single shared session (singleton strategy)
+     */
+    public boolean isSharedSession() {
+        return sharedSession;
+    }
+
+    public void setSharedSession(boolean sharedSession) {
+        this.sharedSession = sharedSession;
+    }
+
     public JobHandle buildJobHandleForContext(NamedJobContext ctx) {
         return this.schedulerService.buildJobHandleForContext(ctx);
     }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl.db;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel that keeps near future timers in memory. Timers are hashed into buckets
+ * by their fire time divided by tick duration so adding, removing and expiring timers does not
+ * depend on number of timers kept in the wheel.
+ * <br/>
+ * Timers farther than one revolution of the wheel are kept in their bucket until their round comes,
+ * though the wheel is meant to hold only the horizon claimed by the scheduler.
+ */
+public class HashedTimingWheel {
+
+    private final long tickDuration;
+    private final int mask;
+    private final List<LinkedList<Entry>> buckets;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private long currentTick;
+
+    public HashedTimingWheel(long tickDuration, int ticksPerWheel, long startTime) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive " + tickDuration);
+        }
+        this.tickDuration = tickDuration;
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new LinkedList<>());
+        }
+        this.currentTick = startTime / tickDuration;
+    }
+
+    /**
+     * Adds (or replaces) timer with given name, timers that are already due are expired on next tick.
+     * @return true if timer was added, false if the same timer (name and fire time) is already in the wheel
+     */
+    public synchronized boolean add(String name, long fireTime) {
+        Entry existing = entries.get(name);
+        if (existing != null) {
+            if (existing.fireTime == fireTime) {
+                return false;
+            }
+            existing.cancelled = true;
+        }
+        // round up so the timer is due once its tick is reached
+        long tick = Math.max((fireTime + tickDuration - 1) / tickDuration, currentTick + 1);
+        Entry entry = new Entry(name, fireTime);
+        buckets.get((int) (tick & mask)).add(entry);
+        entries.put(name, entry);
+        return true;
+    }
+
+    /**
+     * Adds all given timers (name to fire time) at once so they cannot be split by concurrent advance of the wheel.
+     */
+    public synchronized void addAll(Map<String, Long> timers) {
+        timers.forEach(this::add);
+    }
+
+    public synchronized boolean remove(String name) {
+        Entry entry = entries.remove(name);
+        if (entry != null) {
+            entry.cancelled = true;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Advances the wheel up to given time and returns all timers that expired, in order of ticks.
+     */
+    public synchronized List<Entry> advance(long now) {
+        List<Entry> expired = new ArrayList<>();
+        long nowTick = now / tickDuration;
+        // no need to go around the wheel more than once
+        long fromTick = Math.max(currentTick + 1, nowTick - mask);
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            Iterator<Entry> it = buckets.get((int) (tick & mask)).iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.cancelled) {
+                    it.remove();
+                } else if (entry.fireTime <= now) {
+                    it.remove();
+                    entries.remove(entry.name);
+                    expired.add(entry);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return expired;
+    }
+
+    public synchronized void clear() {
+        buckets.forEach(List::clear);
+        entries.clear();
+    }
+
+    public static class Entry {
+
+        private final String name;
+        private final long fireTime;
+        private boolean cancelled;
+
+        Entry(String name, long fireTime) {
+            this.name = name;
+            this.fireTime = fireTime;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getFireTime() {
+            return fireTime;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry [name=" + name + ", fireTime=" + fireTime + "]";
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency of timers fired by {@link TimerStoreScheduler}. Latency is measured as the delay
+ * between the fire time of the timer and the start of its execution.
+ */
+public class TimerFiringMetrics {
+
+    private final AtomicLong firedTimers = new AtomicLong();
+    private final AtomicLong failedTimers = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalescedExecutions = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private final AtomicLong firstFiredAt = new AtomicLong();
+    private final AtomicLong lastFiredAt = new AtomicLong();
+
+    /**
+     * Records single execution (command and transaction) that fired given number of timers.
+     */
+    public void executed(int timers, boolean coalesced, long now) {
+        executions.incrementAndGet();
+        if (coalesced) {
+            coalescedExecutions.incrementAndGet();
+        }
+        firedTimers.addAndGet(timers);
+        firstFiredAt.compareAndSet(0, now);
+        lastFiredAt.accumulateAndGet(now, Math::max);
+    }
+
+    public void failed(int timers) {
+        failedTimers.addAndGet(timers);
+    }
+
+    public void latency(long latency) {
+        long value = Math.max(0, latency);
+        totalLatency.addAndGet(value);
+        maxLatency.accumulateAndGet(value, Math::max);
+    }
+
+    public long getFiredTimers() {
+        return firedTimers.get();
+    }
+
+    public long getFailedTimers() {
+        return failedTimers.get();
+    }
+
+    /**
+     * Number of executions (each with its own command and transaction) used to fire the timers.
+     */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    public long getCoalescedExecutions() {
+        return coalescedExecutions.get();
+    }
+
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    public double getAverageLatency() {
+        long fired = firedTimers.get();
+        return fired == 0 ? 0 : (double) totalLatency.get() / fired;
+    }
+
+    /**
+     * Fired timers per second between the first and the last firing.
+     */
+    public double getThroughput() {
+        long fired = firedTimers.get();
+        long duration = lastFiredAt.get() - firstFiredAt.get();
+        if (fired == 0) {
+            return 0;
+        }
+        return duration <= 0 ? fired : fired * 1000.0 / duration;
+    }
+
+    public void reset() {
+        firedTimers.set(0);
+        failedTimers.set(0);
+        executions.set(0);
+        coalescedExecutions.set(0);
+        totalLatency.set(0);
+        maxLatency.set(0);
+        firstFiredAt.set(0);
+        lastFiredAt.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "TimerFiringMetrics [firedTimers=" + getFiredTimers() + ", failedTimers=" + getFailedTimers() +
+                ", executions=" + getExecutions() + ", coalescedExecutions=" + getCoalescedExecutions() +
+                ", averageLatency=" + getAverageLatency() + ", maxLatency=" + getMaxLatency() +
+                ", throughput=" + getThroughput() + "]";
+    }
+}
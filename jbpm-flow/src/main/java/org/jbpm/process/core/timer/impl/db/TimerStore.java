@@ -0,0 +1,337 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JDBC access to the timer store tables:
+ * <ul>
+ *  <li>TimerStoreJob - one row per scheduled timer job keyed by job name and indexed by fire time,
+ *  job data holds the serialized timer job instance, owner and claimedUntil hold the claim of the node
+ *  that fires the job</li>
+ *  <li>TimerStoreLease - one row per time slice that is currently claimed by a node</li>
+ * </ul>
+ * Connections are taken from the data source for each operation so when data source is transaction aware
+ * (JTA) changes made within a transaction are committed or rolled back together with it.
+ */
+public class TimerStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerStore.class);
+
+    private static final String INSERT_JOB = "insert into TimerStoreJob (jobName, timerServiceId, fireTime, jobData) values (?, ?, ?, ?)";
+    private static final String UPDATE_JOB = "update TimerStoreJob set timerServiceId = ?, fireTime = ?, jobData = ?, owner = null, claimedUntil = null where jobName = ?";
+    private static final String DELETE_JOB = "delete from TimerStoreJob where jobName = ?";
+    private static final String CLAIM_JOB = "update TimerStoreJob set owner = ?, claimedUntil = ? where jobName = ? and fireTime = ? and (claimedUntil is null or claimedUntil < ?)";
+    private static final String COMPLETE_JOB = "delete from TimerStoreJob where jobName = ? and fireTime = ? and owner = ?";
+    private static final String RELEASE_JOB = "update TimerStoreJob set fireTime = ?, owner = null, claimedUntil = null where jobName = ? and fireTime = ? and owner = ?";
+    private static final String SELECT_JOB_DATA = "select jobData from TimerStoreJob where jobName = ?";
+    private static final String SELECT_JOB_FIRE_TIME = "select fireTime from TimerStoreJob where jobName = ?";
+    private static final String SELECT_JOBS_DATA = "select jobName, timerServiceId, jobData from TimerStoreJob where jobName in ";
+    private static final String SELECT_DUE_JOBS = "select jobName, fireTime from TimerStoreJob where fireTime < ? and (claimedUntil is null or claimedUntil < ?) order by fireTime";
+    private static final String SELECT_SLICE_JOBS = "select jobName, fireTime from TimerStoreJob where fireTime >= ? and fireTime < ?";
+
+    private static final String RENEW_LEASE = "update TimerStoreLease set nodeId = ?, expiresAt = ? where slice = ? and (nodeId = ? or expiresAt < ?)";
+    private static final String INSERT_LEASE = "insert into TimerStoreLease (slice, nodeId, expiresAt) values (?, ?, ?)";
+    private static final String DELETE_OLD_LEASES = "delete from TimerStoreLease where slice < ?";
+    private static final String RELEASE_LEASES = "delete from TimerStoreLease where nodeId = ?";
+
+    private final DataSource dataSource;
+
+    public TimerStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void saveJob(String jobName, String timerServiceId, long fireTime, byte[] jobData) {
+        execute(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_JOB)) {
+                update.setString(1, timerServiceId);
+                update.setLong(2, fireTime);
+                update.setBytes(3, jobData);
+                update.setString(4, jobName);
+                if (update.executeUpdate() > 0) {
+                    return null;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_JOB)) {
+                insert.setString(1, jobName);
+                insert.setString(2, timerServiceId);
+                insert.setLong(3, fireTime);
+                insert.setBytes(4, jobData);
+                insert.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    public boolean deleteJob(String jobName) {
+        return execute(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_JOB)) {
+                delete.setString(1, jobName);
+                return delete.executeUpdate() > 0;
+            }
+        });
+    }
+
+    public byte[] loadJob(String jobName) {
+        return execute(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_JOB_DATA)) {
+                select.setString(1, jobName);
+                try (ResultSet rs = select.executeQuery()) {
+                    return rs.next() ? rs.getBytes(1) : null;
+                }
+            }
+        });
+    }
+
+    public boolean jobExists(String jobName) {
+        return execute(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_JOB_FIRE_TIME)) {
+                select.setString(1, jobName);
+                try (ResultSet rs = select.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads job data of all given jobs with single query.
+     */
+    public Map<String, StoredJob> loadJobs(List<String> jobNames) {
+        if (jobNames.isEmpty()) {
+            return new HashMap<>();
+        }
+        StringBuilder query = new StringBuilder(SELECT_JOBS_DATA).append("(");
+        for (int i = 0; i < jobNames.size(); i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(")");
+        return execute(connection -> {
+            Map<String, StoredJob> jobs = new HashMap<>();
+            try (PreparedStatement select = connection.prepareStatement(query.toString())) {
+                for (int i = 0; i < jobNames.size(); i++) {
+                    select.setString(i + 1, jobNames.get(i));
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        jobs.put(rs.getString(1), new StoredJob(rs.getString(2), rs.getBytes(3)));
+                    }
+                }
+            }
+            return jobs;
+        });
+    }
+
+    /**
+     * Claims given jobs for execution by given node until given time, job is claimed only if it still exists
+     * with the same fire time and is not claimed by other node (or its claim has expired) - otherwise it was
+     * canceled, rescheduled or is being fired by another node. Claimed jobs stay in the store until they are
+     * completed (see {@link #completeJob(String, long, String)}) so that jobs of a node that failed while
+     * firing them are claimed again once the claim expires.
+     * @param jobs job name to fire time of jobs to claim
+     * @return result of the claim for each of the jobs in the same order
+     */
+    public boolean[] claimJobs(Map<String, Long> jobs, String owner, long now, long claimedUntil) {
+        return execute(connection -> {
+            boolean[] claimed = new boolean[jobs.size()];
+            try (PreparedStatement update = connection.prepareStatement(CLAIM_JOB)) {
+                int index = 0;
+                for (Map.Entry<String, Long> job : jobs.entrySet()) {
+                    update.setString(1, owner);
+                    update.setLong(2, claimedUntil);
+                    update.setString(3, job.getKey());
+                    update.setLong(4, job.getValue());
+                    update.setLong(5, now);
+                    // executed one by one as batched statements do not reliably report update counts
+                    claimed[index++] = update.executeUpdate() == 1;
+                }
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * Removes job that was fired by given node, unless it was rescheduled or claimed by other node in the meantime.
+     */
+    public boolean completeJob(String jobName, long fireTime, String owner) {
+        return execute(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement(COMPLETE_JOB)) {
+                delete.setString(1, jobName);
+                delete.setLong(2, fireTime);
+                delete.setString(3, owner);
+                return delete.executeUpdate() > 0;
+            }
+        });
+    }
+
+    /**
+     * Releases claim of given node on job and moves it to new fire time, unless it was rescheduled or claimed
+     * by other node in the meantime.
+     */
+    public boolean releaseJob(String jobName, long fireTime, String owner, long newFireTime) {
+        return execute(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RELEASE_JOB)) {
+                update.setLong(1, newFireTime);
+                update.setString(2, jobName);
+                update.setLong(3, fireTime);
+                update.setString(4, owner);
+                return update.executeUpdate() > 0;
+            }
+        });
+    }
+
+    /**
+     * Returns job name to fire time of (at most given number of) not claimed jobs firing before given time,
+     * the earliest first.
+     */
+    public Map<String, Long> findJobsDueBefore(long time, long now, int limit) {
+        return execute(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_DUE_JOBS)) {
+                select.setLong(1, time);
+                select.setLong(2, now);
+                select.setMaxRows(limit);
+                return readJobs(select);
+            }
+        });
+    }
+
+    /**
+     * Returns job name to fire time of all jobs firing within given time range.
+     */
+    public Map<String, Long> findJobs(long from, long to) {
+        return execute(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_SLICE_JOBS)) {
+                select.setLong(1, from);
+                select.setLong(2, to);
+                return readJobs(select);
+            }
+        });
+    }
+
+    /**
+     * Claims or renews lease of given slice for given node - slice is claimed when it's not leased yet,
+     * already leased by the same node or the lease of other node has expired.
+     * @return true if given node holds the lease
+     */
+    public boolean claimLease(long slice, String nodeId, long now, long expiresAt) {
+        return execute(connection -> {
+            try (PreparedStatement renew = connection.prepareStatement(RENEW_LEASE)) {
+                renew.setString(1, nodeId);
+                renew.setLong(2, expiresAt);
+                renew.setLong(3, slice);
+                renew.setString(4, nodeId);
+                renew.setLong(5, now);
+                if (renew.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_LEASE)) {
+                insert.setLong(1, slice);
+                insert.setString(2, nodeId);
+                insert.setLong(3, expiresAt);
+                return insert.executeUpdate() > 0;
+            } catch (SQLException e) {
+                if (!isDuplicateKey(e)) {
+                    throw e;
+                }
+                // slice leased by other node in the meantime
+                logger.debug("Slice {} is already leased by other node", slice, e);
+                return false;
+            }
+        });
+    }
+
+    public void deleteLeasesBefore(long slice) {
+        execute(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_OLD_LEASES)) {
+                delete.setLong(1, slice);
+                return delete.executeUpdate();
+            }
+        });
+    }
+
+    public void releaseLeases(String nodeId) {
+        execute(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement(RELEASE_LEASES)) {
+                delete.setString(1, nodeId);
+                return delete.executeUpdate();
+            }
+        });
+    }
+
+    protected boolean isDuplicateKey(SQLException e) {
+        // integrity constraint violation class of SQL states
+        return e instanceof SQLIntegrityConstraintViolationException || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
+    }
+
+    protected Map<String, Long> readJobs(PreparedStatement select) throws SQLException {
+        Map<String, Long> jobs = new LinkedHashMap<>();
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                jobs.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return jobs;
+    }
+
+    protected <T> T execute(SQLOperation<T> operation) {
+        try (Connection connection = dataSource.getConnection()) {
+            return operation.execute(connection);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error when accessing timer store", e);
+        }
+    }
+
+    public static class StoredJob {
+
+        private final String timerServiceId;
+        private final byte[] jobData;
+
+        public StoredJob(String timerServiceId, byte[] jobData) {
+            this.timerServiceId = timerServiceId;
+            this.jobData = jobData;
+        }
+
+        public String getTimerServiceId() {
+            return timerServiceId;
+        }
+
+        public byte[] getJobData() {
+            return jobData;
+        }
+    }
+
+    @FunctionalInterface
+    protected interface SQLOperation<T> {
+
+        T execute(Connection connection) throws SQLException;
+    }
+}
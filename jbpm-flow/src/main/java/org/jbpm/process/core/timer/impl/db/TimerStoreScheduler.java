@@ -0,0 +1,523 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl.db;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.time.impl.TimerJobInstance;
+import org.jbpm.process.core.timer.CoalescableTimerJobInstance;
+import org.jbpm.process.core.timer.impl.db.HashedTimingWheel.Entry;
+import org.jbpm.process.core.timer.impl.db.TimerStore.StoredJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler engine on top of {@link TimerStore}. Time is split into slices, node claims lease of the current
+ * and the next slice and keeps only timers of the slices it owns in the {@link HashedTimingWheel}, all other
+ * timers stay in the data base only.
+ * <ul>
+ *  <li>owner of the current slice also picks up all overdue timers - that is how timers of a crashed node are
+ *  taken over once its lease expires</li>
+ *  <li>expired timers are fired in batches - job data of the batch is loaded with single query, timer is fired
+ *  only when this node successfully claimed it (for the claim duration) so the same timer is not fired by two
+ *  nodes, and it is removed from the store only after it was fired - claims of a node that failed while firing
+ *  expire and the timers are claimed again</li>
+ *  <li>timers that cannot be serialized (e.g. rule timers) are kept in memory of the node that scheduled them</li>
+ *  <li>optionally, due timers of the same batch that share coalescing key (see {@link CoalescableTimerJobInstance})
+ *  are fired together in one command and transaction</li>
+ * </ul>
+ */
+public class TimerStoreScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerStoreScheduler.class);
+
+    private static final int HORIZON_SLICES = 2;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final TimerStore store;
+    private final String nodeId;
+
+    private long sliceLength = 30000;
+    private long leaseDuration = 10000;
+    private long pollInterval = 1000;
+    private long tickDuration = 100;
+    private int batchSize = 100;
+    private int threadPoolSize = 5;
+    private int failedJobRetries = 5;
+    private long failedJobDelay = 1000;
+    private boolean coalesceTimers = false;
+    private long claimDuration = 60000;
+    private int dueJobsLimit = 1000;
+
+    private HashedTimingWheel wheel;
+    private ScheduledExecutorService timer;
+    private ExecutorService executor;
+
+    private final Set<Long> ownedSlices = ConcurrentHashMap.newKeySet();
+    // live instances of timers scheduled (or already loaded) on this node, avoids deserialization when fired here
+    private final ConcurrentMap<String, ScheduledTimer> localTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> failedCounts = new ConcurrentHashMap<>();
+    private final TimerFiringMetrics metrics = new TimerFiringMetrics();
+    private volatile long lastCleanup;
+
+    public TimerStoreScheduler(TimerStore store, String nodeId) {
+        this.store = store;
+        this.nodeId = nodeId;
+    }
+
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        long now = currentTime();
+        int ticksPerWheel = (int) Math.min(Integer.MAX_VALUE / 2, (HORIZON_SLICES * sliceLength) / tickDuration);
+        wheel = new HashedTimingWheel(tickDuration, ticksPerWheel, now);
+        timer = Executors.newScheduledThreadPool(2, runnable -> newThread(runnable, "poller"));
+        executor = Executors.newFixedThreadPool(threadPoolSize, runnable -> newThread(runnable, "executor"));
+
+        timer.scheduleWithFixedDelay(this::poll, 0, pollInterval, TimeUnit.MILLISECONDS);
+        timer.scheduleAtFixedRate(this::tick, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+        logger.debug("Timer store scheduler started on node {}", nodeId);
+    }
+
+    public synchronized void stop() {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timer = null;
+        executor = null;
+        wheel.clear();
+        ownedSlices.clear();
+        localTimers.clear();
+        try {
+            // let other nodes take over right away instead of waiting for leases to expire
+            store.releaseLeases(nodeId);
+        } catch (Exception e) {
+            logger.warn("Unable to release timer store leases of node {}", nodeId, e);
+        }
+        logger.debug("Timer store scheduler stopped on node {}", nodeId);
+    }
+
+    /**
+     * Stores given timer job instance and puts it into the wheel if its fire time falls into slices owned by this node.
+     */
+    public void schedule(String jobName, String timerServiceId, TimerJobInstance timerJobInstance) {
+        Date nextFireTime = timerJobInstance.getTrigger().hasNextFireTime();
+        if (nextFireTime == null) {
+            return;
+        }
+        long fireTime = nextFireTime.getTime();
+        byte[] jobData;
+        try {
+            jobData = serialize(timerJobInstance);
+        } catch (NotSerializableException e) {
+            // in case job cannot be persisted, like rule timer then make it in memory
+            localTimers.put(jobName, new ScheduledTimer(timerServiceId, timerJobInstance, false));
+            wheel.add(jobName, fireTime);
+            return;
+        }
+        store.saveJob(jobName, timerServiceId, fireTime, jobData);
+        if (ownsFireTime(fireTime)) {
+            localTimers.put(jobName, new ScheduledTimer(timerServiceId, timerJobInstance, true));
+            wheel.add(jobName, fireTime);
+        } else {
+            localTimers.remove(jobName);
+            wheel.remove(jobName);
+        }
+    }
+
+    public boolean remove(String jobName) {
+        wheel.remove(jobName);
+        ScheduledTimer local = localTimers.remove(jobName);
+        if (local != null && !local.persistent) {
+            return true;
+        }
+        return store.deleteJob(jobName);
+    }
+
+    public boolean exists(String jobName) {
+        ScheduledTimer local = localTimers.get(jobName);
+        if (local != null && !local.persistent) {
+            return true;
+        }
+        return store.jobExists(jobName);
+    }
+
+    /**
+     * Returns timer job instance with given name either from this node or from the store, null if there is no such timer.
+     */
+    public TimerJobInstance find(String jobName) {
+        ScheduledTimer local = localTimers.get(jobName);
+        if (local != null) {
+            return local.instance;
+        }
+        byte[] jobData = store.loadJob(jobName);
+        return jobData == null ? null : deserialize(jobData);
+    }
+
+    protected void poll() {
+        try {
+            long now = currentTime();
+            long currentSlice = now / sliceLength;
+            for (long slice = currentSlice; slice < currentSlice + HORIZON_SLICES; slice++) {
+                if (store.claimLease(slice, nodeId, now, now + leaseDuration)) {
+                    ownedSlices.add(slice);
+                    long sliceEnd = (slice + 1) * sliceLength;
+                    Map<String, Long> jobs = slice == currentSlice ? store.findJobsDueBefore(sliceEnd, now, dueJobsLimit) : store.findJobs(slice * sliceLength, sliceEnd);
+                    wheel.addAll(jobs);
+                } else {
+                    ownedSlices.remove(slice);
+                }
+            }
+            ownedSlices.removeIf(slice -> slice < currentSlice);
+            if (now - lastCleanup >= sliceLength) {
+                store.deleteLeasesBefore(currentSlice - 1);
+                lastCleanup = now;
+            }
+        } catch (Exception e) {
+            logger.warn("Error when polling timer store on node {}", nodeId, e);
+        }
+    }
+
+    protected void tick() {
+        try {
+            List<Entry> expired = wheel.advance(currentTime());
+            for (int i = 0; i < expired.size(); i += batchSize) {
+                List<Entry> batch = new ArrayList<>(expired.subList(i, Math.min(i + batchSize, expired.size())));
+                executor.execute(() -> fire(batch));
+            }
+        } catch (Exception e) {
+            logger.warn("Error when advancing timing wheel on node {}", nodeId, e);
+        }
+    }
+
+    protected void fire(List<Entry> batch) {
+        List<DueTimer> due = new ArrayList<>();
+        List<Entry> toClaim = new ArrayList<>();
+        List<String> toLoad = new ArrayList<>();
+        for (Entry entry : batch) {
+            ScheduledTimer local = localTimers.get(entry.getName());
+            if (local != null && !local.persistent) {
+                localTimers.remove(entry.getName(), local);
+                due.add(new DueTimer(entry, local));
+                continue;
+            }
+            toClaim.add(entry);
+            if (local == null) {
+                toLoad.add(entry.getName());
+            }
+        }
+        if (!toClaim.isEmpty()) {
+            try {
+                Map<String, Long> claims = new LinkedHashMap<>();
+                toClaim.forEach(entry -> claims.put(entry.getName(), entry.getFireTime()));
+                Map<String, StoredJob> storedJobs = store.loadJobs(toLoad);
+                long now = currentTime();
+                boolean[] claimed = store.claimJobs(claims, nodeId, now, now + claimDuration);
+                int index = 0;
+                for (Entry entry : toClaim) {
+                    ScheduledTimer local = localTimers.remove(entry.getName());
+                    if (!claimed[index++]) {
+                        // canceled, rescheduled or already fired by other node
+                        continue;
+                    }
+                    if (local == null) {
+                        StoredJob storedJob = storedJobs.get(entry.getName());
+                        if (storedJob == null) {
+                            continue;
+                        }
+                        local = new ScheduledTimer(storedJob.getTimerServiceId(), deserialize(storedJob.getJobData()), true);
+                    }
+                    due.add(new DueTimer(entry, local));
+                }
+            } catch (Exception e) {
+                logger.warn("Error when firing batch of {} timers on node {}, they will be picked up again on next poll", toClaim.size(), nodeId, e);
+            }
+        }
+        dispatch(due);
+    }
+
+    /**
+     * Executes due timers - when coalescing is enabled timers with the same coalescing key
+     * (same process instance or same shared session) are fired together in one execution.
+     */
+    protected void dispatch(List<DueTimer> due) {
+        if (!coalesceTimers) {
+            due.forEach(this::execute);
+            return;
+        }
+        Map<String, List<DueTimer>> groups = new LinkedHashMap<>();
+        for (DueTimer timer : due) {
+            String key = null;
+            if (timer.scheduledTimer.instance instanceof CoalescableTimerJobInstance) {
+                key = ((CoalescableTimerJobInstance) timer.scheduledTimer.instance).getCoalescingKey();
+            }
+            if (key == null) {
+                execute(timer);
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(timer);
+            }
+        }
+        for (List<DueTimer> group : groups.values()) {
+            if (group.size() == 1) {
+                execute(group.get(0));
+            } else {
+                executeCoalesced(group);
+            }
+        }
+    }
+
+    protected void executeCoalesced(List<DueTimer> group) {
+        List<TimerJobInstance> instances = new ArrayList<>(group.size());
+        group.forEach(timer -> instances.add(timer.scheduledTimer.instance));
+        long started = currentTime();
+        try {
+            ((CoalescableTimerJobInstance) instances.get(0)).callCoalesced(instances);
+            for (DueTimer timer : group) {
+                metrics.latency(started - timer.entry.getFireTime());
+                failedCounts.remove(timer.entry.getName());
+                complete(timer);
+            }
+            metrics.executed(group.size(), true, currentTime());
+        } catch (Exception e) {
+            // nothing was fired as the group shares transaction, give each timer its own chance
+            logger.warn("Coalesced execution of {} timers failed, firing them one by one", group.size(), e);
+            group.forEach(this::execute);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void execute(DueTimer timer) {
+        String jobName = timer.entry.getName();
+        long started = currentTime();
+        try {
+            ((Callable<Void>) timer.scheduledTimer.instance).call();
+            metrics.latency(started - timer.entry.getFireTime());
+            metrics.executed(1, false, currentTime());
+            failedCounts.remove(jobName);
+            complete(timer);
+        } catch (Exception e) {
+            metrics.failed(1);
+            int failedCount = failedCounts.merge(jobName, 1, Integer::sum);
+            if (failedCount > failedJobRetries) {
+                logger.error("Timer execution failed {} times in a roll, unscheduling ({})", failedJobRetries, jobName);
+                failedCounts.remove(jobName);
+                complete(timer);
+                return;
+            }
+            logger.warn("Timer {} execution failed, retrying in {} ms", jobName, failedCount * failedJobDelay, e);
+            retry(timer, currentTime() + failedCount * failedJobDelay);
+        }
+    }
+
+    /**
+     * Removes fired timer from the store, unless it was rescheduled (e.g. repeating timer) while being fired.
+     */
+    protected void complete(DueTimer timer) {
+        if (!timer.scheduledTimer.persistent) {
+            return;
+        }
+        try {
+            store.completeJob(timer.entry.getName(), timer.entry.getFireTime(), nodeId);
+        } catch (Exception e) {
+            logger.warn("Unable to remove fired timer {}, it will be fired again once its claim expires", timer.entry.getName(), e);
+        }
+    }
+
+    protected void retry(DueTimer timer, long fireTime) {
+        String jobName = timer.entry.getName();
+        try {
+            if (timer.scheduledTimer.persistent && !store.releaseJob(jobName, timer.entry.getFireTime(), nodeId, fireTime)) {
+                // already rescheduled or removed while being executed
+                return;
+            }
+            localTimers.put(jobName, timer.scheduledTimer);
+            wheel.add(jobName, fireTime);
+        } catch (Exception e) {
+            logger.error("Unable to reschedule failed timer {}", jobName, e);
+        }
+    }
+
+    protected boolean ownsFireTime(long fireTime) {
+        long currentSlice = currentTime() / sliceLength;
+        return ownedSlices.contains(Math.max(currentSlice, fireTime / sliceLength));
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    protected Thread newThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, "jbpm-timer-store-" + name + "-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    protected byte[] serialize(TimerJobInstance timerJobInstance) throws NotSerializableException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(timerJobInstance);
+        } catch (NotSerializableException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to serialize timer job instance", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    protected TimerJobInstance deserialize(byte[] jobData) {
+        try (ObjectInputStream in = new ContextClassLoaderObjectInputStream(new ByteArrayInputStream(jobData))) {
+            return (TimerJobInstance) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Unable to deserialize timer job instance", e);
+        }
+    }
+
+    public int getScheduledInMemory() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public TimerFiringMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setSliceLength(long sliceLength) {
+        this.sliceLength = sliceLength;
+    }
+
+    public void setLeaseDuration(long leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public void setTickDuration(long tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setThreadPoolSize(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    public void setFailedJobRetries(int failedJobRetries) {
+        this.failedJobRetries = failedJobRetries;
+    }
+
+    public void setFailedJobDelay(long failedJobDelay) {
+        this.failedJobDelay = failedJobDelay;
+    }
+
+    public void setCoalesceTimers(boolean coalesceTimers) {
+        this.coalesceTimers = coalesceTimers;
+    }
+
+    /**
+     * Time (in milliseconds) a claimed timer is reserved for this node, must be longer than firing the timer takes.
+     */
+    public void setClaimDuration(long claimDuration) {
+        this.claimDuration = claimDuration;
+    }
+
+    /**
+     * Maximum number of overdue timers loaded on single poll.
+     */
+    public void setDueJobsLimit(int dueJobsLimit) {
+        this.dueJobsLimit = dueJobsLimit;
+    }
+
+    protected static class ScheduledTimer {
+
+        private final String timerServiceId;
+        private final TimerJobInstance instance;
+        private final boolean persistent;
+
+        ScheduledTimer(String timerServiceId, TimerJobInstance instance, boolean persistent) {
+            this.timerServiceId = timerServiceId;
+            this.instance = instance;
+            this.persistent = persistent;
+        }
+    }
+
+    protected static class DueTimer {
+
+        private final Entry entry;
+        private final ScheduledTimer scheduledTimer;
+
+        DueTimer(Entry entry, ScheduledTimer scheduledTimer) {
+            this.entry = entry;
+            this.scheduledTimer = scheduledTimer;
+        }
+    }
+
+    private static class ContextClassLoaderObjectInputStream extends ObjectInputStream {
+
+        ContextClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // fall back to default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -93,11 +93,13 @@ public class CompensationScopeInstance extends ExceptionScopeInstance  {
             handleException(handler, activityRef, null);
         }
 
-        // Cancel all node instances created for compensation
-        while( ! compensationInstances.isEmpty() ) { 
-            NodeInstance generatedInstance = compensationInstances.pop();
-            ((NodeInstanceContainer) generatedInstance.getNodeInstanceContainer()).removeNodeInstance(generatedInstance);
-        }
+        // Cancel all node instances created for compensation (once the compensation handlers ran, see WorkflowProcessInstanceImpl.triggerNodeInstance)
+        ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(() -> {
+            while( ! compensationInstances.isEmpty() ) { 
+                NodeInstance generatedInstance = compensationInstances.pop();
+                ((NodeInstanceContainer) generatedInstance.getNodeInstanceContainer()).removeNodeInstance(generatedInstance);
+            }
+        });
     }
     
     public void handleException(ExceptionHandler handler, String compensationActivityRef, Object dunno) {
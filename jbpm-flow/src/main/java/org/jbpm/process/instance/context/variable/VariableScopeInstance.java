@@ -29,6 +29,7 @@ import org.jbpm.process.core.context.variable.VariableViolationException;
 import org.jbpm.process.instance.ContextInstanceContainer;
 import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.context.AbstractContextInstance;
+import org.jbpm.process.instance.impl.ProcessInstanceImpl;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.instance.node.CompositeContextNodeInstance;
 import org.kie.api.runtime.KieSession;
@@ -98,6 +99,9 @@ public class VariableScopeInstance extends AbstractContextInstance {
             throw new IllegalArgumentException(
                 "The name of a variable may not be null!");
         }
+        if (getProcessInstance() instanceof ProcessInstanceImpl) {
+            ((ProcessInstanceImpl) getProcessInstance()).checkNotReadOnly();
+        }
         Object oldValue = getVariable(name);
         if (oldValue == null) {
         	if (value == null) {
@@ -60,6 +60,7 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     private String outcome;
     private long parentProcessInstanceId = -1;
     private String description;
+    private transient boolean readOnly;
 
     public void setId(final long id) {
         this.id = id;
@@ -127,6 +128,7 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     }
     
     public void internalSetState(final int state) {
+        checkNotReadOnly();
     	this.state = state;
     }
 
@@ -135,6 +137,7 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     }
     
     public void setKnowledgeRuntime(final InternalKnowledgeRuntime kruntime) {
+        checkNotReadOnly();
         if ( this.kruntime != null ) {
             throw new IllegalArgumentException( "Runtime can only be set once." );
         }
@@ -144,6 +147,24 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     public InternalKnowledgeRuntime getKnowledgeRuntime() {
         return this.kruntime;
     }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Marks this (disconnected) process instance as read only, so that it can be handed out to several readers:
+     * it can no longer be connected to a runtime and its state, node instances and variables can no longer change.
+     */
+    public void internalSetReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public void checkNotReadOnly() {
+        if (readOnly) {
+            throw new IllegalStateException("Process instance " + id + "[" + processId + "] is read only.");
+        }
+    }
     
 	public Agenda getAgenda() {
 		if (getKnowledgeRuntime() == null) {
@@ -16,8 +16,10 @@
 
 package org.jbpm.ruleflow.core.validation;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -808,16 +810,21 @@ public class RuleFlowProcessValidator implements ProcessValidator {
 
     private void processNode(final Node node,
                              final Map<Node, Boolean> nodes) {
-        if (!nodes.containsKey(node) && !((node instanceof CompositeNodeEnd) || (node instanceof ForEachSplitNode) || (node instanceof ForEachJoinNode))) {
-            throw new IllegalStateException("A process node is connected with a node that does not belong to the process: " + node.getName());
-        }
-        final Boolean prevValue = nodes.put(node,
-                                            Boolean.TRUE);
-        if (prevValue == null || Boolean.FALSE.equals(prevValue)) {
-            for (final List<Connection> list : node.getOutgoingConnections().values()) {
-                for (final Connection connection : list) {
-                    processNode(connection.getTo(),
-                                nodes);
+        // walks the connections with an explicit stack, as paths can be longer than the call stack allows
+        final Deque<Node> pending = new ArrayDeque<Node>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            final Node current = pending.pop();
+            if (!nodes.containsKey(current) && !((current instanceof CompositeNodeEnd) || (current instanceof ForEachSplitNode) || (current instanceof ForEachJoinNode))) {
+                throw new IllegalStateException("A process node is connected with a node that does not belong to the process: " + current.getName());
+            }
+            final Boolean prevValue = nodes.put(current,
+                                                Boolean.TRUE);
+            if (prevValue == null || Boolean.FALSE.equals(prevValue)) {
+                for (final List<Connection> list : current.getOutgoingConnections().values()) {
+                    for (final Connection connection : list) {
+                        pending.push(connection.getTo());
+                    }
                 }
             }
         }
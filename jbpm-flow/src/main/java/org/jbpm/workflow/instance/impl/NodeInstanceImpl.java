@@ -181,6 +181,11 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
     
     public final void trigger(NodeInstance from, String type) {
+        // triggered directly instead of by following a connection, see WorkflowProcessInstanceImpl.triggerNodeInstance
+        ((WorkflowProcessInstanceImpl) getProcessInstance()).triggerNested(() -> executeTrigger(from, type));
+    }
+
+    void executeTrigger(NodeInstance from, String type) {
     	boolean hidden = false;
     	if (getNode().getMetaData().get("hidden") != null) {
     		hidden = true;
@@ -212,8 +217,10 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
             throw new WorkflowRuntimeException(this, getProcessInstance(), e);
         }
         if (!hidden) {
-        	((InternalProcessRuntime) kruntime.getProcessRuntime())
-        		.getProcessEventSupport().fireAfterNodeTriggered(this, kruntime);
+            // after the nodes this one triggered, see WorkflowProcessInstanceImpl.triggerNodeInstance
+            ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(() ->
+                ((InternalProcessRuntime) kruntime.getProcessRuntime())
+                    .getProcessEventSupport().fireAfterNodeTriggered(this, kruntime));
         }
     }
     
@@ -344,8 +351,9 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
             ((org.jbpm.workflow.instance.NodeInstanceContainer) getNodeInstanceContainer())
         		.nodeInstanceCompleted(this, type);
             if (!hidden) {
-            	((InternalProcessRuntime) kruntime.getProcessRuntime())
-            		.getProcessEventSupport().fireAfterNodeLeft(this, kruntime);
+                ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(() ->
+                    ((InternalProcessRuntime) kruntime.getProcessRuntime())
+                        .getProcessEventSupport().fireAfterNodeLeft(this, kruntime));
             }
         } else {
         	Map<org.jbpm.workflow.instance.NodeInstance, String> nodeInstances = 
@@ -411,11 +419,13 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     			.getProcessEventSupport().fireBeforeNodeLeft(this, kruntime);
     	}
 
-        nodeInstance.trigger(getFrom(), type);
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) getProcessInstance();
+        processInstance.triggerNodeInstance(nodeInstance, getFrom(), type);
 
         if (!hidden && fireEvents) {
-        	((InternalProcessRuntime) kruntime.getProcessRuntime())
-        		.getProcessEventSupport().fireAfterNodeLeft(this, kruntime);
+            processInstance.runAfterIssuedTriggers(() ->
+                ((InternalProcessRuntime) kruntime.getProcessRuntime())
+                    .getProcessEventSupport().fireAfterNodeLeft(this, kruntime));
         }
     }
     
@@ -16,13 +16,16 @@
 
 package org.jbpm.workflow.instance.impl;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
@@ -95,7 +98,13 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
     private static final long serialVersionUID = 510l;
     private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
 
-	private final List<NodeInstance> nodeInstances = new ArrayList<NodeInstance>();;
+    public static final String ITERATIVE_EXECUTION = "org.jbpm.process.iterative.execution";
+
+	private final List<NodeInstance> nodeInstances = new ArrayList<NodeInstance>();
+	private final Map<Long, NodeInstance> nodeInstancesById = new HashMap<>();
+	private final Map<Long, List<NodeInstance>> nodeInstancesByNodeId = new HashMap<>();
+	// node instances of this process instance and of all nested containers, see findNodeInstance
+	private final Map<Long, NodeInstance> allNodeInstancesById = new HashMap<>();
 
 	private AtomicLong singleNodeInstanceCounter = new AtomicLong(-1);
 
@@ -120,6 +129,12 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 	private Date slaDueDate;
 	private long slaTimerId = -1;
 
+	// read once per process instance, see triggerNodeInstance
+	private final boolean iterativeExecution = Boolean.getBoolean(ITERATIVE_EXECUTION);
+	// node triggers (and actions to run after them) waiting to be executed, and the ones issued by the one being executed
+	private transient Deque<Runnable> pendingActions;
+	private transient List<Runnable> issuedActions;
+
     @Override
     public NodeContainer getNodeContainer() {
         return getWorkflowProcess();
@@ -127,6 +142,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 
     @Override
 	public void addNodeInstance(final NodeInstance nodeInstance) {
+	    checkNotReadOnly();
 	    if (nodeInstance.getId() == -1) {
             // assign new id only if it does not exist as it might already be set by marshalling
             // it's important to keep same ids of node instances as they might be references e.g. exclusive group
@@ -134,8 +150,158 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
     		((NodeInstanceImpl) nodeInstance).setId(id);
 	    }
 		this.nodeInstances.add(nodeInstance);
+		this.nodeInstancesById.put(nodeInstance.getId(), nodeInstance);
+		this.nodeInstancesByNodeId.computeIfAbsent(nodeInstance.getNodeId(), nodeId -> new ArrayList<>()).add(nodeInstance);
+		registerNodeInstance(nodeInstance);
 	}
 
+    /**
+     * Adds the given node instance, added to this process instance or to any of its nested containers,
+     * (and the node instances it contains) to the index of all node instances.
+     */
+    public void registerNodeInstance(NodeInstance nodeInstance) {
+        allNodeInstancesById.put(nodeInstance.getId(), nodeInstance);
+        if (nodeInstance instanceof org.jbpm.workflow.instance.NodeInstanceContainer) {
+            for (NodeInstance child : ((org.jbpm.workflow.instance.NodeInstanceContainer) nodeInstance).getNodeInstances(true)) {
+                allNodeInstancesById.put(child.getId(), child);
+            }
+        }
+    }
+
+    /**
+     * Removes the given node instance, removed from this process instance or from any of its nested containers,
+     * (and the node instances it still contains) from the index of all node instances.
+     */
+    public void unregisterNodeInstance(NodeInstance nodeInstance) {
+        allNodeInstancesById.remove(nodeInstance.getId(), nodeInstance);
+        if (nodeInstance instanceof org.jbpm.workflow.instance.NodeInstanceContainer) {
+            for (NodeInstance child : ((org.jbpm.workflow.instance.NodeInstanceContainer) nodeInstance).getNodeInstances(true)) {
+                allNodeInstancesById.remove(child.getId(), child);
+            }
+        }
+    }
+
+    /**
+     * Looks up the node instance with the given id among the (direct or nested) node instances of the given
+     * container, which is this process instance or one of its nested containers. Instead of walking all node
+     * instances the index of all node instances is used, and the found node instance is only returned if it
+     * is still contained in the given container.
+     */
+    public NodeInstance findNodeInstance(long nodeInstanceId, org.jbpm.workflow.instance.NodeInstanceContainer container) {
+        NodeInstance nodeInstance = allNodeInstancesById.get(nodeInstanceId);
+        if (nodeInstance == null) {
+            return null;
+        }
+        NodeInstance current = nodeInstance;
+        while (true) {
+            org.jbpm.workflow.instance.NodeInstanceContainer parent =
+                    (org.jbpm.workflow.instance.NodeInstanceContainer) current.getNodeInstanceContainer();
+            if (parent == null || parent.getNodeInstance(current.getId()) != current) {
+                return null;
+            }
+            if (parent == container) {
+                return nodeInstance;
+            }
+            if (!(parent instanceof NodeInstance)) {
+                return null;
+            }
+            current = (NodeInstance) parent;
+        }
+    }
+
+    /**
+     * Triggers the given node instance, as done by a node instance following its outgoing connections.
+     * <p>
+     * By default the node instance is triggered right away, so execution recurses through all the nodes of a
+     * straight-through path. With iterative execution (the <code>org.jbpm.process.iterative.execution</code>
+     * system property set to true when the process instance is created) a trigger issued while another one is
+     * executed is queued instead, and the queue is drained by the outermost call once the current trigger returned,
+     * so the stack depth no longer depends on the length of the path. Queued triggers are executed depth first in
+     * the order they were issued, and the <code>after</code> events of a node are deferred (see
+     * {@link #runAfterIssuedTriggers(Runnable)}) until the triggers it issued were executed. Nodes triggered
+     * directly by another node (see {@link #triggerNested(Runnable)}) are executed with the triggers they issue
+     * before returning, so nodes are triggered and events are fired in the same order as with recursive execution.
+     */
+    public void triggerNodeInstance(NodeInstance nodeInstance, org.kie.api.runtime.process.NodeInstance from, String type) {
+        if (!iterativeExecution) {
+            nodeInstance.trigger(from, type);
+            return;
+        }
+        execute(() -> {
+            // stop if this process instance or the container of the node has been aborted / completed
+            if (getState() != ProcessInstance.STATE_ACTIVE || !isContainerActive(nodeInstance)) {
+                return;
+            }
+            if (nodeInstance instanceof NodeInstanceImpl) {
+                ((NodeInstanceImpl) nodeInstance).executeTrigger(from, type);
+            } else {
+                nodeInstance.trigger(from, type);
+            }
+        });
+    }
+
+    /**
+     * Runs the given trigger of a node instance that is triggered directly (e.g. the branches of a multi-instance
+     * node, or the start node of a sub-process) rather than by following a connection. With iterative execution,
+     * the triggers it issues are executed before returning, as with recursive execution.
+     */
+    public void triggerNested(Runnable trigger) {
+        if (pendingActions == null) {
+            trigger.run();
+            return;
+        }
+        Deque<Runnable> outerPendingActions = pendingActions;
+        List<Runnable> outerIssuedActions = issuedActions;
+        pendingActions = null;
+        issuedActions = null;
+        try {
+            execute(trigger);
+        } finally {
+            pendingActions = outerPendingActions;
+            issuedActions = outerIssuedActions;
+        }
+    }
+
+    /**
+     * Runs the given action once the node triggers issued so far by the trigger being executed were executed, that is
+     * right away with recursive execution and when not executing a queued trigger.
+     */
+    public void runAfterIssuedTriggers(Runnable action) {
+        if (issuedActions != null) {
+            issuedActions.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private void execute(Runnable action) {
+        if (pendingActions != null) {
+            issuedActions.add(action);
+            return;
+        }
+        pendingActions = new ArrayDeque<>();
+        pendingActions.push(action);
+        try {
+            while (!pendingActions.isEmpty()) {
+                Runnable next = pendingActions.pop();
+                issuedActions = new ArrayList<>();
+                next.run();
+                for (ListIterator<Runnable> iterator = issuedActions.listIterator(issuedActions.size()); iterator.hasPrevious(); ) {
+                    pendingActions.push(iterator.previous());
+                }
+            }
+        } finally {
+            pendingActions = null;
+            issuedActions = null;
+        }
+    }
+
+    private static boolean isContainerActive(NodeInstance nodeInstance) {
+        NodeInstanceContainer container = nodeInstance.getNodeInstanceContainer();
+        return !(container instanceof org.jbpm.workflow.instance.NodeInstanceContainer)
+                || ((org.jbpm.workflow.instance.NodeInstanceContainer) container).getState() == ProcessInstance.STATE_ACTIVE;
+    }
+
     @Override
     public int getLevelForNode(String uniqueID) {
         if ("true".equalsIgnoreCase(System.getProperty("jbpm.loop.level.disabled"))) {
@@ -157,11 +323,22 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 
     @Override
     public void removeNodeInstance(final NodeInstance nodeInstance) {
+        checkNotReadOnly();
         if (((NodeInstanceImpl) nodeInstance).isInversionOfControl()) {
             getKnowledgeRuntime().delete(
                     getKnowledgeRuntime().getFactHandle(nodeInstance));
         }
         this.nodeInstances.remove(nodeInstance);
+        if (this.nodeInstancesById.remove(nodeInstance.getId(), nodeInstance)) {
+            List<NodeInstance> sameNode = this.nodeInstancesByNodeId.get(nodeInstance.getNodeId());
+            if (sameNode != null) {
+                sameNode.remove(nodeInstance);
+                if (sameNode.isEmpty()) {
+                    this.nodeInstancesByNodeId.remove(nodeInstance.getNodeId());
+                }
+            }
+            unregisterNodeInstance(nodeInstance);
+        }
     }
 
     @Override
@@ -189,22 +366,15 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 
     @Override
 	public NodeInstance getNodeInstance(long nodeInstanceId) {
-		for (NodeInstance nodeInstance : nodeInstances) {
-			if (nodeInstance.getId() == nodeInstanceId) {
-				return nodeInstance;
-			}
-		}
-		return null;
+		return nodeInstancesById.get(nodeInstanceId);
 	}
 
 	@Override
 	public NodeInstance getNodeInstance(long nodeInstanceId, boolean recursive) {
-		for (NodeInstance nodeInstance : getNodeInstances(recursive)) {
-			if (nodeInstance.getId() == nodeInstanceId) {
-				return nodeInstance;
-			}
+		if (recursive) {
+			return findNodeInstance(nodeInstanceId, this);
 		}
-		return null;
+		return getNodeInstance(nodeInstanceId);
 	}
 
     public List<String> getActiveNodeIds() {
@@ -224,26 +394,20 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 
     @Override
     public NodeInstance getFirstNodeInstance(final long nodeId) {
-        for (final Iterator<NodeInstance> iterator = this.nodeInstances
-                .iterator(); iterator.hasNext(); ) {
-            final NodeInstance nodeInstance = iterator.next();
-            if (nodeInstance.getNodeId() == nodeId && nodeInstance.getLevel() == getCurrentLevel()) {
-                return nodeInstance;
+        List<NodeInstance> sameNode = this.nodeInstancesByNodeId.get(nodeId);
+        if (sameNode != null) {
+            for (NodeInstance nodeInstance : sameNode) {
+                if (nodeInstance.getLevel() == getCurrentLevel()) {
+                    return nodeInstance;
+                }
             }
         }
         return null;
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final Iterator<NodeInstance> iterator = this.nodeInstances
-                .iterator(); iterator.hasNext(); ) {
-            final NodeInstance nodeInstance = iterator.next();
-            if (nodeInstance.getNodeId() == nodeId) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        List<NodeInstance> sameNode = this.nodeInstancesByNodeId.get(nodeId);
+        return sameNode == null ? new ArrayList<>() : new ArrayList<>(sameNode);
     }
 
 	public List<NodeInstance> getNodeInstances(final long nodeId, final List<NodeInstance> currentView) {
@@ -597,6 +761,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
     @SuppressWarnings("unchecked")
     public void signalEvent(String type, Object event) {
         logger.debug("Signal {} received with data {} in process instance {}", type, event, getId());
+        checkNotReadOnly();
         synchronized (this) {
             if (getState() != ProcessInstance.STATE_ACTIVE) {
                 return;
@@ -58,6 +58,8 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     private static final long serialVersionUID = 510l;
 
     private final List<NodeInstance> nodeInstances = new ArrayList<NodeInstance>();
+    private final Map<Long, NodeInstance> nodeInstancesById = new HashMap<Long, NodeInstance>();
+    private final Map<Long, List<NodeInstance>> nodeInstancesByNodeId = new HashMap<Long, List<NodeInstance>>();
 
     private AtomicLong singleNodeInstanceCounter = null; // set during NodeInstance creation (*NodeFactory)
     private int state = ProcessInstance.STATE_ACTIVE;
@@ -170,10 +172,13 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     	((org.jbpm.workflow.instance.NodeInstanceContainer)getNodeInstanceContainer()).setCurrentLevel(getLevel());
         triggerCompleted(outType, cancelRemainingInstances);
         if (cancelRemainingInstances) {
-	        while (!nodeInstances.isEmpty()) {
-	            NodeInstance nodeInstance = (NodeInstance) nodeInstances.get(0);
-                nodeInstance.cancel(OBSOLETE);
-	        }
+            // after the nodes following this one, see WorkflowProcessInstanceImpl.triggerNodeInstance
+            ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(() -> {
+                while (!nodeInstances.isEmpty()) {
+                    NodeInstance nodeInstance = (NodeInstance) nodeInstances.get(0);
+                    nodeInstance.cancel(OBSOLETE);
+                }
+            });
         }
     }
 
@@ -195,10 +200,27 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
             ((NodeInstanceImpl) nodeInstance).setId(id);
         }
         this.nodeInstances.add(nodeInstance);
+        this.nodeInstancesById.put(nodeInstance.getId(), nodeInstance);
+        this.nodeInstancesByNodeId.computeIfAbsent(nodeInstance.getNodeId(), nodeId -> new ArrayList<NodeInstance>()).add(nodeInstance);
+        if (getProcessInstance() instanceof WorkflowProcessInstanceImpl) {
+            ((WorkflowProcessInstanceImpl) getProcessInstance()).registerNodeInstance(nodeInstance);
+        }
     }
 
     public void removeNodeInstance(final NodeInstance nodeInstance) {
         this.nodeInstances.remove(nodeInstance);
+        if (this.nodeInstancesById.remove(nodeInstance.getId(), nodeInstance)) {
+            List<NodeInstance> sameNode = this.nodeInstancesByNodeId.get(nodeInstance.getNodeId());
+            if (sameNode != null) {
+                sameNode.remove(nodeInstance);
+                if (sameNode.isEmpty()) {
+                    this.nodeInstancesByNodeId.remove(nodeInstance.getNodeId());
+                }
+            }
+            if (getProcessInstance() instanceof WorkflowProcessInstanceImpl) {
+                ((WorkflowProcessInstanceImpl) getProcessInstance()).unregisterNodeInstance(nodeInstance);
+            }
+        }
     }
 
     public Collection<org.kie.api.runtime.process.NodeInstance> getNodeInstances() {
@@ -221,28 +243,23 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     }
 
 	public NodeInstance getNodeInstance(long nodeInstanceId) {
-		for (NodeInstance nodeInstance: nodeInstances) {
-			if (nodeInstance.getId() == nodeInstanceId) {
-				return nodeInstance;
-			}
-		}
-		return null;
+		return nodeInstancesById.get(nodeInstanceId);
 	}
 
 	public NodeInstance getNodeInstance(long nodeInstanceId, boolean recursive) {
-		for (NodeInstance nodeInstance: getNodeInstances(recursive)) {
-			if (nodeInstance.getId() == nodeInstanceId) {
-				return nodeInstance;
-			}
+		if (recursive && getProcessInstance() instanceof WorkflowProcessInstanceImpl) {
+			return ((WorkflowProcessInstanceImpl) getProcessInstance()).findNodeInstance(nodeInstanceId, this);
 		}
-		return null;
+		return getNodeInstance(nodeInstanceId);
 	}
 
     public NodeInstance getFirstNodeInstance(final long nodeId) {
-        for ( final Iterator<NodeInstance> iterator = this.nodeInstances.iterator(); iterator.hasNext(); ) {
-            final NodeInstance nodeInstance = iterator.next();
-            if ( nodeInstance.getNodeId() == nodeId && nodeInstance.getLevel() == getCurrentLevel()) {
-                return nodeInstance;
+        List<NodeInstance> sameNode = this.nodeInstancesByNodeId.get(nodeId);
+        if (sameNode != null) {
+            for (NodeInstance nodeInstance : sameNode) {
+                if (nodeInstance.getLevel() == getCurrentLevel()) {
+                    return nodeInstance;
+                }
             }
         }
         return null;
@@ -311,15 +328,8 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 	}
 
 	public List<NodeInstance> getNodeInstances(final long nodeId) {
-		List<NodeInstance> result = new ArrayList<NodeInstance>();
-		for (final Iterator<NodeInstance> iterator = this.nodeInstances
-				.iterator(); iterator.hasNext();) {
-			final NodeInstance nodeInstance = iterator.next();
-			if (nodeInstance.getNodeId() == nodeId) {
-				result.add(nodeInstance);
-			}
-		}
-		return result;
+		List<NodeInstance> sameNode = this.nodeInstancesByNodeId.get(nodeId);
+		return sameNode == null ? new ArrayList<NodeInstance>() : new ArrayList<NodeInstance>(sameNode);
 	}
 
 	public List<NodeInstance> getNodeInstances(final long nodeId, List<NodeInstance> currentView) {
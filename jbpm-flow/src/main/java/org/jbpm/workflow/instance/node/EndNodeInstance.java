@@ -22,6 +22,7 @@ import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.workflow.core.node.EndNode;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
 import org.jbpm.workflow.instance.impl.ExtendedNodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.kie.api.runtime.process.NodeInstance;
 
 import static org.jbpm.workflow.instance.NodeInstance.CancelType.OBSOLETE;
@@ -44,6 +45,12 @@ public class EndNodeInstance extends ExtendedNodeInstanceImpl {
             throw new IllegalArgumentException(
                 "An EndNode only accepts default incoming connections!");
         }
+        // once the nodes triggered by the actions of this node (e.g. compensation handlers) were executed,
+        // see WorkflowProcessInstanceImpl.triggerNodeInstance
+        ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(this::leave);
+    }
+
+    private void leave() {
         boolean hidden = false;
         if (getNode().getMetaData().get("hidden") != null) {
             hidden = true;
@@ -73,8 +80,10 @@ public class EndNodeInstance extends ExtendedNodeInstanceImpl {
                 .nodeInstanceCompleted(this, null);
         }
         if (!hidden) {
-            ((InternalProcessRuntime) kruntime.getProcessRuntime())
-                .getProcessEventSupport().fireAfterNodeLeft(this, kruntime);
+            // after the nodes triggered by completing the container, see WorkflowProcessInstanceImpl.triggerNodeInstance
+            ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(() ->
+                ((InternalProcessRuntime) kruntime.getProcessRuntime())
+                    .getProcessEventSupport().fireAfterNodeLeft(this, kruntime));
         }
     }
 
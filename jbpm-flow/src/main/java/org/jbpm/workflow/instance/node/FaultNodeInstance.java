@@ -28,6 +28,7 @@ import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.workflow.core.node.FaultNode;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.kie.api.runtime.process.NodeInstance;
 import org.kie.api.runtime.process.WorkflowProcessInstance;
 import org.slf4j.Logger;
@@ -90,8 +91,10 @@ public class FaultNodeInstance extends NodeInstanceImpl {
 
             if (!hidden) {
                 InternalKnowledgeRuntime kruntime = getProcessInstance().getKnowledgeRuntime();
-                ((InternalProcessRuntime) kruntime.getProcessRuntime())
-                    .getProcessEventSupport().fireAfterNodeLeft(this, kruntime);
+                // after the nodes triggered by completing the container, see WorkflowProcessInstanceImpl.triggerNodeInstance
+                ((WorkflowProcessInstanceImpl) getProcessInstance()).runAfterIssuedTriggers(() ->
+                    ((InternalProcessRuntime) kruntime.getProcessRuntime())
+                        .getProcessEventSupport().fireAfterNodeLeft(this, kruntime));
             }
         } else {
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.Join;
+import org.jbpm.workflow.core.node.Split;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IterativeExecutionTest extends AbstractBaseTest {
+
+    private static final int NODES = 10000;
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @After
+    public void disableIterativeExecution() {
+        System.clearProperty(WorkflowProcessInstanceImpl.ITERATIVE_EXECUTION);
+    }
+
+    @Test
+    public void testLongStraightThroughProcess() {
+        System.setProperty(WorkflowProcessInstanceImpl.ITERATIVE_EXECUTION, "true");
+        AtomicInteger executed = new AtomicInteger();
+
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("org.jbpm.process.iterative");
+        factory.name("Iterative process").packageName("org.jbpm")
+                .startNode(1).name("Start").done();
+        for (int i = 0; i < NODES; i++) {
+            factory.actionNode(i + 2).name("Action " + i).action(context -> executed.incrementAndGet()).done()
+                    .connection(i + 1, i + 2);
+        }
+        factory.endNode(NODES + 2).name("End").done()
+                .connection(NODES + 1, NODES + 2);
+
+        KieSession ksession = createKieSession(factory.validate().getProcess());
+        ProcessInstance processInstance = ksession.startProcess("org.jbpm.process.iterative");
+
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        assertEquals(NODES, executed.get());
+    }
+
+    @Test
+    public void testNodesTriggeredDepthFirst() {
+        // branches are executed one after the other (in no particular order), as with recursive execution
+        List<String> firstA = Arrays.asList("Start", "Split",
+                                            "A1", "action A1", "A2", "action A2", "Join",
+                                            "B1", "action B1", "B2", "action B2", "Join", "End");
+        List<String> firstB = Arrays.asList("Start", "Split",
+                                            "B1", "action B1", "B2", "action B2", "Join",
+                                            "A1", "action A1", "A2", "action A2", "Join", "End");
+        List<String> recursive = runParallelProcess();
+        assertTrue(recursive.toString(), recursive.equals(firstA) || recursive.equals(firstB));
+
+        System.setProperty(WorkflowProcessInstanceImpl.ITERATIVE_EXECUTION, "true");
+        List<String> iterative = runParallelProcess();
+        assertTrue(iterative.toString(), iterative.equals(firstA) || iterative.equals(firstB));
+    }
+
+    @Test
+    public void testEventsFiredInRecursiveOrder() {
+        List<String> recursive = runSequentialProcess();
+
+        System.setProperty(WorkflowProcessInstanceImpl.ITERATIVE_EXECUTION, "true");
+        List<String> iterative = runSequentialProcess();
+        assertEquals(recursive, iterative);
+    }
+
+    private List<String> runSequentialProcess() {
+        List<String> events = new ArrayList<>();
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("org.jbpm.process.sequential");
+        factory.name("Sequential process").packageName("org.jbpm")
+                .startNode(1).name("Start").done()
+                .actionNode(2).name("A").action(context -> events.add("action A")).done()
+                .actionNode(3).name("B").action(context -> events.add("action B")).done()
+                .endNode(4).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .connection(3, 4);
+        RuleFlowProcess process = factory.validate().getProcess();
+
+        KieSession ksession = createKieSession(process);
+        ksession.addEventListener(new DefaultProcessEventListener() {
+            @Override
+            public void beforeNodeTriggered(ProcessNodeTriggeredEvent event) {
+                events.add("before triggered " + event.getNodeInstance().getNodeName());
+            }
+
+            @Override
+            public void afterNodeTriggered(ProcessNodeTriggeredEvent event) {
+                events.add("after triggered " + event.getNodeInstance().getNodeName());
+            }
+
+            @Override
+            public void beforeNodeLeft(ProcessNodeLeftEvent event) {
+                events.add("before left " + event.getNodeInstance().getNodeName());
+            }
+
+            @Override
+            public void afterNodeLeft(ProcessNodeLeftEvent event) {
+                events.add("after left " + event.getNodeInstance().getNodeName());
+            }
+        });
+        ProcessInstance processInstance = ksession.startProcess("org.jbpm.process.sequential");
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        return events;
+    }
+
+    private List<String> runParallelProcess() {
+        List<String> triggered = new ArrayList<>();
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("org.jbpm.process.parallel");
+        factory.name("Parallel process").packageName("org.jbpm")
+                .startNode(1).name("Start").done()
+                .splitNode(2).name("Split").type(Split.TYPE_AND).done()
+                .actionNode(3).name("A1").action(context -> triggered.add("action A1")).done()
+                .actionNode(4).name("A2").action(context -> triggered.add("action A2")).done()
+                .actionNode(5).name("B1").action(context -> triggered.add("action B1")).done()
+                .actionNode(6).name("B2").action(context -> triggered.add("action B2")).done()
+                .joinNode(7).name("Join").type(Join.TYPE_AND).done()
+                .endNode(8).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .connection(3, 4)
+                .connection(4, 7)
+                .connection(2, 5)
+                .connection(5, 6)
+                .connection(6, 7)
+                .connection(7, 8);
+        RuleFlowProcess process = factory.validate().getProcess();
+
+        KieSession ksession = createKieSession(process);
+        ksession.addEventListener(new DefaultProcessEventListener() {
+            @Override
+            public void beforeNodeTriggered(ProcessNodeTriggeredEvent event) {
+                triggered.add(event.getNodeInstance().getNodeName());
+            }
+        });
+        ProcessInstance processInstance = ksession.startProcess("org.jbpm.process.parallel");
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        return triggered;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process;
+
+import org.jbpm.process.core.Work;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.impl.WorkImpl;
+import org.jbpm.process.test.NodeCreator;
+import org.jbpm.process.test.TestWorkItemHandler;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.NodeContainer;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EndNode;
+import org.jbpm.workflow.core.node.EventSubProcessNode;
+import org.jbpm.workflow.core.node.StartNode;
+import org.jbpm.workflow.core.node.WorkItemNode;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.jbpm.workflow.instance.node.CompositeNodeInstance;
+import org.jbpm.workflow.instance.node.EventSubProcessNodeInstance;
+import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
+import org.junit.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.NodeInstance;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkItem;
+import org.slf4j.LoggerFactory;
+
+import static org.jbpm.process.test.NodeCreator.connect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NodeInstanceIndexTest extends AbstractBaseTest {
+
+    private static final String PROCESS_ID = "org.jbpm.process.index";
+    private static final String EVENT_NAME = "subEvent";
+
+    private CompositeNode outer;
+    private CompositeNode inner;
+    private WorkItemNode task;
+    private EventSubProcessNode eventSubProcess;
+    private WorkItemNode eventTask;
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Test
+    public void testNestedSubProcessLookup() throws Exception {
+        KieSession ksession = createKieSession(createProcess());
+        TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+        ksession.getWorkItemManager().registerWorkItemHandler("task", workItemHandler);
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) ksession.startProcess(PROCESS_ID);
+
+        CompositeNodeInstance outerInstance = (CompositeNodeInstance) processInstance.getFirstNodeInstance(outer.getId());
+        CompositeNodeInstance innerInstance = (CompositeNodeInstance) outerInstance.getFirstNodeInstance(inner.getId());
+        WorkItemNodeInstance taskInstance = (WorkItemNodeInstance) innerInstance.getFirstNodeInstance(task.getId());
+
+        assertSame(outerInstance, processInstance.getNodeInstance(outerInstance.getId()));
+        assertSame(innerInstance, outerInstance.getNodeInstance(innerInstance.getId()));
+        assertSame(taskInstance, innerInstance.getNodeInstance(taskInstance.getId()));
+        assertEquals(1, innerInstance.getNodeInstances(task.getId()).size());
+
+        // only found recursively, and only in the containers it is nested in
+        assertNull(processInstance.getNodeInstance(taskInstance.getId()));
+        assertNull(outerInstance.getNodeInstance(taskInstance.getId()));
+        assertSame(taskInstance, processInstance.getNodeInstance(taskInstance.getId(), true));
+        assertSame(taskInstance, outerInstance.getNodeInstance(taskInstance.getId(), true));
+        assertSame(taskInstance, innerInstance.getNodeInstance(taskInstance.getId(), true));
+        assertNull(innerInstance.getNodeInstance(outerInstance.getId(), true));
+        assertNull(processInstance.getNodeInstance(-1, true));
+        assertAllFoundRecursively(processInstance);
+
+        WorkItem workItem = workItemHandler.getWorkItems().removeLast();
+        ksession.getWorkItemManager().completeWorkItem(workItem.getId(), null);
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        assertNull(processInstance.getNodeInstance(taskInstance.getId(), true));
+        assertNull(processInstance.getNodeInstance(outerInstance.getId()));
+        assertTrue(processInstance.getNodeInstances(outer.getId()).isEmpty());
+    }
+
+    @Test
+    public void testEventSubProcessLookup() throws Exception {
+        KieSession ksession = createKieSession(createProcess());
+        TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+        ksession.getWorkItemManager().registerWorkItemHandler("task", workItemHandler);
+        ksession.getWorkItemManager().registerWorkItemHandler("eventTask", workItemHandler);
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) ksession.startProcess(PROCESS_ID);
+
+        CompositeNodeInstance outerInstance = (CompositeNodeInstance) processInstance.getFirstNodeInstance(outer.getId());
+        CompositeNodeInstance innerInstance = (CompositeNodeInstance) outerInstance.getFirstNodeInstance(inner.getId());
+        processInstance.signalEvent(EVENT_NAME, null);
+
+        EventSubProcessNodeInstance eventSubProcessInstance = (EventSubProcessNodeInstance) innerInstance.getFirstNodeInstance(eventSubProcess.getId());
+        WorkItemNodeInstance eventTaskInstance = (WorkItemNodeInstance) eventSubProcessInstance.getFirstNodeInstance(eventTask.getId());
+        assertSame(eventSubProcessInstance, processInstance.getNodeInstance(eventSubProcessInstance.getId(), true));
+        assertSame(eventTaskInstance, processInstance.getNodeInstance(eventTaskInstance.getId(), true));
+        assertSame(eventTaskInstance, innerInstance.getNodeInstance(eventTaskInstance.getId(), true));
+        assertNull(innerInstance.getNodeInstance(eventTaskInstance.getId()));
+        assertAllFoundRecursively(processInstance);
+
+        WorkItem workItem = workItemHandler.getWorkItems().removeLast();
+        assertEquals("eventTask", workItem.getName());
+        ksession.getWorkItemManager().completeWorkItem(workItem.getId(), null);
+        // the event sub process is completed, the sub process is still active
+        assertNull(processInstance.getNodeInstance(eventTaskInstance.getId(), true));
+        assertNull(innerInstance.getNodeInstance(eventSubProcessInstance.getId()));
+        assertTrue(innerInstance.getNodeInstances(eventSubProcess.getId()).isEmpty());
+        assertEquals(ProcessInstance.STATE_ACTIVE, processInstance.getState());
+        assertAllFoundRecursively(processInstance);
+    }
+
+    private void assertAllFoundRecursively(WorkflowProcessInstanceImpl processInstance) {
+        for (NodeInstance nodeInstance : processInstance.getNodeInstances(true)) {
+            assertSame(nodeInstance, processInstance.getNodeInstance(nodeInstance.getId(), true));
+        }
+    }
+
+    private RuleFlowProcess createProcess() throws Exception {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setAutoComplete(true);
+        process.setId(PROCESS_ID);
+        process.setName("Node Instance Index Process");
+
+        NodeCreator<StartNode> startNodeCreator = new NodeCreator<StartNode>(process, StartNode.class);
+        NodeCreator<EndNode> endNodeCreator = new NodeCreator<EndNode>(process, EndNode.class);
+        NodeCreator<CompositeNode> compNodeCreator = new NodeCreator<CompositeNode>(process, CompositeNode.class);
+
+        StartNode startNode = startNodeCreator.createNode("start0");
+        outer = compNodeCreator.createNode("comp0");
+        connect(startNode, outer);
+        connect(outer, endNodeCreator.createNode("end0"));
+
+        startNodeCreator.setNodeContainer(outer);
+        endNodeCreator.setNodeContainer(outer);
+        compNodeCreator.setNodeContainer(outer);
+        startNode = startNodeCreator.createNode("start1");
+        inner = compNodeCreator.createNode("comp1");
+        connect(startNode, inner);
+        connect(inner, endNodeCreator.createNode("end1"));
+
+        startNodeCreator.setNodeContainer(inner);
+        endNodeCreator.setNodeContainer(inner);
+        startNode = startNodeCreator.createNode("start2");
+        task = createWorkItemNode(inner, "task");
+        connect(startNode, task);
+        connect(task, endNodeCreator.createNode("end2"));
+
+        eventSubProcess = new NodeCreator<EventSubProcessNode>(inner, EventSubProcessNode.class).createNode("eventSub2");
+        EventTypeFilter eventFilter = new EventTypeFilter();
+        eventFilter.setType(EVENT_NAME);
+        eventSubProcess.addEvent(eventFilter);
+        startNodeCreator.setNodeContainer(eventSubProcess);
+        endNodeCreator.setNodeContainer(eventSubProcess);
+        startNode = startNodeCreator.createNode("start3");
+        eventTask = createWorkItemNode(eventSubProcess, "eventTask");
+        connect(startNode, eventTask);
+        connect(eventTask, endNodeCreator.createNode("end3"));
+        return process;
+    }
+
+    private WorkItemNode createWorkItemNode(NodeContainer nodeContainer, String name) throws Exception {
+        WorkItemNode workItemNode = new NodeCreator<WorkItemNode>(nodeContainer, WorkItemNode.class).createNode(name);
+        Work work = new WorkImpl();
+        work.setName(name);
+        workItemNode.setWork(work);
+        return workItemNode;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl.db;
+
+import java.util.List;
+
+import org.jbpm.process.core.timer.impl.db.HashedTimingWheel.Entry;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashedTimingWheelTest extends AbstractBaseTest {
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Test
+    public void testExpireInOrderOfTicks() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 16, 1000);
+        wheel.add("second", 1250);
+        wheel.add("first", 1150);
+        wheel.add("third", 1350);
+
+        assertTrue(wheel.advance(1100).isEmpty());
+
+        List<Entry> expired = wheel.advance(1300);
+        assertEquals(2, expired.size());
+        assertEquals("first", expired.get(0).getName());
+        assertEquals("second", expired.get(1).getName());
+        assertEquals(1, wheel.size());
+
+        expired = wheel.advance(1400);
+        assertEquals(1, expired.size());
+        assertEquals("third", expired.get(0).getName());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testTimerWithinTickNotSkipped() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 16, 1000);
+        wheel.add("timer", 1180);
+
+        // tick of 1100 is reached before the timer is due
+        assertTrue(wheel.advance(1150).isEmpty());
+        assertEquals(1, wheel.advance(1200).size());
+    }
+
+    @Test
+    public void testOverdueTimerExpiresOnNextTick() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 16, 1000);
+        wheel.advance(1500);
+        wheel.add("overdue", 1200);
+
+        assertEquals(1, wheel.advance(1600).size());
+    }
+
+    @Test
+    public void testTimerBeyondRevolution() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 4, 1000);
+        wheel.add("far", 2050);
+
+        assertTrue(wheel.advance(1500).isEmpty());
+        assertTrue(wheel.contains("far"));
+        assertEquals(1, wheel.advance(2100).size());
+    }
+
+    @Test
+    public void testRescheduleAndRemove() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 16, 1000);
+        assertTrue(wheel.add("timer", 1200));
+        assertFalse(wheel.add("timer", 1200));
+        assertTrue(wheel.add("timer", 1500));
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.advance(1300).isEmpty());
+        assertEquals(1, wheel.advance(1500).size());
+
+        wheel.add("removed", 1700);
+        assertTrue(wheel.remove("removed"));
+        assertFalse(wheel.remove("removed"));
+        assertTrue(wheel.advance(1800).isEmpty());
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.timer.impl.db;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.TimerJobInstance;
+import org.jbpm.process.core.timer.CoalescableTimerJobInstance;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimerStoreSchedulerTest extends AbstractBaseTest {
+
+    private static final int TIMERS = 100000;
+    private static final int TIMERS_PER_PROCESS_INSTANCE = 10;
+
+    private static final AtomicInteger fired = new AtomicInteger();
+    private static final AtomicInteger coalescedCalls = new AtomicInteger();
+    private static volatile CountDownLatch latch;
+
+    private InMemoryTimerStore store;
+    private TimerStoreScheduler scheduler;
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Before
+    public void setUp() {
+        fired.set(0);
+        coalescedCalls.set(0);
+        store = new InMemoryTimerStore();
+        scheduler = new TimerStoreScheduler(store, "test-node");
+        scheduler.setBatchSize(1000);
+        scheduler.setTickDuration(50);
+        // single poll loads all due timers, later polls would only re-add timers not claimed yet
+        scheduler.setPollInterval(60000);
+        scheduler.setDueJobsLimit(TIMERS);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test(timeout = 120000)
+    public void testSimultaneousTimersFiredPerProcessInstance() throws Exception {
+        scheduleDueTimers(TIMERS, false);
+
+        scheduler.setCoalesceTimers(true);
+        scheduler.start();
+        assertTrue(latch.await(100, TimeUnit.SECONDS));
+
+        TimerFiringMetrics metrics = awaitMetrics();
+        logger.info("Coalesced firing of {} timers {}", TIMERS, metrics);
+        assertEquals(TIMERS, fired.get());
+        assertEquals(TIMERS, metrics.getFiredTimers());
+        assertEquals(TIMERS / TIMERS_PER_PROCESS_INSTANCE, metrics.getExecutions());
+        assertEquals(TIMERS / TIMERS_PER_PROCESS_INSTANCE, metrics.getCoalescedExecutions());
+        assertEquals(0, metrics.getFailedTimers());
+        assertTrue(metrics.getThroughput() > 0);
+        assertTrue(store.isEmpty());
+    }
+
+    @Test(timeout = 120000)
+    public void testSimultaneousTimersFiredOneByOne() throws Exception {
+        scheduleDueTimers(TIMERS, false);
+
+        scheduler.start();
+        assertTrue(latch.await(100, TimeUnit.SECONDS));
+
+        TimerFiringMetrics metrics = awaitMetrics();
+        logger.info("Firing of {} timers one by one {}", TIMERS, metrics);
+        assertEquals(TIMERS, fired.get());
+        assertEquals(TIMERS, metrics.getExecutions());
+        assertEquals(0, metrics.getCoalescedExecutions());
+        assertEquals(0, coalescedCalls.get());
+        assertTrue(store.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void testFailedCoalescedFiringFallsBackToSingleTimers() throws Exception {
+        scheduleDueTimers(TIMERS_PER_PROCESS_INSTANCE, true);
+
+        scheduler.setCoalesceTimers(true);
+        scheduler.start();
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+
+        TimerFiringMetrics metrics = awaitMetrics();
+        assertEquals(1, coalescedCalls.get());
+        assertEquals(TIMERS_PER_PROCESS_INSTANCE, fired.get());
+        assertEquals(TIMERS_PER_PROCESS_INSTANCE, metrics.getExecutions());
+        assertEquals(0, metrics.getCoalescedExecutions());
+    }
+
+    @Test(timeout = 30000)
+    public void testDueTimersLoadedInPages() throws Exception {
+        scheduleDueTimers(1000, false);
+
+        scheduler.setDueJobsLimit(100);
+        scheduler.setPollInterval(100);
+        scheduler.start();
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+
+        awaitMetrics();
+        assertEquals(1000, fired.get());
+        assertTrue(store.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void testTimerWithExpiredClaimFiredAgain() throws Exception {
+        scheduleDueTimers(1, false);
+        // other node claimed the timer and failed before firing it, its claim has expired since
+        long now = System.currentTimeMillis();
+        assertTrue(store.claimJobs(store.findJobsDueBefore(now, now, 10), "other-node", now - 2000, now - 1000)[0]);
+
+        scheduler.start();
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+
+        awaitMetrics();
+        assertEquals(1, fired.get());
+        assertTrue(store.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void testTimerClaimedByOtherNodeNotFired() throws Exception {
+        scheduleDueTimers(1, false);
+        long now = System.currentTimeMillis();
+        Map<String, Long> due = store.findJobsDueBefore(now, now, 10);
+        assertTrue(store.claimJobs(due, "other-node", now, now + 60000)[0]);
+
+        scheduler.start();
+        assertFalse(latch.await(2, TimeUnit.SECONDS));
+
+        assertEquals(0, fired.get());
+        // the timer is removed by the node that fires it
+        assertTrue(store.contains("timer-0"));
+        assertTrue(store.completeJob("timer-0", due.get("timer-0"), "other-node"));
+    }
+
+    private TimerFiringMetrics awaitMetrics() throws InterruptedException {
+        // metrics are recorded right after the timers fired
+        TimerFiringMetrics metrics = scheduler.getMetrics();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (metrics.getFiredTimers() < fired.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return metrics;
+    }
+
+    private void scheduleDueTimers(int count, boolean failCoalesced) throws IOException {
+        latch = new CountDownLatch(count);
+        long fireTime = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < count; i++) {
+            long processInstanceId = i / TIMERS_PER_PROCESS_INSTANCE;
+            TestTimerJobInstance instance = new TestTimerJobInstance("pi-" + processInstanceId, failCoalesced);
+            store.saveJob("timer-" + i, "test-timer-service", fireTime, serialize(instance));
+        }
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static class TestTimerJobInstance implements CoalescableTimerJobInstance, Callable<Void>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String key;
+        private final boolean failCoalesced;
+
+        TestTimerJobInstance(String key, boolean failCoalesced) {
+            this.key = key;
+            this.failCoalesced = failCoalesced;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            fired.incrementAndGet();
+            latch.countDown();
+            return null;
+        }
+
+        @Override
+        public String getCoalescingKey() {
+            return key;
+        }
+
+        @Override
+        public void callCoalesced(List<TimerJobInstance> instances) throws Exception {
+            coalescedCalls.incrementAndGet();
+            if (failCoalesced) {
+                throw new IllegalStateException("Simulated failure of coalesced firing");
+            }
+            for (TimerJobInstance instance : instances) {
+                ((TestTimerJobInstance) instance).call();
+            }
+        }
+
+        @Override
+        public JobHandle getJobHandle() {
+            return null;
+        }
+
+        @Override
+        public Job getJob() {
+            return null;
+        }
+
+        @Override
+        public Trigger getTrigger() {
+            return null;
+        }
+
+        @Override
+        public JobContext getJobContext() {
+            return null;
+        }
+    }
+
+    private static class InMemoryTimerStore extends TimerStore {
+
+        private final Map<String, Object[]> jobs = new LinkedHashMap<>();
+
+        InMemoryTimerStore() {
+            super(null);
+        }
+
+        @Override
+        public synchronized void saveJob(String jobName, String timerServiceId, long fireTime, byte[] jobData) {
+            // timer service id, fire time, job data, owner, claimed until
+            jobs.put(jobName, new Object[]{timerServiceId, fireTime, jobData, null, null});
+        }
+
+        @Override
+        public synchronized boolean deleteJob(String jobName) {
+            return jobs.remove(jobName) != null;
+        }
+
+        @Override
+        public synchronized byte[] loadJob(String jobName) {
+            Object[] job = jobs.get(jobName);
+            return job == null ? null : (byte[]) job[2];
+        }
+
+        @Override
+        public synchronized boolean jobExists(String jobName) {
+            return jobs.containsKey(jobName);
+        }
+
+        @Override
+        public synchronized Map<String, StoredJob> loadJobs(List<String> jobNames) {
+            Map<String, StoredJob> loaded = new HashMap<>();
+            for (String jobName : jobNames) {
+                Object[] job = jobs.get(jobName);
+                if (job != null) {
+                    loaded.put(jobName, new StoredJob((String) job[0], (byte[]) job[2]));
+                }
+            }
+            return loaded;
+        }
+
+        @Override
+        public synchronized boolean[] claimJobs(Map<String, Long> claims, String owner, long now, long claimedUntil) {
+            boolean[] claimed = new boolean[claims.size()];
+            int index = 0;
+            for (Map.Entry<String, Long> claim : claims.entrySet()) {
+                Object[] job = jobs.get(claim.getKey());
+                if (job != null && claim.getValue().equals(job[1]) && !isClaimed(job, now)) {
+                    job[3] = owner;
+                    job[4] = claimedUntil;
+                    claimed[index] = true;
+                }
+                index++;
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized boolean completeJob(String jobName, long fireTime, String owner) {
+            Object[] job = jobs.get(jobName);
+            if (job != null && job[1].equals(fireTime) && owner.equals(job[3])) {
+                jobs.remove(jobName);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized boolean releaseJob(String jobName, long fireTime, String owner, long newFireTime) {
+            Object[] job = jobs.get(jobName);
+            if (job != null && job[1].equals(fireTime) && owner.equals(job[3])) {
+                job[1] = newFireTime;
+                job[3] = null;
+                job[4] = null;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized Map<String, Long> findJobsDueBefore(long time, long now, int limit) {
+            Map<String, Long> found = new LinkedHashMap<>();
+            jobs.forEach((jobName, job) -> {
+                if ((Long) job[1] < time && !isClaimed(job, now) && found.size() < limit) {
+                    found.put(jobName, (Long) job[1]);
+                }
+            });
+            return found;
+        }
+
+        @Override
+        public synchronized Map<String, Long> findJobs(long from, long to) {
+            Map<String, Long> found = new LinkedHashMap<>();
+            jobs.forEach((jobName, job) -> {
+                long fireTime = (Long) job[1];
+                if (fireTime >= from && fireTime < to) {
+                    found.put(jobName, fireTime);
+                }
+            });
+            return found;
+        }
+
+        @Override
+        public boolean claimLease(long slice, String nodeId, long now, long expiresAt) {
+            return true;
+        }
+
+        @Override
+        public void deleteLeasesBefore(long slice) {
+        }
+
+        @Override
+        public void releaseLeases(String nodeId) {
+        }
+
+        synchronized boolean isEmpty() {
+            return jobs.isEmpty();
+        }
+
+        synchronized boolean contains(String jobName) {
+            return jobs.containsKey(jobName);
+        }
+
+        private boolean isClaimed(Object[] job, long now) {
+            return job[4] != null && (Long) job[4] >= now;
+        }
+    }
+}
@@ -21,26 +21,32 @@
 package org.jbpm.services.task.audit;
 
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManagerFactory;
 
 import org.jbpm.services.task.audit.impl.model.AuditTaskImpl;
 import org.jbpm.services.task.audit.impl.model.TaskEventImpl;
+import org.jbpm.services.task.audit.impl.model.TaskInboxEntryImpl;
+import org.jbpm.services.task.audit.impl.model.TaskInboxEntryImpl.EntryType;
 import org.jbpm.services.task.audit.variable.TaskIndexerManager;
 import org.jbpm.services.task.lifecycle.listeners.TaskLifeCycleEventListener;
 import org.jbpm.services.task.persistence.PersistableEventListener;
 import org.jbpm.services.task.utils.ClassUtil;
 import org.kie.api.task.TaskEvent;
 import org.kie.api.task.model.OrganizationalEntity;
+import org.kie.api.task.model.Status;
 import org.kie.api.task.model.Task;
 import org.kie.internal.task.api.TaskContext;
 import org.kie.internal.task.api.TaskPersistenceContext;
 import org.kie.internal.task.api.TaskVariable;
 import org.kie.internal.task.api.TaskVariable.VariableType;
+import org.kie.internal.task.api.model.InternalPeopleAssignments;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +57,14 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
     
     private static final Logger logger = LoggerFactory.getLogger(JPATaskLifeCycleEventListener.class);
 
+    private static final String AUDIT_TASK_KEY = "local:audit-task-";
+
+    public static final String INBOX_ENABLED = "org.jbpm.task.inbox.enabled";
+
+    private static final String INBOX_ENTRIES_QUERY = "select e from TaskInboxEntryImpl e where e.taskId = :taskId";
+
+    private static final Set<Status> INBOX_FINAL_STATUSES = EnumSet.of(Status.Completed, Status.Failed, Status.Error, Status.Exited, Status.Obsolete);
+
     public JPATaskLifeCycleEventListener(boolean flag) {
         super(null);
     }
@@ -70,6 +84,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
                  
     
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -92,6 +107,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.ACTIVATED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
                   
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -115,6 +131,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.CLAIMED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
             
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -138,6 +155,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.SKIPPED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
            
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -163,6 +181,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.STOPPED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
                       
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -187,6 +206,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.COMPLETED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));    
             
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -209,6 +229,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.FAILED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
             
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -251,6 +272,8 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
                 event.getEventDate()
             );
             persistenceContext.persist(auditTaskImpl);
+            cacheAuditTask(event, persistenceContext, auditTaskImpl);
+            updateInbox(ti, null, persistenceContext, true);
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.ADDED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
         } finally {
             cleanup(persistenceContext);
@@ -266,6 +289,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.EXITED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
     
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -293,6 +317,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
         try {
              
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -323,6 +348,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
     
             
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -351,6 +377,7 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.SUSPENDED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
     
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
+            updateInbox(ti, auditTaskImpl, persistenceContext, false);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
                 return;
@@ -386,6 +413,8 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
                                                          userId, 
                                                          message.toString()));
             
+            updateInbox(ti, null, persistenceContext, true);
+
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
@@ -414,6 +443,8 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.DELEGATED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
             
     
+            updateInbox(ti, null, persistenceContext, true);
+
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
@@ -441,6 +472,8 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
         try {           
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.NOMINATED, userId, new Date()));
     
+            updateInbox(ti, null, persistenceContext, true);
+
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
@@ -465,13 +498,79 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
      */
     
     protected AuditTaskImpl getAuditTask(TaskEvent event, TaskPersistenceContext persistenceContext, Task ti) {
+        if (isCommandScoped(event, persistenceContext)) {
+            AuditTaskImpl auditTaskImpl = (AuditTaskImpl) ((TaskContext) event.getTaskContext()).get(AUDIT_TASK_KEY + ti.getId());
+            if (auditTaskImpl != null) {
+                return auditTaskImpl;
+            }
+        }
         AuditTaskImpl auditTaskImpl = persistenceContext.queryWithParametersInTransaction("getAuditTaskById", true, 
                 persistenceContext.addParametersToMap("taskId", ti.getId()),
                 ClassUtil.<AuditTaskImpl>castClass(AuditTaskImpl.class));
         
+        if (auditTaskImpl != null) {
+            cacheAuditTask(event, persistenceContext, auditTaskImpl);
+        }
         return auditTaskImpl;
     }
 
+    /**
+     * Keeps the (managed) audit task in the command's local context so following lifecycle events of the
+     * same command do not query it again, this also avoids flushes triggered by the query so all changes
+     * to the audit task and task events are written once when the command's persistence context is flushed.
+     * Only applies when the listener shares persistence context with the task command.
+     */
+    protected void cacheAuditTask(TaskEvent event, TaskPersistenceContext persistenceContext, AuditTaskImpl auditTaskImpl) {
+        if (isCommandScoped(event, persistenceContext)) {
+            ((TaskContext) event.getTaskContext()).set(AUDIT_TASK_KEY + auditTaskImpl.getTaskId(), auditTaskImpl);
+        }
+    }
+
+    protected boolean isCommandScoped(TaskEvent event, TaskPersistenceContext persistenceContext) {
+        return persistenceContext != null && persistenceContext == ((TaskContext) event.getTaskContext()).getPersistenceContext();
+    }
+
+    /**
+     * Maintains inbox entries ({@link TaskInboxEntryImpl}) of given task when enabled via
+     * <code>org.jbpm.task.inbox.enabled</code> system property. Entries are rebuilt when people assignments
+     * of the task have changed, otherwise only status and actual owner are updated - entries are not
+     * touched at all when neither has changed compared to the (not yet updated) audit task. Entries of
+     * tasks that reached a final status are removed.
+     */
+    protected void updateInbox(Task ti, AuditTaskImpl auditTaskImpl, TaskPersistenceContext persistenceContext, boolean assignmentsChanged) {
+        if (!Boolean.getBoolean(INBOX_ENABLED)) {
+            return;
+        }
+        if (!assignmentsChanged && auditTaskImpl != null
+                && ti.getTaskData().getStatus().name().equals(auditTaskImpl.getStatus())
+                && getActualOwner(ti).equals(auditTaskImpl.getActualOwner() == null ? "" : auditTaskImpl.getActualOwner())) {
+            return;
+        }
+        List<TaskInboxEntryImpl> entries = persistenceContext.queryStringWithParametersInTransaction(INBOX_ENTRIES_QUERY,
+                persistenceContext.addParametersToMap("taskId", ti.getId()),
+                ClassUtil.<List<TaskInboxEntryImpl>>castClass(List.class));
+
+        Status status = ti.getTaskData().getStatus();
+        String actualOwner = ti.getTaskData().getActualOwner() != null ? ti.getTaskData().getActualOwner().getId() : null;
+        if (assignmentsChanged || INBOX_FINAL_STATUSES.contains(status)) {
+            entries.forEach(persistenceContext::remove);
+            if (INBOX_FINAL_STATUSES.contains(status)) {
+                return;
+            }
+            for (OrganizationalEntity entity : ti.getPeopleAssignments().getPotentialOwners()) {
+                persistenceContext.persist(new TaskInboxEntryImpl(ti.getId(), entity.getId(), EntryType.POTENTIAL_OWNER, status.name(), actualOwner));
+            }
+            for (OrganizationalEntity entity : ((InternalPeopleAssignments) ti.getPeopleAssignments()).getExcludedOwners()) {
+                persistenceContext.persist(new TaskInboxEntryImpl(ti.getId(), entity.getId(), EntryType.EXCLUDED_OWNER, status.name(), actualOwner));
+            }
+            return;
+        }
+        for (TaskInboxEntryImpl entry : entries) {
+            entry.setStatus(status.name());
+            entry.setActualOwner(actualOwner);
+        }
+    }
+
     /*
      * helper methods - end
      */
@@ -675,6 +774,8 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
             persistenceContext.persist(new TaskEventImpl(ti.getId(), org.kie.internal.task.api.model.TaskEvent.TaskEventType.DELEGATED, ti.getTaskData().getProcessInstanceId(), ti.getTaskData().getWorkItemId(), userId));
             
     
+            updateInbox(ti, null, persistenceContext, true);
+
             AuditTaskImpl auditTaskImpl = getAuditTask(event, persistenceContext, ti);
             if (auditTaskImpl == null) {
                 logger.warn("Unable find audit task entry for task id {} '{}', skipping audit task update", ti.getId(), ti.getName());
@@ -807,6 +908,10 @@ public class JPATaskLifeCycleEventListener extends PersistableEventListener impl
                                                      task.getTaskData().getProcessInstanceId(), 
                                                      task.getTaskData().getWorkItemId(), 
                                                      userId, message.toString()));
+
+        if (type == AssignmentType.POT_OWNER || type == AssignmentType.EXCL_OWNER) {
+            updateInbox(task, null, persistenceContext, true);
+        }
     }
 
     
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.services.task.audit.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.jbpm.services.task.audit.impl.model.TaskInboxEntryImpl.EntryType;
+import org.jbpm.services.task.commands.UserGroupCallbackTaskCommand;
+import org.jbpm.services.task.utils.ClassUtil;
+import org.kie.api.runtime.Context;
+import org.kie.api.task.model.Status;
+import org.kie.api.task.model.TaskSummary;
+import org.kie.internal.task.api.TaskContext;
+import org.kie.internal.task.api.TaskPersistenceContext;
+
+/**
+ * Returns tasks the user (directly or via groups) is potential owner of based on task inbox entries
+ * maintained by {@link org.jbpm.services.task.audit.JPATaskLifeCycleEventListener} - requires
+ * <code>org.jbpm.task.inbox.enabled</code> system property to be set.
+ * <br/>
+ * Tasks are ordered by task id descending and paged by keyset - next page is requested by giving the last
+ * (smallest) task id of the previous page as <code>lastTaskId</code> instead of an offset, so all pages
+ * are equally cheap to load.
+ */
+@XmlRootElement(name = "get-tasks-assigned-as-potential-owner-from-inbox-command")
+@XmlAccessorType(XmlAccessType.NONE)
+public class GetTasksAssignedAsPotentialOwnerFromInboxCommand extends UserGroupCallbackTaskCommand<List<TaskSummary>> {
+
+    private static final Status[] ACTIVE_STATUSES = {Status.Created, Status.Ready, Status.Reserved, Status.InProgress, Status.Suspended};
+
+    private static final String INBOX_QUERY_PREFIX =
+            "select new org.jbpm.services.task.query.TaskSummaryImpl("
+            + "t.id, t.name, t.subject, t.description, t.taskData.status, t.priority, t.taskData.actualOwner.id, "
+            + "t.taskData.createdBy.id, t.taskData.createdOn, t.taskData.activationTime, t.taskData.expirationTime, "
+            + "t.taskData.processId, t.taskData.processInstanceId, t.taskData.parentId, t.taskData.deploymentId, t.taskData.skipable) "
+            + "from TaskImpl t "
+            + "where t.archived = 0 and t.id in ("
+            + "select e.taskId from TaskInboxEntryImpl e "
+            + "where e.entityId in (:entityIds) and e.type = :potentialOwner "
+            + "and e.status in (:status) and (e.actualOwner = :userId or e.actualOwner is null)";
+
+    private static final String INBOX_QUERY_KEYSET = " and e.taskId < :lastTaskId";
+
+    private static final String INBOX_QUERY_SUFFIX = ") "
+            + "and not exists (select x.id from TaskInboxEntryImpl x where x.taskId = t.id and x.entityId = :userId "
+            + "and x.type = :excludedOwner) "
+            + "order by t.id desc";
+
+    @XmlElement
+    private List<Status> status;
+
+    @XmlElement
+    private Long lastTaskId;
+
+    @XmlElement
+    private Integer maxResults;
+
+    public GetTasksAssignedAsPotentialOwnerFromInboxCommand() {
+    }
+
+    public GetTasksAssignedAsPotentialOwnerFromInboxCommand(String userId, List<Status> status, Long lastTaskId, Integer maxResults) {
+        this.userId = userId;
+        this.status = status;
+        this.lastTaskId = lastTaskId;
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public List<TaskSummary> execute(Context context) {
+        TaskContext taskContext = (TaskContext) context;
+        TaskPersistenceContext persistenceContext = taskContext.getPersistenceContext();
+
+        doCallbackUserOperation(userId, taskContext);
+        List<String> entityIds = doUserGroupCallbackOperation(userId, null, taskContext);
+        entityIds.add(userId);
+
+        List<String> statusNames = new ArrayList<>();
+        if (status == null || status.isEmpty()) {
+            for (Status active : ACTIVE_STATUSES) {
+                statusNames.add(active.name());
+            }
+        } else {
+            statusNames.addAll(status.stream().map(Status::name).collect(Collectors.toList()));
+        }
+
+        Map<String, Object> params = persistenceContext.addParametersToMap("entityIds", entityIds, "status", statusNames, "userId", userId,
+                "potentialOwner", EntryType.POTENTIAL_OWNER, "excludedOwner", EntryType.EXCLUDED_OWNER);
+        StringBuilder query = new StringBuilder(INBOX_QUERY_PREFIX);
+        if (lastTaskId != null) {
+            query.append(INBOX_QUERY_KEYSET);
+            params.put("lastTaskId", lastTaskId);
+        }
+        query.append(INBOX_QUERY_SUFFIX);
+        if (maxResults != null && maxResults > 0) {
+            params.put("maxResults", maxResults);
+        }
+
+        List<TaskSummary> tasks = persistenceContext.queryStringWithParametersInTransaction(query.toString(), params,
+                ClassUtil.<List<TaskSummary>>castClass(List.class));
+        return tasks == null ? new ArrayList<>() : tasks;
+    }
+
+    public List<Status> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<Status> status) {
+        this.status = status;
+    }
+
+    public Long getLastTaskId() {
+        return lastTaskId;
+    }
+
+    public void setLastTaskId(Long lastTaskId) {
+        this.lastTaskId = lastTaskId;
+    }
+
+    public Integer getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(Integer maxResults) {
+        this.maxResults = maxResults;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.task.audit.impl.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * Denormalized entry of the task inbox - one per potential (or excluded) owner of an active task,
+ * together with task's current status and actual owner so inbox queries do not need to join
+ * people assignments of the task.
+ */
+@Entity
+@Table(name = "TaskInboxEntry", indexes = {
+        @Index(name = "IDX_TaskInboxEntry_entity", columnList = "entityId,taskId"),
+        @Index(name = "IDX_TaskInboxEntry_taskId", columnList = "taskId")
+})
+@SequenceGenerator(name = "taskInboxIdSeq", sequenceName = "TASK_INBOX_ID_SEQ", allocationSize = 1)
+public class TaskInboxEntryImpl implements Serializable {
+
+    private static final long serialVersionUID = -2164627389232498121L;
+
+    public enum EntryType {
+        POTENTIAL_OWNER,
+        EXCLUDED_OWNER
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "taskInboxIdSeq")
+    private Long id;
+
+    private Long taskId;
+
+    private String entityId;
+
+    @Enumerated(EnumType.ORDINAL)
+    private EntryType type;
+
+    private String status;
+
+    private String actualOwner;
+
+    public TaskInboxEntryImpl() {
+    }
+
+    public TaskInboxEntryImpl(Long taskId, String entityId, EntryType type, String status, String actualOwner) {
+        this.taskId = taskId;
+        this.entityId = entityId;
+        this.type = type;
+        this.status = status;
+        this.actualOwner = actualOwner;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public EntryType getType() {
+        return type;
+    }
+
+    public void setType(EntryType type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getActualOwner() {
+        return actualOwner;
+    }
+
+    public void setActualOwner(String actualOwner) {
+        this.actualOwner = actualOwner;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskInboxEntryImpl [taskId=" + taskId + ", entityId=" + entityId + ", type=" + type + ", status=" + status + ", actualOwner=" + actualOwner + "]";
+    }
+}
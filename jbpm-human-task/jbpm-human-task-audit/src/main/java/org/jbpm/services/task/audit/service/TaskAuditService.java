@@ -19,6 +19,8 @@ package org.jbpm.services.task.audit.service;
 import java.util.List;
 
 import org.kie.api.task.TaskService;
+import org.kie.api.task.model.Status;
+import org.kie.api.task.model.TaskSummary;
 import org.kie.internal.query.QueryFilter;
 import org.kie.internal.task.api.AuditTask;
 import org.kie.internal.task.api.model.TaskEvent;
@@ -45,6 +47,17 @@ public interface TaskAuditService {
 
     List<AuditTask> getAllAuditTasksByStatus(String userId, QueryFilter filter);
 
+    /**
+     * Returns tasks given user is potential owner of (directly or via groups) based on the task inbox entries,
+     * ordered by task id descending. Next page is loaded by giving the last task id of the previous page.
+     * Requires inbox to be enabled with <code>org.jbpm.task.inbox.enabled</code> system property.
+     * @param userId user the inbox is for
+     * @param status task statuses to include, all active statuses when null or empty
+     * @param lastTaskId last task id of the previous page, null to start from the beginning
+     * @param maxResults maximum number of tasks to return
+     */
+    List<TaskSummary> getTasksAssignedAsPotentialOwnerFromInbox(String userId, List<Status> status, Long lastTaskId, Integer maxResults);
+
     TaskEventQueryBuilder taskEventQuery();
 
     TaskVariableQueryBuilder taskVariableQuery();
@@ -25,7 +25,10 @@ import org.jbpm.services.task.audit.commands.GetAllHistoryAuditTasksByUserComman
 import org.jbpm.services.task.audit.commands.GetAllHistoryAuditTasksCommand;
 import org.jbpm.services.task.audit.commands.GetAuditEventsByProcessInstanceIdCommand;
 import org.jbpm.services.task.audit.commands.GetAuditEventsCommand;
+import org.jbpm.services.task.audit.commands.GetTasksAssignedAsPotentialOwnerFromInboxCommand;
 import org.kie.api.task.TaskService;
+import org.kie.api.task.model.Status;
+import org.kie.api.task.model.TaskSummary;
 import org.kie.internal.query.QueryFilter;
 import org.kie.internal.task.api.AuditTask;
 import org.kie.internal.task.api.InternalTaskService;
@@ -83,6 +86,11 @@ import org.kie.internal.task.query.TaskVariableQueryBuilder;
         return taskService.execute(new GetAllAuditTasksByStatusCommand(userId, filter));
     }
 
+    @Override
+    public List<TaskSummary> getTasksAssignedAsPotentialOwnerFromInbox(String userId, List<Status> status, Long lastTaskId, Integer maxResults) {
+        return taskService.execute(new GetTasksAssignedAsPotentialOwnerFromInboxCommand(userId, status, lastTaskId, maxResults));
+    }
+
     public TaskVariableQueryBuilder taskVariableQuery()  {
         return new TaskVariableQueryBuilderImpl(taskService);
     }
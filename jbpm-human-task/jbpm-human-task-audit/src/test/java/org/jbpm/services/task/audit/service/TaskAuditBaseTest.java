@@ -18,6 +18,7 @@ package org.jbpm.services.task.audit.service;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -28,18 +29,28 @@ import javax.inject.Inject;
 import javax.persistence.EntityManager;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.jbpm.services.task.HumanTaskServicesBaseTest;
+import org.jbpm.services.task.audit.JPATaskLifeCycleEventListener;
 import org.jbpm.services.task.audit.commands.DeleteAuditEventsCommand;
 import org.jbpm.services.task.audit.commands.DeleteBAMTaskSummariesCommand;
 import org.jbpm.services.task.audit.commands.GetAuditEventsCommand;
 import org.jbpm.services.task.audit.commands.GetBAMTaskSummariesCommand;
 import org.jbpm.services.task.audit.impl.model.AuditTaskImpl;
 import org.jbpm.services.task.audit.impl.model.BAMTaskSummaryImpl;
+import org.jbpm.services.task.audit.impl.model.TaskEventImpl;
 import org.jbpm.services.task.audit.service.objects.Person;
+import org.jbpm.services.task.commands.ClaimTaskCommand;
+import org.jbpm.services.task.commands.CompleteTaskCommand;
+import org.jbpm.services.task.commands.CompositeCommand;
+import org.jbpm.services.task.commands.StartTaskCommand;
 import org.jbpm.services.task.impl.model.I18NTextImpl;
+import org.jbpm.services.task.impl.model.UserImpl;
 import org.jbpm.services.task.utils.TaskFluent;
 import org.junit.Test;
 import org.kie.api.task.model.I18NText;
+import org.kie.api.task.model.OrganizationalEntity;
 import org.kie.api.task.model.Status;
 import org.kie.api.task.model.Task;
 import org.kie.api.task.model.TaskSummary;
@@ -47,6 +58,7 @@ import org.kie.internal.query.QueryFilter;
 import org.kie.internal.task.api.AuditTask;
 import org.kie.internal.task.api.TaskVariable;
 import org.kie.internal.task.api.TaskVariable.VariableType;
+import org.kie.internal.task.api.model.InternalPeopleAssignments;
 import org.kie.internal.task.api.model.InternalTaskData;
 import org.kie.internal.task.api.model.TaskEvent;
 import org.kie.internal.task.api.model.TaskEvent.TaskEventType;
@@ -275,6 +287,100 @@ public abstract class TaskAuditBaseTest extends HumanTaskServicesBaseTest {
         assertEquals(0, allGroupAuditTasks.size());
     }
 
+    @Test
+    public void testClaimStartCompleteInSingleCommand() {
+        Task task = new TaskFluent().setName("This is my task name 2")
+                .addPotentialGroup("Knights Templer")
+                .setAdminUser("Administrator")
+                .getTask();
+        taskService.addTask(task, new HashMap<String, Object>());
+        long taskId = task.getId();
+
+        EntityManager em = getEntityManager();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.close();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            // audit task is loaded once and updated by all lifecycle events of the command
+            taskService.execute(new CompositeCommand<Void>(new CompleteTaskCommand(taskId, "Darth Vader", null),
+                                                           new ClaimTaskCommand(taskId, "Darth Vader"),
+                                                           new StartTaskCommand(taskId, "Darth Vader")));
+
+            // getAuditTaskById query
+            assertEquals(1, statistics.getQueryStatistics("select t from AuditTaskImpl t where t.taskId = :taskId").getExecutionCount());
+            assertEquals(1, statistics.getEntityStatistics(AuditTaskImpl.class.getName()).getLoadCount());
+            assertEquals(3, statistics.getEntityStatistics(TaskEventImpl.class.getName()).getInsertCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        List<AuditTask> auditTasks = taskAuditService.getAllAuditTasks(new QueryFilter());
+        assertEquals(1, auditTasks.size());
+        assertEquals(Status.Completed.name(), auditTasks.get(0).getStatus());
+        assertEquals("Darth Vader", auditTasks.get(0).getActualOwner());
+
+        List<TaskEvent> taskEvents = taskAuditService.getAllTaskEvents(taskId, new QueryFilter());
+        Assertions.assertThat(taskEvents).extracting(TaskEvent::getType)
+                .containsExactly(TaskEventType.ADDED, TaskEventType.ACTIVATED, TaskEventType.CLAIMED, TaskEventType.STARTED, TaskEventType.COMPLETED);
+    }
+
+    @Test
+    public void testInboxWithKeysetPaging() {
+        System.setProperty(JPATaskLifeCycleEventListener.INBOX_ENABLED, "true");
+        try {
+            long[] taskIds = new long[3];
+            for (int i = 0; i < taskIds.length; i++) {
+                Task task = new TaskFluent().setName("Inbox task " + i)
+                        .addPotentialGroup("Knights Templer")
+                        .setAdminUser("Administrator")
+                        .getTask();
+                if (i == 0) {
+                    List<OrganizationalEntity> excludedOwners = new ArrayList<>();
+                    excludedOwners.add(new UserImpl("salaboy"));
+                    ((InternalPeopleAssignments) task.getPeopleAssignments()).setExcludedOwners(excludedOwners);
+                }
+                taskService.addTask(task, new HashMap<String, Object>());
+                taskIds[i] = task.getId();
+            }
+
+            List<TaskSummary> inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("Darth Vader", null, null, null);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[2], taskIds[1], taskIds[0]);
+            // excluded owner does not see the task even though being member of the group
+            inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("salaboy", null, null, null);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[2], taskIds[1]);
+
+            // next page starts right after the last task of the previous one
+            inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("Darth Vader", null, null, 2);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[2], taskIds[1]);
+            inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("Darth Vader", null, inbox.get(1).getId(), 2);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[0]);
+
+            taskService.claim(taskIds[1], "Darth Vader");
+            inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("salaboy", null, null, null);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[2]);
+            inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("Darth Vader", Arrays.asList(Status.Reserved), null, null);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[1]);
+
+            taskService.start(taskIds[1], "Darth Vader");
+            taskService.complete(taskIds[1], "Darth Vader", null);
+            inbox = taskAuditService.getTasksAssignedAsPotentialOwnerFromInbox("Darth Vader", null, null, null);
+            Assertions.assertThat(inbox).extracting(TaskSummary::getId).containsExactly(taskIds[2], taskIds[0]);
+
+            EntityManager em = getEntityManager();
+            try {
+                List<?> entries = em.createQuery("select e from TaskInboxEntryImpl e where e.taskId = :taskId")
+                        .setParameter("taskId", taskIds[1])
+                        .getResultList();
+                assertTrue(entries.isEmpty());
+            } finally {
+                em.close();
+            }
+        } finally {
+            System.clearProperty(JPATaskLifeCycleEventListener.INBOX_ENABLED);
+        }
+    }
+
     @Test
     public void testExitBeforeClaim() {
         Task task = new TaskFluent().setName("This is my task name 2")
@@ -26,7 +26,10 @@ import javax.persistence.EntityManagerFactory;
 import org.drools.core.impl.EnvironmentFactory;
 import org.drools.core.runtime.ChainableRunner;
 import org.jbpm.services.task.assignment.AssignmentServiceProvider;
+import org.jbpm.services.task.assignment.impl.ActiveTaskCountEventListener;
+import org.jbpm.services.task.assignment.impl.ActiveTaskCountLoadCalculator;
 import org.jbpm.services.task.assignment.impl.AssignmentTaskEventListener;
+import org.jbpm.services.task.assignment.impl.strategy.LoadBalanceAssignmentStrategy;
 import org.jbpm.services.task.commands.TaskCommandExecutorImpl;
 import org.jbpm.services.task.events.TaskEventSupport;
 import org.jbpm.services.task.identity.DefaultUserInfo;
@@ -159,6 +162,9 @@ public class HumanTaskConfigurator {
             }
             if (AssignmentServiceProvider.get().isEnabled()) {
                 ((EventService<TaskLifeCycleEventListener>) service).registerTaskEventListener(new AssignmentTaskEventListener());
+                if (ActiveTaskCountLoadCalculator.class.getName().equals(System.getProperty(LoadBalanceAssignmentStrategy.CALCULATOR_PROPERTY))) {
+                    ((EventService<TaskLifeCycleEventListener>) service).registerTaskEventListener(new ActiveTaskCountEventListener());
+                }
             }
             
             // initialize deadline service with command executor for processing
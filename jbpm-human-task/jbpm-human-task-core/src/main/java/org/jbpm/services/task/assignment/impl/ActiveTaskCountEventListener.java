@@ -0,0 +1,242 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.services.task.assignment.impl;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionSynchronization;
+import org.jbpm.services.task.commands.TaskContext;
+import org.jbpm.services.task.events.DefaultTaskEventListener;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.task.TaskEvent;
+import org.kie.api.task.model.Status;
+import org.kie.api.task.model.Task;
+
+/**
+ * Keeps {@link ActiveTaskCountLoadCalculator} counters up to date by comparing the active owner
+ * of the task before and after each lifecycle operation.
+ * <br/>
+ * The owner before the operation is kept in the task context, whose <code>local:</code> entries only live as long
+ * as the command. Changes of the counters are collected per command and applied only once its transaction is
+ * committed, so operations that fail or are rolled back leave neither counters nor state behind. They are dropped
+ * when the counters were reconciled in the meantime, see {@link ActiveTaskCountLoadCalculator}.
+ */
+public class ActiveTaskCountEventListener extends DefaultTaskEventListener {
+
+    private static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.Reserved, Status.InProgress, Status.Suspended);
+
+    private static final String PREVIOUS_OWNER_KEY = "local:active-task-owner-";
+    private static final String COUNTER_CHANGES_KEY = "local:active-task-count-changes";
+
+    @Override
+    public void afterTaskAddedEvent(TaskEvent event) {
+        ownerChanged(event, null, getActiveOwner(event.getTask()));
+    }
+
+    @Override
+    public void beforeTaskActivatedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskActivatedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskClaimedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskClaimedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskSkippedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskSkippedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskStartedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskStartedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskStoppedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskStoppedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskCompletedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskCompletedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskFailedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskFailedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskExitedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskExitedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskReleasedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskReleasedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskForwardedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskForwardedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskDelegatedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskDelegatedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskNominatedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskNominatedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    @Override
+    public void beforeTaskReassignedEvent(TaskEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void afterTaskReassignedEvent(TaskEvent event) {
+        updateOwner(event);
+    }
+
+    protected void recordOwner(TaskEvent event) {
+        Task task = event.getTask();
+        ((TaskContext) event.getTaskContext()).set(PREVIOUS_OWNER_KEY + task.getId(), getActiveOwner(task));
+    }
+
+    protected void updateOwner(TaskEvent event) {
+        Task task = event.getTask();
+        TaskContext context = (TaskContext) event.getTaskContext();
+        String previousOwner = (String) context.get(PREVIOUS_OWNER_KEY + task.getId());
+        context.set(PREVIOUS_OWNER_KEY + task.getId(), null);
+        String owner = getActiveOwner(task);
+        if (!Objects.equals(previousOwner, owner)) {
+            ownerChanged(event, previousOwner, owner);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void ownerChanged(TaskEvent event, String previousOwner, String owner) {
+        TaskContext context = (TaskContext) event.getTaskContext();
+        TransactionManager txm = (TransactionManager) context.get(EnvironmentName.TRANSACTION_MANAGER);
+        if (txm == null || txm.getStatus() == TransactionManager.STATUS_NO_TRANSACTION) {
+            ActiveTaskCountLoadCalculator.ownerChanged(previousOwner, owner);
+            return;
+        }
+        Map<String, Long> changes = (Map<String, Long>) context.get(COUNTER_CHANGES_KEY);
+        if (changes == null) {
+            Map<String, Long> transactionChanges = new HashMap<>();
+            long generation = ActiveTaskCountLoadCalculator.getGeneration();
+            context.set(COUNTER_CHANGES_KEY, transactionChanges);
+            txm.registerTransactionSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == TransactionManager.STATUS_COMMITTED) {
+                        ActiveTaskCountLoadCalculator.changeActiveTasks(generation, transactionChanges);
+                    }
+                }
+            });
+            changes = transactionChanges;
+        }
+        if (previousOwner != null) {
+            changes.merge(previousOwner, -1L, Long::sum);
+        }
+        if (owner != null) {
+            changes.merge(owner, 1L, Long::sum);
+        }
+    }
+
+    protected String getActiveOwner(Task task) {
+        if (task.getTaskData().getActualOwner() == null || !ACTIVE_STATUSES.contains(task.getTaskData().getStatus())) {
+            return null;
+        }
+        return task.getTaskData().getActualOwner().getId();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.services.task.assignment.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jbpm.services.task.assignment.UserTaskLoad;
+import org.jbpm.services.task.utils.ClassUtil;
+import org.kie.api.task.TaskContext;
+import org.kie.api.task.model.User;
+import org.kie.internal.task.api.TaskPersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load calculator that keeps the number of active (reserved, in progress and suspended) tasks
+ * of every user in memory instead of counting them in the data base for each assignment.
+ * <br/>
+ * Counters are shared by all calculators (and task services) of the JVM, they are maintained by
+ * {@link ActiveTaskCountEventListener} as task ownership changes (once the change is committed) and are built
+ * from the data base on first use and then periodically reconciled with it to recover from changes that were
+ * not observed (e.g. other cluster members). Changes of transactions that started before a reconciliation
+ * are dropped once committed, as the reconciliation might have counted them already (the changes of transactions
+ * committed while reconciling might be missed instead, until the next reconciliation).
+ * Reconciliation interval (in milliseconds)
+ * is given by <code>org.jbpm.task.assignment.loadbalance.reconcile.interval</code> system property
+ * and defaults to 5 minutes.
+ */
+public class ActiveTaskCountLoadCalculator extends AbstractLoadCalculator {
+    private static final Logger logger = LoggerFactory.getLogger(ActiveTaskCountLoadCalculator.class);
+    private static final String IDENTIFIER = "ActiveTaskCountLoadCalculator";
+    private static final String ALL_USERS_QUERY =
+            "select new org.jbpm.services.task.assignment.impl.AssignmentImpl(t.taskData.actualOwner.id, count(t)) "
+            + "from TaskImpl t "
+            + "where t.taskData.status in ('Reserved', 'InProgress', 'Suspended') "
+            + "group by t.taskData.actualOwner";
+
+    private static final long reconcileInterval = Long.parseLong(System.getProperty("org.jbpm.task.assignment.loadbalance.reconcile.interval", "300000"));
+
+    private static volatile ConcurrentMap<String, AtomicLong> activeTasks = new ConcurrentHashMap<>();
+    private static volatile long lastReconciled = 0;
+    // incremented whenever the counters are replaced, guarded by countersLock
+    private static long generation = 0;
+    private static final Object countersLock = new Object();
+
+    public ActiveTaskCountLoadCalculator() {
+        super(IDENTIFIER);
+    }
+
+    @Override
+    public UserTaskLoad getUserTaskLoad(User user, TaskContext context) {
+        reconcileIfNeeded(context);
+        return new UserTaskLoad(getIdentifier(), user, new Double(getActiveTasks(user.getId())));
+    }
+
+    @Override
+    public Collection<UserTaskLoad> getUserTaskLoads(List<User> users, TaskContext context) {
+        reconcileIfNeeded(context);
+        Collection<UserTaskLoad> userTaskLoads = new ArrayList<>();
+        users.forEach(usr -> userTaskLoads.add(new UserTaskLoad(getIdentifier(), usr, new Double(getActiveTasks(usr.getId())))));
+        return userTaskLoads;
+    }
+
+    /**
+     * Moves one active task from <code>previousOwner</code> to <code>newOwner</code>, either of them
+     * can be null when the task was not or is no longer active.
+     */
+    public static void ownerChanged(String previousOwner, String newOwner) {
+        if (previousOwner != null) {
+            changeActiveTasks(previousOwner, -1L);
+        }
+        if (newOwner != null) {
+            changeActiveTasks(newOwner, 1L);
+        }
+    }
+
+    /**
+     * Adds <code>delta</code> (that might be negative) to the number of active tasks of the given user.
+     */
+    public static void changeActiveTasks(String userId, Long delta) {
+        if (delta > 0) {
+            activeTasks.computeIfAbsent(userId, owner -> new AtomicLong()).addAndGet(delta);
+        } else if (delta < 0) {
+            AtomicLong count = activeTasks.get(userId);
+            if (count != null && count.addAndGet(delta) < 0) {
+                count.set(0);
+            }
+        }
+    }
+
+    /**
+     * Adds the changes (per user) of a transaction, unless the counters were replaced since the given generation
+     * (see {@link #getGeneration()}) was taken at the start of the transaction.
+     */
+    public static void changeActiveTasks(long transactionGeneration, Map<String, Long> changes) {
+        synchronized (countersLock) {
+            if (transactionGeneration != generation) {
+                logger.debug("Active task changes of a transaction started before the counters were reconciled dropped");
+                return;
+            }
+            changes.forEach(ActiveTaskCountLoadCalculator::changeActiveTasks);
+        }
+    }
+
+    /**
+     * @return the generation of the counters, that changes whenever they are reconciled or reset
+     */
+    public static long getGeneration() {
+        synchronized (countersLock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Drops all counters so they are built from the data base on next use, e.g. when the data base was replaced.
+     */
+    public static void reset() {
+        replaceCounters(new ConcurrentHashMap<>());
+        lastReconciled = 0;
+    }
+
+    private static void replaceCounters(ConcurrentMap<String, AtomicLong> counters) {
+        synchronized (countersLock) {
+            activeTasks = counters;
+            generation++;
+        }
+    }
+
+    public static long getActiveTasks(String userId) {
+        AtomicLong count = activeTasks.get(userId);
+        return count == null ? 0 : count.get();
+    }
+
+    protected void reconcileIfNeeded(TaskContext context) {
+        if (System.currentTimeMillis() - lastReconciled < reconcileInterval) {
+            return;
+        }
+        synchronized (ActiveTaskCountLoadCalculator.class) {
+            if (System.currentTimeMillis() - lastReconciled < reconcileInterval) {
+                return;
+            }
+            reconcile(context);
+        }
+    }
+
+    protected void reconcile(TaskContext context) {
+        TaskPersistenceContext persistenceContext = ((org.jbpm.services.task.commands.TaskContext)context).getPersistenceContext();
+        logger.debug("DB query to be used for reconciling active tasks :: '{}'", ALL_USERS_QUERY);
+        List<AssignmentImpl> assignments = persistenceContext.queryStringWithParametersInTransaction(ALL_USERS_QUERY, Collections.emptyMap(), ClassUtil.<List<AssignmentImpl>>castClass(List.class));
+
+        ConcurrentMap<String, AtomicLong> reconciled = new ConcurrentHashMap<>();
+        if (assignments != null) {
+            assignments.forEach(assignment -> reconciled.put(assignment.getUser(), new AtomicLong(assignment.getCurrentlyAssigned())));
+        }
+        replaceCounters(reconciled);
+        lastReconciled = System.currentTimeMillis();
+        logger.debug("Active tasks reconciled for {} users", reconciled.size());
+    }
+}
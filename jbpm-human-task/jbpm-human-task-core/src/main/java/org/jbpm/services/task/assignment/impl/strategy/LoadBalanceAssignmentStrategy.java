@@ -44,10 +44,11 @@ import org.slf4j.LoggerFactory;
 public class LoadBalanceAssignmentStrategy implements AssignmentStrategy {
 	private static final Logger logger = LoggerFactory.getLogger(LoadBalanceAssignmentStrategy.class);
 	private static final String IDENTIFIER = "LoadBalance";
+	public static final String CALCULATOR_PROPERTY = "org.jbpm.task.assignment.loadbalance.calculator";
 	private LoadCalculator calculator;
 	
 	public LoadBalanceAssignmentStrategy() throws InstantiationException, IllegalAccessException, ClassNotFoundException {
-		String calculatorClass = System.getProperty("org.jbpm.task.assignment.loadbalance.calculator","org.jbpm.services.task.assignment.impl.TaskCountLoadCalculator");
+		String calculatorClass = System.getProperty(CALCULATOR_PROPERTY,"org.jbpm.services.task.assignment.impl.TaskCountLoadCalculator");
 		this.calculator = (LoadCalculator)Class.forName(calculatorClass).newInstance();
 	}
 	
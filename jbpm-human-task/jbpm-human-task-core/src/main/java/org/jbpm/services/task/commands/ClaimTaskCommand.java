@@ -15,6 +15,7 @@
  */
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -54,5 +55,9 @@ public class ClaimTaskCommand extends UserGroupCallbackTaskCommand<Void> {
         
     }
 
-   
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.CLAIM;
+    }
+
 }
@@ -17,6 +17,7 @@ package org.jbpm.services.task.commands;
 
 import org.drools.core.xml.jaxb.util.JaxbMapAdapter;
 import org.jbpm.services.task.exception.PermissionDeniedException;
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.jbpm.services.task.rule.TaskRuleService;
 import org.kie.api.runtime.Context;
 import org.kie.api.task.model.Task;
@@ -99,5 +100,10 @@ public class CompleteTaskCommand extends UserGroupCallbackTaskCommand<Void> {
     	return null;
         
     }
-	
+
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.COMPLETE;
+    }
+
 }
@@ -16,6 +16,7 @@
 
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -170,4 +171,12 @@ public class CompositeCommand<T> extends TaskCommand<T> {
 		return this.taskId;
 	}
 
+	@Override
+	public TaskFetchPlan getFetchPlan() {
+		if ( mainCommand != null) {
+			return mainCommand.getFetchPlan();
+		}
+		return null;
+	}
+
 }
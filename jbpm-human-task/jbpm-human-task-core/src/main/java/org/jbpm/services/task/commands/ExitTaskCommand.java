@@ -15,6 +15,7 @@
  */
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -52,4 +53,10 @@ public class ExitTaskCommand extends UserGroupCallbackTaskCommand<Void> {
     	return null;
         
     }
+
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.COMPLETE;
+    }
+
 }
@@ -16,6 +16,7 @@
 package org.jbpm.services.task.commands;
 
 import org.drools.core.xml.jaxb.util.JaxbMapAdapter;
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -65,4 +66,10 @@ public class FailTaskCommand extends UserGroupCallbackTaskCommand<Void> {
     	return null;
 
     }
+
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.COMPLETE;
+    }
+
 }
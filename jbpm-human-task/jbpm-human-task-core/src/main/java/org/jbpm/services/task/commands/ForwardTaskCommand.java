@@ -15,6 +15,7 @@
  */
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -67,4 +68,10 @@ public class ForwardTaskCommand extends UserGroupCallbackTaskCommand<Void> {
     	return null;
        
     }
+
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.CLAIM;
+    }
+
 }
@@ -16,6 +16,7 @@
 
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 import org.kie.api.task.model.Task;
 
@@ -42,4 +43,10 @@ public class GetTaskCommand extends TaskCommand<Task> {
         return context.getTaskQueryService().getTaskInstanceById(taskId);
     }
 
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        // the returned task is fully initialized, unless eager initialization is disabled
+        return Boolean.getBoolean("jbpm.ht.eager.disabled") ? null : TaskFetchPlan.QUERY;
+    }
+
 }
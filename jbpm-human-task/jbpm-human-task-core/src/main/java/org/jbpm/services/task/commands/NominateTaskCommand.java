@@ -15,6 +15,7 @@
  */
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.jbpm.services.task.impl.model.xml.JaxbOrganizationalEntity;
 import org.kie.api.runtime.Context;
 import org.kie.api.task.model.OrganizationalEntity;
@@ -74,6 +75,10 @@ public class NominateTaskCommand extends UserGroupCallbackTaskCommand<Void> {
     public List<JaxbOrganizationalEntity> getPotentialOwners() {
         return potentialOwners;
     }
-    
-    
+
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.NOMINATE;
+    }
+
 }
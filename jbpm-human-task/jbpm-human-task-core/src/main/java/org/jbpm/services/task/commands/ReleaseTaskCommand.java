@@ -19,6 +19,7 @@ import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.jbpm.services.task.impl.util.DeadlineSchedulerHelper;
 import org.kie.api.runtime.Context;
 import org.kie.api.task.model.Status;
@@ -63,4 +64,9 @@ public class ReleaseTaskCommand extends UserGroupCallbackTaskCommand<Void> {
 
     }
 
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.CLAIM;
+    }
+
 }
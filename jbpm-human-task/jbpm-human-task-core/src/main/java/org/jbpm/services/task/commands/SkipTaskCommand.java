@@ -15,6 +15,7 @@
  */
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -54,4 +55,10 @@ public class SkipTaskCommand extends UserGroupCallbackTaskCommand<Void> {
     	return null;
         
     }
+
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.COMPLETE;
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package org.jbpm.services.task.commands;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.runtime.Context;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -51,5 +52,9 @@ public class StartTaskCommand extends UserGroupCallbackTaskCommand<Void> {
        
     }
 
-   
+    @Override
+    public TaskFetchPlan getFetchPlan() {
+        return TaskFetchPlan.START;
+    }
+
 }
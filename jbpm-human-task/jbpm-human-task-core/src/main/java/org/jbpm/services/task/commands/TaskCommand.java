@@ -22,6 +22,7 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlSchemaType;
 
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.command.ExecutableCommand;
 
 /**
@@ -51,6 +52,14 @@ public abstract class TaskCommand<T> implements ExecutableCommand<T> {
         return this.taskId;
     }
 
+    /**
+     * @return the plan the task of this command is loaded with before the command is executed,
+     * or null to load the task and its collections on demand
+     */
+    public TaskFetchPlan getFetchPlan() {
+        return null;
+    }
+
     public final void setTaskId(Long taskId) {
         this.taskId = taskId;
     }
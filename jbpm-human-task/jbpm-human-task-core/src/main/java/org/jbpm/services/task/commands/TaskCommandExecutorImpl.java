@@ -20,6 +20,7 @@ import org.drools.core.fluent.impl.InternalExecutable;
 import org.drools.core.runtime.ChainableRunner;
 import org.drools.core.runtime.InternalLocalRunner;
 import org.jbpm.services.task.events.TaskEventSupport;
+import org.jbpm.services.task.impl.TaskFetchPlan;
 import org.kie.api.command.Command;
 import org.kie.api.command.ExecutableCommand;
 import org.kie.api.runtime.Environment;
@@ -77,6 +78,7 @@ public class TaskCommandExecutorImpl implements InternalLocalRunner {
 					if (command instanceof TaskCommand) {
 					    TaskContext ctx = new TaskContext(context, environment, taskEventSupport);
 					    addUserIdToContext((TaskCommand<?>) command, ctx);
+					    fetchTask((TaskCommand<?>) command, ctx);
 					    Object result = ((ExecutableCommand) command).execute( ctx );
 					    context.set("Result", result);
 					} else {
@@ -93,6 +95,13 @@ public class TaskCommandExecutorImpl implements InternalLocalRunner {
 		}
 	}
     
+	protected void fetchTask(TaskCommand<?> command, TaskContext context) {
+	    TaskFetchPlan fetchPlan = command.getFetchPlan();
+	    if (fetchPlan != null && command.getTaskId() != null) {
+	        fetchPlan.fetch(context, command.getTaskId());
+	    }
+	}
+
 	protected void addUserIdToContext(TaskCommand<?> command, RequestContext context) {
 	    
 	    if (context instanceof org.kie.internal.task.api.TaskContext) {
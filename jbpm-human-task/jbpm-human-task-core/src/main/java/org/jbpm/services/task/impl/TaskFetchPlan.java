@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.task.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jbpm.services.task.utils.ClassUtil;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.task.model.Task;
+import org.kie.internal.task.api.TaskContext;
+import org.kie.internal.task.api.TaskPersistenceContext;
+
+/**
+ * Named fetch plans loading a task together with the collections a given kind of command works with, see
+ * {@link org.jbpm.services.task.commands.TaskCommand#getFetchPlan()}.
+ * </p>
+ * The collections of a task are lazy and are otherwise loaded one by one (each with its own select) as the lifecycle
+ * checks and listeners touch them. A plan loads them upfront with the <code>TaskFetch*</code> named queries,
+ * each of which loads the task, its single valued associations and one collection (more than one collection can not
+ * be fetched in the same query as they are all mapped as bags). The task found afterwards by
+ * {@link TaskPersistenceContext#findTask(Long)} is the one already loaded in the persistence context.
+ * </p>
+ * Fetch plans are disabled unless the <code>org.jbpm.task.fetch.plans.enabled</code> system property is set to true,
+ * and are not used with pessimistic locking, where the task has to be loaded (and locked) by <code>findTask</code>.
+ */
+public enum TaskFetchPlan {
+
+    /**
+     * Commands checking (and changing) the people assignments of the task, like claim, release or delegate.
+     */
+    CLAIM("TaskFetchExcludedOwners", "TaskFetchPotentialOwners", "TaskFetchBusinessAdministrators"),
+    /**
+     * Start, which also removes the start deadlines of the task.
+     */
+    START("TaskFetchExcludedOwners", "TaskFetchPotentialOwners", "TaskFetchBusinessAdministrators",
+          "TaskFetchStartDeadlines"),
+    /**
+     * Commands ending the task (complete, fail, exit and skip), which also remove all deadlines of the task.
+     */
+    COMPLETE("TaskFetchExcludedOwners", "TaskFetchPotentialOwners", "TaskFetchBusinessAdministrators",
+             "TaskFetchStartDeadlines", "TaskFetchEndDeadlines"),
+    /**
+     * Nominate, which replaces the potential owners of the task.
+     */
+    NOMINATE("TaskFetchExcludedOwners", "TaskFetchBusinessAdministrators"),
+    /**
+     * Queries returning the complete task.
+     */
+    QUERY("TaskFetchNames", "TaskFetchDescriptions", "TaskFetchSubjects",
+          "TaskFetchBusinessAdministrators", "TaskFetchPotentialOwners", "TaskFetchRecipients",
+          "TaskFetchExcludedOwners", "TaskFetchStakeholders", "TaskFetchAttachments", "TaskFetchComments",
+          "TaskFetchStartDeadlines", "TaskFetchEndDeadlines", "TaskFetchDelegates");
+
+    public static final String FETCH_PLANS_ENABLED = "org.jbpm.task.fetch.plans.enabled";
+
+    private final List<String> queryNames;
+
+    private TaskFetchPlan(String... queryNames) {
+        this.queryNames = Collections.unmodifiableList(Arrays.asList(queryNames));
+    }
+
+    public List<String> getQueryNames() {
+        return queryNames;
+    }
+
+    /**
+     * Loads the task with the given id and the collections of this plan into the persistence context of the given
+     * task context, unless fetch plans are disabled. Does nothing when the task does not exist.
+     */
+    public void fetch(TaskContext context, long taskId) {
+        if (!isEnabled(context)) {
+            return;
+        }
+        TaskPersistenceContext persistenceContext = context.getPersistenceContext();
+        for (String queryName : queryNames) {
+            Task task = persistenceContext.queryWithParametersInTransaction(queryName, true,
+                    persistenceContext.addParametersToMap("taskId", taskId),
+                    ClassUtil.<Task>castClass(Task.class));
+            if (task == null) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isEnabled(TaskContext context) {
+        if (!Boolean.getBoolean(FETCH_PLANS_ENABLED)) {
+            return false;
+        }
+        Object pessimisticLocking = context.get(EnvironmentName.USE_PESSIMISTIC_LOCKING);
+        return !Boolean.TRUE.equals(pessimisticLocking);
+    }
+
+}
@@ -44,9 +44,17 @@ import static org.kie.internal.query.QueryParameterIdentifiers.TASK_VARIABLE_VAL
 import static org.kie.internal.query.QueryParameterIdentifiers.TYPE_LIST;
 import static org.kie.internal.query.QueryParameterIdentifiers.WORK_ITEM_ID_LIST;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.jbpm.query.jpa.builder.StreamableParametrizedQuery;
 import org.jbpm.query.jpa.builder.impl.AbstractQueryBuilderImpl;
 import org.jbpm.query.jpa.data.QueryWhere;
 import org.jbpm.services.task.commands.TaskSummaryQueryCommand;
@@ -54,7 +62,6 @@ import org.kie.api.runtime.CommandExecutor;
 import org.kie.api.task.TaskService;
 import org.kie.api.task.model.Status;
 import org.kie.api.task.model.TaskSummary;
-import org.kie.internal.query.ParametrizedQuery;
 import org.kie.internal.query.QueryContext;
 import org.kie.internal.query.QueryParameterIdentifiers;
 import org.kie.internal.task.api.model.SubTasksStrategy;
@@ -351,16 +358,94 @@ public class TaskSummaryQueryBuilderImpl extends AbstractQueryBuilderImpl<TaskSu
     }
 
     @Override
-    public ParametrizedQuery<TaskSummary> build() {
-        return new ParametrizedQuery<TaskSummary>() {
+    public StreamableParametrizedQuery<TaskSummary> build() {
+        return new StreamableParametrizedQuery<TaskSummary>() {
             private QueryWhere queryWhere = new QueryWhere(getQueryWhere());
+            private int queryFetchSize = fetchSize;
             @Override
             public List<TaskSummary> getResultList() {
                 TaskSummaryQueryCommand cmd = new TaskSummaryQueryCommand(queryWhere);
                 cmd.setUserId(userId);
                 return executor.execute(cmd);
             }
+            @Override
+            public Stream<TaskSummary> getResultStream() {
+                Iterator<TaskSummary> pages = new TaskSummaryPageIterator(new QueryWhere(queryWhere), queryFetchSize);
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+            }
         };
     }
 
+    /**
+     * The task service commands do not keep the persistence context open after they have been executed,
+     * which is why the task summaries are streamed by (lazily) retrieving one page after another:
+     * pages are retrieved after the id of the last task of the previous page when ordered by task id (the default),
+     * or using an offset otherwise.
+     */
+    private class TaskSummaryPageIterator implements Iterator<TaskSummary> {
+
+        private final QueryWhere pageWhere;
+        private final int pageSize;
+        private final boolean seek;
+        private final Integer maxResults;
+
+        private int offset;
+        private int retrieved = 0;
+        private boolean lastPage = false;
+        private Iterator<TaskSummary> page = Collections.emptyIterator();
+
+        TaskSummaryPageIterator(QueryWhere queryWhere, int pageSize) {
+            this.pageWhere = queryWhere;
+            this.pageSize = pageSize;
+            this.seek = TASK_ID_LIST.equals(queryWhere.getOrderByListId());
+            this.maxResults = queryWhere.getCount();
+            this.offset = queryWhere.getOffset() == null ? 0 : queryWhere.getOffset();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if( ! page.hasNext() && ! lastPage ) {
+                page = nextPage();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public TaskSummary next() {
+            if( ! hasNext() ) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        private Iterator<TaskSummary> nextPage() {
+            int count = pageSize;
+            if( maxResults != null ) {
+                count = Math.min(count, maxResults - retrieved);
+                if( count <= 0 ) {
+                    lastPage = true;
+                    return Collections.emptyIterator();
+                }
+            }
+            pageWhere.setCount(count);
+            pageWhere.setOffset(offset > 0 ? offset : null);
+
+            TaskSummaryQueryCommand cmd = new TaskSummaryQueryCommand(pageWhere);
+            cmd.setUserId(userId);
+            List<TaskSummary> result = executor.execute(cmd);
+
+            retrieved += result.size();
+            lastPage = result.size() < count;
+            if( seek ) {
+                offset = 0;
+                if( ! result.isEmpty() ) {
+                    pageWhere.setSeekAfter(result.get(result.size()-1).getId());
+                }
+            } else {
+                offset += result.size();
+            }
+            return result.iterator();
+        }
+    }
+
 }
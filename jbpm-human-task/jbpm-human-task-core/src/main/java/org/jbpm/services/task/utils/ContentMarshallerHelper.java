@@ -20,6 +20,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
@@ -52,6 +54,7 @@ public class ContentMarshallerHelper {
 
     private static final Logger logger = LoggerFactory.getLogger(ContentMarshallerHelper.class);
     private static final String SINGLE_VAR_KEY = "_results_";
+    private static final int COMPRESSION_THRESHOLD = Integer.parseInt(System.getProperty("org.jbpm.task.content.compression.threshold", "-1"));
 
     public static ContentData marshal(Object o, Environment env) {
         return marshal(null, o, env);
@@ -97,20 +100,7 @@ public class ContentMarshallerHelper {
     public static Object unmarshall(byte[] content, Environment env, ClassLoader classloader) {
         MarshallerReaderContext context = null;
         try {
-            ByteArrayInputStream stream = new ByteArrayInputStream(content);
-            MarshallingConfigurationImpl marshallingConfigurationImpl = null;
-            if (env != null) {
-                marshallingConfigurationImpl = new MarshallingConfigurationImpl((ObjectMarshallingStrategy[]) env.get(EnvironmentName.OBJECT_MARSHALLING_STRATEGIES), false, false);
-            } else {
-                marshallingConfigurationImpl = new MarshallingConfigurationImpl(new ObjectMarshallingStrategy[]{new SerializablePlaceholderResolverStrategy(ClassObjectMarshallingStrategyAcceptor.DEFAULT)}, false, false);
-            }
-            ObjectMarshallingStrategyStore objectMarshallingStrategyStore = marshallingConfigurationImpl.getObjectMarshallingStrategyStore();
-            context = new MarshallerReaderContext(stream, null, null, objectMarshallingStrategyStore, null, env);
-            if (classloader != null) {
-                context.classLoader = classloader;
-            } else {
-                context.classLoader = ContentMarshallerHelper.class.getClassLoader();
-            }
+            context = createReaderContext(content, env, classloader);
             ExtensionRegistry registry = PersisterHelper.buildRegistry(context, null);
             Header _header = PersisterHelper.readFromStreamWithHeaderPreloaded(context, registry);
             
@@ -133,6 +123,68 @@ public class ContentMarshallerHelper {
         return null;
     }
 
+    /**
+     * Unmarshalls the (map) content without unmarshalling the values of the variables: the variables are indexed
+     * by name and each value is only unmarshalled when it is retrieved from the returned {@link LazyContentMap}.
+     * Use this instead of {@link #unmarshall(byte[], Environment, ClassLoader)} when only some of the variables are needed.
+     * </p>
+     * Content that does not contain a map (a single object) is returned as a map with the object under the "Content" key.
+     *
+     * @return a map view of the content, or null if the content could not be read
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> unmarshallLazily(byte[] content, Environment env, ClassLoader classloader) {
+        try {
+            MarshallerReaderContext context = createReaderContext(content, env, classloader);
+            ExtensionRegistry registry = PersisterHelper.buildRegistry(context, null);
+            Header _header = PersisterHelper.readFromStreamWithHeaderPreloaded(context, registry);
+
+            VariableContainer container = null;
+            try {
+                container = JBPMMessages.VariableContainer.parseFrom(_header.getPayload(), registry);
+            } catch (Exception e) {
+                // backward compatible fallback mechanism, see unmarshall
+            }
+            Object value;
+            if (container != null) {
+                LazyContentMap lazyContent = new LazyContentMap(context, container);
+                if (!(lazyContent.containsKey(SINGLE_VAR_KEY) && lazyContent.size() == 1)) {
+                    return lazyContent;
+                }
+                value = lazyContent.get(SINGLE_VAR_KEY);
+            } else {
+                value = fallbackParse(context, _header, registry);
+            }
+            if (value instanceof Map) {
+                return (Map<String, Object>) value;
+            }
+            Map<String, Object> singleContent = new HashMap<String, Object>();
+            singleContent.put("Content", value);
+            return singleContent;
+        } catch (Exception ex) {
+            logger.warn("Exception while unmarshaling content", ex);
+        }
+        return null;
+    }
+
+    private static MarshallerReaderContext createReaderContext(byte[] content, Environment env, ClassLoader classloader) throws IOException {
+        ByteArrayInputStream stream = new ByteArrayInputStream(decompress(content));
+        MarshallingConfigurationImpl marshallingConfigurationImpl = null;
+        if (env != null) {
+            marshallingConfigurationImpl = new MarshallingConfigurationImpl((ObjectMarshallingStrategy[]) env.get(EnvironmentName.OBJECT_MARSHALLING_STRATEGIES), false, false);
+        } else {
+            marshallingConfigurationImpl = new MarshallingConfigurationImpl(new ObjectMarshallingStrategy[]{new SerializablePlaceholderResolverStrategy(ClassObjectMarshallingStrategyAcceptor.DEFAULT)}, false, false);
+        }
+        ObjectMarshallingStrategyStore objectMarshallingStrategyStore = marshallingConfigurationImpl.getObjectMarshallingStrategyStore();
+        MarshallerReaderContext context = new MarshallerReaderContext(stream, null, null, objectMarshallingStrategyStore, null, env);
+        if (classloader != null) {
+            context.classLoader = classloader;
+        } else {
+            context.classLoader = ContentMarshallerHelper.class.getClassLoader();
+        }
+        return context;
+    }
+
     public static byte[] marshallContent(Object o, Environment env) {
         return marshallContent(null, o, env);
     }
@@ -179,13 +231,53 @@ public class ContentMarshallerHelper {
 
             context.close();
 
-            return stream.toByteArray();
+            return compress(stream.toByteArray());
         } catch (IOException ex) {
             ex.printStackTrace();
         }
         return null;
     }
     
+    /**
+     * Content larger than the <code>org.jbpm.task.content.compression.threshold</code> (bytes) is stored GZIP compressed.
+     * Uncompressed content always starts with the java serialization stream header, so compressed content
+     * can be recognized by the GZIP header.
+     */
+    static byte[] compress(byte[] content) throws IOException {
+        return compress(content, COMPRESSION_THRESHOLD);
+    }
+
+    static byte[] compress(byte[] content, int threshold) throws IOException {
+        if (threshold < 0 || content.length <= threshold) {
+            return content;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    static byte[] decompress(byte[] content) throws IOException {
+        if (!isCompressed(content)) {
+            return content;
+        }
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(content.length * 4);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = gzip.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+        }
+        return decompressed.toByteArray();
+    }
+
+    public static boolean isCompressed(byte[] content) {
+        return content != null && content.length > 2
+                && content[0] == (byte) GZIPInputStream.GZIP_MAGIC && content[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
 	private static Object fallbackParse(MarshallerReaderContext context, Header header, ExtensionRegistry registry) throws Exception {
     	Variable parseFrom = JBPMMessages.Variable.parseFrom(header.getPayload(), registry);
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.task.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.core.marshalling.impl.MarshallerReaderContext;
+import org.jbpm.marshalling.impl.JBPMMessages.Variable;
+import org.jbpm.marshalling.impl.JBPMMessages.VariableContainer;
+import org.jbpm.marshalling.impl.ProtobufProcessMarshaller;
+
+/**
+ * Read-only {@link Map} view of a (task content) {@link VariableContainer} that only unmarshalls
+ * the value of a variable when it is requested: the keys and size of the map are available without unmarshalling
+ * any of the values, and {@link #get(Object)} only runs the marshalling strategy of the requested variable.
+ * </p>
+ * Unmarshalled values are kept, so every variable is unmarshalled at most once. Values that are unmarshalled
+ * by a strategy that needs the environment (e.g. an entity manager factory) must be requested
+ * while that environment is still available.
+ * </p>
+ * This class is <em>not</em> thread-safe.
+ */
+public class LazyContentMap extends AbstractMap<String, Object> {
+
+    private final MarshallerReaderContext context;
+    private final Map<String, Variable> variables;
+    private final Map<String, Object> values;
+
+    LazyContentMap(MarshallerReaderContext context, VariableContainer container) {
+        this.context = context;
+        this.variables = new LinkedHashMap<String, Variable>(container.getVariableCount() * 2);
+        for (Variable variable : container.getVariableList()) {
+            variables.put(variable.getName(), variable);
+        }
+        this.values = new HashMap<String, Object>(variables.size() * 2);
+    }
+
+    @Override
+    public int size() {
+        return variables.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return variables.containsKey(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(variables.keySet());
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (values.containsKey(key)) {
+            return values.get(key);
+        }
+        Variable variable = variables.get(key);
+        if (variable == null) {
+            return null;
+        }
+        Object value;
+        try {
+            value = ProtobufProcessMarshaller.unmarshallVariableValue(context, variable);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to unmarshall task content variable '" + key + "'", e);
+        }
+        values.put((String) key, value);
+        return value;
+    }
+
+    /**
+     * @return the number of variables that have been unmarshalled so far
+     */
+    public int getUnmarshalledCount() {
+        return values.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                final Iterator<String> keys = variables.keySet().iterator();
+                return new Iterator<Entry<String, Object>>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return keys.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        String key = keys.next();
+                        return new SimpleImmutableEntry<String, Object>(key, get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return variables.size();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.services.task;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.jbpm.services.task.deadlines.notifications.impl.MockNotificationListener;
+import org.jbpm.services.task.impl.TaskDeadlinesServiceImpl;
+import org.jbpm.services.task.impl.factories.TaskFactory;
+import org.jbpm.services.task.impl.model.DeadlineImpl;
+import org.jbpm.services.task.impl.model.DeadlineTemplateImpl;
+import org.jbpm.services.task.persistence.JPATaskPersistenceContext;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.kie.api.task.model.Task;
+import org.kie.internal.task.api.InternalTaskService;
+import org.kie.internal.task.api.model.Deadline;
+import org.kie.internal.task.api.model.EmailNotification;
+import org.kie.internal.task.api.model.InternalTask;
+import org.kie.internal.task.api.model.InternalTaskData;
+import org.kie.test.util.db.PoolingDataSourceWrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the deadline tests with deadline templates enabled, so escalations are shared between tasks.
+ */
+public class DeadlineTemplatesLocalTest extends DeadlinesBaseTest {
+
+    private PoolingDataSourceWrapper pds;
+    private EntityManagerFactory emf;
+
+    @BeforeClass
+    public static void enableTemplates() {
+        System.setProperty(JPATaskPersistenceContext.DEADLINE_TEMPLATES_ENABLED, "true");
+    }
+
+    @AfterClass
+    public static void disableTemplates() {
+        System.clearProperty(JPATaskPersistenceContext.DEADLINE_TEMPLATES_ENABLED);
+    }
+
+    @Before
+    public void setup() {
+        this.notificationListener = new MockNotificationListener();
+        pds = setupPoolingDataSource();
+        emf = Persistence.createEntityManagerFactory( "org.jbpm.services.task" );
+        this.taskService = (InternalTaskService) HumanTaskServiceFactory.newTaskServiceConfigurator()
+                                                .entityManagerFactory(emf)
+                                                .getTaskService();
+    }
+
+    @After
+    public void clean() {
+        TaskDeadlinesServiceImpl.reset();
+        super.tearDown();
+        if (emf != null) {
+            emf.close();
+        }
+        if (pds != null) {
+            pds.close();
+        }
+    }
+
+    @Test
+    public void testTasksOfSameDeploymentShareTemplate() throws Exception {
+        Task first = addDeadlineTask("deployment-a");
+        Task second = addDeadlineTask("deployment-a");
+        Task other = addDeadlineTask("deployment-b");
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<DeadlineTemplateImpl> templates = em.createQuery("select dt from DeadlineTemplateImpl dt order by dt.id", DeadlineTemplateImpl.class).getResultList();
+            assertThat(templates).hasSize(2);
+            assertThat(templates.get(0).getDeploymentId()).isEqualTo("deployment-a");
+            assertThat(templates.get(0).getEscalations()).hasSize(1);
+            assertThat(templates.get(1).getDeploymentId()).isEqualTo("deployment-b");
+
+            Long templateId = getStartDeadline(em, first).getTemplate().getId();
+            assertThat(getStartDeadline(em, second).getTemplate().getId()).isEqualTo(templateId);
+            assertThat(getStartDeadline(em, other).getTemplate().getId()).isNotEqualTo(templateId);
+
+            // escalations are only stored with the templates
+            Number escalations = (Number) em.createQuery("select count(e) from EscalationImpl e").getSingleResult();
+            assertThat(escalations.intValue()).isEqualTo(2);
+
+            Deadline deadline = getStartDeadline(em, second);
+            assertThat(deadline.getEscalations()).hasSize(1);
+            assertThat(deadline.getEscalations().get(0).getName()).isEqualTo("My Start Escalation");
+            EmailNotification notification = (EmailNotification) deadline.getEscalations().get(0).getNotifications().get(0);
+            assertThat(notification.getRecipients()).hasSize(2);
+            assertThat(notification.getEmailHeaders()).hasSize(1);
+        } finally {
+            em.close();
+        }
+    }
+
+    private Task addDeadlineTask(String deploymentId) throws Exception {
+        Map<String, Object> vars = new HashMap<String, Object>();
+        // far enough in the future to not fire during the test
+        vars.put("now", new Date(System.currentTimeMillis() + 3600000));
+
+        Reader reader = new InputStreamReader(getClass().getResourceAsStream(MvelFilePath.DeadlineWithNotification));
+        Task task = (Task) TaskFactory.evalTask(reader, vars);
+        ((InternalTaskData) task.getTaskData()).setDeploymentId(deploymentId);
+        taskService.addTask(task, new HashMap<String, Object>());
+        return task;
+    }
+
+    private DeadlineImpl getStartDeadline(EntityManager em, Task task) {
+        Deadline deadline = ((InternalTask) task).getDeadlines().getStartDeadlines().get(0);
+        return em.find(DeadlineImpl.class, deadline.getId());
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.services.task;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jbpm.services.task.impl.TaskFetchPlan;
+import org.jbpm.services.task.impl.factories.TaskFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.task.model.Status;
+import org.kie.api.task.model.Task;
+import org.kie.internal.task.api.InternalTaskService;
+import org.kie.internal.task.api.model.InternalPeopleAssignments;
+import org.kie.test.util.db.PoolingDataSourceWrapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskFetchPlanTest extends HumanTaskServicesBaseTest {
+
+    private PoolingDataSourceWrapper pds;
+    private EntityManagerFactory emf;
+    private Statistics statistics;
+
+    @Before
+    public void setup() {
+        pds = setupPoolingDataSource();
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put("hibernate.generate_statistics", "true");
+        emf = Persistence.createEntityManagerFactory("org.jbpm.services.task", properties);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        this.taskService = (InternalTaskService) HumanTaskServiceFactory.newTaskServiceConfigurator()
+                                                .entityManagerFactory(emf)
+                                                .getTaskService();
+    }
+
+    @After
+    public void clean() {
+        System.clearProperty(TaskFetchPlan.FETCH_PLANS_ENABLED);
+        super.tearDown();
+        if (emf != null) {
+            emf.close();
+        }
+        if (pds != null) {
+            pds.close();
+        }
+    }
+
+    @Test
+    public void testLifecycleWithFetchPlans() {
+        // persists the groups of the user, so that both runs below find them
+        long warmUp = addTask();
+        taskService.claim(warmUp, "Darth Vader");
+
+        long withoutPlans = addTask();
+        long withPlans = addTask();
+
+        long[] expected = runLifecycle(withoutPlans);
+        assertTrue(expected[3] > 0);
+
+        System.setProperty(TaskFetchPlan.FETCH_PLANS_ENABLED, "true");
+        long[] actual = runLifecycle(withPlans);
+        // no collection is loaded on demand
+        assertEquals(0, actual[3]);
+
+        // claim: the task is loaded with its first collection instead of with a select of its own and the user
+        // is found among the (already loaded) potential owners
+        assertEquals(expected[0] - 2, actual[0]);
+        // start and complete: the task is loaded with its first collection
+        assertEquals(expected[1] - 1, actual[1]);
+        assertEquals(expected[2] - 1, actual[2]);
+        assertEquals(Status.Completed, taskService.getTaskById(withPlans).getTaskData().getStatus());
+    }
+
+    @Test
+    public void testGetTaskWithFetchPlan() {
+        long taskId = addTask();
+
+        statistics.clear();
+        Task task = taskService.getTaskById(taskId);
+        long withoutPlans = statistics.getPrepareStatementCount();
+
+        System.setProperty(TaskFetchPlan.FETCH_PLANS_ENABLED, "true");
+        statistics.clear();
+        task = taskService.getTaskById(taskId);
+        // one select per collection, without the select of the task itself
+        assertEquals(TaskFetchPlan.QUERY.getQueryNames().size(), statistics.getPrepareStatementCount());
+        assertEquals(withoutPlans - 1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+
+        // all collections are initialized
+        assertEquals(2, task.getPeopleAssignments().getPotentialOwners().size());
+        assertEquals(1, task.getPeopleAssignments().getBusinessAdministrators().size());
+        assertEquals(0, ((InternalPeopleAssignments) task.getPeopleAssignments()).getExcludedOwners().size());
+        assertEquals(0, task.getNames().size());
+        assertEquals(0, task.getTaskData().getComments().size());
+    }
+
+    @Test
+    public void testFetchPlanOfMissingTask() {
+        System.setProperty(TaskFetchPlan.FETCH_PLANS_ENABLED, "true");
+        assertNull(taskService.getTaskById(-1));
+    }
+
+    /**
+     * @return the number of statements executed by claim, start and complete
+     * followed by the number of collections loaded on demand
+     */
+    private long[] runLifecycle(long taskId) {
+        long[] counts = new long[4];
+        long collectionFetches = 0;
+        statistics.clear();
+        taskService.claim(taskId, "Darth Vader");
+        counts[0] = statistics.getPrepareStatementCount();
+        collectionFetches += statistics.getCollectionFetchCount();
+
+        statistics.clear();
+        taskService.start(taskId, "Darth Vader");
+        counts[1] = statistics.getPrepareStatementCount();
+        collectionFetches += statistics.getCollectionFetchCount();
+
+        statistics.clear();
+        taskService.complete(taskId, "Darth Vader", null);
+        counts[2] = statistics.getPrepareStatementCount();
+        counts[3] = collectionFetches + statistics.getCollectionFetchCount();
+        return counts;
+    }
+
+    private long addTask() {
+        String str = "(with (new Task()) { priority = 55, taskData = (with( new TaskData()) { } ), ";
+        str += "peopleAssignments = (with ( new PeopleAssignments() ) { potentialOwners = [new User('Bobba Fet'), new User('Darth Vader') ], businessAdministrators = [ new User('Administrator') ], }),";
+        str += "name = 'This is my task name' })";
+        Task task = TaskFactory.evalTask(new StringReader(str));
+        taskService.addTask(task, new HashMap<String, Object>());
+        return task.getId();
+    }
+
+}
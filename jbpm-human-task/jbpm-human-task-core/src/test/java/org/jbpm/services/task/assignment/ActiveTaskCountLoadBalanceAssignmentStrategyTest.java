@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.task.assignment;
+
+import java.io.StringReader;
+import java.util.Collections;
+
+import org.jbpm.services.task.assignment.impl.ActiveTaskCountLoadCalculator;
+import org.jbpm.services.task.commands.CompleteTaskCommand;
+import org.jbpm.services.task.commands.CompositeCommand;
+import org.jbpm.services.task.commands.ReleaseTaskCommand;
+import org.jbpm.services.task.impl.factories.TaskFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.task.model.Task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs load balance assignment tests with the in memory active task counters.
+ */
+public class ActiveTaskCountLoadBalanceAssignmentStrategyTest extends LoadBalanceAssignmentStrategyTest {
+
+    private static final String ASSIGNMENTS = "(with (new Task()) { priority = 55, taskData = (with (new TaskData()) { } ), "
+            + "peopleAssignments = (with (new PeopleAssignments()) { potentialOwners = [new User('Bobba Fet'), new User('Darth Vader')],"
+            + " businessAdministrators = [new User('Administrator')], } ),"
+            + "name = 'ActiveTaskCountTask'})";
+
+    @Override
+    protected String getLoadCalculator() {
+        return ActiveTaskCountLoadCalculator.class.getName();
+    }
+
+    @Before
+    public void resetCounters() {
+        // counters are shared by the JVM while every test uses new data base
+        ActiveTaskCountLoadCalculator.reset();
+    }
+
+    @Test
+    public void testCountersFollowTaskLifeCycle() {
+        Task first = TaskFactory.evalTask(new StringReader(ASSIGNMENTS));
+        taskService.addTask(first, Collections.emptyMap());
+        Task second = TaskFactory.evalTask(new StringReader(ASSIGNMENTS));
+        taskService.addTask(second, Collections.emptyMap());
+
+        String firstOwner = taskService.getTaskById(first.getId()).getTaskData().getActualOwner().getId();
+        String secondOwner = taskService.getTaskById(second.getId()).getTaskData().getActualOwner().getId();
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(firstOwner));
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(secondOwner));
+
+        taskService.start(first.getId(), firstOwner);
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(firstOwner));
+
+        taskService.complete(first.getId(), firstOwner, null);
+        assertEquals(0, ActiveTaskCountLoadCalculator.getActiveTasks(firstOwner));
+
+        taskService.delegate(second.getId(), secondOwner, firstOwner);
+        assertEquals(0, ActiveTaskCountLoadCalculator.getActiveTasks(secondOwner));
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(firstOwner));
+    }
+
+    @Test
+    public void testCountersNotChangedByRolledBackOperation() {
+        Task task = TaskFactory.evalTask(new StringReader(ASSIGNMENTS));
+        taskService.addTask(task, Collections.emptyMap());
+        String owner = taskService.getTaskById(task.getId()).getTaskData().getActualOwner().getId();
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(owner));
+
+        // task is released and then fails to complete as it is not reserved anymore
+        try {
+            taskService.execute(new CompositeCommand<Void>(new CompleteTaskCommand(task.getId(), owner, null),
+                                                           new ReleaseTaskCommand(task.getId(), owner)));
+            fail("Task cannot be completed once released");
+        } catch (RuntimeException e) {
+            // expected
+        }
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(owner));
+
+        taskService.release(task.getId(), owner);
+        assertEquals(0, ActiveTaskCountLoadCalculator.getActiveTasks(owner));
+    }
+
+    @Test
+    public void testChangesOfTransactionStartedBeforeReconcileDropped() {
+        Task first = TaskFactory.evalTask(new StringReader(ASSIGNMENTS));
+        taskService.addTask(first, Collections.emptyMap());
+        String owner = taskService.getTaskById(first.getId()).getTaskData().getActualOwner().getId();
+        assertEquals(1, ActiveTaskCountLoadCalculator.getActiveTasks(owner));
+        // changes collected by a transaction before the counters are rebuilt from the data base
+        long generation = ActiveTaskCountLoadCalculator.getGeneration();
+
+        ActiveTaskCountLoadCalculator.reset();
+        Task second = TaskFactory.evalTask(new StringReader(ASSIGNMENTS));
+        taskService.addTask(second, Collections.emptyMap());
+        long reconciled = ActiveTaskCountLoadCalculator.getActiveTasks(owner);
+
+        ActiveTaskCountLoadCalculator.changeActiveTasks(generation, Collections.singletonMap(owner, 1L));
+        assertEquals(reconciled, ActiveTaskCountLoadCalculator.getActiveTasks(owner));
+
+        ActiveTaskCountLoadCalculator.changeActiveTasks(ActiveTaskCountLoadCalculator.getGeneration(), Collections.singletonMap(owner, 1L));
+        assertEquals(reconciled + 1, ActiveTaskCountLoadCalculator.getActiveTasks(owner));
+    }
+}
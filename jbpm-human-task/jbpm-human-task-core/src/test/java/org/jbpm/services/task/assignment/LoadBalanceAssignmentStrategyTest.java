@@ -96,11 +96,15 @@ public class LoadBalanceAssignmentStrategyTest extends AbstractAssignmentTest {
         return "(" + BASE_TASK_INFO + peopleAssignments + "name = '" + taskName + "'})";
     }
 	
+    protected String getLoadCalculator() {
+        return "org.jbpm.services.task.assignment.impl.TaskCountLoadCalculator";
+    }
+
 	@Before
 	public void setUp() throws Exception {
         System.setProperty("org.jbpm.task.assignment.enabled", "true");
         System.setProperty("org.jbpm.task.assignment.strategy", "LoadBalance");
-        System.setProperty("org.jbpm.task.assignment.loadbalance.calculator","org.jbpm.services.task.assignment.impl.TaskCountLoadCalculator");
+        System.setProperty("org.jbpm.task.assignment.loadbalance.calculator",getLoadCalculator());
         System.setProperty("org.jbpm.task.assignment.loadbalance.entry.timetolive", "10"); // this has to be low in order that we update the load balances
         pds = setupPoolingDataSource();
         emf = Persistence.createEntityManagerFactory( "org.jbpm.services.task" );
@@ -25,12 +25,15 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
 
 import org.jbpm.services.task.HumanTaskServiceFactory;
 import org.jbpm.services.task.HumanTaskServicesBaseTest;
+import org.jbpm.services.task.impl.TaskSummaryQueryBuilderImpl;
 import org.jbpm.services.task.impl.factories.TaskFactory;
 import org.jbpm.services.task.impl.model.TaskImpl;
 import org.kie.test.util.db.PoolingDataSourceWrapper;
@@ -101,6 +104,36 @@ public class TaskQueryBuilderLocalTest extends HumanTaskServicesBaseTest {
         queryBuilder.build().getResultList();
     }
 
+    @Test
+    public void testTaskQueryBuilderStream() {
+        for( int i = 0; i < 7; ++i ) {
+            addTask(300 + i, 2000 + (i % 3), "Parzival", "Art3mis", "StreamedTask" + i, null);
+        }
+
+        TaskSummaryQueryBuilderImpl queryBuilder = (TaskSummaryQueryBuilderImpl) taskService.taskSummaryQuery(stakeHolder);
+        queryBuilder.fetchSize(2);
+        List<TaskSummary> expected = queryBuilder.build().getResultList();
+        assertEquals("List of tasks", 7, expected.size());
+        assertEquals(expected, streamToList(queryBuilder));
+
+        // keyset pages respect the offset and max results
+        queryBuilder.offset(1).maxResults(5);
+        assertEquals(expected.subList(1, 6), streamToList(queryBuilder));
+
+        // offset pages when not ordered by task id
+        queryBuilder.clear();
+        queryBuilder.fetchSize(3).descending(OrderBy.processInstanceId);
+        List<TaskSummary> streamed = streamToList(queryBuilder);
+        assertEquals(queryBuilder.build().getResultList(), streamed);
+        assertEquals("List of tasks", 7, streamed.size());
+    }
+
+    private static List<TaskSummary> streamToList(TaskSummaryQueryBuilderImpl queryBuilder) {
+        try( Stream<TaskSummary> stream = queryBuilder.build().getResultStream() ) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
     @Test
     public void testGetTasksByVariousFields() {
         Task [] tasks = new Task[12];
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.task.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ObjectInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.impl.EnvironmentFactory;
+import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
+import org.drools.core.marshalling.impl.SerializablePlaceholderResolverStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
+
+public class ContentMarshallerHelperTest {
+
+    private final AtomicInteger unmarshalCount = new AtomicInteger();
+
+    private Environment env;
+
+    @Before
+    public void setup() {
+        env = EnvironmentFactory.newEnvironment();
+        env.set(EnvironmentName.OBJECT_MARSHALLING_STRATEGIES, new ObjectMarshallingStrategy[]{
+            new SerializablePlaceholderResolverStrategy(ClassObjectMarshallingStrategyAcceptor.DEFAULT) {
+                @Override
+                public Object unmarshal(Context context, ObjectInputStream is, byte[] object, ClassLoader classloader) throws java.io.IOException, ClassNotFoundException {
+                    unmarshalCount.incrementAndGet();
+                    return super.unmarshal(context, is, object, classloader);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testUnmarshallLazily() {
+        Map<String, Object> input = new HashMap<String, Object>();
+        input.put("TaskName", "approve");
+        input.put("Priority", 5);
+        input.put("Document", new StringBuilder().append(new char[100000]).toString());
+        input.put("Empty", null);
+        byte[] content = ContentMarshallerHelper.marshallContent(input, env);
+
+        Map<String, Object> lazyContent = ContentMarshallerHelper.unmarshallLazily(content, env, getClass().getClassLoader());
+        assertTrue(lazyContent instanceof LazyContentMap);
+        assertEquals(4, lazyContent.size());
+        assertEquals(input.keySet(), lazyContent.keySet());
+        assertTrue(lazyContent.containsKey("Empty"));
+        assertEquals(0, unmarshalCount.get());
+
+        assertEquals("approve", lazyContent.get("TaskName"));
+        assertEquals("approve", lazyContent.get("TaskName"));
+        assertEquals(null, lazyContent.get("Unknown"));
+        assertEquals(null, lazyContent.get("Empty"));
+        assertEquals(1, unmarshalCount.get());
+        assertEquals(2, ((LazyContentMap) lazyContent).getUnmarshalledCount());
+
+        // the lazy map is equal to the fully unmarshalled content
+        assertEquals(ContentMarshallerHelper.unmarshall(content, env), lazyContent);
+    }
+
+    @Test
+    public void testUnmarshallLazilySingleValue() {
+        byte[] content = ContentMarshallerHelper.marshallContent("single value", env);
+        Map<String, Object> lazyContent = ContentMarshallerHelper.unmarshallLazily(content, env, getClass().getClassLoader());
+        assertEquals(1, lazyContent.size());
+        assertEquals("single value", lazyContent.get("Content"));
+        assertEquals("single value", ContentMarshallerHelper.unmarshall(content, env));
+    }
+
+    @Test
+    public void testCompressedContent() throws Exception {
+        Map<String, Object> input = new HashMap<String, Object>();
+        input.put("Document", new StringBuilder().append(new char[100000]).toString());
+        input.put("Comment", "compress me");
+        byte[] content = ContentMarshallerHelper.marshallContent(input, env);
+        assertFalse(ContentMarshallerHelper.isCompressed(content));
+
+        // below the threshold
+        assertTrue(content == ContentMarshallerHelper.compress(content, content.length));
+        assertTrue(content == ContentMarshallerHelper.compress(content, -1));
+
+        byte[] compressed = ContentMarshallerHelper.compress(content, 1024);
+        assertTrue(ContentMarshallerHelper.isCompressed(compressed));
+        assertTrue(compressed.length < content.length / 10);
+
+        assertEquals(input, ContentMarshallerHelper.unmarshall(compressed, env));
+        unmarshalCount.set(0);
+        Map<String, Object> lazyContent = ContentMarshallerHelper.unmarshallLazily(compressed, env, getClass().getClassLoader());
+        assertEquals("compress me", lazyContent.get("Comment"));
+        assertEquals(1, unmarshalCount.get());
+    }
+}
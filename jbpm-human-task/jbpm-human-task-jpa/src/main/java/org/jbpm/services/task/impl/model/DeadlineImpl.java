@@ -31,6 +31,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -57,6 +58,11 @@ public class DeadlineImpl implements org.kie.internal.task.api.model.Deadline {
     @OneToMany(cascade = CascadeType.ALL, targetEntity=EscalationImpl.class)
     @JoinColumn(name = "Deadline_Escalation_Id", nullable = true)
     private List<Escalation> escalations = Collections.emptyList();
+
+    // shared escalations, see org.jbpm.services.task.persistence.JPATaskPersistenceContext#DEADLINE_TEMPLATES_ENABLED
+    @ManyToOne
+    @JoinColumn(name = "Deadline_Template_Id", nullable = true)
+    private DeadlineTemplateImpl template;
     
     @Basic
     private Short escalated = 0;
@@ -86,7 +92,7 @@ public class DeadlineImpl implements org.kie.internal.task.api.model.Deadline {
             out.writeBoolean(false);
         }
         CollectionUtils.writeI18NTextList(documentation, out);
-        CollectionUtils.writeEscalationList(escalations, out);
+        CollectionUtils.writeEscalationList(getEscalations(), out);
 
         out.writeShort(escalated);
     }
@@ -129,6 +135,9 @@ public class DeadlineImpl implements org.kie.internal.task.api.model.Deadline {
     }
 
     public List<Escalation> getEscalations() {
+        if (template != null) {
+            return template.getEscalations();
+        }
         return escalations;
     }
 
@@ -136,13 +145,24 @@ public class DeadlineImpl implements org.kie.internal.task.api.model.Deadline {
         this.escalations = escalations;
     }
 
+    public DeadlineTemplateImpl getTemplate() {
+        return template;
+    }
+
+    /**
+     * Makes this deadline use the (shared) escalations of the given template instead of its own ones.
+     */
+    public void setTemplate(DeadlineTemplateImpl template) {
+        this.template = template;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + ((date == null) ? 0 : date.hashCode());
         result = prime * result + CollectionUtils.hashCode(documentation);
-        result = prime * result + CollectionUtils.hashCode(escalations);
+        result = prime * result + CollectionUtils.hashCode(getEscalations());
         result = prime * result + (isEscalated() ? 1231 : 1237);
 
         if (id != null) {
@@ -177,7 +197,7 @@ public class DeadlineImpl implements org.kie.internal.task.api.model.Deadline {
             return false;
         }
 
-        return CollectionUtils.equals(documentation, other.documentation) && CollectionUtils.equals(escalations, other.escalations);
+        return CollectionUtils.equals(documentation, other.documentation) && CollectionUtils.equals(getEscalations(), other.getEscalations());
     }
 
 
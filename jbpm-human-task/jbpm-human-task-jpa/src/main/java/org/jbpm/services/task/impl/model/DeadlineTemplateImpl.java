@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.services.task.impl.model;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.CascadeType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.kie.internal.task.api.model.Escalation;
+
+/**
+ * Escalations (reassignments and notifications) of a deadline that are shared by all deadlines with the same
+ * definition within a deployment, instead of being stored again for every task.
+ * Templates are identified by a key computed from the deployment id and the content of the escalations and are
+ * never modified once stored.
+ */
+@Entity
+@Table(name="DeadlineTemplate",
+       indexes = {@Index(name = "IDX_DeadlineTemplate_Key", columnList="templateKey")})
+@SequenceGenerator(name="deadlineTemplateIdSeq", sequenceName="DEADLINE_TEMPLATE_ID_SEQ", allocationSize=1)
+public class DeadlineTemplateImpl {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator="deadlineTemplateIdSeq")
+    private Long id;
+
+    @Column(nullable = false)
+    private String templateKey;
+
+    private String deploymentId;
+
+    @OneToMany(cascade = CascadeType.ALL, targetEntity=EscalationImpl.class)
+    @JoinColumn(name = "DeadlineTemplate_Escalation_Id", nullable = true)
+    private List<Escalation> escalations = Collections.emptyList();
+
+    public DeadlineTemplateImpl() {
+    }
+
+    public DeadlineTemplateImpl(String templateKey, String deploymentId, List<Escalation> escalations) {
+        this.templateKey = templateKey;
+        this.deploymentId = deploymentId;
+        this.escalations = escalations;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    public void setTemplateKey(String templateKey) {
+        this.templateKey = templateKey;
+    }
+
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    public void setDeploymentId(String deploymentId) {
+        this.deploymentId = deploymentId;
+    }
+
+    public List<Escalation> getEscalations() {
+        return escalations;
+    }
+
+    public void setEscalations(List<Escalation> escalations) {
+        this.escalations = escalations;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineTemplateImpl [id=" + id + ", templateKey=" + templateKey + ", deploymentId=" + deploymentId + "]";
+    }
+
+}
@@ -73,7 +73,7 @@ public class AbstractTaskQueryCriteriaUtil extends QueryCriteriaUtil {
     protected <T> List<T> createQueryAndCallApplyMetaCriteriaAndGetResult(QueryWhere queryWhere, CriteriaQuery<T> criteriaQuery, CriteriaBuilder builder) {
         EntityManager em = getEntityManager();
         Object newTx = joinTransaction(em);
-        Query query = em.createQuery(criteriaQuery);
+        Query query = createQuery(em, criteriaQuery);
 
         applyMetaCriteriaToQuery(query, queryWhere);
 
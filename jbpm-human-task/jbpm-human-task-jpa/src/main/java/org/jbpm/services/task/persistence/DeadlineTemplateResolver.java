@@ -0,0 +1,212 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.task.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.EntityManager;
+
+import org.jbpm.services.task.impl.model.DeadlineImpl;
+import org.jbpm.services.task.impl.model.DeadlineTemplateImpl;
+import org.kie.api.task.model.Group;
+import org.kie.api.task.model.I18NText;
+import org.kie.api.task.model.OrganizationalEntity;
+import org.kie.api.task.model.Task;
+import org.kie.internal.task.api.model.BooleanExpression;
+import org.kie.internal.task.api.model.Deadline;
+import org.kie.internal.task.api.model.Deadlines;
+import org.kie.internal.task.api.model.EmailNotification;
+import org.kie.internal.task.api.model.EmailNotificationHeader;
+import org.kie.internal.task.api.model.Escalation;
+import org.kie.internal.task.api.model.InternalTask;
+import org.kie.internal.task.api.model.Language;
+import org.kie.internal.task.api.model.Notification;
+import org.kie.internal.task.api.model.Reassignment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replaces the escalations of the deadlines of a new task with a reference to a {@link DeadlineTemplateImpl}
+ * holding the same escalations, so that the (deep) escalation graph is stored once per deployment and deadline
+ * definition instead of once per task. Only the deadline itself (date, documentation and escalated flag)
+ * is stored per task.
+ */
+class DeadlineTemplateResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineTemplateResolver.class);
+
+    private static final String TEMPLATE_BY_KEY_QUERY = "DeadlineTemplateByKey";
+
+    private final EntityManager em;
+
+    DeadlineTemplateResolver(EntityManager em) {
+        this.em = em;
+    }
+
+    void resolveTemplates(Task task) {
+        if (!(task instanceof InternalTask)) {
+            return;
+        }
+        Deadlines deadlines = ((InternalTask) task).getDeadlines();
+        if (deadlines == null) {
+            return;
+        }
+        String deploymentId = task.getTaskData() == null ? null : task.getTaskData().getDeploymentId();
+        resolveTemplates(deploymentId, deadlines.getStartDeadlines());
+        resolveTemplates(deploymentId, deadlines.getEndDeadlines());
+    }
+
+    private void resolveTemplates(String deploymentId, List<Deadline> deadlines) {
+        if (deadlines == null) {
+            return;
+        }
+        for (Deadline deadline : deadlines) {
+            if (!(deadline instanceof DeadlineImpl)) {
+                continue;
+            }
+            DeadlineImpl deadlineImpl = (DeadlineImpl) deadline;
+            List<Escalation> escalations = deadlineImpl.getEscalations();
+            if (deadlineImpl.getTemplate() != null || escalations == null || escalations.isEmpty()) {
+                continue;
+            }
+            String templateKey = createTemplateKey(deploymentId, escalations);
+            List<DeadlineTemplateImpl> found = em.createNamedQuery(TEMPLATE_BY_KEY_QUERY, DeadlineTemplateImpl.class)
+                    .setParameter("templateKey", templateKey)
+                    .setMaxResults(1)
+                    .getResultList();
+            DeadlineTemplateImpl template;
+            if (found.isEmpty()) {
+                template = new DeadlineTemplateImpl(templateKey, deploymentId, escalations);
+                em.persist(template);
+                logger.debug("Created deadline template {}", template);
+            } else {
+                template = found.get(0);
+            }
+            deadlineImpl.setEscalations(Collections.<Escalation>emptyList());
+            deadlineImpl.setTemplate(template);
+        }
+    }
+
+    /**
+     * Creates the key of the template for the given escalations: a hash over the deployment id and
+     * everything stored for the escalations (except generated ids).
+     */
+    static String createTemplateKey(String deploymentId, List<Escalation> escalations) {
+        StringBuilder description = new StringBuilder();
+        append(description, deploymentId);
+        for (Escalation escalation : escalations) {
+            description.append("|E");
+            append(description, escalation.getName());
+            if (escalation.getConstraints() != null) {
+                for (BooleanExpression constraint : escalation.getConstraints()) {
+                    description.append("|C");
+                    append(description, constraint.getType());
+                    append(description, constraint.getExpression());
+                }
+            }
+            if (escalation.getNotifications() != null) {
+                for (Notification notification : escalation.getNotifications()) {
+                    appendNotification(description, notification);
+                }
+            }
+            if (escalation.getReassignments() != null) {
+                for (Reassignment reassignment : escalation.getReassignments()) {
+                    description.append("|R");
+                    appendTexts(description, reassignment.getDocumentation());
+                    appendEntities(description, reassignment.getPotentialOwners());
+                }
+            }
+        }
+        return sha256(description.toString());
+    }
+
+    private static void appendNotification(StringBuilder description, Notification notification) {
+        description.append("|N");
+        append(description, String.valueOf(notification.getNotificationType()));
+        append(description, String.valueOf(notification.getPriority()));
+        appendTexts(description, notification.getDocumentation());
+        appendTexts(description, notification.getNames());
+        appendTexts(description, notification.getSubjects());
+        appendTexts(description, notification.getDescriptions());
+        appendEntities(description, notification.getRecipients());
+        appendEntities(description, notification.getBusinessAdministrators());
+        if (notification instanceof EmailNotification && ((EmailNotification) notification).getEmailHeaders() != null) {
+            Map<String, EmailNotificationHeader> headers = new TreeMap<String, EmailNotificationHeader>();
+            for (Map.Entry<? extends Language, ? extends EmailNotificationHeader> entry : ((EmailNotification) notification).getEmailHeaders().entrySet()) {
+                headers.put(String.valueOf(entry.getKey().getMapkey()), entry.getValue());
+            }
+            for (Map.Entry<String, EmailNotificationHeader> entry : headers.entrySet()) {
+                EmailNotificationHeader header = entry.getValue();
+                description.append("|H");
+                append(description, entry.getKey());
+                append(description, header.getLanguage());
+                append(description, header.getFrom());
+                append(description, header.getReplyTo());
+                append(description, header.getSubject());
+                append(description, header.getBody());
+            }
+        }
+    }
+
+    private static void appendTexts(StringBuilder description, List<I18NText> texts) {
+        description.append("|T");
+        if (texts != null) {
+            for (I18NText text : texts) {
+                append(description, text.getLanguage());
+                append(description, text.getText());
+            }
+        }
+    }
+
+    private static void appendEntities(StringBuilder description, List<OrganizationalEntity> entities) {
+        description.append("|O");
+        if (entities != null) {
+            for (OrganizationalEntity entity : entities) {
+                append(description, (entity instanceof Group ? "G:" : "U:") + entity.getId());
+            }
+        }
+    }
+
+    // length prefixed, so that values containing separators can not produce the same description
+    private static void append(StringBuilder description, String value) {
+        if (value == null) {
+            description.append("-1:");
+        } else {
+            description.append(value.length()).append(':').append(value);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -52,6 +52,7 @@ import org.jbpm.services.task.impl.model.CommentImpl;
 import org.jbpm.services.task.impl.model.ContentImpl;
 import org.jbpm.services.task.impl.model.ContentImpl_;
 import org.jbpm.services.task.impl.model.DeadlineImpl;
+import org.jbpm.services.task.impl.model.DeadlineTemplateImpl;
 import org.jbpm.services.task.impl.model.GroupImpl;
 import org.jbpm.services.task.impl.model.OrganizationalEntityImpl;
 import org.jbpm.services.task.impl.model.TaskDataImpl_;
@@ -82,6 +83,12 @@ public class JPATaskPersistenceContext implements TaskPersistenceContext {
 
 	private static TaskQueryManager querymanager = TaskQueryManager.get();
 
+    /**
+     * When set to <code>true</code>, escalations (reassignments and notifications) of the deadlines of new tasks are
+     * stored once per deployment and deadline definition and shared between tasks, see {@link DeadlineTemplateImpl}.
+     */
+    public static final String DEADLINE_TEMPLATES_ENABLED = "org.jbpm.task.deadline.templates.enabled";
+
 	protected EntityManager em;
     protected final boolean isJTA;
     protected final boolean pessimisticLocking;
@@ -126,6 +133,9 @@ public class JPATaskPersistenceContext implements TaskPersistenceContext {
 	@Override
 	public Task persistTask(Task task) {
 		check();
+		if (Boolean.getBoolean(DEADLINE_TEMPLATES_ENABLED)) {
+		    new DeadlineTemplateResolver(this.em).resolveTemplates(task);
+		}
 		this.em.persist( task );
         if( this.pessimisticLocking ) {
         	this.em.flush();
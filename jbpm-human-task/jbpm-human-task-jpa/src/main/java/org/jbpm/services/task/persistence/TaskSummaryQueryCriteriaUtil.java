@@ -55,6 +55,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaBuilder.In;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
@@ -557,7 +558,11 @@ public class TaskSummaryQueryCriteriaUtil extends AbstractTaskQueryCriteriaUtil
         return predicate;
     }
 
-
+    @Override
+    protected boolean isQueryPlanCacheable(QueryCriteria criteria) {
+        // the user and group ids are added as parameters, see createTaskUserRolesLimitPredicate(..)
+        return TASK_USER_ROLES_LIMIT_LIST.equals(criteria.getListId());
+    }
 
     @SuppressWarnings("unchecked")
     private static <T> Predicate createTaskUserRolesLimitPredicate(QueryCriteria criteria, CriteriaQuery<T> criteriaQuery, CriteriaBuilder builder) {
@@ -573,8 +578,8 @@ public class TaskSummaryQueryCriteriaUtil extends AbstractTaskQueryCriteriaUtil
 
         // joins that apply to the user id's
         Predicate [] userGroupLimitingPredicates = new Predicate[numPredicates];
-        userGroupLimitingPredicates[0] = builder.equal(taskRoot.get(TaskImpl_.taskData).get(TaskDataImpl_.actualOwner).get(UserImpl_.id), userId);
-        userGroupLimitingPredicates[1] = builder.equal(taskRoot.get(TaskImpl_.taskData).get(TaskDataImpl_.createdBy).get(UserImpl_.id), userId);
+        userGroupLimitingPredicates[0] = builder.equal(taskRoot.get(TaskImpl_.taskData).get(TaskDataImpl_.actualOwner).get(UserImpl_.id), valueExpression(builder, String.class, userId));
+        userGroupLimitingPredicates[1] = builder.equal(taskRoot.get(TaskImpl_.taskData).get(TaskDataImpl_.createdBy).get(UserImpl_.id), valueExpression(builder, String.class, userId));
 
         Join<TaskImpl,TaskDataImpl> taskDataJoin = null;
         Join<TaskImpl,PeopleAssignmentsImpl> peopleAssignJoin = null;
@@ -599,10 +604,14 @@ public class TaskSummaryQueryCriteriaUtil extends AbstractTaskQueryCriteriaUtil
                 = getPeopleAssignmentsJoins(peopleAssignJoin);
 
             for( int i = 0; i < groupJoins.length; ++i ) {
+                In<String> groupIdIn = builder.in(groupJoins[i].get(OrganizationalEntityImpl_.id));
+                for( String groupId : groupIds ) {
+                    groupIdIn.value(valueExpression(builder, String.class, groupId));
+                }
                 userGroupLimitingPredicates[i+2] =
                         builder.or(
-                                builder.equal( groupJoins[i].get(OrganizationalEntityImpl_.id), userId ),
-                                groupJoins[i].get(OrganizationalEntityImpl_.id).in(groupIds) );
+                                builder.equal( groupJoins[i].get(OrganizationalEntityImpl_.id), valueExpression(builder, String.class, userId) ),
+                                groupIdIn );
             }
         }
 
@@ -689,6 +698,16 @@ public class TaskSummaryQueryCriteriaUtil extends AbstractTaskQueryCriteriaUtil
         return (Expression<?>) orderBySelection;
     }
 
+    /**
+     * Task summaries are selected DISTINCT when outer joins are used, and the ORDER BY of such a query can only contain the
+     * selected values, so NULL values are left in the order of the database and results ordered by a nullable field can
+     * not be paged with a key set.
+     */
+    @Override
+    protected <R> Expression<Integer> getNullsLastKey( CriteriaQuery<R> query, CriteriaBuilder builder, Expression orderByPath ) {
+        return null;
+    }
+
     public static <Q,T> Predicate taskSpecificCreatePredicateFromSingleCriteria(
             CriteriaQuery<Q> query, CriteriaBuilder builder,
             QueryCriteria criteria, QueryWhere queryWhere) {
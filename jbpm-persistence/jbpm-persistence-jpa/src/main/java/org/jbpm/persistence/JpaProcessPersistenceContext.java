@@ -136,8 +136,14 @@ public class JpaProcessPersistenceContext extends JpaPersistenceContext
      * </p>
      */
     public Long getProcessInstanceByCorrelationKey(CorrelationKey correlationKey) {
-        Query processInstancesForEvent = getEntityManager().createNamedQuery( "GetProcessInstanceIdByCorrelation" );
-        processInstancesForEvent.setParameter( "ckey", correlationKey.toExternalForm());
+        Query processInstancesForEvent;
+        if (CorrelationKeyInfo.isHashLookupEnabled()) {
+            processInstancesForEvent = getEntityManager().createNamedQuery( "GetProcessInstanceIdByCorrelationHash" );
+            processInstancesForEvent.setParameter( "hash", CorrelationKeyInfo.hash(correlationKey));
+        } else {
+            processInstancesForEvent = getEntityManager().createNamedQuery( "GetProcessInstanceIdByCorrelation" );
+            processInstancesForEvent.setParameter( "ckey", correlationKey.toExternalForm());
+        }
         
         try {
             return (Long) processInstancesForEvent.getSingleResult();
@@ -16,6 +16,9 @@
 package org.jbpm.persistence.correlation;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +30,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
@@ -34,17 +38,26 @@ import javax.persistence.Version;
 
 import org.jbpm.persistence.api.PersistentCorrelationKey;
 import org.kie.internal.jaxb.CorrelationKeyXmlAdapter;
+import org.kie.internal.process.CorrelationKey;
 import org.kie.internal.process.CorrelationProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Entity
 @SequenceGenerator(name="correlationKeyInfoIdSeq", sequenceName="CORRELATION_KEY_ID_SEQ")
-@Table(indexes = @Index(name = "IDX_CorrelationKeyInfo_name", unique = true, columnList = "name"))
+@Table(indexes = {@Index(name = "IDX_CorrelationKeyInfo_name", unique = true, columnList = "name"),
+                  @Index(name = "IDX_CorrelationKeyInfo_hash", unique = true, columnList = "keyHash")})
 public class CorrelationKeyInfo implements PersistentCorrelationKey, Serializable {
 
 	private static final long serialVersionUID = 4469298702447675428L;
 	private static final Logger logger = LoggerFactory.getLogger(CorrelationKeyInfo.class);
+
+    /**
+     * When enabled, process instances are looked up by correlation key with the (indexed) hash of the key instead
+     * of its (possibly trimmed) name. Correlation keys stored before the hash column was introduced have no hash,
+     * so this must only be enabled once there are no active process instances left that were started before.
+     */
+    public static final String HASH_LOOKUP_ENABLED = "org.jbpm.correlationkey.hash.lookup";
 	
 	@Transient
     private final int CORRELATION_KEY_LOG_LENGTH = Integer.parseInt(System.getProperty("org.jbpm.correlationkey.length", "255"));
@@ -62,6 +75,9 @@ public class CorrelationKeyInfo implements PersistentCorrelationKey, Serializabl
     
 
     private String name;
+
+    @Column(length = 64)
+    private String keyHash;
     
     @OneToMany(mappedBy="correlationKey", cascade=CascadeType.ALL)
     private List<CorrelationPropertyInfo> properties;
@@ -151,6 +167,39 @@ public class CorrelationKeyInfo implements PersistentCorrelationKey, Serializabl
         return id;
     }
 
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    @PrePersist
+    public void updateKeyHash() {
+        this.keyHash = hash(this);
+    }
+
+    /**
+     * Hash of the external form of the given key, which (unlike the name) is computed before trimming and
+     * therefore does not depend on the configured maximum correlation key length.
+     * @param correlationKey correlation key
+     * @return hex encoded SHA-256 hash of the external form of the key
+     */
+    public static String hash(CorrelationKey correlationKey) {
+        String externalForm = CorrelationKeyXmlAdapter.marshalCorrelationKey(correlationKey);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(externalForm.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static boolean isHashLookupEnabled() {
+        return Boolean.getBoolean(HASH_LOOKUP_ENABLED);
+    }
+
     private String trimString(String name) {
         String trimmed = name;
         if (trimmed != null && trimmed.length() > CORRELATION_KEY_LOG_LENGTH) {
@@ -59,20 +59,38 @@ import org.kie.internal.runtime.manager.context.ProcessInstanceIdContext;
  * which is used by multiple threads: each request sent to the jbpm-console is picked up in it's own thread. 
  * </p>
  * This means that multiple threads can be using the same instance of this class. 
+ * </p>
+ * Process instances loaded for read only access can be kept in a bounded cache, so that repeated read only lookups
+ * of a process instance that did not change are served without unmarshalling it again. The cache is shared by all
+ * sessions using the same entity manager factory (e.g. all sessions of a runtime manager), and so hands out disconnected process
+ * instances that are marked read only. The cache is disabled unless the
+ * <code>org.jbpm.persistence.readonly.cache.size</code> system property is set to its maximum size.
+ * </p>
+ * The parent of a (reusable) sub process instance is loaded together with it, unless the
+ * <code>org.jbpm.persistence.lazy.parent.loading</code> system property is set to true. The parent is then only loaded
+ * when it is signaled (e.g. once the sub process instance completes) or looked up.
  */
 public class JPAProcessInstanceManager
     implements
     ProcessInstanceManager {
 
+    public static final String READ_ONLY_CACHE_SIZE = "org.jbpm.persistence.readonly.cache.size";
+    public static final String LAZY_PARENT_LOADING = "org.jbpm.persistence.lazy.parent.loading";
+
     private InternalKnowledgeRuntime kruntime;
     // In a scenario in which 1000's of processes are running daily,
     //   lazy initialization is more costly than eager initialization
     // Added volatile so that if something happens, we can figure out what
     private volatile transient Map<Long, ProcessInstance> processInstances = new ConcurrentHashMap<Long, ProcessInstance>();
 
+    private final int readOnlyCacheSize = Integer.getInteger(READ_ONLY_CACHE_SIZE, 0);
+    private ReadOnlyProcessInstanceCache readOnlyProcessInstances;
     
     public void setKnowledgeRuntime(InternalKnowledgeRuntime kruntime) {
         this.kruntime = kruntime;
+        if (readOnlyCacheSize > 0) {
+            this.readOnlyProcessInstances = ReadOnlyProcessInstanceCache.get(kruntime.getEnvironment(), readOnlyCacheSize);
+        }
     }
 
     public void addProcessInstance(ProcessInstance processInstance, CorrelationKey correlationKey) {
@@ -101,6 +119,7 @@ public class JPAProcessInstanceManager
     }
     
     public void internalAddProcessInstance(ProcessInstance processInstance) {
+        evictReadOnlyProcessInstance(processInstance.getId());
         if( ((ConcurrentHashMap<Long, ProcessInstance>) processInstances)
                 .putIfAbsent(processInstance.getId(), processInstance) 
                 != null ) { 
@@ -152,6 +171,15 @@ public class JPAProcessInstanceManager
             if ( processInstanceInfo == null ) {
                 return null;
             }
+            if (readOnly && readOnlyProcessInstances != null) {
+                ProcessInstance cached = readOnlyProcessInstances.get(id, processInstanceInfo.getVersion(), processInstanceInfo.getState());
+                if (cached != null) {
+                    return cached;
+                }
+            } else {
+                // the process instance is going to be modified, the cached one (if any) is outdated by then
+                evictReadOnlyProcessInstance(id);
+            }
             processInstance = (org.jbpm.process.instance.ProcessInstance)
             	processInstanceInfo.getProcessInstance(kruntime, this.kruntime.getEnvironment(), readOnly);
             if (!readOnly) {
@@ -166,8 +194,15 @@ public class JPAProcessInstanceManager
     	        processInstance.setProcess( process );
             }
             if ( processInstance.getKnowledgeRuntime() == null ) {
+                if (readOnly && readOnlyProcessInstances != null) {
+                    // kept disconnected, so that it is not bound to this session and can be shared by all readers
+                    ((ProcessInstanceImpl) processInstance).internalSetReadOnly(true);
+                    processInstanceInfo.clearProcessInstance();
+                    readOnlyProcessInstances.put(processInstance, processInstanceInfo.getVersion());
+                    return processInstance;
+                }
                 Long parentProcessInstanceId = (Long) ((ProcessInstanceImpl) processInstance).getMetaData().get("ParentProcessInstanceId");
-                if (parentProcessInstanceId != null) {
+                if (parentProcessInstanceId != null && !Boolean.getBoolean(LAZY_PARENT_LOADING)) {
                     kruntime.getProcessInstance(parentProcessInstanceId);
                 }
                 processInstance.setKnowledgeRuntime( kruntime );
@@ -197,6 +232,7 @@ public class JPAProcessInstanceManager
             context.remove( processInstanceInfo );
         }
         internalRemoveProcessInstance(processInstance);
+        evictReadOnlyProcessInstance(processInstance.getId());
         
         EventManagerProvider.getInstance().get().delete(getInstanceViewFor(processInstance));
     }
@@ -205,6 +241,12 @@ public class JPAProcessInstanceManager
         processInstances.remove( processInstance.getId() );
     }
     
+    private void evictReadOnlyProcessInstance(long processInstanceId) {
+        if (readOnlyProcessInstances != null) {
+            readOnlyProcessInstances.remove(processInstanceId);
+        }
+    }
+
     public void clearProcessInstances() {
         for (ProcessInstance processInstance: new ArrayList<ProcessInstance>(processInstances.values())) {
             ((ProcessInstanceImpl) processInstance).disconnect();
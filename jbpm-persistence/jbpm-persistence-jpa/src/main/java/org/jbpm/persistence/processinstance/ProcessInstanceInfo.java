@@ -63,6 +63,13 @@ import org.kie.api.runtime.process.ProcessInstance;
 @SequenceGenerator(name="processInstanceInfoIdSeq", sequenceName="PROCESS_INSTANCE_INFO_ID_SEQ")
 public class ProcessInstanceInfo implements PersistentProcessInstance {
 
+    /**
+     * Minimum time (in milliseconds) between two updates of the last read date of a process instance that is
+     * not modified otherwise, 0 (the default) to update it on every read. When the process instance is modified,
+     * the last read date is updated along with it.
+     */
+    public static final String LAST_READ_DATE_UPDATE_INTERVAL = "org.jbpm.persistence.lastread.update.interval";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO, generator="processInstanceInfoIdSeq")
     @Column(name = "InstanceId")
@@ -96,6 +103,9 @@ public class ProcessInstanceInfo implements PersistentProcessInstance {
     @Transient
     Environment                               env;
 
+    @Transient
+    boolean                                   lastReadDatePending;
+
     protected ProcessInstanceInfo() {
     }
 
@@ -155,6 +165,17 @@ public class ProcessInstanceInfo implements PersistentProcessInstance {
     }
 
     public void updateLastReadDate() {
+        long interval = Long.getLong(LAST_READ_DATE_UPDATE_INTERVAL, 0);
+        if (interval > 0 && lastReadDate != null && System.currentTimeMillis() - lastReadDate.getTime() < interval) {
+            // updated once the process instance is modified, if it is
+            lastReadDatePending = true;
+            return;
+        }
+        internalUpdateLastReadDate();
+    }
+
+    private void internalUpdateLastReadDate() {
+        lastReadDatePending = false;
     	Date updateTo = new Date();
     	if (lastReadDate == null || lastReadDate.compareTo(updateTo) < 0) {
     		lastReadDate = updateTo;
@@ -259,9 +280,12 @@ public class ProcessInstanceInfo implements PersistentProcessInstance {
             this.state = processInstance.getState();
             this.lastModificationDate = new Date();
             this.processInstanceByteArray = newByteArray;
-            this.eventTypes.clear();
-            for ( String type : processInstance.getEventTypes() ) {
-                eventTypes.add( type );
+            // only the added and removed event types are written, the collection is left untouched when unchanged
+            Set<String> newEventTypes = new HashSet<String>( Arrays.asList( processInstance.getEventTypes() ) );
+            this.eventTypes.retainAll( newEventTypes );
+            this.eventTypes.addAll( newEventTypes );
+            if ( lastReadDatePending ) {
+                internalUpdateLastReadDate();
             }
         }
         if (!processInstance.getProcessId().equals(this.processId)) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.persistence.processinstance;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.runtime.process.ProcessInstance;
+
+/**
+ * Bounded (least recently used) cache of process instances unmarshalled for read only access, keyed by
+ * process instance id and only valid for the version of the {@link ProcessInstanceInfo} they were unmarshalled from.
+ * </p>
+ * The cache is kept per entity manager factory of the environment, so it is shared by all sessions storing their
+ * process instances in the same database (e.g. all sessions of a runtime manager, which get a copy of its environment). Cached process instances are therefore disconnected and marked read only: they are
+ * not bound to any session and fail when they are changed, so they can be handed out to several readers.
+ * </p>
+ * An entry is dropped as soon as it is looked up with another version or state, so a changed process instance is
+ * unmarshalled again. The {@link JPAProcessInstanceManager} also drops the entry of a process instance that is
+ * loaded for update, added or removed.
+ */
+class ReadOnlyProcessInstanceCache {
+
+    private static final Map<Object, ReadOnlyProcessInstanceCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<Long, Entry> entries;
+
+    /**
+     * Returns the cache kept for the entity manager factory of the given environment (or for the environment itself
+     * when it has none), creating it with the given maximum size on first use.
+     */
+    static ReadOnlyProcessInstanceCache get(Environment environment, int maxSize) {
+        Object key = environment.get(EnvironmentName.ENTITY_MANAGER_FACTORY);
+        if (key == null) {
+            key = environment;
+        }
+        return caches.computeIfAbsent(key, k -> new ReadOnlyProcessInstanceCache(maxSize));
+    }
+
+    ReadOnlyProcessInstanceCache(final int maxSize) {
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized ProcessInstance get(long processInstanceId, int version, int state) {
+        Entry entry = entries.get(processInstanceId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.version != version || entry.state != state || entry.processInstance.getState() != state) {
+            entries.remove(processInstanceId);
+            return null;
+        }
+        return entry.processInstance;
+    }
+
+    synchronized void put(ProcessInstance processInstance, int version) {
+        entries.put(processInstance.getId(), new Entry(processInstance, version));
+    }
+
+    synchronized void remove(long processInstanceId) {
+        entries.remove(processInstanceId);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+
+        private final ProcessInstance processInstance;
+        private final int version;
+        private final int state;
+
+        private Entry(ProcessInstance processInstance, int version) {
+            this.processInstance = processInstance;
+            this.version = version;
+            this.state = processInstance.getState();
+        }
+    }
+}
@@ -15,21 +15,31 @@
  */
 package org.jbpm.persistence.timer;
 
+import java.util.List;
+
+import org.drools.core.common.InternalKnowledgeRuntime;
 import org.drools.core.time.InternalSchedulerService;
 import org.drools.core.time.Job;
 import org.drools.core.time.JobContext;
 import org.drools.core.time.JobHandle;
+import org.drools.core.time.SelfRemovalJobContext;
 import org.drools.core.time.Trigger;
 import org.drools.core.time.impl.DefaultJobHandle;
+import org.drools.core.time.impl.TimerJobInstance;
 import org.drools.persistence.api.TransactionManager;
 import org.drools.persistence.api.TransactionManagerFactory;
 import org.drools.persistence.jpa.JDKCallableJobCommand;
 import org.drools.persistence.jpa.JpaTimerJobInstance;
 import org.jbpm.persistence.jta.ContainerManagedTransactionManager;
 import org.jbpm.process.core.async.AsyncExecutionMarker;
+import org.jbpm.process.core.timer.CoalescableTimerJobInstance;
 import org.jbpm.process.core.timer.TimerServiceRegistry;
 import org.jbpm.process.core.timer.impl.GlobalTimerService;
 import org.jbpm.process.core.timer.impl.GlobalTimerService.DisposableCommandService;
+import org.jbpm.process.instance.timer.TimerManager.ProcessJobContext;
+import org.jbpm.process.instance.timer.TimerManager.StartProcessJobContext;
+import org.kie.api.command.ExecutableCommand;
+import org.kie.api.runtime.Context;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.EnvironmentName;
 import org.kie.api.runtime.ExecutableRunner;
@@ -43,9 +53,12 @@ import org.slf4j.LoggerFactory;
  * Important to note is that when timer service created session this job instance
  * will dispose that session to leave it in the same state it was before job was executed
  * to avoid concurrent usage of the same session by different threads
+ * 
+ * When fired together with other timers of the same process instance (or the same shared session)
+ * all of them are executed as single command within one transaction
  *
  */
-public class GlobalJpaTimerJobInstance extends JpaTimerJobInstance {
+public class GlobalJpaTimerJobInstance extends JpaTimerJobInstance implements CoalescableTimerJobInstance {
 	
 	private static final Logger logger = LoggerFactory.getLogger(GlobalJpaTimerJobInstance.class);
 
@@ -67,10 +80,7 @@ public class GlobalJpaTimerJobInstance extends JpaTimerJobInstance {
         try { 
             JDKCallableJobCommand command = new JDKCallableJobCommand( this );
 
-            if (scheduler == null || ((GlobalTimerService) scheduler).getRuntimeManager().isClosed()) {
-                scheduler = (InternalSchedulerService) TimerServiceRegistry.getInstance().get(timerServiceId);
-            }
-            if (scheduler == null) {
+            if (getGlobalTimerService() == null) {
             	throw new RuntimeException("No scheduler found for " + timerServiceId);
             }
 
@@ -100,6 +110,86 @@ public class GlobalJpaTimerJobInstance extends JpaTimerJobInstance {
     }
     
 
+    @Override
+    public String getCoalescingKey() {
+        JobContext ctx = unwrap(getJobContext());
+        if (!(ctx instanceof ProcessJobContext)) {
+            return null;
+        }
+        GlobalTimerService timerService = getGlobalTimerService();
+        if (timerService == null) {
+            return null;
+        }
+        if (timerService.isSharedSession()) {
+            // all timers are executed by the same session anyway
+            return timerServiceId;
+        }
+        Long processInstanceId = ((ProcessJobContext) ctx).getProcessInstanceId();
+        if (ctx instanceof StartProcessJobContext || processInstanceId == null) {
+            return null;
+        }
+        return timerServiceId + "#" + processInstanceId;
+    }
+
+    @Override
+    public void callCoalesced(List<TimerJobInstance> instances) throws Exception {
+        AsyncExecutionMarker.markAsync();
+        ExecutableRunner runner = null;
+        TransactionManager jtaTm = null;
+        boolean success = false;
+        try {
+            GlobalTimerService timerService = getGlobalTimerService();
+            if (timerService == null) {
+                throw new RuntimeException("No scheduler found for " + timerServiceId);
+            }
+
+            jtaTm = startTxIfNeeded(timerService.getRuntimeManager().getEnvironment().getEnvironment());
+
+            // single runtime engine for all the timers, its session is shared by all job contexts
+            runner = timerService.getRunner( getJobContext() );
+            JobContext jobContext = unwrap(getJobContext());
+            if (jobContext instanceof ProcessJobContext) {
+                InternalKnowledgeRuntime kruntime = ((ProcessJobContext) jobContext).getKnowledgeRuntime();
+                for (TimerJobInstance instance : instances) {
+                    JobContext ctx = unwrap(instance.getJobContext());
+                    if (ctx instanceof ProcessJobContext) {
+                        ((ProcessJobContext) ctx).setKnowledgeRuntime(kruntime);
+                    }
+                }
+            }
+
+            runner.execute( new CoalescedJobCommand( instances ) );
+            GlobalJPATimerJobFactoryManager jobFactoryManager = ((GlobalJPATimerJobFactoryManager) timerService.getTimerJobFactoryManager());
+            for (TimerJobInstance instance : instances) {
+                jobFactoryManager.removeTimerJobInstance(((DefaultJobHandle) instance.getJobHandle()).getTimerJobInstance());
+            }
+            success = true;
+        } finally {
+            AsyncExecutionMarker.reset();
+            if (runner != null && runner instanceof DisposableCommandService) {
+                if (allowedToDispose(((DisposableCommandService) runner).getEnvironment())) {
+                    logger.debug("Allowed to dispose command service from global timer job instance");
+                    ((DisposableCommandService) runner).dispose();
+                }
+            }
+            closeTansactionIfNeeded(jtaTm, success);
+        }
+    }
+
+    protected GlobalTimerService getGlobalTimerService() {
+        if (scheduler == null || ((GlobalTimerService) scheduler).getRuntimeManager().isClosed()) {
+            scheduler = (InternalSchedulerService) TimerServiceRegistry.getInstance().get(timerServiceId);
+        }
+        return (GlobalTimerService) scheduler;
+    }
+
+    protected JobContext unwrap(JobContext ctx) {
+        if (ctx instanceof SelfRemovalJobContext) {
+            return ((SelfRemovalJobContext) ctx).getJobContext();
+        }
+        return ctx;
+    }
+
     @Override
 	public String toString() {
 		return "GlobalJpaTimerJobInstance [timerServiceId=" + timerServiceId
@@ -167,4 +257,25 @@ public class GlobalJpaTimerJobInstance extends JpaTimerJobInstance {
     	}
     }
 
+    /**
+     * Fires all timer job instances within single command so they share runtime engine and transaction.
+     */
+    private static class CoalescedJobCommand implements ExecutableCommand<Void> {
+
+        private static final long serialVersionUID = 2853916378466413217L;
+
+        private final List<TimerJobInstance> instances;
+
+        CoalescedJobCommand(List<TimerJobInstance> instances) {
+            this.instances = instances;
+        }
+
+        @Override
+        public Void execute(Context context) {
+            for (TimerJobInstance instance : instances) {
+                new JDKCallableJobCommand((JpaTimerJobInstance) instance).execute(context);
+            }
+            return null;
+        }
+    }
 }
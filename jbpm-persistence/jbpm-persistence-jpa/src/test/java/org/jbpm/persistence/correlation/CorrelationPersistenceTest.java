@@ -143,4 +143,21 @@ public class CorrelationPersistenceTest extends AbstractBaseTest {
         assertNotNull(processInstances);
         assertEquals(1, processInstances.size());
     }
+
+    @Test
+    public void testCreateCorrelationByHash() throws Exception {
+        EntityManagerFactory emf = (EntityManagerFactory) context.get(EnvironmentName.ENTITY_MANAGER_FACTORY);
+        EntityManager em = emf.createEntityManager();
+        CorrelationKeyFactory factory = KieInternalServices.Factory.get().newCorrelationKeyFactory();
+
+        Query query = em.createNamedQuery("GetProcessInstanceIdByCorrelationHash");
+        query.setParameter("hash", CorrelationKeyInfo.hash(factory.newCorrelationKey(Arrays.asList("test123", "123test"))));
+        List<Long> processInstances = query.getResultList();
+        assertEquals(1, processInstances.size());
+
+        query.setParameter("hash", CorrelationKeyInfo.hash(factory.newCorrelationKey("123test")));
+        processInstances = query.getResultList();
+        em.close();
+        assertEquals(0, processInstances.size());
+    }
 }
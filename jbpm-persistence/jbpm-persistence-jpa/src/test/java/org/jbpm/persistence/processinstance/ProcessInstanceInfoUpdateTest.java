@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.persistence.processinstance;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jbpm.persistence.session.objects.TestWorkItemHandler;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.Join;
+import org.jbpm.workflow.core.node.Split;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.internal.persistence.jpa.JPAKnowledgeService;
+import org.kie.internal.runtime.StatefulKnowledgeSession;
+
+import static org.jbpm.test.persistence.util.PersistenceUtil.*;
+import static org.junit.Assert.*;
+import static org.kie.api.runtime.EnvironmentName.ENTITY_MANAGER_FACTORY;
+
+/**
+ * Counts the statements written for a {@link ProcessInstanceInfo} by commands that do not change its event types
+ * or only read it.
+ */
+public class ProcessInstanceInfoUpdateTest extends AbstractBaseTest {
+
+    private static final String PROCESS_ID = "org.jbpm.persistence.eventtypes";
+
+    private HashMap<String, Object> context;
+    private EntityManagerFactory emf;
+    private Statistics statistics;
+    private StatefulKnowledgeSession ksession;
+
+    @Before
+    public void setUp() throws Exception {
+        context = setupWithPoolingDataSource(JBPM_PERSISTENCE_UNIT_NAME);
+        Environment env = createEnvironment(context);
+        emf = (EntityManagerFactory) context.get(ENTITY_MANAGER_FACTORY);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // waits for MyEvent while both work items are completed one after the other
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess(PROCESS_ID);
+        factory.name("Event types process").packageName("org.jbpm")
+                .startNode(1).name("Start").done()
+                .splitNode(2).name("Split").type(Split.TYPE_AND).done()
+                .workItemNode(3).name("WorkItem1").workName("MyWork").done()
+                .workItemNode(4).name("WorkItem2").workName("MyWork").done()
+                .eventNode(5).name("Event").eventType("MyEvent").done()
+                .joinNode(6).name("Join").type(Join.TYPE_AND).done()
+                .endNode(7).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .connection(3, 4)
+                .connection(4, 6)
+                .connection(2, 5)
+                .connection(5, 6)
+                .connection(6, 7);
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addProcess(factory.validate().getProcess());
+        ksession = JPAKnowledgeService.newStatefulKnowledgeSession(kbase, null, env);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty(ProcessInstanceInfo.LAST_READ_DATE_UPDATE_INTERVAL);
+        statistics.setStatisticsEnabled(false);
+        ksession.dispose();
+        cleanUp(context);
+    }
+
+    @Test
+    public void testUnchangedEventTypesNotWritten() {
+        ProcessInstance processInstance = ksession.startProcess(PROCESS_ID);
+        WorkItem workItem = TestWorkItemHandler.getInstance().getWorkItem();
+        assertNotNull(workItem);
+        assertEquals(Collections.singleton("MyEvent"), getProcessInstanceInfo(processInstance.getId()).getEventTypes());
+
+        // the process instance changes, its event types do not
+        statistics.clear();
+        ksession.getWorkItemManager().completeWorkItem(workItem.getId(), null);
+        assertTrue(getUpdateCount() > 0);
+        assertEquals(0, statistics.getCollectionUpdateCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(Collections.singleton("MyEvent"), getProcessInstanceInfo(processInstance.getId()).getEventTypes());
+
+        // only the removed event type is deleted
+        statistics.clear();
+        ksession.signalEvent("MyEvent", null);
+        assertTrue(statistics.getCollectionUpdateCount() > 0);
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertTrue(getProcessInstanceInfo(processInstance.getId()).getEventTypes().isEmpty());
+
+        ksession.getWorkItemManager().completeWorkItem(TestWorkItemHandler.getInstance().getWorkItem().getId(), null);
+        assertNull(ksession.getProcessInstance(processInstance.getId()));
+    }
+
+    @Test
+    public void testLastReadDateUpdateInterval() {
+        ProcessInstance processInstance = ksession.startProcess(PROCESS_ID);
+        WorkItem workItem = TestWorkItemHandler.getInstance().getWorkItem();
+        Date lastReadDate = getProcessInstanceInfo(processInstance.getId()).getLastReadDate();
+        assertNotNull(lastReadDate);
+
+        // every read updates the last read date by default
+        statistics.clear();
+        assertNotNull(ksession.getProcessInstance(processInstance.getId()));
+        assertTrue(getUpdateCount() > 0);
+
+        System.setProperty(ProcessInstanceInfo.LAST_READ_DATE_UPDATE_INTERVAL, "3600000");
+        lastReadDate = getProcessInstanceInfo(processInstance.getId()).getLastReadDate();
+        statistics.clear();
+        assertNotNull(ksession.getProcessInstance(processInstance.getId()));
+        assertEquals(0, getUpdateCount());
+        assertEquals(lastReadDate, getProcessInstanceInfo(processInstance.getId()).getLastReadDate());
+
+        // the last read date is updated along with the process instance
+        statistics.clear();
+        ksession.getWorkItemManager().completeWorkItem(workItem.getId(), null);
+        assertTrue(getUpdateCount() > 0);
+        assertTrue(getProcessInstanceInfo(processInstance.getId()).getLastReadDate().after(lastReadDate));
+    }
+
+    private long getUpdateCount() {
+        return statistics.getEntityStatistics(ProcessInstanceInfo.class.getName()).getUpdateCount();
+    }
+
+    private ProcessInstanceInfo getProcessInstanceInfo(long processInstanceId) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            ProcessInstanceInfo processInstanceInfo = em.find(ProcessInstanceInfo.class, processInstanceId);
+            processInstanceInfo.getEventTypes().size();
+            return processInstanceInfo;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.jbpm.persistence.api.integration.EventManagerProvider;
 import org.jbpm.persistence.api.integration.InstanceView;
 import org.jbpm.test.persistence.processinstance.objects.TestEventEmitter;
 import org.jbpm.test.persistence.processinstance.objects.TestTransactionalPersistenceEventManager;
+import org.jbpm.persistence.processinstance.JPAProcessInstanceManager;
 import org.jbpm.persistence.session.objects.TestWorkItemHandler;
 import org.jbpm.process.instance.impl.demo.SystemOutWorkItemHandler;
 import org.jbpm.test.util.AbstractBaseTest;
@@ -565,7 +566,52 @@ public class PersistentStatefulSessionTest extends AbstractBaseTest {
         processInstance = ksession.getProcessInstance( processInstance.getId() );
         assertNull( "Process did not complete.", processInstance );
     }
-    
+
+    @Test
+    public void testPersistenceSubProcessLazyParentLoading() throws Exception {
+        System.setProperty( JPAProcessInstanceManager.LAZY_PARENT_LOADING, "true" );
+        try {
+            KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+            kbuilder.add( new ClassPathResource( "SuperProcess.rf" ),
+                          ResourceType.DRF );
+            kbuilder.add( new ClassPathResource( "SubProcess.rf" ),
+                          ResourceType.DRF );
+            InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+            kbase.addPackages( kbuilder.getKnowledgePackages() );
+
+            StatefulKnowledgeSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession( kbase, null, env );
+            long id = ksession.getIdentifier();
+
+            ProcessInstance processInstance = ksession.startProcess( "com.sample.SuperProcess" );
+            TestWorkItemHandler handler = TestWorkItemHandler.getInstance();
+            ksession.getWorkItemManager().completeWorkItem( handler.getWorkItem().getId(),
+                                                           null );
+            WorkItem workItem = handler.getWorkItem();
+            assertNotNull( workItem );
+            long subProcessInstanceId = workItem.getProcessInstanceId();
+            assertNotEquals( processInstance.getId(), subProcessInstanceId );
+
+            // the sub process instance is loaded without its parent
+            ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( id, kbase, null, env );
+            UserTransaction ut = (UserTransaction) new InitialContext().lookup( "java:comp/UserTransaction" );
+            ut.begin();
+            assertNotNull( ksession.getProcessInstance( subProcessInstanceId ) );
+            assertEquals( 1, ksession.getProcessInstances().size() );
+            ut.commit();
+
+            // the parent is loaded once the sub process instance completes
+            ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( id, kbase, null, env );
+            ksession.getWorkItemManager().completeWorkItem( workItem.getId(),
+                                                           null );
+            assertNull( handler.getWorkItem() );
+
+            ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( id, kbase, null, env );
+            assertNull( "Process did not complete.", ksession.getProcessInstance( processInstance.getId() ) );
+        } finally {
+            System.clearProperty( JPAProcessInstanceManager.LAZY_PARENT_LOADING );
+        }
+    }
+
     @Test
     public void testPersistenceVariables() {
         KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
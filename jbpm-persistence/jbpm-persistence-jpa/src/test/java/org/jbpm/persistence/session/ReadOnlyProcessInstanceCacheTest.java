@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.persistence.session;
+
+import java.util.HashMap;
+
+import org.jbpm.persistence.processinstance.JPAProcessInstanceManager;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.persistence.jpa.JPAKnowledgeService;
+import org.kie.internal.runtime.StatefulKnowledgeSession;
+
+import static org.jbpm.test.persistence.util.PersistenceUtil.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the cache of process instances loaded for read only access by the {@link JPAProcessInstanceManager}.
+ */
+public class ReadOnlyProcessInstanceCacheTest extends AbstractBaseTest {
+
+    private static final String PROCESS_ID = "org.jbpm.processinstance.helloworld";
+
+    private HashMap<String, Object> context;
+    private Environment env;
+    private KieBase kbase;
+
+    @Before
+    public void setUp() throws Exception {
+        context = setupWithPoolingDataSource(JBPM_PERSISTENCE_UNIT_NAME);
+        env = createEnvironment(context);
+
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        kbuilder.add(ResourceFactory.newClassPathResource("processinstance/HelloWorld.rf"), ResourceType.DRF);
+        assertFalse(kbuilder.getErrors().toString(), kbuilder.hasErrors());
+        kbase = kbuilder.newKieBase();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty(JPAProcessInstanceManager.READ_ONLY_CACHE_SIZE);
+        cleanUp(context);
+    }
+
+    @Test
+    public void testReadOnlyLookupsServedFromCache() throws Exception {
+        System.setProperty(JPAProcessInstanceManager.READ_ONLY_CACHE_SIZE, "10");
+        StatefulKnowledgeSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession(kbase, null, env);
+        long processInstanceId = ksession.createProcessInstance(PROCESS_ID, null).getId();
+
+        ProcessInstance readOnly = ksession.getProcessInstance(processInstanceId, true);
+        assertNotNull(readOnly);
+        assertSame(readOnly, ksession.getProcessInstance(processInstanceId, true));
+
+        // sessions created with the same environment (e.g. by a runtime manager) share the cache
+        StatefulKnowledgeSession otherSession = JPAKnowledgeService.newStatefulKnowledgeSession(kbase, null, env);
+        assertSame(readOnly, otherSession.getProcessInstance(processInstanceId, true));
+        otherSession.dispose();
+
+        // the cached process instance is shared, so it cannot be changed
+        try {
+            readOnly.signalEvent("MyEvent", null);
+            fail("Should fail as the process instance is read only");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // loading for update never hands out the cached process instance
+        ProcessInstance forUpdate = ksession.getProcessInstance(processInstanceId);
+        assertNotSame(readOnly, forUpdate);
+
+        // the process instance was updated (with its last read date), so it is unmarshalled again
+        ProcessInstance reloaded = ksession.getProcessInstance(processInstanceId, true);
+        assertNotSame(readOnly, reloaded);
+        assertNotSame(forUpdate, reloaded);
+        assertSame(reloaded, ksession.getProcessInstance(processInstanceId, true));
+
+        ksession.startProcessInstance(processInstanceId);
+        assertNull(ksession.getProcessInstance(processInstanceId, true));
+        ksession.dispose();
+    }
+
+    @Test
+    public void testCacheDisabledByDefault() throws Exception {
+        StatefulKnowledgeSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession(kbase, null, env);
+        long processInstanceId = ksession.createProcessInstance(PROCESS_ID, null).getId();
+
+        ProcessInstance readOnly = ksession.getProcessInstance(processInstanceId, true);
+        assertNotNull(readOnly);
+        assertNotSame(readOnly, ksession.getProcessInstance(processInstanceId, true));
+        ksession.dispose();
+    }
+}
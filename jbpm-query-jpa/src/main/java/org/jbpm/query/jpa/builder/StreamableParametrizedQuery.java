@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.query.jpa.builder;
+
+import java.util.stream.Stream;
+
+import org.kie.internal.query.ParametrizedQuery;
+
+/**
+ * A {@link ParametrizedQuery} whose results can also be retrieved lazily, page by page,
+ * instead of being loaded into a {@link java.util.List} all at once.
+ *
+ * @param <T> The type of the query results
+ */
+public interface StreamableParametrizedQuery<T> extends ParametrizedQuery<T> {
+
+    /**
+     * The returned {@link Stream} may hold on to database resources and should be closed,
+     * preferably with a <code>try</code>-with-resources block.
+     *
+     * @return A {@link Stream} of the query results
+     */
+    Stream<T> getResultStream();
+
+}
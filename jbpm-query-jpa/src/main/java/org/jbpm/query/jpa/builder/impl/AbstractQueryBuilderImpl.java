@@ -21,8 +21,12 @@ import org.kie.internal.query.data.QueryData;
 
 public abstract class AbstractQueryBuilderImpl<T> {
 
+    private static final int DEFAULT_FETCH_SIZE = Integer.parseInt(System.getProperty("org.jbpm.query.stream.fetch.size", "100"));
+
     protected QueryWhere queryWhere = new QueryWhere();
 
+    protected int fetchSize = DEFAULT_FETCH_SIZE;
+
     public QueryWhere getQueryWhere() {
         return queryWhere;
     }
@@ -144,4 +148,40 @@ public abstract class AbstractQueryBuilderImpl<T> {
         this.queryWhere.setOffset(offset);
         return (T) this;
     }
+
+    /**
+     * Only retrieves the results after the given result of a previous query (page), ordered by id.
+     * </p>
+     * Unlike an {@link #offset(int)}, the rows before the given result do not have to be read (and skipped) by the database.
+     *
+     * @param lastId The id of the last result of the previous page
+     */
+    public final T seekAfter( long lastId ) {
+        this.queryWhere.setSeekAfter(lastId);
+        return (T) this;
+    }
+
+    /**
+     * Only retrieves the results after the given result of a previous query (page), when ordered by another field than the id.
+     * </p>
+     * NULL values of the order-by field are ordered after all other values (before them when the order is descending).
+     *
+     * @param lastOrderByValue The value of the order-by field of the last result of the previous page, which may be null
+     * @param lastId The id of the last result of the previous page
+     */
+    public final T seekAfter( Object lastOrderByValue, long lastId ) {
+        this.queryWhere.setSeekAfter(lastOrderByValue, lastId);
+        return (T) this;
+    }
+
+    /**
+     * @param fetchSize The number of results retrieved per round trip to the database when streaming the results
+     */
+    public final T fetchSize( int fetchSize ) {
+        if( fetchSize < 1 ) {
+            throw new IllegalArgumentException( "A fetch size of less than 1 is invalid." );
+        }
+        this.fetchSize = fetchSize;
+        return (T) this;
+    }
 }
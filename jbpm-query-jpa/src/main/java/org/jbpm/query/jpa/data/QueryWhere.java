@@ -16,6 +16,8 @@
 
 package org.jbpm.query.jpa.data;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -34,6 +36,9 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 
 /**
  * THIS CLASS SHOULD NEVER BE EXPOSED IN THE PUBLIC API!!
@@ -87,6 +92,10 @@ public class QueryWhere {
     @XmlElement
     private Integer offset = null;
 
+    @XmlElement(name="seekAfter")
+    @JsonTypeInfo(use=Id.CLASS, include=As.PROPERTY, property="class")
+    private List<Object> seekAfter = null;
+
     @JsonIgnore
     private transient boolean union = true;
 
@@ -260,6 +269,28 @@ public class QueryWhere {
         return this.offset;
     }
 
+    /**
+     * Keyset ("seek") pagination: only results <em>after</em> the given key (in the order of the query) are returned.
+     * </p>
+     * The key is either the (entity) id of the last result of the previous page, or the value of the
+     * order-by field and the id of that result. The id is always used as the last ordering field.
+     * @param lastKey The id, or the order-by field value and the id, of the last result of the previous page
+     */
+    public void setSeekAfter( Object... lastKey ) {
+        if( lastKey == null || lastKey.length == 0 ) {
+            this.seekAfter = null;
+            return;
+        }
+        if( lastKey.length > 2 ) {
+            throw new IllegalArgumentException("A seek criteria consists of at most the order-by value and the id, not " + lastKey.length + " values");
+        }
+        this.seekAfter = new ArrayList<Object>(Arrays.asList(lastKey));
+    }
+
+    public List<Object> getSeekAfter() {
+        return this.seekAfter;
+    }
+
     public QueryCriteriaType getCriteriaType() {
        return this.type;
     }
@@ -322,6 +353,7 @@ public class QueryWhere {
         this.offset = null;
         this.orderByListId = null;
         this.ascOrDesc = null;
+        this.seekAfter = null;
 
        this.joinPredicates = null;
     }
@@ -336,6 +368,9 @@ public class QueryWhere {
        this.orderByListId = queryWhere.orderByListId;
        this.maxResults = queryWhere.maxResults;
        this.offset = queryWhere.offset;
+       if( queryWhere.seekAfter != null ) {
+           this.seekAfter = new ArrayList<Object>(queryWhere.seekAfter);
+       }
 
        this.joinPredicates = queryWhere.joinPredicates;
     }
@@ -20,6 +20,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -27,12 +28,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
 
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaBuilder.In;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
@@ -41,6 +45,8 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Bindable;
+import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 
@@ -55,6 +61,10 @@ public abstract class QueryCriteriaUtil {
     private Map<Class, Map<String, Attribute>> criteriaAttributes;
     private final AtomicBoolean criteriaAttributesInitialized = new AtomicBoolean(false);
 
+    private static final ThreadLocal<QueryParameterBindings> parameterBindings = new ThreadLocal<QueryParameterBindings>();
+
+    private QueryPlanCache queryPlanCache = QueryPlanCache.getDefault();
+
     public QueryCriteriaUtil(Map<Class, Map<String, Attribute>> criteriaAttributes) {
         initialize(criteriaAttributes);
     }
@@ -78,6 +88,17 @@ public abstract class QueryCriteriaUtil {
         return criteriaAttributes;
     }
 
+    public QueryPlanCache getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
+    /**
+     * @param queryPlanCache the {@link QueryPlanCache} to use, or null to disable caching of query plans
+     */
+    public void setQueryPlanCache(QueryPlanCache queryPlanCache) {
+        this.queryPlanCache = queryPlanCache;
+    }
+
     // List cast conversion methods -----------------------------------------------------------------------------------------------
 
     @SuppressWarnings("unchecked")
@@ -148,6 +169,28 @@ public abstract class QueryCriteriaUtil {
         return result;
     }
 
+    /**
+     * This method does the same as {@link #doCriteriaQuery(QueryWhere, Class)}, except that the results are
+     * retrieved lazily, <code>fetchSize</code> rows at a time, instead of being loaded into a {@link List}.
+     * </p>
+     * The returned {@link Stream} holds on to database resources and <b>must</b> be closed.
+     *
+     * @param queryWhere a {@link QueryWhere} instance containing the query criteria
+     * @param queryType The type ({@link Class}) of the result
+     * @param fetchSize The number of rows retrieved per round trip to the database
+     * @return The result of the query, a {@link Stream}.
+     */
+    public <T> Stream<T> doCriteriaQueryStream( QueryWhere queryWhere, Class<T> queryType, int fetchSize ) {
+        CriteriaBuilder builder = getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = builder.createQuery(queryType);
+
+        criteriaQuery.select(criteriaQuery.from(queryType));
+
+        fillCriteriaQuery(criteriaQuery, queryWhere, builder, queryType);
+
+        return createQueryAndCallApplyMetaCriteriaAndGetResultStream(queryWhere, criteriaQuery, builder, fetchSize);
+    }
+
     // query logic ----------------------------------------------------------------------------------------------------------------
 
     /**
@@ -160,23 +203,208 @@ public abstract class QueryCriteriaUtil {
      */
     protected <R,T> void fillCriteriaQuery( CriteriaQuery<R> query, QueryWhere queryWhere, CriteriaBuilder builder, Class<T> queryType ) {
 
+        // the shape has to be determined before the range criteria are combined
+        if( queryPlanCache != null ) {
+            parameterBindings.set(new QueryParameterBindings(createQueryShapeKey(query, queryWhere, queryType)));
+        } else {
+            parameterBindings.remove();
+        }
+
         Predicate queryPredicate = createPredicateFromCriteriaList(query, builder, queryType, queryWhere.getCriteria(), queryWhere );
 
+        Expression orderByPath = null;
+        if( queryWhere.getAscOrDesc() != null ) {
+            String orderByListId = queryWhere.getOrderByListId();
+            assert orderByListId != null : "Ascending boolean is set but no order by list Id has been specified!";
+            orderByPath = getOrderByExpression(query, queryType, orderByListId);
+        }
+
+        Path idPath = null;
+        if( queryWhere.getSeekAfter() != null || (orderByPath != null && ! isIdPath(orderByPath)) ) {
+            idPath = getIdPath(query, queryType);
+        }
+
+        // the databases disagree on where NULL values are ordered, so that is made explicit
+        Expression nullsLastKey = null;
+        if( orderByPath != null && ! isIdPath(orderByPath) && isNullable(orderByPath) ) {
+            nullsLastKey = getNullsLastKey(query, builder, orderByPath);
+            if( nullsLastKey == null && queryWhere.getSeekAfter() != null ) {
+                throw new IllegalStateException("Seeking past the results is not supported when ordering by the nullable field "
+                        + queryWhere.getOrderByListId() + ".");
+            }
+        }
+
+        if( queryWhere.getSeekAfter() != null ) {
+            Predicate seekPredicate = createSeekPredicate(builder, queryWhere, orderByPath, idPath, nullsLastKey != null);
+            queryPredicate = queryPredicate == null ? seekPredicate : builder.and(queryPredicate, seekPredicate);
+        }
+
         if( queryPredicate != null ) {
             query.where(queryPredicate);
         }
 
+        boolean ascending = queryWhere.getAscOrDesc() == null || queryWhere.getAscOrDesc();
+        List<Order> orderList = new ArrayList<Order>(3);
+        if( nullsLastKey != null ) {
+            orderList.add(ascending ? builder.asc(nullsLastKey) : builder.desc(nullsLastKey));
+        }
+        if( orderByPath != null ) {
+            orderList.add(ascending ? builder.asc(orderByPath) : builder.desc(orderByPath));
+        }
+        // the id makes the order deterministic, which is required to page through the results with a key set
+        if( idPath != null && (orderByPath == null || ! isIdPath(orderByPath)) ) {
+            orderList.add(ascending ? builder.asc(idPath) : builder.desc(idPath));
+        }
+        if( ! orderList.isEmpty() ) {
+            query.orderBy(orderList);
+        }
+    }
+
+    /**
+     * Creates the key set ("seek") {@link Predicate} that only selects the rows after the last row of the previous page:
+     * <ul>
+     * <li><code>id &gt; :lastId</code>, when ordered by id</li>
+     * <li><code>orderBy &gt; :lastValue or (orderBy = :lastValue and id &gt; :lastId)</code>, when ordered by another field</li>
+     * </ul>
+     * (or <code>&lt;</code> when the order is descending)
+     * </p>
+     * When the order-by field is nullable, the NULL values are ordered after all other values (before them when the order
+     * is descending), see {@link #getNullsLastKey(CriteriaQuery, CriteriaBuilder, Expression)}, and the predicate selects
+     * them accordingly: <code>... or orderBy is null</code> after a non NULL value and
+     * <code>orderBy is null and id &gt; :lastId</code> after a NULL value (vice versa when the order is descending).
+     */
+    private static Predicate createSeekPredicate( CriteriaBuilder builder, QueryWhere queryWhere, Expression orderByPath, Path idPath, boolean nullable ) {
+        List<Object> seekAfter = queryWhere.getSeekAfter();
+        boolean ascending = queryWhere.getAscOrDesc() == null || queryWhere.getAscOrDesc();
+
+        Object lastId = seekAfter.get(seekAfter.size()-1);
+        Expression lastIdExpr = valueExpression(builder, (Class) idPath.getJavaType(), lastId);
+        Predicate afterId = ascending ? builder.greaterThan(idPath, lastIdExpr) : builder.lessThan(idPath, lastIdExpr);
+        if( seekAfter.size() == 1 ) {
+            if( orderByPath != null && ! isIdPath(orderByPath) ) {
+                throw new IllegalStateException("The value of the order-by field (" + queryWhere.getOrderByListId()
+                        + ") of the last result is required to seek past it.");
+            }
+            return afterId;
+        }
+
+        if( orderByPath == null ) {
+            throw new IllegalStateException("A key set with an order-by value can only be used when ordering the results.");
+        }
+        Object lastValue = seekAfter.get(0);
+        if( lastValue == null ) {
+            if( ! nullable ) {
+                throw new IllegalStateException("The value of the order-by field (" + queryWhere.getOrderByListId()
+                        + ") of the last result can not be null.");
+            }
+            // the NULL values come last, unless the order is descending
+            Predicate afterNull = builder.and(builder.isNull(orderByPath), afterId);
+            return ascending ? afterNull : builder.or(afterNull, builder.isNotNull(orderByPath));
+        }
+        Expression lastValueExpr = valueExpression(builder, (Class) orderByPath.getJavaType(), lastValue);
+        Predicate afterValue = ascending ? builder.greaterThan(orderByPath, lastValueExpr) : builder.lessThan(orderByPath, lastValueExpr);
+        lastValueExpr = valueExpression(builder, (Class) orderByPath.getJavaType(), lastValue);
+        Predicate seekPredicate = builder.or(afterValue, builder.and(builder.equal(orderByPath, lastValueExpr), afterId));
+        if( nullable && ascending ) {
+            seekPredicate = builder.or(seekPredicate, builder.isNull(orderByPath));
+        }
+        return seekPredicate;
+    }
+
+    /**
+     * Returns the expression ordering the results by whether the given order-by field is NULL, so that NULL values are
+     * ordered after all other values (or before them when the order is descending) on every database.
+     *
+     * @return the expression, or <code>null</code> when the NULL values can not be ordered explicitly in the given query
+     * (which rules out seeking past results ordered by a nullable field)
+     */
+    protected <R> Expression<Integer> getNullsLastKey( CriteriaQuery<R> query, CriteriaBuilder builder, Expression orderByPath ) {
+        return builder.<Integer>selectCase()
+                .when(builder.isNull(orderByPath), builder.literal(1))
+                .otherwise(builder.literal(0));
+    }
+
+    private static boolean isNullable( Expression expression ) {
+        if( expression instanceof Path ) {
+            Bindable model = ((Path) expression).getModel();
+            return ! (model instanceof SingularAttribute) || ((SingularAttribute) model).isOptional();
+        }
+        return true;
+    }
+
+    private static <T> Path getIdPath( CriteriaQuery<T> query, Class queryType ) {
+        Root table = getRoot(query, queryType);
+        assert table != null : "Unable to find proper table (Root) instance in query for result type " + queryType.getSimpleName();
+        EntityType model = table.getModel();
+        return table.get(model.getId(model.getIdType().getJavaType()));
+    }
+
+    private static boolean isIdPath( Expression expression ) {
+        if( expression instanceof Path ) {
+            Bindable model = ((Path) expression).getModel();
+            return model instanceof SingularAttribute && ((SingularAttribute) model).isId();
+        }
+        return false;
+    }
+
+    /**
+     * Creates the key used by the {@link QueryPlanCache}: queries with the same key only differ in the values of their criteria.
+     *
+     * @param query The {@link CriteriaQuery} that will be filled
+     * @param queryWhere The {@link QueryWhere} instance with the criteria
+     * @param queryType The {@link Class} indicating the main {@link Root} of the {@link CriteriaQuery}
+     * @return The key describing the structure of the query
+     */
+    protected <R,T> String createQueryShapeKey( CriteriaQuery<R> query, QueryWhere queryWhere, Class<T> queryType ) {
+        StringBuilder key = new StringBuilder(getClass().getName());
+        key.append('|').append(queryType.getName()).append('|').append(query.getResultType().getName()).append('|');
+        appendCriteriaShape(key, queryWhere.getCriteria());
         if( queryWhere.getAscOrDesc() != null ) {
-            String orderByListId = queryWhere.getOrderByListId();
-            assert orderByListId != null : "Ascending boolean is set but no order by list Id has been specified!";
-            Expression orderByPath = getOrderByExpression(query, queryType, orderByListId);
-            Order order;
-            if( queryWhere.getAscOrDesc() ) {
-               order = builder.asc(orderByPath);
+            key.append("|order:").append(queryWhere.getOrderByListId()).append(queryWhere.getAscOrDesc() ? ":asc" : ":desc");
+        }
+        key.append("|count:").append(queryWhere.getCount() != null);
+        key.append("|offset:").append(queryWhere.getOffset() != null);
+        if( queryWhere.getSeekAfter() != null ) {
+            key.append("|seek:").append(queryWhere.getSeekAfter().size());
+            if( queryWhere.getSeekAfter().get(0) == null ) {
+                key.append(":null");
+            }
+        }
+        return key.toString();
+    }
+
+    private static void appendCriteriaShape( StringBuilder key, List<QueryCriteria> criteriaList ) {
+        key.append('[');
+        for( QueryCriteria criteria : criteriaList ) {
+            key.append('(').append(criteria.getListId())
+               .append(',').append(criteria.getType())
+               .append(',').append(criteria.isUnion() ? 'u' : 'i')
+               .append(criteria.isFirst() ? ",f" : "");
+            if( criteria.isGroupCriteria() ) {
+                appendCriteriaShape(key, criteria.getCriteria());
             } else {
-               order = builder.desc(orderByPath);
+                if( criteria.hasValues() ) {
+                    appendValuesShape(key.append(",v"), criteria.getValues());
+                }
+                if( criteria.hasDateValues() ) {
+                    appendValuesShape(key.append(",d"), criteria.getDateValues());
+                }
+            }
+            key.append(')');
+        }
+        key.append(']');
+    }
+
+    private static void appendValuesShape( StringBuilder key, List<?> values ) {
+        // null values determine the range operator and collections are expanded to one parameter per element
+        for( Object value : values ) {
+            if( value == null ) {
+                key.append('n');
+            } else if( value instanceof Collection ) {
+                key.append('c').append(((Collection<?>) value).size());
+            } else {
+                key.append('x');
             }
-            query.orderBy(order);
         }
     }
 
@@ -407,6 +635,10 @@ public abstract class QueryCriteriaUtil {
             Expression entityField = getEntityField(query, listId, attr);
             predicate = basicCreatePredicateFromSingleCriteria(builder, entityField, criteria);
         } else {
+           QueryParameterBindings bindings = parameterBindings.get();
+           if( bindings != null && ! isQueryPlanCacheable(criteria) ) {
+               bindings.setCacheable(false);
+           }
            predicate = implSpecificCreatePredicateFromSingleCriteria(query, builder, queryType, criteria, queryWhere );
         }
 
@@ -483,16 +715,29 @@ public abstract class QueryCriteriaUtil {
         List<Object> parameters = criteria.getParameters();
         int numParameters = parameters.size();
         assert ! parameters.isEmpty() : "Empty parameters for criteria [" + criteria.toString() + "]";
+        QueryParameterBindings bindings = parameterBindings.get();
         switch ( criteria.getType() ) {
         case NORMAL:
             if( numParameters == 1 ) {
                 Object parameter = parameters.get(0);
                 assert parameter != null : "Null parameter for criteria [" + criteria.toString() + "]";
-                predicate = builder.equal(entityField, parameter);
+                if( bindings != null ) {
+                    predicate = builder.equal(entityField, bindings.parameter(builder, (Class) parameter.getClass(), parameter));
+                } else {
+                    predicate = builder.equal(entityField, parameter);
+                }
             } else {
                 assert parameters.get(0) != null : "Null 1rst parameter for criteria [" + criteria.toString() + "]";
                 assert parameters.get(parameters.size()-1) != null : "Null last parameter for criteria [" + criteria.toString() + "]";
-                predicate = entityField.in(parameters);
+                if( bindings != null ) {
+                    In in = builder.in(entityField);
+                    for( Object parameter : parameters ) {
+                        in.value(bindings.parameter(builder, (Class) parameter.getClass(), parameter));
+                    }
+                    predicate = in;
+                } else {
+                    predicate = entityField.in(parameters);
+                }
             }
             break;
         case REGEXP:
@@ -500,7 +745,12 @@ public abstract class QueryCriteriaUtil {
             for( Object param : parameters ) {
                 assert param != null : "Null regular expression parameter for criteria [" + criteria.toString() + "]";
                 String likeRegex = convertRegexToJPALikeExpression((String) param );
-                Predicate regexPredicate = builder.like((Expression<String>) entityField, likeRegex);
+                Predicate regexPredicate;
+                if( bindings != null ) {
+                    regexPredicate = builder.like((Expression<String>) entityField, bindings.parameter(builder, String.class, likeRegex));
+                } else {
+                    regexPredicate = builder.like((Expression<String>) entityField, likeRegex);
+                }
                 predicateList.add(regexPredicate);
             }
             if( predicateList.size() == 1 ) {
@@ -518,7 +768,7 @@ public abstract class QueryCriteriaUtil {
             assert numParameters > 0 && numParameters < 3: "Range expressions may only contain between 1 and 2 parameters, not " + numParameters + " [" + criteria.toString() + "]";
             Object [] rangeObjArr = parameters.toArray();
             Class rangeType = rangeObjArr[0] != null ? rangeObjArr[0].getClass() : rangeObjArr[1].getClass();
-            predicate = createRangePredicate( builder, entityField, rangeObjArr[0], rangeObjArr[1], rangeType);
+            predicate = createRangePredicate( builder, entityField, rangeObjArr[0], rangeObjArr[1], rangeType, bindings);
             break;
         default:
             throw new IllegalStateException("Unknown criteria type: " + criteria.getType());
@@ -547,10 +797,20 @@ public abstract class QueryCriteriaUtil {
      * @param start The start value of the range, or null if open-ended (on the lower end)
      * @param end The end value of the range, or null if open-ended (on the upper end)
      * @param rangeType The {@link Class} or the parameter values
+     * @param bindings The {@link QueryParameterBindings} to add the start and end values to, or null to use literals
      * @return The created {@link Predicate}
      */
     @SuppressWarnings("unchecked")
-    private static <Y extends Comparable<? super Y>> Predicate createRangePredicate( CriteriaBuilder builder, Expression field, Object start, Object end, Class<Y> rangeType ) {
+    private static <Y extends Comparable<? super Y>> Predicate createRangePredicate( CriteriaBuilder builder, Expression field, Object start, Object end, Class<Y> rangeType, QueryParameterBindings bindings ) {
+        if( bindings != null ) {
+            if( start != null && end != null ) {
+                return builder.between(field, bindings.parameter(builder, rangeType, (Y) start), bindings.parameter(builder, rangeType, (Y) end));
+            } else if ( start != null ) {
+                return builder.greaterThanOrEqualTo(field, bindings.parameter(builder, rangeType, (Y) start));
+            } else {
+                return builder.lessThanOrEqualTo(field, bindings.parameter(builder, rangeType, (Y) end));
+            }
+        }
         if( start != null && end != null ) {
             // TODO :asserts!
             return builder.between(field, (Y) start, (Y) end);
@@ -561,6 +821,37 @@ public abstract class QueryCriteriaUtil {
         }
     }
 
+    /**
+     * Helper method for implementation specific {@link Predicate}s: when the query plan is cached, the value
+     * is added to the query as a parameter, otherwise it is added as a literal.
+     * </p>
+     * Implementation specific criteria that only use values created by this method should be
+     * accepted by {@link #isQueryPlanCacheable(QueryCriteria)}.
+     *
+     * @param builder The {@link CriteriaBuilder}, helpful when creating {@link Predicate}s to add to the {@link CriteriaQuery}
+     * @param type The {@link Class} of the value
+     * @param value The value
+     * @return An {@link Expression} representing the value
+     */
+    protected static <V> Expression<V> valueExpression( CriteriaBuilder builder, Class<V> type, V value ) {
+        QueryParameterBindings bindings = parameterBindings.get();
+        if( bindings != null ) {
+            return bindings.parameter(builder, type, value);
+        }
+        return builder.literal(value);
+    }
+
+    /**
+     * Implementation specific criteria can add any literal value to the query, which means that the query
+     * can not be reused for other values. Such queries are not cached, unless this method is overridden.
+     *
+     * @param criteria An implementation specific {@link QueryCriteria}
+     * @return Whether the values of the criteria are only added to the query using {@link #valueExpression(CriteriaBuilder, Class, Object)}
+     */
+    protected boolean isQueryPlanCacheable( QueryCriteria criteria ) {
+        return false;
+    }
+
     /**
      * Some criteria do not directly refer to a field, such as those stored
      * in the criteria attributes {@link Map<Class, Map<String, Attribute>>} passed
@@ -613,6 +904,70 @@ public abstract class QueryCriteriaUtil {
             CriteriaQuery<T> criteriaQuery,
             CriteriaBuilder builder);
 
+    /**
+     * This method does the same as {@link #createQueryAndCallApplyMetaCriteriaAndGetResult(QueryWhere, CriteriaQuery, CriteriaBuilder)},
+     * except that the {@link EntityManager} (and transaction) may only be closed when the returned {@link Stream} is closed.
+     * </p>
+     * By default, the full result is retrieved and then streamed: implementations that manage their own
+     * {@link EntityManager} should override this method and use {@link #getResultStream(EntityManager, Query, int)}.
+     *
+     * @param criteriaQuery The created and filled {@link CriteriaQuery} instance
+     * @param builder The {@link CriteriaBuilder}, helpful when creating {@link Predicate}s to add to the {@link CriteriaQuery}
+     * @param queryWhere The {@link QueryWhere} instance containing the meta criteria information.
+     * @param fetchSize The number of rows retrieved per round trip to the database
+     * @return A {@link Stream} of instances, representing the query result.
+     */
+    // @formatter:off
+    protected <T> Stream<T> createQueryAndCallApplyMetaCriteriaAndGetResultStream(
+            QueryWhere queryWhere,
+            CriteriaQuery<T> criteriaQuery,
+            CriteriaBuilder builder,
+            int fetchSize) {
+        return createQueryAndCallApplyMetaCriteriaAndGetResult(queryWhere, criteriaQuery, builder).stream();
+    }
+
+    /**
+     * Retrieves the results of a {@link Query} as a (read-only) {@link Stream}: every entity is detached from the
+     * {@link EntityManager} once the next one has been retrieved, so that the persistence context does not grow
+     * with the number of results.
+     *
+     * @param em The {@link EntityManager} instance used to create the query
+     * @param query The {@link Query} instance, with the meta criteria applied
+     * @param fetchSize The number of rows retrieved per round trip to the database
+     * @return A {@link Stream} with the result of the query
+     */
+    protected static <T> Stream<T> getResultStream(final EntityManager em, Query query, int fetchSize) {
+        query.setHint("org.hibernate.fetchSize", fetchSize);
+        query.setHint("org.hibernate.readOnly", true);
+        Stream<T> resultStream = query.getResultStream();
+        final Object [] previous = new Object[1];
+        return resultStream.map(result -> {
+            if( previous[0] != null && previous[0].getClass().isAnnotationPresent(Entity.class) ) {
+                em.detach(previous[0]);
+            }
+            previous[0] = result;
+            return result;
+        });
+    }
+
+    /**
+     * Creates the {@link Query} instance from the {@link CriteriaQuery} filled by the
+     * {@link #fillCriteriaQuery(CriteriaQuery, QueryWhere, CriteriaBuilder, Class)} method, reusing the JPQL
+     * of a previous query with the same shape when the {@link QueryPlanCache} is enabled.
+     *
+     * @param em The {@link EntityManager} instance
+     * @param criteriaQuery The created and filled {@link CriteriaQuery} instance
+     * @return The {@link Query} instance, with all criteria values bound
+     */
+    protected <T> Query createQuery(EntityManager em, CriteriaQuery<T> criteriaQuery) {
+        QueryParameterBindings bindings = parameterBindings.get();
+        if( bindings == null ) {
+            return em.createQuery(criteriaQuery);
+        }
+        parameterBindings.remove();
+        return queryPlanCache.createQuery(em, criteriaQuery, bindings);
+    }
+
     /**
      * Small method to apply the meta criteria from the {@link QueryWhere} instance to the {@link Query} instance
      * @param query The {@link Query} instance
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.query.jpa.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.ParameterExpression;
+
+/**
+ * Collects the values of a query that is being built with named {@link ParameterExpression}s instead of literals,
+ * together with the structural key (shape) of the query they belong to.
+ * </p>
+ * Parameters are named in the order in which they are created, so that two queries with the same shape
+ * always produce the same JPQL and only differ in the bound values.
+ * </p>
+ * This class is <em>not</em> thread-safe and should only be used while building and executing a single query.
+ */
+class QueryParameterBindings {
+
+    private static final String PARAMETER_NAME_PREFIX = "qp";
+
+    private final String shapeKey;
+    private final List<Object> values = new ArrayList<Object>();
+    private boolean cacheable = true;
+
+    QueryParameterBindings(String shapeKey) {
+        this.shapeKey = shapeKey;
+    }
+
+    <V> ParameterExpression<V> parameter(CriteriaBuilder builder, Class<V> type, V value) {
+        ParameterExpression<V> parameter = builder.parameter(type, PARAMETER_NAME_PREFIX + values.size());
+        values.add(value);
+        return parameter;
+    }
+
+    void bind(Query query) {
+        for( int i = 0; i < values.size(); ++i ) {
+            query.setParameter(PARAMETER_NAME_PREFIX + i, values.get(i));
+        }
+    }
+
+    boolean isBound(String parameterName) {
+        if( parameterName == null || ! parameterName.startsWith(PARAMETER_NAME_PREFIX) ) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(parameterName.substring(PARAMETER_NAME_PREFIX.length())) < values.size();
+        } catch( NumberFormatException nfe ) {
+            return false;
+        }
+    }
+
+    String getShapeKey() {
+        return shapeKey;
+    }
+
+    boolean isCacheable() {
+        return cacheable;
+    }
+
+    void setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.query.jpa.impl;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaQuery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the JPQL rendered for {@link CriteriaQuery} instances built by a {@link QueryCriteriaUtil},
+ * keyed by the shape of the query: the fields, operators and number of values of the criteria, the ordering and
+ * whether paging is used.
+ * </p>
+ * Queries with a cached shape are created directly from the cached JPQL (which in turn hits the query plan cache
+ * of the persistence provider, as the JPQL string is the same) and only the values of the criteria are bound.
+ * </p>
+ * The cache is disabled unless the <code>org.jbpm.query.plan.cache.size</code> system property is set to the
+ * (maximum) number of query shapes to keep. Retrieving the JPQL of a criteria query is only supported with Hibernate,
+ * other persistence providers execute the queries as if the cache was disabled.
+ */
+public class QueryPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanCache.class);
+
+    private static final int DEFAULT_SIZE = Integer.parseInt(System.getProperty("org.jbpm.query.plan.cache.size", "0"));
+
+    private static final QueryPlanCache DEFAULT = DEFAULT_SIZE > 0 ? new QueryPlanCache(DEFAULT_SIZE) : null;
+
+    private final Map<String, String> plans;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong uncacheable = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public QueryPlanCache(final int maxSize) {
+        this.plans = new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if( size() > maxSize ) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cache configured with the <code>org.jbpm.query.plan.cache.size</code> system property,
+     * or null when the cache is disabled
+     */
+    public static QueryPlanCache getDefault() {
+        return DEFAULT;
+    }
+
+    <T> Query createQuery(EntityManager em, CriteriaQuery<T> criteriaQuery, QueryParameterBindings bindings) {
+        if( ! bindings.isCacheable() ) {
+            uncacheable.incrementAndGet();
+            Query query = em.createQuery(criteriaQuery);
+            bindings.bind(query);
+            return query;
+        }
+
+        String shapeKey = bindings.getShapeKey();
+        String jpql;
+        synchronized( plans ) {
+            jpql = plans.get(shapeKey);
+        }
+
+        Query query;
+        if( jpql != null ) {
+            hits.incrementAndGet();
+            query = em.createQuery(jpql, criteriaQuery.getResultType());
+        } else {
+            misses.incrementAndGet();
+            query = em.createQuery(criteriaQuery);
+            jpql = getQueryString(query, bindings);
+            if( jpql != null ) {
+                synchronized( plans ) {
+                    plans.put(shapeKey, jpql);
+                }
+            }
+        }
+        bindings.bind(query);
+        return query;
+    }
+
+    private static String getQueryString(Query query, QueryParameterBindings bindings) {
+        String jpql;
+        try {
+            // e.g. org.hibernate.query.Query#getQueryString()
+            Method getQueryString = query.getClass().getMethod("getQueryString");
+            jpql = (String) getQueryString.invoke(query);
+        } catch( Exception e ) {
+            logger.debug("Unable to retrieve JPQL of query {}: {}", query, e.getMessage());
+            return null;
+        }
+        // literals (instead of parameters) in the query are bound by the provider and can not be reused
+        for( Parameter<?> parameter : query.getParameters() ) {
+            if( ! bindings.isBound(parameter.getName()) ) {
+                logger.debug("Not caching query with unbound parameter {}: {}", parameter.getName(), jpql);
+                return null;
+            }
+        }
+        return jpql;
+    }
+
+    // metrics --------------------------------------------------------------------------------------------------------------------
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getUncacheable() {
+        return uncacheable.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRate() {
+        long hits = this.hits.get();
+        long lookups = hits + misses.get() + uncacheable.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public int size() {
+        synchronized( plans ) {
+            return plans.size();
+        }
+    }
+
+    public void clear() {
+        synchronized( plans ) {
+            plans.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+        uncacheable.set(0);
+        evictions.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryPlanCache [size=" + size() + ", hits=" + hits.get() + ", misses=" + misses.get()
+                + ", uncacheable=" + uncacheable.get() + ", evictions=" + evictions.get()
+                + ", hitRate=" + String.format("%.2f", getHitRate()) + "]";
+    }
+
+}
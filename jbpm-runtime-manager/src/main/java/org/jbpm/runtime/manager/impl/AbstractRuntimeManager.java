@@ -32,6 +32,7 @@ import org.jbpm.process.core.timer.GlobalSchedulerService;
 import org.jbpm.process.core.timer.TimerServiceRegistry;
 import org.jbpm.process.core.timer.impl.GlobalTimerService;
 import org.jbpm.runtime.manager.api.SchedulerProvider;
+import org.jbpm.runtime.manager.impl.error.AsyncExecutionErrorStorage;
 import org.jbpm.runtime.manager.impl.error.DefaultExecutionErrorStorage;
 import org.jbpm.runtime.manager.impl.error.ExecutionErrorManagerImpl;
 import org.jbpm.runtime.manager.impl.tx.NoOpTransactionManager;
@@ -123,7 +124,11 @@ public abstract class AbstractRuntimeManager implements InternalRuntimeManager {
         }
         ExecutionErrorStorage storage = (ExecutionErrorStorage) ((SimpleRuntimeEnvironment)environment).getEnvironmentTemplate().get("ExecutionErrorStorage");
         if (storage == null) {
-            storage = new DefaultExecutionErrorStorage(environment.getEnvironment());
+            if (AsyncExecutionErrorStorage.isEnabled()) {
+                storage = new AsyncExecutionErrorStorage(environment.getEnvironment());
+            } else {
+                storage = new DefaultExecutionErrorStorage(environment.getEnvironment());
+            }
         }
         this.executionErrorManager = new ExecutionErrorManagerImpl(storage);
         ((SimpleRuntimeEnvironment)environment).getEnvironmentTemplate().set(EnvironmentName.EXEC_ERROR_MANAGER, executionErrorManager);
@@ -227,6 +232,11 @@ public abstract class AbstractRuntimeManager implements InternalRuntimeManager {
     }
     
     public void close(boolean removeJobs) {
+        ExecutionErrorStorage storage = executionErrorManager.getStorage();
+        if (storage instanceof AsyncExecutionErrorStorage) {
+            // write buffered errors while the entity manager factory is still open
+            ((AsyncExecutionErrorStorage) storage).close();
+        }
     	cacheManager.dispose();
         environment.close();
         registry.remove(identifier);
@@ -329,6 +339,17 @@ public abstract class AbstractRuntimeManager implements InternalRuntimeManager {
         return false;
     }
 
+    /*
+     * timers of existing sessions are initialized on start unless disabled or scheduler service fires stored timers on its own
+     */
+    protected boolean isTimerInitRequired() {
+        if ("false".equalsIgnoreCase(System.getProperty("org.jbpm.rm.init.timer"))) {
+            return false;
+        }
+        GlobalSchedulerService schedulerService = ((SchedulerProvider) environment).getSchedulerService();
+        return schedulerService == null || schedulerService.isTimerInitRequired();
+    }
+
     protected boolean hasEnvironmentEntry(String name, Object value) {
     	Object envEntry = environment.getEnvironment().get(name);
     	if (value == null) {
@@ -19,6 +19,7 @@ import javax.naming.InitialContext;
 import javax.persistence.EntityManagerFactory;
 
 import org.jbpm.process.core.timer.GlobalSchedulerService;
+import org.jbpm.process.core.timer.impl.DBSchedulerService;
 import org.jbpm.process.core.timer.impl.QuartzSchedulerService;
 import org.jbpm.process.core.timer.impl.ThreadPoolSchedulerService;
 import org.jbpm.runtime.manager.impl.identity.UserDataServiceProvider;
@@ -89,6 +90,8 @@ public class DefaultRuntimeEnvironment extends SimpleRuntimeEnvironment {
     protected static GlobalSchedulerService discoverSchedulerService() {
         if (System.getProperty("org.quartz.properties") != null) {
             return new QuartzSchedulerService();
+        } else if (System.getProperty(DBSchedulerService.DATASOURCE_PROPERTY) != null) {
+            return new DBSchedulerService();
         } else {
         	// if there is ejb scheduler service available make use of it unless it's disabled
         	if (!"true".equalsIgnoreCase(System.getProperty("org.kie.timer.ejb.disabled"))) {
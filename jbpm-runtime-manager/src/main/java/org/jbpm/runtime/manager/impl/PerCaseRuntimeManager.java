@@ -448,7 +448,7 @@ public class PerCaseRuntimeManager extends AbstractRuntimeManager {
             factory.onDispose(initialKsession.getIdentifier());
             initialKsession.execute(new DestroyKSessionCommand(initialKsession, this));
     
-            if (!"false".equalsIgnoreCase(System.getProperty("org.jbpm.rm.init.timer"))) {
+            if (isTimerInitRequired()) {
                 if (mapper instanceof JPAMapper) {
                     List<Long> ksessionsToInit = ((JPAMapper) mapper).findKSessionToInit(this.identifier);
                     for (Long id : ksessionsToInit) {
@@ -15,7 +15,6 @@
  */
 package org.jbpm.runtime.manager.impl;
 
-import org.drools.core.time.TimerService;
 import org.jbpm.process.core.timer.GlobalSchedulerService;
 import org.jbpm.process.core.timer.TimerServiceRegistry;
 import org.jbpm.process.core.timer.impl.GlobalTimerService;
@@ -143,7 +142,8 @@ public class RuntimeManagerFactoryImpl implements RuntimeManagerFactory {
         if (environment instanceof SchedulerProvider) {
             GlobalSchedulerService schedulerService = ((SchedulerProvider) environment).getSchedulerService();  
             if (schedulerService != null) {
-                TimerService globalTs = new GlobalTimerService(manager, schedulerService);
+                GlobalTimerService globalTs = new GlobalTimerService(manager, schedulerService);
+                globalTs.setSharedSession(manager instanceof SingletonRuntimeManager);
                 String timerServiceId = manager.getIdentifier()  + TimerServiceRegistry.TIMER_SERVICE_SUFFIX;
                 // and register it in the registry under 'default' key
                 TimerServiceRegistry.getInstance().registerTimerService(timerServiceId, globalTs);
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.runtime.manager.impl.error;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.persistence.EntityManager;
+
+import org.jbpm.runtime.manager.impl.AbstractRuntimeManager;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.manager.RuntimeManager;
+import org.kie.internal.runtime.error.ExecutionError;
+import org.kie.internal.runtime.error.ExecutionErrorStorage;
+import org.kie.internal.runtime.manager.RuntimeManagerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execution error storage that buffers errors in memory and writes them off the failing thread, in batches of
+ * errors per transaction (sent as JDBC batches when the persistence unit configures <code>hibernate.jdbc.batch_size</code>).
+ * </p>
+ * The buffer is bounded, errors that do not fit anymore are stored synchronously as with the
+ * {@link DefaultExecutionErrorStorage}. Errors identical (same type, message, deployment, process instance,
+ * activity and job) to one buffered or stored within the deduplication window are not stored again, so that
+ * failures that repeat (e.g. while a downstream system is down) do not produce a storm of inserts. Buffered errors
+ * are written before errors are read or acknowledged (also by the admin services, see {@link #flush(String)}), and
+ * when the storage is closed.
+ * </p>
+ * Enabled for runtime managers (that are not given a storage of their own) with the {@link #ENABLED} system property.
+ */
+public class AsyncExecutionErrorStorage extends DefaultExecutionErrorStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExecutionErrorStorage.class);
+
+    public static final String ENABLED = "org.jbpm.error.storage.async";
+    public static final String BUFFER_SIZE = "org.jbpm.error.storage.async.buffer.size";
+    public static final String BATCH_SIZE = "org.jbpm.error.storage.async.batch.size";
+    /**
+     * Time (in milliseconds) within which identical errors are stored only once, 0 disables deduplication.
+     */
+    public static final String DEDUPLICATION_WINDOW = "org.jbpm.error.storage.async.deduplication.window";
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final BlockingQueue<ExecutionError> buffer;
+    private final int batchSize;
+    private final long deduplicationWindow;
+
+    // last time (per error key) an error was stored
+    private final ConcurrentMap<String, Long> recentErrors = new ConcurrentHashMap<>();
+    // keys of the errors that are buffered but not stored yet
+    private final Set<String> pendingErrors = ConcurrentHashMap.newKeySet();
+    private volatile long lastPruned;
+
+    // one permit per buffered error, so that the writer waits for errors without taking them from the buffer
+    private final Semaphore buffered = new Semaphore(0);
+    // held while errors taken from the buffer are written, so that flush returns only once they are written
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    public AsyncExecutionErrorStorage(Environment environment) {
+        this(environment,
+             Integer.getInteger(BUFFER_SIZE, 1000),
+             Integer.getInteger(BATCH_SIZE, 50),
+             Long.getLong(DEDUPLICATION_WINDOW, 60000));
+    }
+
+    public AsyncExecutionErrorStorage(Environment environment, int bufferSize, int batchSize, long deduplicationWindow) {
+        super(environment);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.deduplicationWindow = deduplicationWindow;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED);
+    }
+
+    @Override
+    public ExecutionError store(ExecutionError error) {
+        if (!isActive()) {
+            return error;
+        }
+        if (isDuplicate(error)) {
+            logger.debug("Error {} was already stored within the last {} ms, ignoring it", error, deduplicationWindow);
+            return error;
+        }
+        if (!closed) {
+            startWriter();
+            if (buffer.offer(error)) {
+                buffered.release();
+                return error;
+            }
+        }
+        logger.debug("Error buffer is full, storing error {} synchronously", error.getErrorId());
+        boolean stored = false;
+        try {
+            super.store(error);
+            stored = true;
+        } finally {
+            written(error, stored);
+        }
+        return error;
+    }
+
+    @Override
+    public List<ExecutionError> list(Integer page, Integer pageSize) {
+        flush();
+        return super.list(page, pageSize);
+    }
+
+    @Override
+    public ExecutionError get(String errorId) {
+        flush();
+        return super.get(errorId);
+    }
+
+    @Override
+    public void acknowledge(String user, String... errorIds) {
+        flush();
+        super.acknowledge(user, errorIds);
+    }
+
+    @Override
+    public List<ExecutionError> listByProcessInstance(Long processInstanceId, Integer page, Integer pageSize) {
+        flush();
+        return super.listByProcessInstance(processInstanceId, page, pageSize);
+    }
+
+    @Override
+    public List<ExecutionError> listByActivity(String activityName, Integer page, Integer pageSize) {
+        flush();
+        return super.listByActivity(activityName, page, pageSize);
+    }
+
+    @Override
+    public List<ExecutionError> listByDeployment(String deploymentId, Integer page, Integer pageSize) {
+        flush();
+        return super.listByDeployment(deploymentId, page, pageSize);
+    }
+
+    /**
+     * Writes all errors buffered so far, waiting for errors the writer is writing. The errors are written in
+     * transactions of their own: when the caller runs in a transaction, they are written by another thread, so
+     * that a rollback of the caller's transaction does not lose them.
+     */
+    public void flush() {
+        if (isActive() && isTransactionActive() && !buffer.isEmpty()) {
+            CompletableFuture.runAsync(this::writeBuffered, task -> {
+                Thread thread = new Thread(task, "jbpm-error-storage-flush-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            }).join();
+        } else {
+            writeBuffered();
+        }
+    }
+
+    /**
+     * Writes the errors buffered by the asynchronous storage of the runtime manager with the given identifier (of
+     * all registered runtime managers when <code>null</code>), for callers that query the stored errors directly.
+     */
+    public static void flush(String runtimeManagerIdentifier) {
+        RuntimeManagerRegistry registry = RuntimeManagerRegistry.get();
+        Collection<String> identifiers = runtimeManagerIdentifier == null ? registry.getRegisteredIdentifiers() : Collections.singletonList(runtimeManagerIdentifier);
+        for (String identifier : identifiers) {
+            RuntimeManager runtimeManager = registry.getManager(identifier);
+            if (runtimeManager instanceof AbstractRuntimeManager) {
+                ExecutionErrorStorage storage = ((AbstractRuntimeManager) runtimeManager).getExecutionErrorManager().getStorage();
+                if (storage instanceof AsyncExecutionErrorStorage) {
+                    ((AsyncExecutionErrorStorage) storage).flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the writer and writes the errors that are still buffered, later errors are stored synchronously.
+     */
+    public void close() {
+        closed = true;
+        Thread current = writer;
+        if (current != null) {
+            buffered.release();
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /*
+     * Helper methods
+     */
+
+    protected void startWriter() {
+        if (writer == null) {
+            synchronized (this) {
+                if (writer == null && !closed) {
+                    Thread thread = new Thread(this::writeErrors, "jbpm-error-storage-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.start();
+                    writer = thread;
+                }
+            }
+        }
+    }
+
+    protected void writeBuffered() {
+        writeLock.lock();
+        try {
+            while (!buffer.isEmpty()) {
+                writeBatch();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    protected void writeErrors() {
+        while (!closed) {
+            try {
+                if (buffered.tryAcquire(1, TimeUnit.SECONDS)) {
+                    buffered.drainPermits();
+                    writeBuffered();
+                }
+                pruneRecentErrors();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Unexpected error while writing execution errors", e);
+            }
+        }
+    }
+
+    /**
+     * Writes (at most) a batch of buffered errors in one transaction. When that fails, the errors are written one
+     * by one so that a single error that cannot be written does not lose the others.
+     */
+    protected void writeBatch() {
+        List<ExecutionError> batch = new ArrayList<>(batchSize);
+        buffer.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            call((EntityManager em) -> {
+                for (ExecutionError error : batch) {
+                    em.persist(toEntity(error));
+                }
+                return null;
+            });
+            for (ExecutionError error : batch) {
+                written(error, true);
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not persist batch of {} execution errors, persisting them one by one", batch.size(), e);
+            for (ExecutionError error : batch) {
+                boolean stored = false;
+                try {
+                    super.store(error);
+                    stored = true;
+                } catch (RuntimeException ex) {
+                    logger.warn("Could not persist execution error {} due to {}", error, ex.getMessage());
+                    logger.debug("Stack trace ", ex);
+                } finally {
+                    written(error, stored);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether an identical error is buffered or was stored within the deduplication window, otherwise the
+     * error is recorded as buffered until it is {@link #written(ExecutionError, boolean) written}.
+     */
+    protected boolean isDuplicate(ExecutionError error) {
+        if (deduplicationWindow <= 0) {
+            return false;
+        }
+        String key = getKey(error);
+        Long stored = recentErrors.get(key);
+        if (stored != null && System.currentTimeMillis() - stored < deduplicationWindow) {
+            return true;
+        }
+        return !pendingErrors.add(key);
+    }
+
+    /**
+     * Records that a buffered error was written (or could not be written, in which case identical errors are
+     * stored again).
+     */
+    protected void written(ExecutionError error, boolean stored) {
+        if (deduplicationWindow <= 0) {
+            return;
+        }
+        String key = getKey(error);
+        if (stored) {
+            recentErrors.put(key, System.currentTimeMillis());
+        }
+        pendingErrors.remove(key);
+    }
+
+    protected String getKey(ExecutionError error) {
+        return String.join("|", error.getType(), error.getErrorMessage(), error.getDeploymentId(), String.valueOf(error.getProcessInstanceId()),
+                           String.valueOf(error.getActivityId()), String.valueOf(error.getJobId()));
+    }
+
+    protected void pruneRecentErrors() {
+        long now = System.currentTimeMillis();
+        if (deduplicationWindow > 0 && now - lastPruned >= deduplicationWindow) {
+            recentErrors.values().removeIf(stored -> now - stored >= deduplicationWindow);
+            lastPruned = now;
+        }
+    }
+}
@@ -59,22 +59,7 @@ public class DefaultExecutionErrorStorage implements ExecutionErrorStorage {
         }
         return call((EntityManager em) -> {
             
-            ExecutionErrorInfo errorEntity = new ExecutionErrorInfo(
-                    error.getErrorId(),
-                    error.getType(),
-                    error.getDeploymentId(),
-                    error.getProcessInstanceId(),
-                    error.getProcessId(),
-                    error.getActivityId(),
-                    error.getActivityName(),
-                    error.getJobId(),
-                    error.getErrorMessage(),
-                    error.getError(),
-                    error.getErrorDate(),
-                    error.getInitActivityId()
-                    );
-            
-            em.persist(errorEntity);
+            em.persist(toEntity(error));
             return error;
         });
     }
@@ -188,6 +173,23 @@ public class DefaultExecutionErrorStorage implements ExecutionErrorStorage {
     * Helper methods
     */
     
+    protected ExecutionErrorInfo toEntity(ExecutionError error) {
+        return new ExecutionErrorInfo(
+                error.getErrorId(),
+                error.getType(),
+                error.getDeploymentId(),
+                error.getProcessInstanceId(),
+                error.getProcessId(),
+                error.getActivityId(),
+                error.getActivityName(),
+                error.getJobId(),
+                error.getErrorMessage(),
+                error.getError(),
+                error.getErrorDate(),
+                error.getInitActivityId()
+                );
+    }
+
     protected <R> R call(Function<EntityManager, R> function) {
         
         boolean transactionOwner = false;    
@@ -236,6 +238,10 @@ public class DefaultExecutionErrorStorage implements ExecutionErrorStorage {
         return false;
     }
     
+    protected boolean isTransactionActive() {
+        return txm.getStatus() != TransactionManager.STATUS_NO_TRANSACTION;
+    }
+
     protected boolean isActive() {
         if (this.emf != null && this.txm != null) {
             return true;
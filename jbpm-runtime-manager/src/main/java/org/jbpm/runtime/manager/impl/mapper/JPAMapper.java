@@ -24,7 +24,7 @@ import javax.persistence.EntityManagerFactory;
 import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.Query;
-
+import org.jbpm.persistence.correlation.CorrelationKeyInfo;
 import org.jbpm.runtime.manager.impl.jpa.ContextMappingInfo;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.EnvironmentName;
@@ -125,9 +125,14 @@ public class JPAMapper extends InternalMapper {
     
     
     public Context getProcessInstanceByCorrelationKey(CorrelationKey correlationKey, EntityManager em) {
-        Query processInstancesForEvent = em.createNamedQuery( "GetProcessInstanceIdByCorrelation" );
-        
-        processInstancesForEvent.setParameter( "ckey", correlationKey.toExternalForm());
+        Query processInstancesForEvent;
+        if (CorrelationKeyInfo.isHashLookupEnabled()) {
+            processInstancesForEvent = em.createNamedQuery( "GetProcessInstanceIdByCorrelationHash" );
+            processInstancesForEvent.setParameter( "hash", CorrelationKeyInfo.hash(correlationKey));
+        } else {
+            processInstancesForEvent = em.createNamedQuery( "GetProcessInstanceIdByCorrelation" );
+            processInstancesForEvent.setParameter( "ckey", correlationKey.toExternalForm());
+        }
         try {
             return ProcessInstanceIdContext.get((Long) processInstancesForEvent.getSingleResult());
         } catch (NonUniqueResultException e) {
@@ -18,6 +18,8 @@ package org.jbpm.runtime.manager.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -32,6 +34,7 @@ import java.util.Properties;
 import javax.naming.InitialContext;
 import javax.transaction.UserTransaction;
 
+import org.jbpm.persistence.processinstance.JPAProcessInstanceManager;
 import org.jbpm.runtime.manager.util.TestUtil;
 import org.jbpm.services.task.identity.JBossUserGroupCallbackImpl;
 import org.jbpm.test.util.AbstractBaseTest;
@@ -603,4 +606,54 @@ public class PerRequestRuntimeManagerTest extends AbstractBaseTest {
         manager.disposeRuntimeEngine(runtime1);
         
     }
+
+    @Test
+    public void testReadOnlyProcessInstanceCachedAcrossRequests() {
+        System.setProperty(JPAProcessInstanceManager.READ_ONLY_CACHE_SIZE, "10");
+        try {
+            RuntimeEnvironment environment = RuntimeEnvironmentBuilder.Factory.get()
+                    .newDefaultBuilder()
+                    .userGroupCallback(userGroupCallback)
+                    .addAsset(ResourceFactory.newClassPathResource("BPMN2-IntermediateCatchEventSignalWithRef.bpmn2"), ResourceType.BPMN2)
+                    .get();
+
+            manager = RuntimeManagerFactory.Factory.get().newPerRequestRuntimeManager(environment);
+            assertNotNull(manager);
+
+            RuntimeEngine runtime = manager.getRuntimeEngine(EmptyContext.get());
+            long processInstanceId = runtime.getKieSession().startProcess("IntermediateCatchEventWithRef").getId();
+            manager.disposeRuntimeEngine(runtime);
+
+            // every request gets its own session, still the second read only lookup is served from the cache
+            runtime = manager.getRuntimeEngine(EmptyContext.get());
+            ProcessInstance first = runtime.getKieSession().getProcessInstance(processInstanceId, true);
+            manager.disposeRuntimeEngine(runtime);
+            assertNotNull(first);
+            assertEquals(ProcessInstance.STATE_ACTIVE, first.getState());
+
+            runtime = manager.getRuntimeEngine(EmptyContext.get());
+            ProcessInstance second = runtime.getKieSession().getProcessInstance(processInstanceId, true);
+            manager.disposeRuntimeEngine(runtime);
+            assertSame(first, second);
+
+            // the shared process instance is read only
+            try {
+                first.signalEvent("Signal1", null);
+                fail("Should fail as the process instance is read only");
+            } catch (IllegalStateException e) {
+
+            }
+
+            runtime = manager.getRuntimeEngine(EmptyContext.get());
+            runtime.getKieSession().signalEvent("Signal1", null, processInstanceId);
+            manager.disposeRuntimeEngine(runtime);
+
+            // the cached process instance is outdated once the process instance changed
+            runtime = manager.getRuntimeEngine(EmptyContext.get());
+            assertNull(runtime.getKieSession().getProcessInstance(processInstanceId, true));
+            manager.disposeRuntimeEngine(runtime);
+        } finally {
+            System.clearProperty(JPAProcessInstanceManager.READ_ONLY_CACHE_SIZE);
+        }
+    }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.runtime.manager.impl.error;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import javax.naming.InitialContext;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.UserTransaction;
+
+import org.drools.core.impl.EnvironmentFactory;
+import org.jbpm.runtime.manager.impl.jpa.EntityManagerFactoryManager;
+import org.jbpm.runtime.manager.impl.jpa.ExecutionErrorInfo;
+import org.jbpm.runtime.manager.util.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.runtime.manager.RuntimeEnvironment;
+import org.kie.api.runtime.manager.RuntimeEnvironmentBuilder;
+import org.kie.api.runtime.manager.RuntimeManager;
+import org.kie.api.runtime.manager.RuntimeManagerFactory;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.runtime.error.ExecutionError;
+import org.kie.test.util.db.PoolingDataSourceWrapper;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncExecutionErrorStorageTest {
+
+    private PoolingDataSourceWrapper pds;
+    private EntityManagerFactory emf;
+    private Environment environment;
+    private AsyncExecutionErrorStorage storage;
+    private RuntimeManager manager;
+
+    @Before
+    public void setup() {
+        pds = TestUtil.setupPoolingDataSource();
+        emf = EntityManagerFactoryManager.get().getOrCreate("org.jbpm.persistence.jpa");
+        environment = EnvironmentFactory.newEnvironment();
+        environment.set(EnvironmentName.ENTITY_MANAGER_FACTORY, emf);
+    }
+
+    @After
+    public void teardown() {
+        if (manager != null) {
+            manager.close();
+        }
+        if (storage != null) {
+            storage.close();
+        }
+        EntityManagerFactoryManager.get().clear();
+        pds.close();
+    }
+
+    @Test
+    public void testStoreInBatches() {
+        storage = new AsyncExecutionErrorStorage(environment, 100, 7, 0);
+        for (int i = 0; i < 50; i++) {
+            storage.store(error(1L, "Script failed"));
+        }
+
+        List<ExecutionError> errors = storage.list(0, 100);
+        assertEquals(50, errors.size());
+    }
+
+    @Test
+    public void testDuplicatesWithinWindowStoredOnce() {
+        storage = new AsyncExecutionErrorStorage(environment, 100, 10, 60000);
+        for (int i = 0; i < 10; i++) {
+            storage.store(error(1L, "Connection refused"));
+            storage.store(error(2L, "Connection refused"));
+        }
+        storage.store(error(1L, "Connection timed out"));
+
+        assertEquals(2, storage.listByProcessInstance(1L, 0, 100).size());
+        assertEquals(1, storage.listByProcessInstance(2L, 0, 100).size());
+    }
+
+    @Test
+    public void testStoreSynchronouslyWhenBufferIsFull() {
+        // without writer, errors are only written once the buffer is flushed
+        storage = new AsyncExecutionErrorStorage(environment, 2, 10, 0) {
+            @Override
+            protected void startWriter() {
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            storage.store(error(1L, "Script failed"));
+        }
+
+        assertEquals(3, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+        assertEquals(5, storage.list(0, 100).size());
+    }
+
+    @Test
+    public void testBufferedErrorsWrittenOnClose() {
+        storage = new AsyncExecutionErrorStorage(environment, 100, 10, 0) {
+            @Override
+            protected void startWriter() {
+            }
+        };
+        storage.store(error(1L, "Script failed"));
+        storage.store(error(2L, "Script failed"));
+        storage.close();
+
+        assertEquals(2, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+        // stored synchronously once closed
+        storage.store(error(3L, "Script failed"));
+        assertEquals(3, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+    }
+
+    @Test
+    public void testDuplicatesStoredWhenWriteFailed() {
+        AtomicBoolean failWrites = new AtomicBoolean(true);
+        storage = new AsyncExecutionErrorStorage(environment, 100, 10, 60000) {
+            @Override
+            protected void startWriter() {
+            }
+
+            @Override
+            protected <R> R call(Function<EntityManager, R> function) {
+                if (failWrites.get()) {
+                    throw new RuntimeException("Database is down");
+                }
+                return super.call(function);
+            }
+        };
+        storage.store(error(1L, "Connection refused"));
+        // identical to a buffered error
+        storage.store(error(1L, "Connection refused"));
+        storage.flush();
+
+        failWrites.set(false);
+        storage.store(error(1L, "Connection refused"));
+        storage.store(error(1L, "Connection refused"));
+
+        assertEquals(1, storage.listByProcessInstance(1L, 0, 100).size());
+    }
+
+    @Test
+    public void testFlushWithinTransactionWritesInTransactionOfItsOwn() throws Exception {
+        storage = new AsyncExecutionErrorStorage(environment, 100, 10, 0) {
+            @Override
+            protected void startWriter() {
+            }
+        };
+        storage.store(error(1L, "Script failed"));
+        storage.store(error(2L, "Script failed"));
+
+        UserTransaction ut = InitialContext.doLookup("java:comp/UserTransaction");
+        ut.begin();
+        try {
+            assertEquals(2, storage.list(0, 100).size());
+        } finally {
+            ut.rollback();
+        }
+
+        assertEquals(2, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+    }
+
+    @Test
+    public void testFlushByRuntimeManager() {
+        storage = new AsyncExecutionErrorStorage(environment, 100, 10, 0) {
+            @Override
+            protected void startWriter() {
+            }
+        };
+        RuntimeEnvironment runtimeEnvironment = RuntimeEnvironmentBuilder.Factory.get()
+                .newDefaultBuilder()
+                .entityManagerFactory(emf)
+                .addAsset(ResourceFactory.newClassPathResource("BPMN2-ScriptTask.bpmn2"), ResourceType.BPMN2)
+                .addEnvironmentEntry("ExecutionErrorStorage", storage)
+                .get();
+        manager = RuntimeManagerFactory.Factory.get().newSingletonRuntimeManager(runtimeEnvironment, "async-errors");
+
+        storage.store(error(1L, "Script failed"));
+        AsyncExecutionErrorStorage.flush("unknown");
+        assertEquals(0, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+
+        // as done by the admin services before querying errors
+        AsyncExecutionErrorStorage.flush(manager.getIdentifier());
+        assertEquals(1, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+
+        storage.store(error(2L, "Script failed"));
+        AsyncExecutionErrorStorage.flush(null);
+        assertEquals(2, new DefaultExecutionErrorStorage(environment).list(0, 100).size());
+    }
+
+    private ExecutionError error(Long processInstanceId, String message) {
+        return new ExecutionErrorInfo(UUID.randomUUID().toString(), "Process", "deployment", processInstanceId, "process", 1L, "Script",
+                                      null, message, "stack trace", new Date(), 1L);
+    }
+}
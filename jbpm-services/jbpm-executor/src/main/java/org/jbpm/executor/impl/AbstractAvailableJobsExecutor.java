@@ -58,6 +58,8 @@ public abstract class AbstractAvailableJobsExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractAvailableJobsExecutor.class);
     protected int retries = Integer.parseInt(System.getProperty("org.kie.executor.retry.count", "3"));
+    // response data written with compact codec instead of java serialization, reading supports both
+    protected boolean compactResponseData = "reference".equalsIgnoreCase(System.getProperty("org.kie.executor.payload.mode", "full"));
 
     protected Map<String, Object> contextData = new HashMap<String, Object>();
        
@@ -139,10 +141,15 @@ public abstract class AbstractAvailableJobsExecutor {
                             results = new ExecutionResults();
                         }
                         try {
-                            ByteArrayOutputStream bout = new ByteArrayOutputStream();
-                            ObjectOutputStream out = new ObjectOutputStream(bout);
-                            out.writeObject(results);
-                            byte[] respData = bout.toByteArray();
+                            byte[] respData;
+                            if (compactResponseData) {
+                                respData = ExecutionResultsCodec.encode(results);
+                            } else {
+                                ByteArrayOutputStream bout = new ByteArrayOutputStream();
+                                ObjectOutputStream out = new ObjectOutputStream(bout);
+                                out.writeObject(results);
+                                respData = bout.toByteArray();
+                            }
                             request.setResponseData(respData);
                         } catch (IOException e) {
                             request.setResponseData(null);
@@ -157,17 +164,11 @@ public abstract class AbstractAvailableJobsExecutor {
                         logger.debug("Job was already successfully executed, retrying callbacks only...");
                         byte[] resData = request.getResponseData();
                         if (resData != null) {
-                            ObjectInputStream in = null;
                             try {
-                                in = new ClassLoaderObjectInputStream(cl, new ByteArrayInputStream(resData));
-                                results = (ExecutionResults) in.readObject();
+                                results = ExecutionResultsCodec.decode(resData, cl);
                             } catch (IOException e) {                        
                                 logger.warn("Exception while serializing response data", e);
                                 return;
-                            } finally {
-                                if (in != null) {
-                                    in.close();
-                                }
                             }
                         }
                         request.setStatus(STATUS.DONE);
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.executor.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+import org.kie.api.executor.ExecutionResults;
+
+/**
+ * Compact binary codec of <code>ExecutionResults</code> stored as response data of the request.
+ * Values of common types (strings, numbers, booleans, dates and byte arrays) are written with their
+ * type tag only, any other value falls back to java serialization of that single value.
+ * <br/>
+ * Decoding accepts both this format and plain java serialized <code>ExecutionResults</code>
+ * so response data written before switching the format can still be read.
+ */
+public class ExecutionResultsCodec {
+
+    private static final byte[] MAGIC = {'J', 'E', 'R'};
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte DATE = 9;
+    private static final byte BYTES = 10;
+    private static final byte SERIALIZED = 11;
+
+    private ExecutionResultsCodec() {
+    }
+
+    public static byte[] encode(ExecutionResults results) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            Map<String, Object> data = results.getData();
+            out.writeInt(data.size());
+            for (Map.Entry<String, Object> entry : data.entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ExecutionResults decode(byte[] data, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        if (!isCompact(data)) {
+            try (ObjectInputStream in = new ClassLoaderObjectInputStream(classLoader, new ByteArrayInputStream(data))) {
+                return (ExecutionResults) in.readObject();
+            }
+        }
+        ExecutionResults results = new ExecutionResults();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            in.skipBytes(MAGIC.length + 1);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String key = readString(in);
+                results.setData(key, readValue(in, classLoader));
+            }
+        }
+        return results;
+    }
+
+    public static boolean isCompact(byte[] data) {
+        if (data == null || data.length < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return data[MAGIC.length] == VERSION;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof byte[]) {
+            out.writeByte(BYTES);
+            writeBytes(out, (byte[]) value);
+        } else {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            writeBytes(out, bytes.toByteArray());
+        }
+    }
+
+    private static Object readValue(DataInputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case BOOLEAN:
+                return in.readBoolean();
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case SHORT:
+                return in.readShort();
+            case BYTE:
+                return in.readByte();
+            case DATE:
+                return new Date(in.readLong());
+            case BYTES:
+                return readBytes(in);
+            case SERIALIZED:
+                try (ObjectInputStream objectIn = new ClassLoaderObjectInputStream(classLoader, new ByteArrayInputStream(readBytes(in)))) {
+                    return objectIn.readObject();
+                }
+            default:
+                throw new IOException("Unknown value type " + type + " in execution results");
+        }
+    }
+
+    // length prefixed UTF-8 as DataOutput.writeUTF is limited to 64k
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return value;
+    }
+}
@@ -31,6 +31,7 @@ import static org.kie.internal.query.QueryParameterIdentifiers.STACK_TRACE_LIST;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
@@ -118,7 +119,7 @@ public class ExecutorQueryCriteriaUtil extends QueryCriteriaUtil {
     protected <T> List<T> createQueryAndCallApplyMetaCriteriaAndGetResult(QueryWhere queryWhere, CriteriaQuery<T> criteriaQuery, CriteriaBuilder builder) { 
         EntityManager em = getEntityManager();
         Object newTx = joinTransaction(em);
-        Query query = em.createQuery(criteriaQuery);
+        Query query = createQuery(em, criteriaQuery);
     
         applyMetaCriteriaToQuery(query, queryWhere);
         
@@ -130,6 +131,24 @@ public class ExecutorQueryCriteriaUtil extends QueryCriteriaUtil {
         return result;
     }
 
+    @Override
+    protected <T> Stream<T> createQueryAndCallApplyMetaCriteriaAndGetResultStream(QueryWhere queryWhere, CriteriaQuery<T> criteriaQuery, CriteriaBuilder builder, int fetchSize) {
+        EntityManager em = getEntityManager();
+        Object newTx = joinTransaction(em);
+        try {
+            Query query = createQuery(em, criteriaQuery);
+
+            applyMetaCriteriaToQuery(query, queryWhere);
+
+            // the entity manager is closed when the stream is closed
+            Stream<T> result = getResultStream(em, query, fetchSize);
+            return result.onClose(() -> closeEntityManager(em, newTx));
+        } catch( RuntimeException re ) {
+            closeEntityManager(em, newTx);
+            throw re;
+        }
+    }
+
     @Override
     protected <R,T> Predicate implSpecificCreatePredicateFromSingleCriteria( 
             CriteriaQuery<R> query, 
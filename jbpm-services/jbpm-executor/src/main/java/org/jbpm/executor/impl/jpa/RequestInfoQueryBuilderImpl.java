@@ -29,12 +29,13 @@ import static org.kie.internal.query.QueryParameterIdentifiers.MESSAGE_LIST;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.jbpm.query.jpa.builder.StreamableParametrizedQuery;
 import org.jbpm.query.jpa.builder.impl.AbstractQueryBuilderImpl;
 import org.jbpm.query.jpa.data.QueryWhere;
 import org.kie.api.executor.RequestInfo;
 import org.kie.api.executor.STATUS;
-import org.kie.internal.query.ParametrizedQuery;
 import org.kie.internal.query.QueryParameterIdentifiers;
 import org.kie.internal.runtime.manager.audit.query.RequestInfoQueryBuilder;
 
@@ -154,13 +155,18 @@ public class RequestInfoQueryBuilderImpl extends AbstractQueryBuilderImpl<Reques
     }
 
     @Override
-    public ParametrizedQuery<RequestInfo> build() {
-        return new ParametrizedQuery<RequestInfo>() {
+    public StreamableParametrizedQuery<RequestInfo> build() {
+        return new StreamableParametrizedQuery<RequestInfo>() {
             private QueryWhere queryData = new QueryWhere(getQueryWhere()); 
+            private int queryFetchSize = fetchSize;
             @Override
             public List<RequestInfo> getResultList() {
                 return jpaAuditService.queryLogs(queryData, org.jbpm.executor.entities.RequestInfo.class, RequestInfo.class);
             }
+            @Override
+            public Stream<RequestInfo> getResultStream() {
+                return jpaAuditService.streamLogs(queryData, org.jbpm.executor.entities.RequestInfo.class, RequestInfo.class, queryFetchSize);
+            }
         };
     }
 
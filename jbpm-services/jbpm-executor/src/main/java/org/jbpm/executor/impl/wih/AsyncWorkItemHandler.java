@@ -51,6 +51,8 @@ import org.slf4j.LoggerFactory;
  *  <li>workItem - actual work item instance that is being executed (including all parameters)</li>
  *  <li>processInstanceId - id of the process instance that triggered this work item execution</li>  
  * </ul>
+ * When <code>org.kie.executor.payload.mode</code> system property is set to <code>reference</code> the work item
+ * is stored in the request only as {@link WorkItemReference} and its parameters are loaded when the job is executed.
  * 
  * In case work item shall be aborted handler will attempt to cancel active requests based on business key (process instance id and work item id)
  */
@@ -60,6 +62,7 @@ public class AsyncWorkItemHandler implements WorkItemHandler, Cacheable {
     
     private ExecutorService executorService;
     private String commandClass;
+    private boolean referencePayload = "reference".equalsIgnoreCase(System.getProperty("org.kie.executor.payload.mode", "full"));
     
     public AsyncWorkItemHandler(ExecutorService executorService) {
         this.executorService = executorService;
@@ -94,7 +97,13 @@ public class AsyncWorkItemHandler implements WorkItemHandler, Cacheable {
         logger.debug("Command class for this execution is {}", cmdClass);
         CommandContext ctxCMD = new CommandContext();
         ctxCMD.setData("businessKey", businessKey);
-        ctxCMD.setData("workItem", workItem);
+        if (referencePayload && !autoComplete && ((WorkItemImpl) workItem).getDeploymentId() != null) {
+            // only reference is stored in the request, parameters are loaded when the job is executed
+            // (not for auto complete as the work item is gone by then)
+            ctxCMD.setData("workItem", new WorkItemReference((WorkItemImpl) workItem));
+        } else {
+            ctxCMD.setData("workItem", workItem);
+        }
         ctxCMD.setData("processInstanceId", getProcessInstanceId(workItem));
         ctxCMD.setData("deploymentId", ((WorkItemImpl)workItem).getDeploymentId());
         // in case auto complete is selected skip callback
@@ -170,6 +179,10 @@ public class AsyncWorkItemHandler implements WorkItemHandler, Cacheable {
         return ((WorkItemImpl) workItem).getProcessInstanceId();
     }
 
+    public void setReferencePayload(boolean referencePayload) {
+        this.referencePayload = referencePayload;
+    }
+
     @Override
     public void close() {
         //no-op
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.executor.impl.wih;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.core.command.runtime.process.GetWorkItemCommand;
+import org.drools.core.process.instance.WorkItem;
+import org.kie.api.runtime.manager.RuntimeEngine;
+import org.kie.api.runtime.manager.RuntimeManager;
+import org.kie.internal.runtime.manager.RuntimeManagerRegistry;
+import org.kie.internal.runtime.manager.context.ProcessInstanceIdContext;
+
+/**
+ * Reference to a work item that is stored in the request data instead of the complete work item.
+ * Only the header (id, name, process instance, deployment and node references) is serialized,
+ * parameters and state of the work item are loaded from its runtime manager on first access.
+ * <br/>
+ * Parameters set on the reference (e.g. when updating request data) are kept with the reference
+ * and take precedence over the parameters of the loaded work item. Header values set on the reference
+ * are kept with the reference as well and used to load the work item.
+ */
+public class WorkItemReference implements WorkItem, Externalizable {
+
+    private long id;
+    private String name;
+    private long processInstanceId;
+    private String deploymentId;
+    private long nodeInstanceId;
+    private long nodeId;
+    private Map<String, Object> parameterOverrides = new HashMap<>();
+
+    private transient WorkItem workItem;
+
+    public WorkItemReference() {
+        // for deserialization only
+    }
+
+    public WorkItemReference(WorkItem workItem) {
+        this.id = workItem.getId();
+        this.name = workItem.getName();
+        this.processInstanceId = workItem.getProcessInstanceId();
+        this.deploymentId = workItem.getDeploymentId();
+        this.nodeInstanceId = workItem.getNodeInstanceId();
+        this.nodeId = workItem.getNodeId();
+        this.workItem = workItem;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeObject(name);
+        out.writeLong(processInstanceId);
+        out.writeUTF(deploymentId);
+        out.writeLong(nodeInstanceId);
+        out.writeLong(nodeId);
+        out.writeInt(parameterOverrides.size());
+        for (Map.Entry<String, Object> entry : parameterOverrides.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        id = in.readLong();
+        name = (String) in.readObject();
+        processInstanceId = in.readLong();
+        deploymentId = in.readUTF();
+        nodeInstanceId = in.readLong();
+        nodeId = in.readLong();
+        int overrides = in.readInt();
+        for (int i = 0; i < overrides; i++) {
+            parameterOverrides.put(in.readUTF(), in.readObject());
+        }
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    @Override
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    @Override
+    public long getNodeInstanceId() {
+        return nodeInstanceId;
+    }
+
+    @Override
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public int getState() {
+        return getWorkItem().getState();
+    }
+
+    @Override
+    public Object getParameter(String name) {
+        if (parameterOverrides.containsKey(name)) {
+            return parameterOverrides.get(name);
+        }
+        return getWorkItem().getParameter(name);
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        if (parameterOverrides.isEmpty()) {
+            return getWorkItem().getParameters();
+        }
+        Map<String, Object> parameters = new HashMap<>(getWorkItem().getParameters());
+        parameters.putAll(parameterOverrides);
+        return parameters;
+    }
+
+    @Override
+    public Object getResult(String name) {
+        return getWorkItem().getResult(name);
+    }
+
+    @Override
+    public Map<String, Object> getResults() {
+        return getWorkItem().getResults();
+    }
+
+    @Override
+    public void setParameter(String name, Object value) {
+        parameterOverrides.put(name, value);
+    }
+
+    @Override
+    public void setParameters(Map<String, Object> parameters) {
+        parameterOverrides.putAll(parameters);
+    }
+
+    @Override
+    public void setResults(Map<String, Object> results) {
+        getWorkItem().setResults(results);
+    }
+
+    @Override
+    public void setState(int state) {
+        getWorkItem().setState(state);
+    }
+
+    @Override
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void setProcessInstanceId(long processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    @Override
+    public void setDeploymentId(String deploymentId) {
+        this.deploymentId = deploymentId;
+    }
+
+    @Override
+    public void setNodeInstanceId(long nodeInstanceId) {
+        this.nodeInstanceId = nodeInstanceId;
+    }
+
+    @Override
+    public void setNodeId(long nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public boolean isLoaded() {
+        return workItem != null;
+    }
+
+    protected synchronized WorkItem getWorkItem() {
+        if (workItem == null) {
+            workItem = loadWorkItem();
+        }
+        return workItem;
+    }
+
+    protected WorkItem loadWorkItem() {
+        RuntimeManager manager = RuntimeManagerRegistry.get().getManager(deploymentId);
+        if (manager == null) {
+            throw new IllegalStateException("There is no runtime manager for deployment " + deploymentId);
+        }
+        RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
+        try {
+            WorkItem loaded = engine.getKieSession().execute(new GetWorkItemCommand(id));
+            if (loaded == null) {
+                throw new IllegalStateException("Work item " + id + " of process instance " + processInstanceId + " does not exist");
+            }
+            return loaded;
+        } finally {
+            manager.disposeRuntimeEngine(engine);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WorkItemReference [id=" + id + ", name=" + name + ", processInstanceId=" + processInstanceId +
+                ", deploymentId=" + deploymentId + "]";
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.executor.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+import org.kie.api.executor.ExecutionResults;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutionResultsCodecTest {
+
+    private ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    public void testEncodeAndDecode() throws Exception {
+        Date now = new Date();
+        ExecutionResults results = new ExecutionResults();
+        results.setData("string", "value");
+        results.setData("integer", 42);
+        results.setData("long", 42L);
+        results.setData("boolean", true);
+        results.setData("double", 4.2d);
+        results.setData("date", now);
+        results.setData("bytes", new byte[]{1, 2, 3});
+        results.setData("null", null);
+        results.setData("list", new ArrayList<>(Arrays.asList("a", "b")));
+
+        byte[] data = ExecutionResultsCodec.encode(results);
+        assertTrue(ExecutionResultsCodec.isCompact(data));
+
+        ExecutionResults decoded = ExecutionResultsCodec.decode(data, classLoader);
+        assertEquals(9, decoded.getData().size());
+        assertEquals("value", decoded.getData("string"));
+        assertEquals(42, decoded.getData("integer"));
+        assertEquals(42L, decoded.getData("long"));
+        assertEquals(true, decoded.getData("boolean"));
+        assertEquals(4.2d, decoded.getData("double"));
+        assertEquals(now, decoded.getData("date"));
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) decoded.getData("bytes"));
+        assertNull(decoded.getData("null"));
+        assertEquals(Arrays.asList("a", "b"), decoded.getData("list"));
+    }
+
+    @Test
+    public void testDecodeJavaSerializedResults() throws Exception {
+        ExecutionResults results = new ExecutionResults();
+        results.setData("string", "value");
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(results);
+        }
+        byte[] data = bout.toByteArray();
+        assertFalse(ExecutionResultsCodec.isCompact(data));
+
+        ExecutionResults decoded = ExecutionResultsCodec.decode(data, classLoader);
+        assertEquals("value", decoded.getData("string"));
+    }
+
+    @Test
+    public void testCompactResultsAreSmaller() throws Exception {
+        ExecutionResults results = new ExecutionResults();
+        results.setData("Result", "done");
+        results.setData("Count", 10);
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(results);
+        }
+        assertTrue(ExecutionResultsCodec.encode(results).length < bout.size());
+    }
+}
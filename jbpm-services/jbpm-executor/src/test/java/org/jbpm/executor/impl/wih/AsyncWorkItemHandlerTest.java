@@ -23,6 +23,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -69,6 +71,7 @@ import org.kie.api.runtime.manager.RuntimeEnvironmentBuilder;
 import org.kie.api.runtime.manager.RuntimeManager;
 import org.kie.api.runtime.manager.RuntimeManagerFactory;
 import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkItem;
 import org.kie.api.runtime.process.WorkItemHandler;
 import org.kie.api.runtime.query.QueryContext;
 import org.kie.api.task.TaskEvent;
@@ -672,6 +675,74 @@ public class AsyncWorkItemHandlerTest extends AbstractExecutorBaseTest {
         assertEquals(1, requests.size());
     }
     
+    @Test(timeout=20000)
+    public void testRunProcessWithAsyncHandlerReferencePayloadUpdateJobData() throws Exception {
+        final NodeLeftCountDownProcessEventListener countDownListener = new NodeLeftCountDownProcessEventListener("Task 1", 1);
+        RuntimeEnvironment environment = RuntimeEnvironmentBuilder.Factory.get().newDefaultBuilder()
+                .userGroupCallback(userGroupCallback)
+                .addAsset(ResourceFactory.newClassPathResource("BPMN2-ScriptTaskWithRetryParam.bpmn2"), ResourceType.BPMN2)
+                .registerableItemsFactory(new DefaultRegisterableItemsFactory() {
+
+                    @Override
+                    public Map<String, WorkItemHandler> getWorkItemHandlers(RuntimeEngine runtime) {
+
+                        Map<String, WorkItemHandler> handlers = super.getWorkItemHandlers(runtime);
+                        AsyncWorkItemHandler handler = new AsyncWorkItemHandler(executorService, "org.jbpm.executor.test.MissingDataCommand");
+                        handler.setReferencePayload(true);
+                        handlers.put("async", handler);
+                        return handlers;
+                    }
+                    @Override
+                    public List<ProcessEventListener> getProcessEventListeners( RuntimeEngine runtime) {
+                        List<ProcessEventListener> listeners = super.getProcessEventListeners(runtime);
+                        listeners.add(countDownListener);
+                        return listeners;
+                    }
+                })
+                .get();
+        
+        manager = RuntimeManagerFactory.Factory.get().newSingletonRuntimeManager(environment); 
+        assertNotNull(manager);
+        
+        RuntimeEngine runtime = manager.getRuntimeEngine(EmptyContext.get());
+        KieSession ksession = runtime.getKieSession();
+        assertNotNull(ksession); 
+        
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("retryAsync", "1s, 2s, 3s");
+        
+        ProcessInstance processInstance = ksession.startProcess("ScriptTask", params);
+        Long processInstanceId = processInstance.getId();
+        assertEquals(ProcessInstance.STATE_ACTIVE, processInstance.getState());
+        
+        countDownListener.waitTillCompleted(2000);
+        
+        processInstance = ksession.getProcessInstance(processInstance.getId());
+        assertNotNull(processInstance);
+        
+        List<RequestInfo> requests = executorService.getRequestsByProcessInstance(processInstanceId, Arrays.asList(STATUS.RETRYING), new QueryContext());
+        assertEquals(1, requests.size());
+        
+        Long requestId = requests.get(0).getId();
+        // only reference to the work item is stored in request data
+        CommandContext ctx = (CommandContext) new ObjectInputStream(new ByteArrayInputStream(executorService.getRequestById(requestId).getRequestData())).readObject();
+        WorkItem workItem = (WorkItem) ctx.getData("workItem");
+        assertTrue(workItem instanceof WorkItemReference);
+        assertFalse(((WorkItemReference) workItem).isLoaded());
+        assertEquals(manager.getIdentifier(), ((WorkItemReference) workItem).getDeploymentId());
+        
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("amount", 200);
+        executorService.updateRequestData(requestId, variables);
+        
+        countDownListener.waitTillCompleted();
+        processInstance = ksession.getProcessInstance(processInstance.getId());
+        assertNull(processInstance);
+        
+        requests = executorService.getRequestsByProcessInstance(processInstanceId, Arrays.asList(STATUS.DONE), new QueryContext());
+        assertEquals(1, requests.size());
+    }
+    
     @Test(timeout=10000)
     public void testRunProcessWithAsyncHandlerRecordExecutionError() throws Exception {
         CountDownAsyncJobListener countDownListener = new CountDownAsyncJobListener(1);
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.executor.impl.wih;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.drools.core.process.instance.impl.WorkItemImpl;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class WorkItemReferenceTest {
+
+    @Test
+    public void testHeaderSetOnReferenceIsSerialized() throws Exception {
+        WorkItemImpl workItem = new WorkItemImpl();
+        workItem.setId(1L);
+        workItem.setName("async");
+        workItem.setProcessInstanceId(2L);
+        workItem.setDeploymentId("deployment");
+        workItem.setNodeInstanceId(3L);
+        workItem.setNodeId(4L);
+
+        WorkItemReference reference = new WorkItemReference(workItem);
+        reference.setName("updated");
+        reference.setProcessInstanceId(20L);
+        reference.setDeploymentId("updated-deployment");
+        reference.setNodeInstanceId(30L);
+        reference.setNodeId(40L);
+        reference.setParameter("amount", 200);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(reference);
+        }
+        WorkItemReference deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (WorkItemReference) in.readObject();
+        }
+
+        assertFalse(deserialized.isLoaded());
+        assertEquals(1L, deserialized.getId());
+        assertEquals("updated", deserialized.getName());
+        assertEquals(20L, deserialized.getProcessInstanceId());
+        assertEquals("updated-deployment", deserialized.getDeploymentId());
+        assertEquals(30L, deserialized.getNodeInstanceId());
+        assertEquals(40L, deserialized.getNodeId());
+        assertEquals(200, deserialized.getParameter("amount"));
+    }
+}
@@ -21,12 +21,35 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.naming.InitialContext;
 
 import org.drools.core.command.runtime.process.SetProcessInstanceVariablesCommand;
 import org.drools.core.command.runtime.process.StartProcessCommand;
 import org.drools.core.process.instance.WorkItemManager;
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionManagerFactory;
+import org.jbpm.persistence.api.PersistentProcessInstance;
+import org.jbpm.persistence.api.ProcessPersistenceContextManager;
+import org.jbpm.persistence.processinstance.ProcessInstanceInfo;
 import org.jbpm.process.instance.impl.ProcessInstanceImpl;
 import org.jbpm.process.instance.impl.util.VariableUtil;
 import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
@@ -40,6 +63,9 @@ import org.jbpm.services.api.WorkItemNotFoundException;
 import org.jbpm.services.api.model.DeployedUnit;
 import org.jbpm.services.api.model.NodeInstanceDesc;
 import org.jbpm.services.api.model.ProcessInstanceDesc;
+import org.jbpm.services.api.model.ProcessInstanceOperationResult;
+import org.jbpm.services.api.model.ProcessStartRequest;
+import org.jbpm.services.api.model.ProcessStartResult;
 import org.jbpm.services.api.service.ServiceRegistry;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
@@ -60,6 +86,7 @@ import org.kie.api.runtime.process.WorkflowProcessInstance;
 import org.kie.internal.command.RegistryContext;
 import org.kie.internal.process.CorrelationAwareProcessRuntime;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.internal.runtime.conf.RuntimeStrategy;
 import org.kie.internal.runtime.manager.InternalRuntimeManager;
 import org.kie.internal.runtime.manager.SessionNotFoundException;
 import org.kie.internal.runtime.manager.context.CaseContext;
@@ -73,8 +100,35 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 
 	private static final Logger logger = LoggerFactory.getLogger(ProcessServiceImpl.class);
 
+	/**
+	 * Number of process starts per transaction of {@link #startProcesses(String, List)}.
+	 */
+	public static final String BULK_START_BATCH_SIZE = "org.jbpm.process.bulk.start.batch.size";
+	private static final int DEFAULT_BULK_START_BATCH_SIZE = 100;
+
+	/**
+	 * Number of process instances per transaction of {@link #abortProcessInstances(List)} and
+	 * {@link #signalProcessInstances(List, String, Object)}, and of their deployment scoped variants.
+	 */
+	public static final String BULK_OPERATION_BATCH_SIZE = "org.jbpm.process.bulk.operation.batch.size";
+	private static final int DEFAULT_BULK_OPERATION_BATCH_SIZE = 100;
+	/**
+	 * Number of batches of bulk aborts and signals that are processed in parallel. Only applies to deployments
+	 * with the per process instance or per request runtime strategy (so that process instances do not share a
+	 * session) and when there is no surrounding transaction.
+	 */
+	public static final String BULK_OPERATION_PARALLELISM = "org.jbpm.process.bulk.operation.parallelism";
+	/**
+	 * JNDI name of the managed executor service that runs batches of bulk aborts and signals in parallel.
+	 */
+	public static final String BULK_OPERATION_EXECUTOR = "org.jbpm.process.bulk.operation.executor";
+
 	protected DeploymentService deploymentService;
 	protected RuntimeDataService dataService;
+
+	protected RuntimeLookupCache<String> processInstanceDeployments = new RuntimeLookupCache<>();
+
+	private ExecutorService bulkOperationExecutor;
 	
 	
     public ProcessServiceImpl() {
@@ -124,6 +178,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
             } else {
                 pi = ((CorrelationAwareProcessRuntime) ksession).startProcessFromNodeIds(processId, key, params, nodeIds);
             }
+            cacheDeploymentId(pi, deploymentId);
             return pi.getId();
         } finally {
             disposeRuntimeEngine(manager, engine);
@@ -149,6 +204,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
         ProcessInstance pi;
         try {
             pi = ksession.startProcess(processId, params);
+            cacheDeploymentId(pi, deploymentId);
             return pi.getId();
         } finally {
         	disposeRuntimeEngine(manager, engine);
@@ -178,12 +234,173 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
         ProcessInstance pi;
         try {
             pi = ((CorrelationAwareProcessRuntime)ksession).startProcess(processId, correlationKey, params);
+            cacheDeploymentId(pi, deploymentId);
             return pi.getId();
         } finally {
         	disposeRuntimeEngine(manager, engine);
         }
 	}
 
+	@Override
+	public List<ProcessStartResult> startProcesses(String deploymentId, List<ProcessStartRequest> requests) {
+		return startProcesses(deploymentId, requests, Integer.getInteger(BULK_START_BATCH_SIZE, DEFAULT_BULK_START_BATCH_SIZE));
+	}
+
+	@Override
+	public List<ProcessStartResult> startProcesses(String deploymentId, List<ProcessStartRequest> requests, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be greater than 0 but was " + batchSize);
+		}
+		DeployedUnit deployedUnit = deploymentService.getDeployedUnit(deploymentId);
+		if (deployedUnit == null) {
+			throw new DeploymentNotFoundException("No deployments available for " + deploymentId);
+		}
+		if (!deployedUnit.isActive()) {
+			throw new DeploymentNotActiveException("Deployment " + deploymentId + " is not active");
+		}
+
+		RuntimeManager manager = deployedUnit.getRuntimeManager();
+		ClassLoader classLoader = ((InternalRuntimeManager) manager).getEnvironment().getClassLoader();
+		TransactionManager txm = TransactionManagerFactory.get().newTransactionManager();
+
+		List<ProcessStartResult> results = new ArrayList<>(requests.size());
+		for (int from = 0; from < requests.size(); from += batchSize) {
+			List<ProcessStartRequest> batch = requests.subList(from, Math.min(from + batchSize, requests.size()));
+			List<ProcessStartResult> batchResults = new ArrayList<>(batch.size());
+			boolean txOwner = txm.begin();
+			try {
+				for (ProcessStartRequest request : batch) {
+					batchResults.add(ProcessStartResult.started(request, startProcess(manager, classLoader, request)));
+				}
+				txm.commit(txOwner);
+			} catch (RuntimeException e) {
+				txm.rollback(txOwner);
+				if (!txOwner) {
+					throw e;
+				}
+				logger.debug("Batch of {} process starts failed, starting them one by one", batch.size(), e);
+				batchResults.clear();
+				for (ProcessStartRequest request : batch) {
+					batchResults.add(startProcessInTransaction(manager, classLoader, txm, request));
+				}
+			}
+			results.addAll(batchResults);
+		}
+		return results;
+	}
+
+	protected ProcessStartResult startProcessInTransaction(RuntimeManager manager, ClassLoader classLoader, TransactionManager txm, ProcessStartRequest request) {
+		boolean txOwner = txm.begin();
+		try {
+			Long processInstanceId = startProcess(manager, classLoader, request);
+			txm.commit(txOwner);
+			return ProcessStartResult.started(request, processInstanceId);
+		} catch (RuntimeException e) {
+			txm.rollback(txOwner);
+			logger.debug("Unable to start process {}", request, e);
+			return ProcessStartResult.failed(request, e);
+		}
+	}
+
+	protected Long startProcess(RuntimeManager manager, ClassLoader classLoader, ProcessStartRequest request) {
+		Map<String, Object> params = process(request.getParams(), classLoader);
+		RuntimeEngine engine = manager.getRuntimeEngine(getContext(params));
+		KieSession ksession = engine.getKieSession();
+		ProcessInstance pi;
+		try {
+			if (request.getCorrelationKey() == null) {
+				pi = ksession.startProcess(request.getProcessId(), params);
+			} else {
+				pi = ((CorrelationAwareProcessRuntime) ksession).startProcess(request.getProcessId(), request.getCorrelationKey(), params);
+			}
+			cacheDeploymentId(pi, manager.getIdentifier());
+			return pi.getId();
+		} finally {
+			disposeRuntimeEngine(manager, engine);
+		}
+	}
+
+	protected void cacheDeploymentId(ProcessInstance processInstance, String deploymentId) {
+		if (processInstance.getState() == ProcessInstance.STATE_ACTIVE) {
+			processInstanceDeployments.put(processInstance.getId(), deploymentId);
+		}
+	}
+
+	/**
+	 * Returns the deployment of the given active process instance, from the lookup cache when possible (which
+	 * leaves it to the caller to fail in case the process instance is not active anymore).
+	 */
+	protected String getActiveProcessInstanceDeploymentId(Long processInstanceId) {
+		String deploymentId = processInstanceDeployments.get(processInstanceId);
+		if (deploymentId != null) {
+			return deploymentId;
+		}
+		ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
+		if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
+			throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
+		}
+		processInstanceDeployments.put(processInstanceId, piDesc.getDeploymentId());
+		return piDesc.getDeploymentId();
+	}
+
+	/**
+	 * Executes the operation (given the deployment) on the active process instance, with the deployment from the
+	 * lookup cache when possible. Operations fail with a {@link ProcessInstanceNotFoundException} before changing
+	 * anything when the process instance does not belong to the given deployment, which is the case for a cached
+	 * deployment once the process instance was migrated (possibly by another cluster member). The entry is then dropped
+	 * and the operation is executed with the deployment from the audit log.
+	 */
+	protected <T> T executeOnActiveProcessInstance(Long processInstanceId, Function<String, T> operation) {
+		String deploymentId = processInstanceDeployments.get(processInstanceId);
+		if (deploymentId != null) {
+			try {
+				return operation.apply(deploymentId);
+			} catch (ProcessInstanceNotFoundException | DeploymentNotFoundException e) {
+				logger.debug("Process instance {} not found in cached deployment {}, looking it up again", processInstanceId, deploymentId);
+				processInstanceDeployments.remove(processInstanceId);
+			}
+		}
+		return operation.apply(getActiveProcessInstanceDeploymentId(processInstanceId));
+	}
+
+	/**
+	 * Returns the process instance from the session of the given runtime manager, failing when it belongs to another
+	 * deployment (e.g. because it was migrated).
+	 */
+	protected ProcessInstance getProcessInstance(RuntimeManager manager, KieSession ksession, Long processInstanceId, boolean readOnly) {
+		return ksession.execute(new ExecutableCommand<ProcessInstance>() {
+
+			private static final long serialVersionUID = 4180217357460520381L;
+
+			@Override
+			public ProcessInstance execute(org.kie.api.runtime.Context context) {
+				KieSession ksession = ((RegistryContext) context).lookup( KieSession.class );
+				Object persistenceContextManager = ksession.getEnvironment().get(EnvironmentName.PERSISTENCE_CONTEXT_MANAGER);
+				if (persistenceContextManager instanceof ProcessPersistenceContextManager) {
+					// a process instance migrated to another process cannot even be read with this deployment's processes
+					PersistentProcessInstance processInstanceInfo = ((ProcessPersistenceContextManager) persistenceContextManager).getProcessPersistenceContext().findProcessInstanceInfo(processInstanceId);
+					if (processInstanceInfo instanceof ProcessInstanceInfo && ksession.getKieBase().getProcess(((ProcessInstanceInfo) processInstanceInfo).getProcessId()) == null) {
+						throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " is not associated with " + manager.getIdentifier());
+					}
+				}
+				ProcessInstance processInstance;
+				try {
+					processInstance = ksession.getProcessInstance(processInstanceId, readOnly);
+				} catch (IllegalStateException e) {
+					// the engine does not reconnect process instances owned by another deployment
+					throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " is not associated with " + manager.getIdentifier(), e);
+				}
+				if (processInstance instanceof WorkflowProcessInstanceImpl) {
+					String deploymentId = ((WorkflowProcessInstanceImpl) processInstance).getDeploymentId();
+					if (deploymentId != null && !deploymentId.isEmpty() && !deploymentId.equals(manager.getIdentifier())) {
+						throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " is not associated with " + manager.getIdentifier());
+					}
+				}
+				return processInstance;
+			}
+		});
+	}
+
 	protected Context<?> getContext(Map<String, Object> params) {
 	    if (params == null) {
 	        return ProcessInstanceIdContext.get();
@@ -198,12 +415,14 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 
 	@Override
     public void abortProcessInstance(Long processInstanceId) {
-        ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
-        if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
-            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
+        try {
+            executeOnActiveProcessInstance(processInstanceId, deploymentId -> {
+                abortProcessInstance(deploymentId, processInstanceId);
+                return null;
+            });
+        } finally {
+            processInstanceDeployments.remove(processInstanceId);
         }
-        
-        abortProcessInstance(piDesc.getDeploymentId(), processInstanceId);
 	}
 	
 	@Override
@@ -213,11 +432,27 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 		if (deployedUnit == null) {
 			throw new DeploymentNotFoundException("No deployments available for " + deploymentId);
 		}
-		RuntimeManager manager = deployedUnit.getRuntimeManager();
+		abortProcessInstance(deployedUnit.getRuntimeManager(), processInstanceId);
+	}
+
+	protected void abortProcessInstance(RuntimeManager manager, Long processInstanceId) {
         RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
         try {
             KieSession ksession = engine.getKieSession();
-            ksession.abortProcessInstance(processInstanceId);
+            ksession.execute(new ExecutableCommand<Void>() {
+
+                private static final long serialVersionUID = -4718529036389282427L;
+
+                @Override
+                public Void execute(org.kie.api.runtime.Context context) {
+                    KieSession ksession = ((RegistryContext) context).lookup( KieSession.class );
+                    if (getProcessInstance(manager, ksession, processInstanceId, false) == null) {
+                        throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
+                    }
+                    ksession.abortProcessInstance(processInstanceId);
+                    return null;
+                }
+            });
         } catch(SessionNotFoundException e) {
             throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found", e);
         } catch(IllegalArgumentException e) {
@@ -228,35 +463,287 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 	}
 
     @Override
-    public void abortProcessInstances(List<Long> processInstanceIds) {
-        processInstanceIds.forEach(processInstanceId -> {
+    public List<ProcessInstanceOperationResult> abortProcessInstances(List<Long> processInstanceIds) {
+        return executeByDeployment(processInstanceIds, this::abortProcessInstances);
+    }
+
+    @Override
+    public List<ProcessInstanceOperationResult> abortProcessInstances(String deploymentId, List<Long> processInstanceIds) {
+        Map<Long, ProcessInstanceOperationResult> results = executeInBatches(deploymentId, new LinkedHashSet<>(processInstanceIds), manager -> processInstanceId -> {
             try {
-                abortProcessInstance(processInstanceId);
-            } catch (ProcessInstanceNotFoundException ex) {
-                logger.warn("Process instance with id " + processInstanceId + " was not found", ex);
+                abortProcessInstance(manager, processInstanceId);
+            } finally {
+                processInstanceDeployments.remove(processInstanceId);
             }
         });
+        return toResults(processInstanceIds, results);
     }
 
-    @Override
-    public void abortProcessInstances(String deploymentId, List<Long> processInstanceIds) {
-        processInstanceIds.forEach(processInstanceId -> {
+    /**
+     * Returns the deployments of the given process instances that are active, from the lookup cache when possible
+     * and otherwise with a single query (per chunk of ids) for all of the remaining process instances.
+     */
+    protected Map<Long, String> getActiveProcessInstanceDeploymentIds(Collection<Long> processInstanceIds) {
+        return getActiveProcessInstanceDeploymentIds(processInstanceIds, new HashSet<>());
+    }
+
+    /**
+     * Returns the deployments of the given active process instances as above, and adds the process instances whose
+     * deployment was taken from the lookup cache to the given set.
+     */
+    protected Map<Long, String> getActiveProcessInstanceDeploymentIds(Collection<Long> processInstanceIds, Set<Long> cached) {
+        Map<Long, String> deploymentIds = new HashMap<>();
+        List<Long> notCached = new ArrayList<>();
+        for (Long processInstanceId : processInstanceIds) {
+            String deploymentId = processInstanceDeployments.get(processInstanceId);
+            if (deploymentId != null) {
+                deploymentIds.put(processInstanceId, deploymentId);
+                cached.add(processInstanceId);
+            } else {
+                notCached.add(processInstanceId);
+            }
+        }
+        if (!notCached.isEmpty()) {
+            for (ProcessInstanceDesc piDesc : dataService.getProcessInstancesByIds(notCached, Collections.singletonList(ProcessInstance.STATE_ACTIVE))) {
+                processInstanceDeployments.put(piDesc.getId(), piDesc.getDeploymentId());
+                deploymentIds.put(piDesc.getId(), piDesc.getDeploymentId());
+            }
+        }
+        return deploymentIds;
+    }
+
+    /**
+     * Executes a bulk operation given by its deployment scoped variant for the process instances of every
+     * deployment. Process instances that are not active (or their deployments) are reported as failed. Process
+     * instances that were not found in the deployment from the lookup cache (e.g. because they were migrated) are
+     * executed again with the deployment from the audit log.
+     */
+    protected List<ProcessInstanceOperationResult> executeByDeployment(List<Long> processInstanceIds, BiFunction<String, List<Long>, List<ProcessInstanceOperationResult>> operation) {
+        Map<Long, ProcessInstanceOperationResult> results = new HashMap<>();
+        Set<Long> cached = new HashSet<>();
+        Map<Long, String> deploymentIds = getActiveProcessInstanceDeploymentIds(new LinkedHashSet<>(processInstanceIds), cached);
+        executeByDeployment(new LinkedHashSet<>(processInstanceIds), deploymentIds, operation, results);
+
+        Set<Long> stale = new LinkedHashSet<>();
+        for (Long processInstanceId : cached) {
+            Exception error = results.get(processInstanceId).getError();
+            if (error instanceof ProcessInstanceNotFoundException || error instanceof DeploymentNotFoundException) {
+                processInstanceDeployments.remove(processInstanceId);
+                stale.add(processInstanceId);
+            }
+        }
+        if (!stale.isEmpty()) {
+            Map<Long, String> currentDeploymentIds = getActiveProcessInstanceDeploymentIds(stale);
+            // only those that moved to another deployment, the others are not active anymore
+            stale.removeIf(processInstanceId -> currentDeploymentIds.get(processInstanceId) == null
+                    || currentDeploymentIds.get(processInstanceId).equals(deploymentIds.get(processInstanceId)));
+            executeByDeployment(stale, currentDeploymentIds, operation, results);
+        }
+        return toResults(processInstanceIds, results);
+    }
+
+    private void executeByDeployment(Set<Long> processInstanceIds, Map<Long, String> deploymentIds, BiFunction<String, List<Long>, List<ProcessInstanceOperationResult>> operation, Map<Long, ProcessInstanceOperationResult> results) {
+        Map<String, List<Long>> processInstancesByDeployment = new LinkedHashMap<>();
+        for (Long processInstanceId : processInstanceIds) {
+            String deploymentId = deploymentIds.get(processInstanceId);
+            if (deploymentId == null) {
+                results.put(processInstanceId, ProcessInstanceOperationResult.failed(processInstanceId,
+                        new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found")));
+            } else {
+                processInstancesByDeployment.computeIfAbsent(deploymentId, id -> new ArrayList<>()).add(processInstanceId);
+            }
+        }
+        for (Map.Entry<String, List<Long>> entry : processInstancesByDeployment.entrySet()) {
             try {
-                abortProcessInstance(processInstanceId);
-            } catch (ProcessInstanceNotFoundException ex) {
-                logger.warn("Process instance with id " + processInstanceId + " was not found", ex);
+                operation.apply(entry.getKey(), entry.getValue()).forEach(result -> results.put(result.getProcessInstanceId(), result));
+            } catch (DeploymentNotFoundException e) {
+                entry.getValue().forEach(processInstanceId -> results.put(processInstanceId, ProcessInstanceOperationResult.failed(processInstanceId, e)));
             }
-        });
+        }
+    }
+
+    /**
+     * Executes the operation on the given process instances of a deployment, in transactions of (at most) the
+     * {@link #BULK_OPERATION_BATCH_SIZE bulk operation batch size} that are processed in parallel if
+     * {@link #BULK_OPERATION_PARALLELISM enabled}. A batch that fails is rolled back and its process instances are
+     * then processed one by one, unless it is part of a surrounding transaction.
+     * @param operationFactory creates the operation (on a process instance id) for the runtime manager of the deployment
+     */
+    protected Map<Long, ProcessInstanceOperationResult> executeInBatches(String deploymentId, Collection<Long> processInstanceIds, Function<RuntimeManager, Consumer<Long>> operationFactory) {
+        DeployedUnit deployedUnit = deploymentService.getDeployedUnit(deploymentId);
+        if (deployedUnit == null) {
+            throw new DeploymentNotFoundException("No deployments available for " + deploymentId);
+        }
+        RuntimeManager manager = deployedUnit.getRuntimeManager();
+        Consumer<Long> operation = operationFactory.apply(manager);
+        int batchSize = Math.max(1, Integer.getInteger(BULK_OPERATION_BATCH_SIZE, DEFAULT_BULK_OPERATION_BATCH_SIZE));
+        List<Long> ids = new ArrayList<>(processInstanceIds);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+
+        Map<Long, ProcessInstanceOperationResult> results = new HashMap<>();
+        int parallelism = Math.min(Integer.getInteger(BULK_OPERATION_PARALLELISM, 1), batches.size());
+        RuntimeStrategy strategy = deployedUnit.getDeploymentUnit().getStrategy();
+        if (parallelism > 1 && (strategy == RuntimeStrategy.PER_PROCESS_INSTANCE || strategy == RuntimeStrategy.PER_REQUEST)
+                && TransactionManagerFactory.get().newTransactionManager().getStatus() == TransactionManager.STATUS_NO_TRANSACTION) {
+            // the operation runs (at most) as many workers as its parallelism, each taking batches until none are left,
+            // no matter how many batches there are or how many threads the shared executor has
+            Queue<List<Long>> pending = new ConcurrentLinkedQueue<>(batches);
+            ClassLoader callerClassLoader = Thread.currentThread().getContextClassLoader();
+            List<Future<Map<Long, ProcessInstanceOperationResult>>> futures = new ArrayList<>();
+            try {
+                for (int i = 0; i < parallelism; i++) {
+                    futures.add(getBulkOperationExecutor().submit(() -> {
+                        ClassLoader workerClassLoader = Thread.currentThread().getContextClassLoader();
+                        Thread.currentThread().setContextClassLoader(callerClassLoader);
+                        try {
+                            Map<Long, ProcessInstanceOperationResult> workerResults = new HashMap<>();
+                            List<Long> batch;
+                            while ((batch = pending.poll()) != null) {
+                                workerResults.putAll(executeBatch(batch, operation));
+                            }
+                            return workerResults;
+                        } finally {
+                            Thread.currentThread().setContextClassLoader(workerClassLoader);
+                        }
+                    }));
+                }
+                for (Future<Map<Long, ProcessInstanceOperationResult>> future : futures) {
+                    results.putAll(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.clear();
+                throw new RuntimeException("Interrupted while waiting for bulk operation on " + deploymentId, e);
+            } catch (ExecutionException e) {
+                pending.clear();
+                throw new RuntimeException("Bulk operation on " + deploymentId + " failed", e.getCause());
+            }
+        } else {
+            for (List<Long> batch : batches) {
+                results.putAll(executeBatch(batch, operation));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the executor that runs the batches of bulk operations in parallel: the container's managed executor
+     * service (looked up as {@link #BULK_OPERATION_EXECUTOR}), which runs them with the caller's context such as its
+     * identity, or otherwise a thread pool of at most {@link #BULK_OPERATION_PARALLELISM} threads shared by all
+     * bulk operations of this service, which only carries over the caller's context class loader.
+     */
+    protected synchronized ExecutorService getBulkOperationExecutor() {
+        if (bulkOperationExecutor == null) {
+            try {
+                bulkOperationExecutor = InitialContext.doLookup(System.getProperty(BULK_OPERATION_EXECUTOR, "java:comp/DefaultManagedExecutorService"));
+            } catch (Exception e) {
+                int threads = Math.max(1, Integer.getInteger(BULK_OPERATION_PARALLELISM, 1));
+                AtomicInteger threadCounter = new AtomicInteger();
+                ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "jbpm-bulk-operation-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                threadPool.allowCoreThreadTimeOut(true);
+                bulkOperationExecutor = threadPool;
+            }
+        }
+        return bulkOperationExecutor;
+    }
+
+    public synchronized void setBulkOperationExecutor(ExecutorService bulkOperationExecutor) {
+        this.bulkOperationExecutor = bulkOperationExecutor;
+    }
+
+    protected Map<Long, ProcessInstanceOperationResult> executeBatch(List<Long> batch, Consumer<Long> operation) {
+        TransactionManager txm = TransactionManagerFactory.get().newTransactionManager();
+        Map<Long, ProcessInstanceOperationResult> results = new HashMap<>();
+        boolean txOwner = txm.begin();
+        try {
+            batch.forEach(operation);
+            txm.commit(txOwner);
+            batch.forEach(processInstanceId -> results.put(processInstanceId, ProcessInstanceOperationResult.succeeded(processInstanceId)));
+        } catch (RuntimeException e) {
+            txm.rollback(txOwner);
+            if (!txOwner) {
+                throw e;
+            }
+            logger.debug("Batch of {} process instances failed, processing them one by one", batch.size(), e);
+            for (Long processInstanceId : batch) {
+                txOwner = txm.begin();
+                try {
+                    operation.accept(processInstanceId);
+                    txm.commit(txOwner);
+                    results.put(processInstanceId, ProcessInstanceOperationResult.succeeded(processInstanceId));
+                } catch (RuntimeException ex) {
+                    txm.rollback(txOwner);
+                    logger.debug("Operation on process instance {} failed", processInstanceId, ex);
+                    results.put(processInstanceId, ProcessInstanceOperationResult.failed(processInstanceId, ex));
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<ProcessInstanceOperationResult> toResults(List<Long> processInstanceIds, Map<Long, ProcessInstanceOperationResult> results) {
+        List<ProcessInstanceOperationResult> ordered = new ArrayList<>(processInstanceIds.size());
+        processInstanceIds.forEach(processInstanceId -> ordered.add(results.get(processInstanceId)));
+        return ordered;
     }
 
 	@Override
     public void signalProcessInstance(Long processInstanceId, String signalName, Object event) {
-        ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
-        if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
-            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
+        executeOnActiveProcessInstance(processInstanceId, deploymentId -> {
+            signalActiveProcessInstance(deploymentId, processInstanceId, signalName, event);
+            return null;
+        });
+	}
+
+	/**
+	 * Signals the process instance only if it is (still) active, which is checked in the same command so that
+	 * the process instance is loaded only once.
+	 */
+	protected void signalActiveProcessInstance(String deploymentId, Long processInstanceId, String signalName, Object event) {
+		DeployedUnit deployedUnit = deploymentService.getDeployedUnit(deploymentId);
+		if (deployedUnit == null) {
+			throw new DeploymentNotFoundException("No deployments available for " + deploymentId);
+		}
+		RuntimeManager manager = deployedUnit.getRuntimeManager();
+		signalActiveProcessInstance(manager, processInstanceId, signalName, process(event, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader()));
+	}
+
+	protected void signalActiveProcessInstance(RuntimeManager manager, Long processInstanceId, String signalName, Object processedEvent) {
+        RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
+        try {
+            KieSession ksession = engine.getKieSession();
+            boolean signalled = ksession.execute(new ExecutableCommand<Boolean>() {
+
+                private static final long serialVersionUID = 6204957253346212340L;
+
+                @Override
+                public Boolean execute(org.kie.api.runtime.Context context) {
+                    KieSession ksession = ((RegistryContext) context).lookup( KieSession.class );
+                    ProcessInstance pi = getProcessInstance(manager, ksession, processInstanceId, false);
+                    if (pi == null || pi.getState() != ProcessInstance.STATE_ACTIVE) {
+                        return false;
+                    }
+                    ksession.signalEvent(signalName, processedEvent, processInstanceId);
+                    return true;
+                }
+            });
+            if (!signalled) {
+                processInstanceDeployments.remove(processInstanceId);
+                throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
+            }
+        } catch(SessionNotFoundException e) {
+            processInstanceDeployments.remove(processInstanceId);
+            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found", e);
+        } finally {
+        	disposeRuntimeEngine(manager, engine);
         }
-        
-        signalProcessInstance(piDesc.getDeploymentId(), processInstanceId, signalName, event);
 	}
 
 	@Override
@@ -280,19 +767,17 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 	}
 
 	@Override
-	public void signalProcessInstances(List<Long> processInstanceIds, String signalName, Object event) {
-		for (Long processInstanceId : processInstanceIds) {
-			signalProcessInstance(processInstanceId, signalName, event);
-		}
-
+	public List<ProcessInstanceOperationResult> signalProcessInstances(List<Long> processInstanceIds, String signalName, Object event) {
+		return executeByDeployment(processInstanceIds, (deploymentId, ids) -> signalProcessInstances(deploymentId, ids, signalName, event));
 	}
 
 	@Override
-    public void signalProcessInstances(String deploymentId, List<Long> processInstanceIds, String signalName, Object event) {
-        for (Long processInstanceId : processInstanceIds) {
-            signalProcessInstance(deploymentId, processInstanceId, signalName, event);
-        }
-
+    public List<ProcessInstanceOperationResult> signalProcessInstances(String deploymentId, List<Long> processInstanceIds, String signalName, Object event) {
+        Map<Long, ProcessInstanceOperationResult> results = executeInBatches(deploymentId, new LinkedHashSet<>(processInstanceIds), manager -> {
+            Object processedEvent = process(event, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
+            return processInstanceId -> signalActiveProcessInstance(manager, processInstanceId, signalName, processedEvent);
+        });
+        return toResults(processInstanceIds, results);
     }
 
     @Override
@@ -308,12 +793,29 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
     
     @Override
     public ProcessInstance getProcessInstance(Long processInstanceId) {
+        String deploymentId = processInstanceDeployments.get(processInstanceId);
+        if (deploymentId != null) {
+            try {
+                ProcessInstance processInstance = getProcessInstance(deploymentId, processInstanceId);
+                if (processInstance == null) {
+                    processInstanceDeployments.remove(processInstanceId);
+                }
+                return processInstance;
+            } catch (ProcessInstanceNotFoundException | DeploymentNotFoundException e) {
+                logger.debug("Process instance {} not found in cached deployment {}, looking it up again", processInstanceId, deploymentId);
+                processInstanceDeployments.remove(processInstanceId);
+            }
+        }
         ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
         if (piDesc == null) {
             return null;
         }
         
-        return getProcessInstance(piDesc.getDeploymentId(), processInstanceId);
+        ProcessInstance processInstance = getProcessInstance(piDesc.getDeploymentId(), processInstanceId);
+        if (processInstance != null) {
+            cacheDeploymentId(processInstance, piDesc.getDeploymentId());
+        }
+        return processInstance;
     }
 
 	@Override
@@ -327,7 +829,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
         RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
         try {
             KieSession ksession = engine.getKieSession();
-            return ksession.getProcessInstance(processInstanceId);
+            return getProcessInstance(manager, ksession, processInstanceId, false);
         } catch(SessionNotFoundException e) {
             throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found", e);
         } finally {
@@ -364,12 +866,10 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 	
 	@Override
     public void setProcessVariable(Long processInstanceId, String variableId, Object value) {
-        ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
-        if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
-            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
-        }
-        
-        setProcessVariable(piDesc.getDeploymentId(), processInstanceId, variableId, value);
+        executeOnActiveProcessInstance(processInstanceId, deploymentId -> {
+            setProcessVariable(deploymentId, processInstanceId, variableId, value);
+            return null;
+        });
 	}
 
 	@Override
@@ -384,7 +884,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
         RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
         try {
             KieSession ksession = engine.getKieSession();
-            ProcessInstance pi = ksession.getProcessInstance(processInstanceId); 
+            ProcessInstance pi = getProcessInstance(manager, ksession, processInstanceId, false);
             if (pi == null) {
                 throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
             }
@@ -398,12 +898,10 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 	
 	@Override
     public void setProcessVariables(Long processInstanceId, Map<String, Object> variables) {
-        ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
-        if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
-            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
-        }
-        
-        setProcessVariables(piDesc.getDeploymentId(), processInstanceId, variables);
+        executeOnActiveProcessInstance(processInstanceId, deploymentId -> {
+            setProcessVariables(deploymentId, processInstanceId, variables);
+            return null;
+        });
 	}
 
 	@Override
@@ -418,7 +916,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
         RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
         try {
             KieSession ksession = engine.getKieSession();
-            ProcessInstance pi = ksession.getProcessInstance(processInstanceId); 
+            ProcessInstance pi = getProcessInstance(manager, ksession, processInstanceId, false);
             if (pi == null) {
                 throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
             }
@@ -432,12 +930,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 	
 	@Override
     public Object getProcessInstanceVariable(Long processInstanceId, String variableName) {
-        ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
-        if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
-            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
-        }
-        
-        return getProcessInstanceVariable(piDesc.getDeploymentId(), processInstanceId, variableName);
+        return executeOnActiveProcessInstance(processInstanceId, deploymentId -> getProcessInstanceVariable(deploymentId, processInstanceId, variableName));
 	}
 
 	@Override
@@ -458,7 +951,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
                 @Override
                 public Object execute(org.kie.api.runtime.Context context) {
                     KieSession ksession = ((RegistryContext) context).lookup( KieSession.class );
-                    WorkflowProcessInstance pi = (WorkflowProcessInstance) ksession.getProcessInstance(processInstanceId, true);
+                    WorkflowProcessInstance pi = (WorkflowProcessInstance) getProcessInstance(manager, ksession, processInstanceId, true);
                     if (pi == null) {
                         throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
                     }
@@ -478,12 +971,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
 	
 	@Override
     public Map<String, Object> getProcessInstanceVariables(Long processInstanceId) {
-        ProcessInstanceDesc piDesc = dataService.getProcessInstanceById(processInstanceId);
-        if (piDesc == null || piDesc.getState() != ProcessInstance.STATE_ACTIVE) {
-            throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
-        }
-        
-        return getProcessInstanceVariables(piDesc.getDeploymentId(), processInstanceId);                
+        return executeOnActiveProcessInstance(processInstanceId, deploymentId -> getProcessInstanceVariables(deploymentId, processInstanceId));
 	}
 
 	@Override
@@ -497,7 +985,7 @@ public class ProcessServiceImpl implements ProcessService, VariablesAware {
         RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
         try {
             KieSession ksession = engine.getKieSession();
-            WorkflowProcessInstanceImpl pi = (WorkflowProcessInstanceImpl) ksession.getProcessInstance(processInstanceId, true);
+            WorkflowProcessInstanceImpl pi = (WorkflowProcessInstanceImpl) getProcessInstance(manager, ksession, processInstanceId, true);
             if (pi == null) {
                 throw new ProcessInstanceNotFoundException("Process instance with id " + processInstanceId + " was not found");
             }
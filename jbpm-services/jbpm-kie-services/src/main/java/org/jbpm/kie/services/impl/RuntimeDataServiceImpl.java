@@ -75,6 +75,8 @@ public class RuntimeDataServiceImpl implements RuntimeDataService, DeploymentEve
 
     private static final String DEPLOYMENT_ID_MUST_NOT_BE_NULL = "DeploymentId must not be null";
     private static final String TASK_NOT_FOUND ="No task found with id {0}";
+    // keeps the in clause of getProcessInstancesByIds within the limits of all supported databases
+    private static final int MAX_PROCESS_INSTANCE_IDS_PER_QUERY = 1000;
 
     protected Set<String> deploymentIds = new HashSet<String>();
     protected Set<ProcessDefinition> availableProcesses = new HashSet<ProcessDefinition>();
@@ -471,6 +473,20 @@ public class RuntimeDataServiceImpl implements RuntimeDataService, DeploymentEve
         return null;
    }
 
+    @Override
+    public Collection<ProcessInstanceDesc> getProcessInstancesByIds(List<Long> processInstanceIds, List<Integer> states) {
+        List<ProcessInstanceDesc> processInstances = new ArrayList<ProcessInstanceDesc>();
+        for (int from = 0; from < processInstanceIds.size(); from += MAX_PROCESS_INSTANCE_IDS_PER_QUERY) {
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("processInstanceIds", new ArrayList<Long>(processInstanceIds.subList(from, Math.min(from + MAX_PROCESS_INSTANCE_IDS_PER_QUERY, processInstanceIds.size()))));
+            params.put("states", states);
+            processInstances.addAll(commandService.execute(
+                    new QueryNameCommand<List<ProcessInstanceDesc>>("getProcessInstancesByIdsAndStatus", params)));
+        }
+
+        return Collections.unmodifiableCollection(processInstances);
+    }
+
 	@Override
 	public ProcessInstanceDesc getProcessInstanceByCorrelationKey(CorrelationKey correlationKey) {
 	   	Map<String, Object> params = new HashMap<String, Object>();
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.kie.services.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded (least recently used) cache of what service operations that are only given the id of a process instance
+ * or task need to know to reach it through the runtime manager (its deployment and process instance), so that they
+ * do not have to look it up in the audit log first.
+ * </p>
+ * An entry becomes stale when its process instance or task does not exist (or is not active) anymore, or when its
+ * process instance is migrated to another deployment, which can happen on another cluster member. Operations using
+ * a cached entry must therefore check, in the same command, that the process instance or task still belongs to the
+ * cached deployment, and otherwise drop the entry and look it up again.
+ * The cache is disabled unless its size is set with the {@link #CACHE_SIZE} system property.
+ */
+public class RuntimeLookupCache<V> {
+
+    public static final String CACHE_SIZE = "org.jbpm.services.lookup.cache.size";
+
+    private final int maxSize;
+    private final Map<Long, V> entries;
+
+    public RuntimeLookupCache() {
+        this(Integer.getInteger(CACHE_SIZE, 0));
+    }
+
+    public RuntimeLookupCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Long, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(Long id) {
+        return entries.get(id);
+    }
+
+    public synchronized void put(Long id, V value) {
+        if (maxSize > 0 && id != null && value != null) {
+            entries.put(id, value);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        entries.remove(id);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -17,6 +17,7 @@
 package org.jbpm.kie.services.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -50,9 +51,11 @@ import org.kie.api.task.model.OrganizationalEntity;
 import org.kie.api.task.model.Status;
 import org.kie.api.task.model.Task;
 import org.kie.internal.runtime.manager.InternalRuntimeManager;
+import org.kie.internal.runtime.manager.SessionNotFoundException;
 import org.kie.internal.runtime.manager.context.ProcessInstanceIdContext;
 import org.kie.internal.task.api.ContentMarshallerContext;
 import org.kie.internal.task.api.InternalTaskService;
+import org.kie.internal.task.api.TaskContext;
 import org.kie.internal.task.api.TaskModelProvider;
 import org.kie.internal.task.api.model.AccessType;
 import org.kie.internal.task.api.model.InternalAttachment;
@@ -72,6 +75,8 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
     
     private InternalTaskService nonProcessScopedTaskService;
 
+    private RuntimeLookupCache<UserTaskInstanceDesc> taskLookups = new RuntimeLookupCache<>();
+
     
     public UserTaskServiceImpl() {
         ServiceRegistry.get().register(UserTaskService.class.getSimpleName(), this);
@@ -95,6 +100,82 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	
 	// helper methods
+	/**
+	 * Looks the task up in the audit log and keeps its deployment and process instance in the lookup cache.
+	 */
+	protected UserTaskInstanceDesc findTask(Long taskId) {
+		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
+		if (task != null && task.getDeploymentId() != null) {
+			taskLookups.put(taskId, new org.jbpm.kie.services.impl.model.UserTaskInstanceDesc(taskId, null, null, null, null, null, null,
+			        task.getProcessInstanceId(), null, null, task.getDeploymentId(), null));
+		}
+		return task;
+	}
+
+	/**
+	 * Executes the operation on the task with the runtime engine of its process instance. A task found in the lookup
+	 * cache is checked to still belong to the cached deployment in the same command as the operation, as that changes
+	 * when its process instance is migrated (possibly by another cluster member). If it does not, the entry is dropped
+	 * and the task is looked up in the audit log again.
+	 */
+	protected <T> T executeOnTask(String deploymentId, Long taskId, TaskOperation<T> operation) {
+		UserTaskInstanceDesc cached = taskLookups.get(taskId);
+		if (cached != null) {
+			if (deploymentId == null || deploymentId.equals(cached.getDeploymentId())) {
+				try {
+					return executeOnTask(cached, operation, true);
+				} catch (StaleTaskLookupException e) {
+					logger.debug("Task {} is no longer associated with {}, looking it up again", taskId, cached.getDeploymentId());
+				}
+			}
+			taskLookups.remove(taskId);
+		}
+		UserTaskInstanceDesc task = findTask(taskId);
+		validateTask(deploymentId, taskId, task);
+		return executeOnTask(task, operation, false);
+	}
+
+	private <T> T executeOnTask(UserTaskInstanceDesc task, TaskOperation<T> operation, boolean checkDeployment) {
+		RuntimeManager manager = getRuntimeManager(task);
+		if (manager == null) {
+			if (checkDeployment) {
+				throw new StaleTaskLookupException();
+			}
+			logger.warn("Cannot find runtime manager for task {}", task.getTaskId());
+			return null;
+		}
+		RuntimeEngine engine;
+		try {
+			engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
+		} catch (SessionNotFoundException e) {
+			if (checkDeployment) {
+				throw new StaleTaskLookupException();
+			}
+			throw e;
+		}
+		try {
+			TaskService taskService = engine.getTaskService();
+			if (!checkDeployment) {
+				return operation.execute(task, manager, taskService);
+			}
+			return taskService.execute(new TaskCommand<T>() {
+
+				private static final long serialVersionUID = -3594773588371458392L;
+
+				@Override
+				public T execute(org.kie.api.runtime.Context context) {
+					Task current = ((TaskContext) context).getPersistenceContext().findTask(task.getTaskId());
+					if (current == null || !task.getDeploymentId().equals(current.getTaskData().getDeploymentId())) {
+						throw new StaleTaskLookupException();
+					}
+					return operation.execute(task, manager, taskService);
+				}
+			});
+		} finally {
+			disposeRuntimeEngine(manager, engine);
+		}
+	}
+
 	protected RuntimeManager getRuntimeManager(UserTaskInstanceDesc task) {		
 		if (task != null && task.getDeploymentId() != null) {			
 			return deploymentService.getRuntimeManager(task.getDeploymentId());
@@ -147,24 +228,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void activate(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.activate(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.activate(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 	
 	@Override
@@ -174,22 +246,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void claim(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			taskService.claim(taskId, userId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 
 	}
 
@@ -200,25 +261,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	
     @Override
     public void complete(String deploymentId, Long taskId, String userId, Map<String, Object> params) {
-        UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-        validateTask(deploymentId, taskId, task);
-
-        RuntimeManager manager = getRuntimeManager(task);
-        if (manager == null) {
-            logger.warn("Cannot find runtime manager for task {}", taskId);
-            return;
-        }
-        if (manager instanceof InternalRuntimeManager) {
-            params = process(params, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
-        }
-        RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-        try {
-            TaskService taskService = engine.getTaskService();
+        executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+            Map<String, Object> processedParams = params;
+            if (manager instanceof InternalRuntimeManager) {
+                processedParams = process(params, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
+            }
             // perform actual operation
-            taskService.complete(taskId, userId, params);
-        } finally {
-            disposeRuntimeEngine(manager, engine);
-        }
+            taskService.complete(taskId, userId, processedParams);
+            return null;
+        });
 
     }
     
@@ -265,22 +316,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void delegate(String deploymentId, Long taskId, String userId, String targetUserId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			taskService.delegate(taskId, userId, targetUserId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -290,24 +330,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void exit(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.exit(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.exit(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 
 	@Override
@@ -317,27 +348,19 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	
 	@Override
 	public void fail(String deploymentId, Long taskId, String userId, Map<String, Object> faultData) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		if (manager instanceof InternalRuntimeManager) {
-			faultData = process(faultData, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.fail(taskId, userId, faultData);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				Map<String, Object> processedFaultData = faultData;
+				if (manager instanceof InternalRuntimeManager) {
+					processedFaultData = process(faultData, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
+				}
+				// perform actual operation
+				taskService.fail(taskId, userId, processedFaultData);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 	
 	@Override
@@ -347,22 +370,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void forward(String deploymentId, Long taskId, String userId, String targetEntityId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			taskService.forward(taskId, userId, targetEntityId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -372,22 +384,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void release(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			taskService.release(taskId, userId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 
 	@Override
@@ -397,24 +398,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	
 	@Override
 	public void resume(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.resume(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.resume(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 
 	@Override
@@ -424,24 +416,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	
 	@Override
 	public void skip(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.skip(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.skip(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 	
 	@Override
@@ -451,24 +434,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void start(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.start(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.start(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 	
 	@Override
@@ -478,24 +452,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void stop(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.stop(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.stop(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 	
 	@Override
@@ -505,24 +470,15 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void suspend(String deploymentId, Long taskId, String userId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
 		try {
-			TaskService taskService = engine.getTaskService();
-			// perform actual operation
-			taskService.suspend(taskId, userId);
-		} catch(PermissionDeniedException e){
+			executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+				// perform actual operation
+				taskService.suspend(taskId, userId);
+				return null;
+			});
+		} catch (PermissionDeniedException e) {
             throw new TaskNotFoundException(e.getMessage());
-        } finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+        }
 	}
 	
 	@Override
@@ -532,22 +488,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void nominate(String deploymentId, Long taskId, String userId, List<OrganizationalEntity> potentialOwners) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			taskService.nominate(taskId, userId, potentialOwners);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -557,22 +502,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void setPriority(String deploymentId, Long taskId, int priority) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			((InternalTaskService)taskService).setPriority(taskId, priority);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -582,22 +516,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void setExpirationDate(String deploymentId, Long taskId, Date date) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			((InternalTaskService)taskService).setExpirationDate(taskId, date);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -607,22 +530,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void setSkipable(String deploymentId, Long taskId, boolean skipable) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			((InternalTaskService)taskService).setSkipable(taskId, skipable);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -632,28 +544,17 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	
 	@Override
 	public void setName(String deploymentId, Long taskId, String name) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			InternalI18NText text = (InternalI18NText)TaskModelProvider.getFactory().newI18NText();
 			text.setLanguage("en-UK");
 			text.setText(name);
 			
 			List<I18NText> names = new ArrayList<I18NText>();
 			names.add(text);
-			TaskService taskService = engine.getTaskService();
 			// perform actual operation
 			((InternalTaskService)taskService).setTaskNames(taskId, names);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 		
 	}
 	
@@ -664,28 +565,17 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void setDescription(String deploymentId, Long taskId, String description) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			InternalI18NText text = (InternalI18NText)TaskModelProvider.getFactory().newI18NText();
 			text.setLanguage("en-UK");
 			text.setText(description);
 			
 			List<I18NText> names = new ArrayList<I18NText>();
 			names.add(text);
-			TaskService taskService = engine.getTaskService();
 			// perform actual operation
 			((InternalTaskService)taskService).setDescriptions(taskId, names);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -704,25 +594,14 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
     }
 
     public Long saveContent(String deploymentId, Long taskId, String userId, Map<String, Object> values) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		if (manager instanceof InternalRuntimeManager) {
-			values = process(values, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+			Map<String, Object> processedValues = values;
+			if (manager instanceof InternalRuntimeManager) {
+				processedValues = process(values, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
+			}
 			// perform actual operation
-            return ((InternalTaskService) taskService).addContentFromUser(taskId, userId, (Map<String, Object>) values);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+            return ((InternalTaskService) taskService).addContentFromUser(taskId, userId, processedValues);
+		});
 	}
 	
 	@Override
@@ -732,22 +611,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	
 	@Override
 	public void deleteContent(String deploymentId, Long taskId, Long contentId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			((InternalTaskService)taskService).deleteContent(taskId, contentId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -758,17 +626,7 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	@SuppressWarnings("unchecked")
 	@Override
 	public Map<String, Object> getTaskOutputContentByTaskId(String deploymentId, Long taskId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			Task taskInstanceById = taskService.getTaskById(taskId);
 	        long documentContentId = taskInstanceById.getTaskData().getOutputContentId();
@@ -791,9 +649,7 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	            return data;
 	        }
 	        return new HashMap<String, Object>();
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
 	@Override
@@ -804,17 +660,7 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	@SuppressWarnings("unchecked")
 	@Override
 	public Map<String, Object> getTaskInputContentByTaskId(String deploymentId, Long taskId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			Task taskInstanceById = taskService.getTaskById(taskId);
 	        long documentContentId = taskInstanceById.getTaskData().getDocumentContentId();
@@ -837,11 +683,42 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
                 return data;
 	        }
 	        return new HashMap<String, Object>();
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
+	@Override
+	public Map<String, Object> getTaskInputContentByTaskId(String deploymentId, Long taskId, Collection<String> variableNames) {
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+			// perform actual operation
+			Task taskInstanceById = taskService.getTaskById(taskId);
+			long documentContentId = taskInstanceById.getTaskData().getDocumentContentId();
+			Map<String, Object> data = new HashMap<String, Object>();
+			if (documentContentId > 0) {
+				Content contentById = taskService.getContentById(documentContentId);
+				if (contentById == null) {
+					return data;
+				}
+
+				ContentMarshallerContext ctx = TaskContentRegistry.get().getMarshallerContext(task.getDeploymentId());
+				// only unmarshall the requested variables
+				Map<String, Object> content = ContentMarshallerHelper.unmarshallLazily(contentById.getContent(), ctx.getEnvironment(), ctx.getClassloader());
+				if (content == null) {
+					return data;
+				}
+				for (String variableName : variableNames) {
+					if (content.containsKey(variableName)) {
+						Object variable = content.get(variableName);
+						if (variable instanceof LazyLoaded<?>) {
+							((LazyLoaded<?>) variable).load();
+						}
+						data.put(variableName, variable);
+					}
+				}
+			}
+			return data;
+		});
+	}
+
 	@Override
     public Long addComment(Long taskId, String text, String addedBy, Date addedOn) {
 	    return addComment(null, taskId, text, addedBy, addedOn);
@@ -849,26 +726,14 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public Long addComment(String deploymentId, Long taskId, String text, String addedBy, Date addedOn) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			InternalComment comment = (InternalComment)TaskModelProvider.getFactory().newComment();
 	        comment.setText(text);
 	        comment.setAddedAt(addedOn);
 	        comment.setAddedBy(TaskModelProvider.getFactory().newUser(addedBy));
 			return ((InternalTaskService)taskService).addComment(taskId, comment);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
 	@Override
@@ -878,22 +743,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void deleteComment(String deploymentId, Long taskId, Long commentId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			((InternalTaskService)taskService).deleteComment(taskId, commentId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -903,22 +757,10 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public List<Comment> getCommentsByTaskId(String deploymentId, Long taskId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return Collections.emptyList();
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			return ((InternalTaskService)taskService).getAllCommentsByTaskId(taskId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
 	@Override
@@ -928,22 +770,10 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public Comment getCommentById(String deploymentId, Long taskId, Long commentId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			return ((InternalTaskService)taskService).getCommentById(commentId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
 	@Override
@@ -953,33 +783,22 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public Long addAttachment(String deploymentId, Long taskId, String userId, String name, Object attachment) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		if (manager instanceof InternalRuntimeManager) {
-			attachment = process(attachment, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
+			Object processedAttachment = attachment;
+			if (manager instanceof InternalRuntimeManager) {
+				processedAttachment = process(attachment, ((InternalRuntimeManager) manager).getEnvironment().getClassLoader());
+			}
 			// perform actual operation
 			InternalAttachment att = (InternalAttachment) TaskModelProvider.getFactory().newAttachment();
 			att.setName(name);
 			att.setAccessType(AccessType.Inline);
 			att.setAttachedAt(new Date());
 			att.setAttachedBy(TaskModelProvider.getFactory().newUser(userId));
-			att.setContentType(attachment.getClass().getName());
+			att.setContentType(processedAttachment.getClass().getName());
 	        
 			
-			return ((InternalTaskService)taskService).execute(new AddAttachmentCommand(taskId, att, attachment));
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return ((InternalTaskService)taskService).execute(new AddAttachmentCommand(taskId, att, processedAttachment));
+		});
 	}
 	
 	@Override
@@ -989,22 +808,11 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public void deleteAttachment(String deploymentId, Long taskId, Long attachmentId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			((InternalTaskService)taskService).deleteAttachment(taskId, attachmentId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+			return null;
+		});
 	}
 	
 	@Override
@@ -1014,22 +822,10 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public Attachment getAttachmentById(String deploymentId, Long taskId, Long attachmentId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			return ((InternalTaskService)taskService).getAttachmentById(attachmentId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
 	@Override
@@ -1039,18 +835,8 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public Object getAttachmentContentById(String deploymentId, Long taskId, Long attachmentId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation			
-			TaskService taskService = engine.getTaskService();
 			Attachment attachment = ((InternalTaskService)taskService).getAttachmentById(attachmentId);
 			
 	        long documentContentId = attachment.getAttachmentContentId();
@@ -1065,9 +851,7 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 	            return unmarshall;
 	        }
 	        return null;
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 
 	@Override
@@ -1077,22 +861,10 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public List<Attachment> getAttachmentsByTaskId(String deploymentId, Long taskId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return Collections.emptyList();
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			return ((InternalTaskService)taskService).getAllAttachmentsByTaskId(taskId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 
 	@Override
@@ -1132,22 +904,10 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
 	@Override
 	public Task getTask(String deploymentId, Long taskId) {
-		UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-		validateTask(deploymentId, taskId, task);
-
-		RuntimeManager manager = getRuntimeManager(task);
-		if (manager == null) {
-			logger.warn("Cannot find runtime manager for task {}", taskId);
-			return null;
-		}
-		RuntimeEngine engine = manager.getRuntimeEngine(ProcessInstanceIdContext.get(task.getProcessInstanceId()));
-		try {
-			TaskService taskService = engine.getTaskService();
+		return executeOnTask(deploymentId, taskId, (task, manager, taskService) -> {
 			// perform actual operation
 			return ((InternalTaskService)taskService).getTaskById(taskId);
-		} finally {
-			disposeRuntimeEngine(manager, engine);
-		}
+		});
 	}
 	
 	@Override
@@ -1157,11 +917,8 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 
     @Override
     public void updateTask(String deploymentId, Long taskId, String userId, UserTaskInstanceDesc userTask, Map<String, Object> inputData, Map<String, Object> outputData) {
-        UserTaskInstanceDesc task = dataService.getTaskById(taskId);
-        validateTask(deploymentId, taskId, task);
-        
         UpdateTaskCommand command = new UpdateTaskCommand(taskId, userId, userTask, inputData, outputData);
-        execute(task.getDeploymentId(), ProcessInstanceIdContext.get(task.getProcessInstanceId()), command);
+        executeOnTask(deploymentId, taskId, (task, manager, taskService) -> taskService.execute(command));
     }
 
 	@Override
@@ -1174,6 +931,24 @@ public class UserTaskServiceImpl implements UserTaskService, VariablesAware {
 		manager.disposeRuntimeEngine(engine);
 	}
 	
+	/**
+	 * Operation on a task, given the task (with at least its deployment and process instance), the runtime manager of
+	 * its deployment and the task service of the runtime engine of its process instance.
+	 */
+	@FunctionalInterface
+	protected interface TaskOperation<T> {
+
+		T execute(UserTaskInstanceDesc task, RuntimeManager manager, TaskService taskService);
+	}
+
+	/**
+	 * Thrown when a task found in the lookup cache does not belong to the cached deployment anymore.
+	 */
+	private static class StaleTaskLookupException extends RuntimeException {
+
+		private static final long serialVersionUID = 8812263545470213167L;
+	}
+
 	private class FalbackRuntimeManager implements RuntimeManager {
 		
 		private InternalTaskService taskService;
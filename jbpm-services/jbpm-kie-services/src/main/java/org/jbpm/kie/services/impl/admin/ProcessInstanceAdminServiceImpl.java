@@ -30,6 +30,7 @@ import org.jbpm.kie.services.impl.admin.commands.TriggerNodeCommand;
 import org.jbpm.process.instance.command.RelativeUpdateTimerCommand;
 import org.jbpm.process.instance.command.UpdateTimerCommand;
 import org.jbpm.runtime.manager.impl.AbstractRuntimeManager;
+import org.jbpm.runtime.manager.impl.error.AsyncExecutionErrorStorage;
 import org.jbpm.services.api.NodeInstanceNotFoundException;
 import org.jbpm.services.api.NodeNotFoundException;
 import org.jbpm.services.api.ProcessInstanceNotFoundException;
@@ -156,6 +157,8 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
     
     @Override
     public void acknowledgeError(String... errorId) throws ExecutionErrorNotFoundException {
+        // errors may still be buffered by an asynchronous execution error storage
+        AsyncExecutionErrorStorage.flush(null);
         for (String error : errorId) {
             Map<String, Object> params = new HashMap<String, Object>();
             params.put("errorId", error);               
@@ -179,6 +182,7 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
     public ExecutionError getError(String errorId) throws ExecutionErrorNotFoundException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("errorId", errorId);               
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorByIdSkipAckCheck",params));
         
         if (execErrors.isEmpty()) {
@@ -195,6 +199,7 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrors",params));
         return execErrors;
     }
@@ -208,6 +213,7 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        AsyncExecutionErrorStorage.flush(deploymentId);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByProcessId",params));
         return execErrors;
     }
@@ -219,6 +225,7 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByProcessInstanceId",params));
         return execErrors;
     }
@@ -231,6 +238,7 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByProcessInstanceIdNodeName",params));
         return execErrors;
     }
@@ -242,6 +250,7 @@ public class ProcessInstanceAdminServiceImpl implements ProcessInstanceAdminServ
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);
 
+        AsyncExecutionErrorStorage.flush(containerId);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByDeploymentId", params));
         return execErrors;
     }
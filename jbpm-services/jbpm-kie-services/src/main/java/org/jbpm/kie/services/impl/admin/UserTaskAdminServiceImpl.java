@@ -32,6 +32,7 @@ import org.jbpm.kie.services.impl.admin.commands.RemovePeopleAssignmentsCommand;
 import org.jbpm.kie.services.impl.admin.commands.RemoveTaskDataCommand;
 import org.jbpm.kie.services.impl.admin.commands.ScheduleTaskDeadlineCommand;
 import org.jbpm.runtime.manager.impl.AbstractRuntimeManager;
+import org.jbpm.runtime.manager.impl.error.AsyncExecutionErrorStorage;
 import org.jbpm.services.api.RuntimeDataService;
 import org.jbpm.services.api.TaskNotFoundException;
 import org.jbpm.services.api.UserTaskService;
@@ -360,6 +361,8 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        // errors may still be buffered by an asynchronous execution error storage
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getTaskErrors",params));
         return execErrors;
     }
@@ -371,6 +374,7 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByTaskId",params));        
         return execErrors;
     }
@@ -382,6 +386,7 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);        
         
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByTaskName",params));
         return execErrors;
     }
@@ -394,6 +399,7 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);   
         
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByTaskNameProcessId",params));
 
         return execErrors;
@@ -408,6 +414,7 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
         params.put("ack", getAckMode(includeAcknowledged));
         applyQueryContext(params, queryContext);  
         
+        AsyncExecutionErrorStorage.flush(deploymentId);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorsByTaskNameProcessIdDeploymentId",params));
 
         return execErrors;
@@ -416,6 +423,7 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
     @Override
     public void acknowledgeError(String... errorId) throws ExecutionErrorNotFoundException {
         
+        AsyncExecutionErrorStorage.flush(null);
         for (String error : errorId) {
             Map<String, Object> params = new HashMap<String, Object>();
             params.put("errorId", error);               
@@ -439,6 +447,7 @@ public class UserTaskAdminServiceImpl implements UserTaskAdminService {
     public ExecutionError getError(String errorId) throws ExecutionErrorNotFoundException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("errorId", errorId);               
+        AsyncExecutionErrorStorage.flush(null);
         List<ExecutionError> execErrors = commandService.execute(new QueryNameCommand<List<ExecutionError>>("getErrorByIdSkipAckCheck",params));
         
         if (execErrors.isEmpty()) {
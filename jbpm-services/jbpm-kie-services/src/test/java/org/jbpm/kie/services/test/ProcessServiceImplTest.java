@@ -24,6 +24,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.naming.InitialContext;
@@ -32,11 +35,15 @@ import javax.transaction.UserTransaction;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.core.command.runtime.process.GetProcessInstanceCommand;
 import org.jbpm.kie.services.impl.KModuleDeploymentUnit;
+import org.jbpm.kie.services.impl.ProcessServiceImpl;
 import org.jbpm.kie.test.util.AbstractKieServicesBaseTest;
 import org.jbpm.services.api.ProcessInstanceNotFoundException;
 import org.jbpm.services.api.model.DeploymentUnit;
 import org.jbpm.services.api.model.NodeInstanceDesc;
 import org.jbpm.services.api.model.ProcessInstanceDesc;
+import org.jbpm.services.api.model.ProcessInstanceOperationResult;
+import org.jbpm.services.api.model.ProcessStartRequest;
+import org.jbpm.services.api.model.ProcessStartResult;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,6 +54,7 @@ import org.kie.api.runtime.process.WorkItem;
 import org.kie.api.runtime.query.QueryContext;
 import org.kie.internal.KieInternalServices;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.internal.process.CorrelationKeyFactory;
 import org.kie.internal.runtime.conf.DeploymentDescriptor;
 import org.kie.internal.runtime.conf.RuntimeStrategy;
 import org.kie.internal.runtime.manager.deploy.DeploymentDescriptorImpl;
@@ -55,6 +63,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -210,6 +219,50 @@ public class ProcessServiceImplTest extends AbstractKieServicesBaseTest {
     	assertNull(pi);
     }
 
+    @Test
+    public void testStartProcesses() {
+        assertNotNull(deploymentService);
+
+        KModuleDeploymentUnit deploymentUnit = new KModuleDeploymentUnit(GROUP_ID, ARTIFACT_ID, VERSION);
+
+        deploymentService.deploy(deploymentUnit);
+        units.add(deploymentUnit);
+        assertNotNull(processService);
+
+        CorrelationKeyFactory keyFactory = KieInternalServices.Factory.get().newCorrelationKeyFactory();
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("id", "test");
+
+        List<ProcessStartRequest> requests = new ArrayList<ProcessStartRequest>();
+        requests.add(new ProcessStartRequest("org.jbpm.writedocument", keyFactory.newCorrelationKey("first"), params));
+        requests.add(new ProcessStartRequest("org.jbpm.writedocument", keyFactory.newCorrelationKey("second"), params));
+        // fails as the correlation key is already used, which must not fail the other start of its batch
+        requests.add(new ProcessStartRequest("org.jbpm.writedocument", keyFactory.newCorrelationKey("first"), params));
+        requests.add(new ProcessStartRequest("org.jbpm.writedocument"));
+        requests.add(new ProcessStartRequest("customtask", params));
+
+        List<ProcessStartResult> results = processService.startProcesses(deploymentUnit.getIdentifier(), requests, 2);
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i), results.get(i).getRequest());
+        }
+
+        assertFalse(results.get(2).isSuccessful());
+        assertNull(results.get(2).getProcessInstanceId());
+        assertNotNull(results.get(2).getError());
+        assertEquals(results.get(0).getProcessInstanceId().longValue(), processService.getProcessInstance(keyFactory.newCorrelationKey("first")).getId());
+
+        for (int i : new int[]{0, 1, 3}) {
+            assertTrue(results.get(i).isSuccessful());
+            ProcessInstance pi = processService.getProcessInstance(results.get(i).getProcessInstanceId());
+            assertNotNull(pi);
+            assertEquals(ProcessInstance.STATE_ACTIVE, pi.getState());
+            processService.abortProcessInstance(pi.getId());
+        }
+        assertTrue(results.get(4).isSuccessful());
+        assertNull(processService.getProcessInstance(results.get(4).getProcessInstanceId()));
+    }
+
     @Test
     public void testStartAndAbortProcess() {
     	assertNotNull(deploymentService);
@@ -273,6 +326,47 @@ public class ProcessServiceImplTest extends AbstractKieServicesBaseTest {
     	assertNull(pi2);
     }
 
+    @Test
+    public void testAbortProcessInstancesInBatches() {
+        assertNotNull(deploymentService);
+
+        KModuleDeploymentUnit deploymentUnit = new KModuleDeploymentUnit(GROUP_ID, ARTIFACT_ID, VERSION);
+
+        deploymentService.deploy(deploymentUnit);
+        units.add(deploymentUnit);
+        assertNotNull(processService);
+
+        long processInstanceId1 = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.writedocument");
+        long processInstanceId2 = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.writedocument");
+        long processInstanceId3 = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.writedocument");
+        processService.abortProcessInstance(processInstanceId2);
+
+        System.setProperty(ProcessServiceImpl.BULK_OPERATION_BATCH_SIZE, "2");
+        try {
+            // the aborted process instance must not fail the other abort of its batch
+            List<ProcessInstanceOperationResult> results = processService.abortProcessInstances(deploymentUnit.getIdentifier(),
+                    Arrays.asList(processInstanceId1, processInstanceId2, processInstanceId3));
+            assertEquals(3, results.size());
+            assertEquals(processInstanceId1, results.get(0).getProcessInstanceId().longValue());
+            assertTrue(results.get(0).isSuccessful());
+            assertEquals(processInstanceId2, results.get(1).getProcessInstanceId().longValue());
+            assertFalse(results.get(1).isSuccessful());
+            assertTrue(results.get(1).getError() instanceof ProcessInstanceNotFoundException);
+            assertEquals(processInstanceId3, results.get(2).getProcessInstanceId().longValue());
+            assertTrue(results.get(2).isSuccessful());
+
+            assertNull(processService.getProcessInstance(processInstanceId1));
+            assertNull(processService.getProcessInstance(processInstanceId3));
+
+            results = processService.abortProcessInstances(Arrays.asList(processInstanceId1, -1L));
+            assertEquals(2, results.size());
+            assertFalse(results.get(0).isSuccessful());
+            assertFalse(results.get(1).isSuccessful());
+        } finally {
+            System.clearProperty(ProcessServiceImpl.BULK_OPERATION_BATCH_SIZE);
+        }
+    }
+
     @Test
     public void testAbortedParentProcessAndChildProcessInProcessInstanceListWithNotIndenpendentSubProcess() {
         assertNotNull(deploymentService);
@@ -457,6 +551,56 @@ public class ProcessServiceImplTest extends AbstractKieServicesBaseTest {
     	assertNull(pi2);
     }
 
+    @Test
+    public void testSignalProcessInstancesInParallel() {
+        assertNotNull(deploymentService);
+
+        KModuleDeploymentUnit deploymentUnit = new KModuleDeploymentUnit(GROUP_ID, ARTIFACT_ID, VERSION);
+        DeploymentDescriptor customDescriptor = new DeploymentDescriptorImpl("org.jbpm.domain");
+        customDescriptor.getBuilder()
+        .runtimeStrategy(RuntimeStrategy.PER_PROCESS_INSTANCE);
+        deploymentUnit.setDeploymentDescriptor(customDescriptor);
+
+        deploymentService.deploy(deploymentUnit);
+        units.add(deploymentUnit);
+        assertNotNull(processService);
+
+        List<Long> instances = new ArrayList<Long>();
+        for (int i = 0; i < 5; i++) {
+            instances.add(processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.signal"));
+        }
+        instances.add(-1L);
+
+        // batches run on the (shared) executor given to the service, not on threads of their own
+        AtomicInteger workers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4, r -> {
+            workers.incrementAndGet();
+            return new Thread(r);
+        });
+        ((ProcessServiceImpl) processService).setBulkOperationExecutor(executor);
+
+        System.setProperty(ProcessServiceImpl.BULK_OPERATION_BATCH_SIZE, "2");
+        System.setProperty(ProcessServiceImpl.BULK_OPERATION_PARALLELISM, "2");
+        try {
+            List<ProcessInstanceOperationResult> results = processService.signalProcessInstances(instances, "MySignal", null);
+            // three batches, but no more workers than the parallelism
+            assertEquals(2, workers.get());
+            assertEquals(instances.size(), results.size());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(instances.get(i), results.get(i).getProcessInstanceId());
+                assertTrue(results.get(i).isSuccessful());
+                assertEquals(ProcessInstance.STATE_COMPLETED, runtimeDataService.getProcessInstanceById(instances.get(i)).getState().intValue());
+            }
+            assertFalse(results.get(5).isSuccessful());
+            assertTrue(results.get(5).getError() instanceof ProcessInstanceNotFoundException);
+        } finally {
+            System.clearProperty(ProcessServiceImpl.BULK_OPERATION_BATCH_SIZE);
+            System.clearProperty(ProcessServiceImpl.BULK_OPERATION_PARALLELISM);
+            ((ProcessServiceImpl) processService).setBulkOperationExecutor(null);
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testStartAndSignal() {
         assertNotNull(deploymentService);
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.kie.services.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.jbpm.kie.services.impl.KModuleDeploymentUnit;
+import org.jbpm.kie.services.impl.ProcessServiceImpl;
+import org.jbpm.kie.services.impl.RuntimeLookupCache;
+import org.jbpm.kie.services.impl.UserTaskServiceImpl;
+import org.jbpm.kie.services.impl.admin.ProcessInstanceMigrationServiceImpl;
+import org.jbpm.kie.test.util.AbstractKieServicesBaseTest;
+import org.jbpm.services.api.ProcessInstanceNotFoundException;
+import org.jbpm.services.api.RuntimeDataService;
+import org.jbpm.services.api.admin.MigrationReport;
+import org.jbpm.services.api.model.DeploymentUnit;
+import org.jbpm.services.api.model.ProcessInstanceDesc;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.task.model.Status;
+import org.kie.scanner.KieMavenRepository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.kie.scanner.KieMavenRepository.getKieMavenRepository;
+
+public class RuntimeLookupCacheTest extends AbstractKieServicesBaseTest {
+
+    private List<DeploymentUnit> units = new ArrayList<DeploymentUnit>();
+
+    private KModuleDeploymentUnit deploymentUnit;
+    private AtomicInteger processInstanceLookups = new AtomicInteger();
+    private AtomicInteger taskLookups = new AtomicInteger();
+
+    @Before
+    public void prepare() {
+        System.setProperty(RuntimeLookupCache.CACHE_SIZE, "100");
+        configureServices();
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId(GROUP_ID, ARTIFACT_ID, VERSION);
+        List<String> processes = new ArrayList<String>();
+        processes.add("repo/processes/general/humanTask.bpmn");
+        processes.add("repo/processes/general/signal.bpmn");
+
+        InternalKieModule kJar1 = createKieJar(ks, releaseId, processes);
+        File pom = new File("target/kmodule", "pom.xml");
+        pom.getParentFile().mkdir();
+        try {
+            FileOutputStream fs = new FileOutputStream(pom);
+            fs.write(getPom(releaseId).getBytes());
+            fs.close();
+        } catch (Exception e) {
+
+        }
+        KieMavenRepository repository = getKieMavenRepository();
+        repository.deployArtifact(releaseId, kJar1, pom);
+
+        deploymentUnit = new KModuleDeploymentUnit(GROUP_ID, ARTIFACT_ID, VERSION);
+        deploymentService.deploy(deploymentUnit);
+        units.add(deploymentUnit);
+
+        // counts the audit lookups the services make
+        RuntimeDataService countingDataService = (RuntimeDataService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RuntimeDataService.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getProcessInstanceById")) {
+                        processInstanceLookups.incrementAndGet();
+                    } else if (method.getName().equals("getTaskById")) {
+                        taskLookups.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(runtimeDataService, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        ((ProcessServiceImpl) processService).setDataService(countingDataService);
+        ((UserTaskServiceImpl) userTaskService).setDataService(countingDataService);
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(RuntimeLookupCache.CACHE_SIZE);
+        cleanupSingletonSessionId();
+        if (units != null && !units.isEmpty()) {
+            for (DeploymentUnit unit : units) {
+                try {
+                    deploymentService.undeploy(unit);
+                } catch (Exception e) {
+                    // do nothing in case of some failed tests to avoid next test to fail as well
+                }
+            }
+            units.clear();
+        }
+        close();
+    }
+
+    @Test
+    public void testProcessInstanceOperationsWithoutLookups() {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("approval_document", "test");
+        long processInstanceId = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.writedocument", params);
+
+        assertNotNull(processService.getProcessInstance(processInstanceId));
+        assertEquals("test", processService.getProcessInstanceVariable(processInstanceId, "approval_document"));
+        processService.setProcessVariable(processInstanceId, "approval_document", "updated");
+        assertEquals("updated", processService.getProcessInstanceVariables(processInstanceId).get("approval_document"));
+        processService.abortProcessInstance(processInstanceId);
+        assertEquals(0, processInstanceLookups.get());
+
+        // the aborted process instance is looked up (and found not to be active) again
+        try {
+            processService.setProcessVariable(processInstanceId, "approval_document", "aborted");
+            fail("Process instance is not active anymore");
+        } catch (ProcessInstanceNotFoundException e) {
+            assertEquals(1, processInstanceLookups.get());
+        }
+    }
+
+    @Test
+    public void testCachedProcessInstanceAbortedElsewhere() {
+        long processInstanceId = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.signal");
+        processService.abortProcessInstance(deploymentUnit.getIdentifier(), processInstanceId);
+
+        // the cached entry is used, the engine finds that the process instance is gone
+        try {
+            processService.signalProcessInstance(processInstanceId, "MySignal", null);
+            fail("Process instance is not active anymore");
+        } catch (ProcessInstanceNotFoundException e) {
+            // the entry was dropped and the process instance looked up again
+            assertEquals(1, processInstanceLookups.get());
+        }
+        try {
+            processService.signalProcessInstance(processInstanceId, "MySignal", null);
+            fail("Process instance is not active anymore");
+        } catch (ProcessInstanceNotFoundException e) {
+            assertEquals(2, processInstanceLookups.get());
+        }
+    }
+
+    @Test
+    public void testSignalCompletesCachedProcessInstance() {
+        long processInstanceId = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.signal");
+        processService.signalProcessInstance(processInstanceId, "MySignal", null);
+        assertEquals(0, processInstanceLookups.get());
+
+        assertNull(processService.getProcessInstance(processInstanceId));
+    }
+
+    @Test
+    public void testTaskOperationsWithoutLookups() {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("approval_document", "test");
+        long processInstanceId = processService.startProcess(deploymentUnit.getIdentifier(), "org.jbpm.writedocument", params);
+        Long taskId = runtimeDataService.getTasksByProcessInstanceId(processInstanceId).get(0);
+
+        userTaskService.release(taskId, "salaboy");
+        userTaskService.claim(taskId, "salaboy");
+        userTaskService.start(taskId, "salaboy");
+        Map<String, Object> results = new HashMap<String, Object>();
+        results.put("Result", "some document data");
+        userTaskService.complete(taskId, "salaboy", results);
+
+        // only the first operation looked the task up
+        assertEquals(1, taskLookups.get());
+        assertEquals(Status.Completed.toString(), runtimeDataService.getTaskById(taskId).getStatus());
+        processService.abortProcessInstance(processInstanceId);
+    }
+
+    @Test
+    public void testCachedEntriesOfMigratedProcessInstance() {
+        KModuleDeploymentUnit deploymentUnitV1 = deployMigrationKjar("1.0.0", "migration/v1/AddTaskAfterActive-v1.bpmn2");
+        KModuleDeploymentUnit deploymentUnitV2 = deployMigrationKjar("2.0.0", "migration/v2/AddTaskAfterActive-v2.bpmn2");
+
+        long processInstanceId = processService.startProcess(deploymentUnitV1.getIdentifier(), "process-migration-testv1.AddTaskAfterActive");
+        Long taskId = runtimeDataService.getTasksByProcessInstanceId(processInstanceId).get(0);
+        assertNotNull(userTaskService.getTask(taskId));
+        assertEquals(1, taskLookups.get());
+
+        MigrationReport report = new ProcessInstanceMigrationServiceImpl().migrate(deploymentUnitV1.getIdentifier(), processInstanceId,
+                deploymentUnitV2.getIdentifier(), "process-migration-testv2.AddTaskAfterActive");
+        assertTrue(report.isSuccessful());
+
+        // the cached deployment is found to be stale and the process instance is looked up again
+        processService.signalProcessInstance(processInstanceId, "UnknownSignal", null);
+        assertEquals(1, processInstanceLookups.get());
+        assertEquals(deploymentUnitV2.getIdentifier(), ((WorkflowProcessInstanceImpl) processService.getProcessInstance(processInstanceId)).getDeploymentId());
+        assertEquals(1, processInstanceLookups.get());
+
+        // same for the task
+        userTaskService.start(taskId, "john");
+        userTaskService.complete(taskId, "john", null);
+        assertEquals(2, taskLookups.get());
+
+        Long addedTaskId = runtimeDataService.getTasksByProcessInstanceId(processInstanceId).stream().filter(id -> !id.equals(taskId)).findFirst().get();
+        assertEquals(deploymentUnitV2.getIdentifier(), runtimeDataService.getTaskById(addedTaskId).getDeploymentId());
+        userTaskService.completeAutoProgress(addedTaskId, "john", null);
+
+        ProcessInstanceDesc instance = runtimeDataService.getProcessInstanceById(processInstanceId);
+        assertEquals(ProcessInstance.STATE_COMPLETED, instance.getState().intValue());
+        assertEquals(deploymentUnitV2.getIdentifier(), instance.getDeploymentId());
+    }
+
+    private KModuleDeploymentUnit deployMigrationKjar(String version, String process) {
+        KieServices ks = KieServices.Factory.get();
+        ReleaseId releaseId = ks.newReleaseId(GROUP_ID, "test-lookup-migration", version);
+        InternalKieModule kJar = createKieJar(ks, releaseId, Collections.singletonList(process));
+        File pom = new File("target/lookup-migration-" + version, "pom.xml");
+        pom.getParentFile().mkdirs();
+        try {
+            FileOutputStream fs = new FileOutputStream(pom);
+            fs.write(getPom(releaseId).getBytes());
+            fs.close();
+        } catch (Exception e) {
+
+        }
+        getKieMavenRepository().installArtifact(releaseId, kJar, pom);
+
+        KModuleDeploymentUnit unit = new KModuleDeploymentUnit(GROUP_ID, "test-lookup-migration", version);
+        deploymentService.deploy(unit);
+        units.add(unit);
+        return unit;
+    }
+}
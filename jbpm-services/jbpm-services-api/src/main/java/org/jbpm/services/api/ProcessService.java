@@ -20,6 +20,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import org.jbpm.services.api.model.ProcessInstanceOperationResult;
+import org.jbpm.services.api.model.ProcessStartRequest;
+import org.jbpm.services.api.model.ProcessStartResult;
 import org.kie.api.command.Command;
 import org.kie.api.runtime.manager.Context;
 import org.kie.api.runtime.process.ProcessInstance;
@@ -109,6 +112,33 @@ public interface ProcessService {
      */
     Long startProcessFromNodeIds(String deploymentId, String processId, CorrelationKey key, Map<String, Object> params, String... nodeIds);
 
+    /**
+     * Starts the given processes in transactions of (at most) the default batch size, see
+     * {@link #startProcesses(String, List, int)}.
+     *
+     * @param deploymentId deployment information for the processes' kjar
+     * @param requests processes to start
+     * @return outcome of every start, in the order of the requests
+     * @throws DeploymentNotFoundException in case deployment with given deployment id does not exist
+     * @throws DeploymentNotActiveException in case deployment with given deployment id is not active
+     */
+    List<ProcessStartResult> startProcesses(String deploymentId, List<ProcessStartRequest> requests);
+
+    /**
+     * Starts the given processes in transactions of (at most) the given number of process starts. A start that fails
+     * does not fail the other starts: the transaction of its batch is rolled back and the starts of that batch are
+     * then done one by one, each in a transaction of its own. This only applies when there is no surrounding
+     * transaction, otherwise the error is thrown as the surrounding transaction cannot be committed anymore.
+     *
+     * @param deploymentId deployment information for the processes' kjar
+     * @param requests processes to start
+     * @param batchSize maximum number of process starts per transaction
+     * @return outcome of every start, in the order of the requests
+     * @throws DeploymentNotFoundException in case deployment with given deployment id does not exist
+     * @throws DeploymentNotActiveException in case deployment with given deployment id is not active
+     */
+    List<ProcessStartResult> startProcesses(String deploymentId, List<ProcessStartRequest> requests, int batchSize);
+
     /**
      * Aborts the specified process
      * 
@@ -129,23 +159,26 @@ public interface ProcessService {
     void abortProcessInstance(String deploymentId, Long processInstanceId);
     
     /**
-	 * Aborts all specified processes
+	 * Aborts all specified processes, grouped by deployment and in transactions of (at most) a batch size of
+	 * process instances. An abort that fails does not fail the other aborts: the transaction of its batch is
+	 * rolled back and the aborts of that batch are then done one by one, each in a transaction of its own.
+	 * This only applies when there is no surrounding transaction, otherwise the error is thrown as the
+	 * surrounding transaction cannot be committed anymore.
 	 * 
 	 * @param processInstanceIds list of process instance unique identifiers
-	 * @throws DeploymentNotFoundException in case deployment unit was not found
-	 * @throws ProcessInstanceNotFoundException in case process instance with given id was not found
+	 * @return outcome of every abort, in the order of the process instance identifiers
 	 */
-    void abortProcessInstances(List<Long> processInstanceIds);
+    List<ProcessInstanceOperationResult> abortProcessInstances(List<Long> processInstanceIds);
     
     /**
-     * Aborts all specified processes
+     * Aborts all specified processes in batches, see {@link #abortProcessInstances(List)}.
      * 
      * @param deploymentId deployment that process instance belongs to
      * @param processInstanceIds list of process instance unique identifiers
+     * @return outcome of every abort, in the order of the process instance identifiers
      * @throws DeploymentNotFoundException in case deployment unit was not found
-     * @throws ProcessInstanceNotFoundException in case process instance with given id was not found
      */
-    void abortProcessInstances(String deploymentId, List<Long> processInstanceIds);
+    List<ProcessInstanceOperationResult> abortProcessInstances(String deploymentId, List<Long> processInstanceIds);
 
     /**
 	 * Signal an event to a single process instance
@@ -171,27 +204,29 @@ public interface ProcessService {
     void signalProcessInstance(String deploymentId, Long processInstanceId, String signalName, Object event);
     
     /**
-	 * Signal an event to given list of process instances
+	 * Signal an event to given list of process instances, in batches the same way as
+	 * {@link #abortProcessInstances(List)}. Process instances that are not active are reported as failed
+	 * with a {@link ProcessInstanceNotFoundException}.
 	 * 
 	 * @param processInstanceIds list of process instance unique identifiers
 	 * @param signalName the signal's id in the process
 	 * @param event the event object to be passed in with the event
-	 * @throws DeploymentNotFoundException in case deployment unit was not found
-	 * @throws ProcessInstanceNotFoundException in case process instance with given id was not found
+	 * @return outcome of every signal, in the order of the process instance identifiers
 	 */
-    void signalProcessInstances(List<Long> processInstanceIds, String signalName, Object event);
+    List<ProcessInstanceOperationResult> signalProcessInstances(List<Long> processInstanceIds, String signalName, Object event);
     
     /**
-     * Signal an event to given list of process instances
+     * Signal an event to given list of process instances in batches, see
+     * {@link #signalProcessInstances(List, String, Object)}.
      * 
      * @param deploymentId deployment that process instance belongs to
      * @param processInstanceIds list of process instance unique identifiers
      * @param signalName the signal's id in the process
      * @param event the event object to be passed in with the event
+     * @return outcome of every signal, in the order of the process instance identifiers
      * @throws DeploymentNotFoundException in case deployment unit was not found
-     * @throws ProcessInstanceNotFoundException in case process instance with given id was not found
      */
-    void signalProcessInstances(String deploymentId, List<Long> processInstanceIds, String signalName, Object event);
+    List<ProcessInstanceOperationResult> signalProcessInstances(String deploymentId, List<Long> processInstanceIds, String signalName, Object event);
     
     /**
      * Signal an event to a any process instance that listens to give signal that belongs to given deployment
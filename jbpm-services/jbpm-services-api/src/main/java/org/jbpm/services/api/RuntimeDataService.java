@@ -130,6 +130,16 @@ public interface RuntimeDataService {
      */
     ProcessInstanceDesc getProcessInstanceById(long processInstanceId);
 
+    /**
+     * Returns process instance descriptions (without their active tasks) found for given process instance ids and
+     * filtered by their states. Ids of process instances that were not found (in any of the given states) are skipped.
+     * @param processInstanceIds The ids of the process instances to be fetched
+     * @param states A list of possible state (int) values that the {@link ProcessInstance} can have.
+     * @return A list of {@link ProcessInstanceDesc} instances representing the process instances that match
+     *         the given criteria (ids and states).
+     */
+    Collection<ProcessInstanceDesc> getProcessInstancesByIds(List<Long> processInstanceIds, List<Integer> states);
+
     /**
      * Returns active process instance description found for given correlation key if found otherwise null. At the same time it will
      * fetch all active tasks (in status: Ready, Reserved, InProgress) to provide information what user task is keeping instance
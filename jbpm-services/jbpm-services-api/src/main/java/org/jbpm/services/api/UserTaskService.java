@@ -16,6 +16,7 @@
 
 package org.jbpm.services.api;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -549,6 +550,18 @@ public interface UserTaskService {
      * @throws TaskNotFoundException in case task with given id was not found or is not associated with given deployment id
      */
     Map<String, Object> getTaskInputContentByTaskId(String deploymentId, Long taskId);
+
+    /**
+     * Returns the given variables of the task input data of a task. Unlike {@link #getTaskInputContentByTaskId(String, Long)},
+     * only the requested variables are unmarshalled, which avoids unmarshalling (large) variables that are not needed.
+     * 
+     * @param deploymentId
+     * @param taskId
+     * @param variableNames names of the variables to return, variables that do not exist are not included in the result
+     * @return
+     * @throws TaskNotFoundException in case task with given id was not found or is not associated with given deployment id
+     */
+    Map<String, Object> getTaskInputContentByTaskId(String deploymentId, Long taskId, Collection<String> variableNames);
     
     /**
      * Deletes content given by <code>contentId</code> from given task
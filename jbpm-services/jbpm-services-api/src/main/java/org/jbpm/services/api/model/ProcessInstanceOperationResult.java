@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.services.api.model;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of an operation (such as abort or signal) on a single process instance of a bulk operation:
+ * either successful or the error the operation failed with.
+ */
+public class ProcessInstanceOperationResult implements Serializable {
+
+    private static final long serialVersionUID = 4718223562419120466L;
+
+    private Long processInstanceId;
+    private Exception error;
+
+    private ProcessInstanceOperationResult(Long processInstanceId, Exception error) {
+        this.processInstanceId = processInstanceId;
+        this.error = error;
+    }
+
+    public static ProcessInstanceOperationResult succeeded(Long processInstanceId) {
+        return new ProcessInstanceOperationResult(processInstanceId, null);
+    }
+
+    public static ProcessInstanceOperationResult failed(Long processInstanceId, Exception error) {
+        return new ProcessInstanceOperationResult(processInstanceId, error);
+    }
+
+    public Long getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    /**
+     * @return error the operation failed with or null if it was successful
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceOperationResult [processInstanceId=" + processInstanceId + ", error=" + error + "]";
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jbpm.services.api.model;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.kie.internal.process.CorrelationKey;
+
+/**
+ * Single process start of a bulk start, see {@link org.jbpm.services.api.ProcessService#startProcesses(String, java.util.List)}.
+ */
+public class ProcessStartRequest implements Serializable {
+
+    private static final long serialVersionUID = 6410512305683946173L;
+
+    private String processId;
+    private CorrelationKey correlationKey;
+    private Map<String, Object> params;
+
+    public ProcessStartRequest(String processId) {
+        this(processId, null, new HashMap<>());
+    }
+
+    public ProcessStartRequest(String processId, Map<String, Object> params) {
+        this(processId, null, params);
+    }
+
+    public ProcessStartRequest(String processId, CorrelationKey correlationKey, Map<String, Object> params) {
+        this.processId = processId;
+        this.correlationKey = correlationKey;
+        this.params = params;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public CorrelationKey getCorrelationKey() {
+        return correlationKey;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessStartRequest [processId=" + processId + ", correlationKey=" + correlationKey + "]";
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jbpm.services.api.model;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of a single process start of a bulk start: either the id of the started process instance
+ * or the error the start failed with.
+ */
+public class ProcessStartResult implements Serializable {
+
+    private static final long serialVersionUID = -2470237004556393915L;
+
+    private ProcessStartRequest request;
+    private Long processInstanceId;
+    private Exception error;
+
+    private ProcessStartResult(ProcessStartRequest request, Long processInstanceId, Exception error) {
+        this.request = request;
+        this.processInstanceId = processInstanceId;
+        this.error = error;
+    }
+
+    public static ProcessStartResult started(ProcessStartRequest request, Long processInstanceId) {
+        return new ProcessStartResult(request, processInstanceId, null);
+    }
+
+    public static ProcessStartResult failed(ProcessStartRequest request, Exception error) {
+        return new ProcessStartResult(request, null, error);
+    }
+
+    public ProcessStartRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return id of the started process instance or null if the start failed
+     */
+    public Long getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    /**
+     * @return error the start failed with or null if the process instance was started
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessStartResult [request=" + request + ", processInstanceId=" + processInstanceId + ", error=" + error + "]";
+    }
+}
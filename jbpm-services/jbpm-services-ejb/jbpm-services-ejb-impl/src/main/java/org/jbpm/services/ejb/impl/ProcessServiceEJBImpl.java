@@ -16,13 +16,19 @@
 
 package org.jbpm.services.ejb.impl;
 
+import java.util.List;
+
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 
 import org.jbpm.kie.services.impl.ProcessServiceImpl;
 import org.jbpm.services.api.DeploymentService;
 import org.jbpm.services.api.ProcessService;
 import org.jbpm.services.api.RuntimeDataService;
+import org.jbpm.services.api.model.ProcessStartRequest;
+import org.jbpm.services.api.model.ProcessStartResult;
 import org.jbpm.services.ejb.api.DeploymentServiceEJBLocal;
 import org.jbpm.services.ejb.api.ProcessServiceEJBLocal;
 import org.jbpm.services.ejb.api.ProcessServiceEJBRemote;
@@ -45,6 +51,13 @@ public class ProcessServiceEJBImpl extends ProcessServiceImpl implements Process
 		super.setDataService(dataService);
 	}
 
+	private BulkProcessStartEJBImpl bulkProcessStart;
+
+	@EJB
+	public void setBulkProcessStart(BulkProcessStartEJBImpl bulkProcessStart) {
+		this.bulkProcessStart = bulkProcessStart;
+	}
+
 	@Override
 	public <T> T process(T variables, ClassLoader cl) {
 		T result = RemoteObjectProcessor.processRemoteObjects(variables, cl);
@@ -55,6 +68,19 @@ public class ProcessServiceEJBImpl extends ProcessServiceImpl implements Process
 		return result;
 	}
 
+	// bulk starts are delegated to a bean managed transaction bean that runs a transaction per batch
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	@Override
+	public List<ProcessStartResult> startProcesses(String deploymentId, List<ProcessStartRequest> requests) {
+		return bulkProcessStart.startProcesses(deploymentId, requests);
+	}
+
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	@Override
+	public List<ProcessStartResult> startProcesses(String deploymentId, List<ProcessStartRequest> requests, int batchSize) {
+		return bulkProcessStart.startProcesses(deploymentId, requests, batchSize);
+	}
+
 	@Override
 	protected void disposeRuntimeEngine(RuntimeManager manager, RuntimeEngine engine) {
 		// do nothing since this is CMT bean tx sync will dispose runtime engine
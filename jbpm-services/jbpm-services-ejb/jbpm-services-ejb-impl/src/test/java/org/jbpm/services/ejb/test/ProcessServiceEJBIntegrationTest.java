@@ -42,6 +42,8 @@ import org.jboss.shrinkwrap.api.spec.WebArchive;
 import org.jbpm.kie.services.impl.KModuleDeploymentUnit;
 import org.jbpm.services.api.model.DeploymentUnit;
 import org.jbpm.services.api.model.NodeInstanceDesc;
+import org.jbpm.services.api.model.ProcessStartRequest;
+import org.jbpm.services.api.model.ProcessStartResult;
 import org.jbpm.services.ejb.api.DefinitionServiceEJBLocal;
 import org.jbpm.services.ejb.api.DeploymentServiceEJBLocal;
 import org.jbpm.services.ejb.api.ProcessServiceEJBLocal;
@@ -56,6 +58,7 @@ import org.kie.api.runtime.process.WorkItem;
 import org.kie.api.runtime.query.QueryContext;
 import org.kie.internal.KieInternalServices;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.internal.process.CorrelationKeyFactory;
 import org.kie.scanner.KieMavenRepository;
 
 @RunWith(Arquillian.class)
@@ -213,6 +216,45 @@ public class ProcessServiceEJBIntegrationTest extends AbstractTestSupport {
     	assertNull(pi);
     }
     
+    @Test
+    public void testStartProcesses() {
+    	assertNotNull(deploymentService);
+
+        KModuleDeploymentUnit deploymentUnit = new KModuleDeploymentUnit(GROUP_ID, ARTIFACT_ID, VERSION);
+
+        deploymentService.deploy(deploymentUnit);
+        units.add(deploymentUnit);
+    	assertNotNull(processService);
+
+    	CorrelationKeyFactory keyFactory = KieInternalServices.Factory.get().newCorrelationKeyFactory();
+
+    	List<ProcessStartRequest> requests = new ArrayList<ProcessStartRequest>();
+    	requests.add(new ProcessStartRequest("org.jbpm.writedocument", keyFactory.newCorrelationKey("first"), new HashMap<String, Object>()));
+    	requests.add(new ProcessStartRequest("org.jbpm.writedocument", keyFactory.newCorrelationKey("second"), new HashMap<String, Object>()));
+    	// fails as the correlation key is already used, which must not fail the other start of its batch
+    	requests.add(new ProcessStartRequest("org.jbpm.writedocument", keyFactory.newCorrelationKey("first"), new HashMap<String, Object>()));
+    	requests.add(new ProcessStartRequest("org.jbpm.writedocument"));
+    	requests.add(new ProcessStartRequest("customtask"));
+
+    	List<ProcessStartResult> results = processService.startProcesses(deploymentUnit.getIdentifier(), requests, 2);
+    	assertEquals(requests.size(), results.size());
+    	for (int i = 0; i < results.size(); i++) {
+    		assertEquals(requests.get(i).getProcessId(), results.get(i).getRequest().getProcessId());
+    		assertEquals(i != 2, results.get(i).isSuccessful());
+    	}
+    	assertNotNull(results.get(2).getError());
+
+    	ProcessInstance pi = processService.getProcessInstance(keyFactory.newCorrelationKey("first"));
+    	assertNotNull(pi);
+    	assertEquals(results.get(0).getProcessInstanceId().longValue(), pi.getId());
+    	assertNotNull(processService.getProcessInstance(keyFactory.newCorrelationKey("second")));
+    	assertNotNull(processService.getProcessInstance(results.get(3).getProcessInstanceId()));
+
+    	for (int i : new int[] {0, 1, 3}) {
+    		processService.abortProcessInstance(results.get(i).getProcessInstanceId());
+    	}
+    }
+
     @Test
     public void testStartAndAbortProcess() {
     	assertNotNull(deploymentService);
@@ -41,6 +41,7 @@ import javax.ejb.Startup;
 import javax.ejb.Timeout;
 import javax.ejb.Timer;
 import javax.ejb.TimerConfig;
+import javax.ejb.TimerHandle;
 import javax.ejb.TransactionManagement;
 import javax.ejb.TransactionManagementType;
 import javax.transaction.Status;
@@ -76,8 +77,13 @@ public class EJBTimerScheduler {
 
 	private static final boolean USE_LOCAL_CACHE = Boolean.parseBoolean(System.getProperty("org.jbpm.ejb.timer.local.cache", "true"));
 
+	private static final boolean USE_TIMER_INDEX = Boolean.parseBoolean(System.getProperty("org.jbpm.ejb.timer.index", "true"));
+
 	private ConcurrentMap<String, TimerJobInstance> localCache = new ConcurrentHashMap<String, TimerJobInstance>();
 
+	// job uuid to handle of its ejb timer so timers can be canceled and looked up without going over all timers
+	private ConcurrentMap<String, TimerHandle> timerIndex = new ConcurrentHashMap<String, TimerHandle>();
+
 	@Resource
 	protected javax.ejb.TimerService timerService;
 
@@ -90,6 +96,8 @@ public class EJBTimerScheduler {
 	    // disable auto init of timers since ejb timer service supports persistence of timers
 	    System.setProperty("org.jbpm.rm.init.timer", "false");
 	    logger.info("Using local cache for EJB timers: {}", USE_LOCAL_CACHE);
+	    logger.info("Using timer index for EJB timers: {}", USE_TIMER_INDEX);
+	    rebuildTimerIndex();
 	}
 
 	@Timeout
@@ -116,10 +124,17 @@ public class EJBTimerScheduler {
                 break;
             }
         }
+        String uuid = ((EjbGlobalJobHandle) timerJobInstance.getJobHandle()).getUuid();
+        TimerHandle timerHandle = timerIndex.get(uuid);
         try {
             transaction(this::executeTimerJobInstance, timerJobInstance);
         } catch (Exception e) {
             recoverTimerJobInstance(timerJob, e);
+        } finally {
+            // single action timer is gone once executed, unless the job was rescheduled in the meantime
+            if (timerHandle != null) {
+                timerIndex.remove(uuid, timerHandle);
+            }
         }
     }
 
@@ -156,7 +171,8 @@ public class EJBTimerScheduler {
                         return;
                     }
                     TimerConfig config = new TimerConfig(info, true);
-                    timerService.createSingleActionTimer(Date.from(nextRetry.toInstant()), config);
+                    Timer timer = timerService.createSingleActionTimer(Date.from(nextRetry.toInstant()), config);
+                    indexTimer(((EjbGlobalJobHandle) instance.getJobHandle()).getUuid(), timer);
                 };
                 try {
                     transaction(operation, ejbTimerJob.getTimerJobInstance());
@@ -199,7 +215,8 @@ public class EJBTimerScheduler {
 		Date expirationTime = timerJobInstance.getTrigger().hasNextFireTime();
 		logger.debug("Timer expiration date is {}", expirationTime);
 		if (expirationTime != null) {
-			timerService.createSingleActionTimer(expirationTime, config);
+			Timer timer = timerService.createSingleActionTimer(expirationTime, config);
+			indexTimer(((EjbGlobalJobHandle) timerJobInstance.getJobHandle()).getUuid(), timer);
 			logger.debug("Timer scheduled {} on {} scheduler service", timerJobInstance);
 			if (USE_LOCAL_CACHE) {
 				localCache.putIfAbsent(((EjbGlobalJobHandle) timerJobInstance.getJobHandle()).getUuid(), timerJobInstance);
@@ -230,33 +247,23 @@ public class EJBTimerScheduler {
 	public boolean removeJob(JobHandle jobHandle) {
 		EjbGlobalJobHandle ejbHandle = (EjbGlobalJobHandle) jobHandle;
 
-		for (Timer timer : timerService.getTimers()) {
-			try {
-    		    Serializable info = timer.getInfo();
-    			if (info instanceof EjbTimerJob) {
-    				EjbTimerJob job = (EjbTimerJob) info;
-
-    				EjbGlobalJobHandle handle = (EjbGlobalJobHandle) job.getTimerJobInstance().getJobHandle();
-    				if (handle.getUuid().equals(ejbHandle.getUuid())) {
-    					logger.debug("Job handle {} does match timer and is going to be canceled", jobHandle);
-    					if (USE_LOCAL_CACHE) {
-    						localCache.remove(handle.getUuid());
-    					}
-    					try {
-    					    timer.cancel();
-    					} catch (Throwable e) {
-    					    logger.debug("Timer cancel error due to {}", e.getMessage());
-    					    return false;
-    					}
-    					return true;
-    				}
-    			}
-			} catch (NoSuchObjectLocalException e) {
-			    logger.debug("Timer {} has already expired or was canceled ", timer);
-			}
+		Timer timer = findTimer(ejbHandle.getUuid());
+		if (timer == null) {
+			logger.debug("Job handle {} does not match any timer on {} scheduler service", jobHandle, this);
+			return false;
 		}
-		logger.debug("Job handle {} does not match any timer on {} scheduler service", jobHandle, this);
-		return false;
+		logger.debug("Job handle {} does match timer and is going to be canceled", jobHandle);
+		if (USE_LOCAL_CACHE) {
+			localCache.remove(ejbHandle.getUuid());
+		}
+		timerIndex.remove(ejbHandle.getUuid());
+		try {
+		    timer.cancel();
+		} catch (Throwable e) {
+		    logger.debug("Timer cancel error due to {}", e.getMessage());
+		    return false;
+		}
+		return true;
 	}
 
 	public TimerJobInstance getTimerByName(String jobName) {
@@ -268,30 +275,91 @@ public class EJBTimerScheduler {
     	}
 	    TimerJobInstance found = null;
 
-		for (Timer timer : timerService.getTimers()) {
-		    try {
-    			Serializable info = timer.getInfo();
-    			if (info instanceof EjbTimerJob) {
-    				EjbTimerJob job = (EjbTimerJob) info;
-
-    				EjbGlobalJobHandle handle = (EjbGlobalJobHandle) job.getTimerJobInstance().getJobHandle();
-
-    				if (handle.getUuid().equals(jobName)) {
-    					found = handle.getTimerJobInstance();
-							if (USE_LOCAL_CACHE) {
-    					    localCache.putIfAbsent(jobName, found);
-						  }
-    					logger.debug("Job {} does match timer and is going to be returned {}", jobName, found);
-
-    					break;
-    				}
-    			}
-		    } catch (NoSuchObjectLocalException e) {
-                logger.debug("Timer info for {} was not found ", timer);
-            }
-		}
+	    Timer timer = findTimer(jobName);
+	    if (timer != null) {
+	        try {
+	            EjbTimerJob job = (EjbTimerJob) timer.getInfo();
+	            found = ((EjbGlobalJobHandle) job.getTimerJobInstance().getJobHandle()).getTimerJobInstance();
+	            if (USE_LOCAL_CACHE) {
+	                localCache.putIfAbsent(jobName, found);
+	            }
+	            logger.debug("Job {} does match timer and is going to be returned {}", jobName, found);
+	        } catch (NoSuchObjectLocalException e) {
+	            logger.debug("Timer info for {} was not found ", timer);
+	        }
+	    }
 
 		return found;
 	}
 
+	/*
+	 * Finds timer of given job (uuid) via timer index. The index is built from all timers on startup and
+	 * updated with every timer this scheduler creates or finds. The index is local to the node while the
+	 * timer store can be shared by other cluster members, so a job that is not indexed is looked up by
+	 * going over all timers and indexed when found.
+	 */
+	protected Timer findTimer(String uuid) {
+	    if (USE_TIMER_INDEX) {
+	        TimerHandle timerHandle = timerIndex.get(uuid);
+	        if (timerHandle != null) {
+	            try {
+	                Timer timer = timerHandle.getTimer();
+	                logger.debug("Found timer for job {} in timer index", uuid);
+	                return timer;
+	            } catch (NoSuchObjectLocalException e) {
+	                logger.debug("Indexed timer for job {} has already expired or was canceled", uuid);
+	                timerIndex.remove(uuid, timerHandle);
+	                return null;
+	            }
+	        }
+	    }
+
+	    for (Timer timer : timerService.getTimers()) {
+	        try {
+	            Serializable info = timer.getInfo();
+	            if (info instanceof EjbTimerJob) {
+	                EjbGlobalJobHandle handle = (EjbGlobalJobHandle) ((EjbTimerJob) info).getTimerJobInstance().getJobHandle();
+	                if (handle.getUuid().equals(uuid)) {
+	                    indexTimer(uuid, timer);
+	                    return timer;
+	                }
+	            }
+	        } catch (NoSuchObjectLocalException e) {
+	            logger.debug("Timer {} has already expired or was canceled ", timer);
+	        }
+	    }
+	    return null;
+	}
+
+	protected void indexTimer(String uuid, Timer timer) {
+	    if (USE_TIMER_INDEX && timer != null) {
+	        try {
+	            timerIndex.put(uuid, timer.getHandle());
+	        } catch (RuntimeException e) {
+	            logger.debug("Unable to index timer for job {} due to {}", uuid, e.getMessage());
+	        }
+	    }
+	}
+
+	protected void rebuildTimerIndex() {
+	    if (!USE_TIMER_INDEX) {
+	        return;
+	    }
+	    try {
+	        for (Timer timer : timerService.getTimers()) {
+	            try {
+	                Serializable info = timer.getInfo();
+	                if (info instanceof EjbTimerJob) {
+	                    indexTimer(((EjbGlobalJobHandle) ((EjbTimerJob) info).getTimerJobInstance().getJobHandle()).getUuid(), timer);
+	                }
+	            } catch (NoSuchObjectLocalException e) {
+	                logger.debug("Timer {} has already expired or was canceled ", timer);
+	            }
+	        }
+	        logger.info("Timer index built for {} EJB timers", timerIndex.size());
+	    } catch (Exception e) {
+	        logger.warn("Unable to build timer index, timers will be looked up on demand", e);
+	    }
+	}
+
 }
@@ -15,15 +15,22 @@
  */
 package org.jbpm.services.ejb.timer;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collection;
 
+import javax.ejb.NoSuchObjectLocalException;
 import javax.ejb.Timer;
+import javax.ejb.TimerHandle;
 import javax.ejb.TimerService;
 
 import org.drools.core.time.impl.TimerJobInstance;
@@ -63,4 +70,135 @@ public class EJBTimerSchedulerTest {
         assertNotNull(jobInstance);
     }
 
+    @Test
+    public void testEjbTimerSchedulerRemoveJobUsesTimerIndex() {
+
+        Collection<Timer> timers = new ArrayList<>();
+
+        TimerService timerService = mock(TimerService.class);
+        when(timerService.getTimers()).thenReturn(timers);
+
+        TimerJobInstance timerJobInstance1 = mock(TimerJobInstance.class);
+        EjbGlobalJobHandle ejbGlobalJobHandle1 = new EjbGlobalJobHandle(1L, "test job", "test");
+        ejbGlobalJobHandle1.setTimerJobInstance(timerJobInstance1);
+        when(timerJobInstance1.getJobHandle()).thenReturn(ejbGlobalJobHandle1);
+
+        Timer timer1 = mock(Timer.class);
+        TimerHandle timerHandle1 = mock(TimerHandle.class);
+        when(timer1.getInfo()).thenReturn(new EjbTimerJob(timerJobInstance1));
+        when(timer1.getHandle()).thenReturn(timerHandle1);
+        when(timerHandle1.getTimer()).thenReturn(timer1);
+
+        timers.add(timer1);
+
+        EJBTimerScheduler scheduler = new EJBTimerScheduler();
+        scheduler.timerService = timerService;
+        // timers existing on start are indexed once
+        scheduler.rebuildTimerIndex();
+        verify(timerService, times(1)).getTimers();
+
+        // indexed timer is canceled without going over all timers
+        assertTrue(scheduler.removeJob(ejbGlobalJobHandle1));
+        verify(timer1).cancel();
+        verify(timerService, times(1)).getTimers();
+
+        // removed timer is no longer indexed, so timers are gone over again in case another node created it
+        timers.clear();
+        assertFalse(scheduler.removeJob(ejbGlobalJobHandle1));
+        verify(timerService, times(2)).getTimers();
+    }
+
+    @Test
+    public void testEjbTimerSchedulerFindsTimerNotInTimerIndex() {
+
+        Collection<Timer> timers = new ArrayList<>();
+
+        TimerService timerService = mock(TimerService.class);
+        when(timerService.getTimers()).thenReturn(timers);
+
+        EJBTimerScheduler scheduler = new EJBTimerScheduler();
+        scheduler.timerService = timerService;
+        scheduler.rebuildTimerIndex();
+
+        // timer created by another cluster member in the shared timer store after the index was built
+        TimerJobInstance timerJobInstance1 = mock(TimerJobInstance.class);
+        EjbGlobalJobHandle ejbGlobalJobHandle1 = new EjbGlobalJobHandle(1L, "test job", "test");
+        ejbGlobalJobHandle1.setTimerJobInstance(timerJobInstance1);
+        when(timerJobInstance1.getJobHandle()).thenReturn(ejbGlobalJobHandle1);
+
+        Timer timer1 = mock(Timer.class);
+        TimerHandle timerHandle1 = mock(TimerHandle.class);
+        when(timer1.getInfo()).thenReturn(new EjbTimerJob(timerJobInstance1));
+        when(timer1.getHandle()).thenReturn(timerHandle1);
+        when(timerHandle1.getTimer()).thenReturn(timer1);
+
+        timers.add(timer1);
+
+        // found by going over all timers and indexed from then on
+        assertNotNull(scheduler.getTimerByName("test job"));
+        verify(timerService, times(2)).getTimers();
+
+        assertTrue(scheduler.removeJob(ejbGlobalJobHandle1));
+        verify(timer1).cancel();
+        verify(timerService, times(2)).getTimers();
+    }
+
+    @Test
+    public void testEjbTimerSchedulerStaleTimerIndex() {
+
+        Collection<Timer> timers = new ArrayList<>();
+
+        TimerService timerService = mock(TimerService.class);
+        when(timerService.getTimers()).thenReturn(timers);
+
+        TimerJobInstance timerJobInstance1 = mock(TimerJobInstance.class);
+        EjbGlobalJobHandle ejbGlobalJobHandle1 = new EjbGlobalJobHandle(1L, "test job", "test");
+        ejbGlobalJobHandle1.setTimerJobInstance(timerJobInstance1);
+        when(timerJobInstance1.getJobHandle()).thenReturn(ejbGlobalJobHandle1);
+
+        Timer timer1 = mock(Timer.class);
+        TimerHandle timerHandle1 = mock(TimerHandle.class);
+        when(timer1.getInfo()).thenReturn(new EjbTimerJob(timerJobInstance1));
+        when(timer1.getHandle()).thenReturn(timerHandle1);
+        when(timerHandle1.getTimer()).thenThrow(new NoSuchObjectLocalException());
+
+        timers.add(timer1);
+
+        EJBTimerScheduler scheduler = new EJBTimerScheduler();
+        scheduler.timerService = timerService;
+        scheduler.rebuildTimerIndex();
+
+        // indexed timer does not exist anymore, so there is nothing to cancel
+        assertFalse(scheduler.removeJob(ejbGlobalJobHandle1));
+        verify(timer1, never()).cancel();
+        verify(timerService, times(1)).getTimers();
+    }
+
+    @Test
+    public void testEjbTimerSchedulerWithoutTimerIndex() {
+
+        Collection<Timer> timers = new ArrayList<>();
+
+        TimerService timerService = mock(TimerService.class);
+        when(timerService.getTimers()).thenThrow(new IllegalStateException("timer service not available")).thenReturn(timers);
+
+        TimerJobInstance timerJobInstance1 = mock(TimerJobInstance.class);
+        EjbGlobalJobHandle ejbGlobalJobHandle1 = new EjbGlobalJobHandle(1L, "test job", "test");
+        ejbGlobalJobHandle1.setTimerJobInstance(timerJobInstance1);
+        when(timerJobInstance1.getJobHandle()).thenReturn(ejbGlobalJobHandle1);
+
+        Timer timer1 = mock(Timer.class);
+        when(timer1.getInfo()).thenReturn(new EjbTimerJob(timerJobInstance1));
+
+        timers.add(timer1);
+
+        EJBTimerScheduler scheduler = new EJBTimerScheduler();
+        scheduler.timerService = timerService;
+        // index could not be built, so not indexed timers are found by going over all timers
+        scheduler.rebuildTimerIndex();
+        assertTrue(scheduler.removeJob(ejbGlobalJobHandle1));
+        verify(timer1).cancel();
+        verify(timerService, times(2)).getTimers();
+    }
+
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.test.functional.timer;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.naming.InitialContext;
+import javax.persistence.Persistence;
+import javax.sql.DataSource;
+
+import org.drools.core.time.TimerService;
+import org.jbpm.process.core.timer.TimerServiceRegistry;
+import org.jbpm.process.core.timer.impl.DBSchedulerService;
+import org.jbpm.test.listener.process.NodeLeftCountDownProcessEventListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessEventListener;
+import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.manager.RuntimeEngine;
+import org.kie.api.runtime.manager.RuntimeEnvironment;
+import org.kie.api.runtime.manager.RuntimeEnvironmentBuilder;
+import org.kie.api.runtime.manager.RuntimeManager;
+import org.kie.api.runtime.manager.RuntimeManagerFactory;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.runtime.manager.context.ProcessInstanceIdContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class GlobalDBTimerServiceTest extends GlobalTimerServiceBaseTest {
+
+    private int managerType;
+
+    @Parameters
+    public static Collection<Object[]> persistence() {
+        Object[][] data = new Object[][] { { 1 }, { 2 }, { 3 }  };
+        return Arrays.asList(data);
+    };
+
+    public GlobalDBTimerServiceTest(int managerType) {
+        this.managerType = managerType;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        cleanupSingletonSessionId();
+        emf = Persistence.createEntityManagerFactory("org.jbpm.test.persistence");
+        testCreateSchema("/timer_store_tables_h2.sql");
+        DataSource dataSource = InitialContext.doLookup("jdbc/jbpm-ds");
+        try (Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("delete from TimerStoreJob");
+            stmt.executeUpdate("delete from TimerStoreLease");
+        }
+        globalScheduler = new DBSchedulerService(dataSource, "node-1");
+        ((DBSchedulerService) globalScheduler).forceShutdown();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            ((DBSchedulerService) globalScheduler).forceShutdown();
+        } catch (Exception e) {
+
+        }
+        cleanup();
+    }
+
+    @Override
+    protected RuntimeManager getManager(RuntimeEnvironment environment, boolean waitOnStart) {
+        if (managerType ==1) {
+            return RuntimeManagerFactory.Factory.get().newSingletonRuntimeManager(environment);
+        } else if (managerType == 2) {
+            return RuntimeManagerFactory.Factory.get().newPerRequestRuntimeManager(environment);
+        } else if (managerType == 3) {
+            return RuntimeManagerFactory.Factory.get().newPerProcessInstanceRuntimeManager(environment);
+        } else {
+            throw new IllegalArgumentException("Invalid runtime manager type");
+        }
+    }
+
+    @Test(timeout=20000)
+    public void testInterediateTimerSurvivesSchedulerRestart() throws Exception {
+        NodeLeftCountDownProcessEventListener countDownListener = new NodeLeftCountDownProcessEventListener("timer", 1);
+        // prepare listener to assert results
+        final List<Long> timerExporations = new ArrayList<Long>();
+        ProcessEventListener listener = new DefaultProcessEventListener(){
+
+            @Override
+            public void afterNodeLeft(ProcessNodeLeftEvent event) {
+                if (event.getNodeInstance().getNodeName().equals("timer")) {
+                    timerExporations.add(event.getProcessInstance().getId());
+                }
+            }
+
+        };
+
+        environment = RuntimeEnvironmentBuilder.Factory.get()
+                .newDefaultBuilder()
+                .entityManagerFactory(emf)
+                .addAsset(ResourceFactory.newClassPathResource("org/jbpm/test/functional/timer/IntermediateCatchEventTimerCycle3.bpmn2"), ResourceType.BPMN2)
+                .schedulerService(globalScheduler)
+                .registerableItemsFactory(new TestRegisterableItemsFactory(listener, countDownListener))
+                .get();
+
+        manager = getManager(environment, true);
+
+        RuntimeEngine runtime = manager.getRuntimeEngine(ProcessInstanceIdContext.get());
+        KieSession ksession = runtime.getKieSession();
+
+        ProcessInstance processInstance = ksession.startProcess("IntermediateCatchEvent");
+        assertTrue(processInstance.getState() == ProcessInstance.STATE_ACTIVE);
+        manager.disposeRuntimeEngine(runtime);
+        countDownListener.waitTillCompleted();
+        assertEquals(1, timerExporations.size());
+
+        // drop everything kept in memory, remaining timers must be loaded back from the timer store
+        TimerService timerService = TimerServiceRegistry.getInstance().get(manager.getIdentifier() + TimerServiceRegistry.TIMER_SERVICE_SUFFIX);
+        ((DBSchedulerService) globalScheduler).forceShutdown();
+        globalScheduler.initScheduler(timerService);
+
+        countDownListener.reset(2);
+        countDownListener.waitTillCompleted();
+        assertEquals(3, timerExporations.size());
+    }
+}
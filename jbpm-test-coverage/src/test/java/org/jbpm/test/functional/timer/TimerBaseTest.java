@@ -158,16 +158,17 @@ public abstract class TimerBaseTest extends AbstractBaseTest {
 
 
     protected void testCreateQuartzSchema() {
-        Scanner scanner = new Scanner(this.getClass().getResourceAsStream("/quartz_tables_h2.sql")).useDelimiter(";");
-        try {
-            Connection connection = ((DataSource)InitialContext.doLookup("jdbc/jbpm-ds")).getConnection();
-            Statement stmt = connection.createStatement();
+        testCreateSchema("/quartz_tables_h2.sql");
+    }
+
+    protected void testCreateSchema(String script) {
+        Scanner scanner = new Scanner(this.getClass().getResourceAsStream(script)).useDelimiter(";");
+        try (Connection connection = ((DataSource)InitialContext.doLookup("jdbc/jbpm-ds")).getConnection();
+             Statement stmt = connection.createStatement()) {
             while (scanner.hasNext()) {
                 String sql = scanner.next();
                 stmt.executeUpdate(sql);
             }
-            stmt.close();
-            connection.close();
         } catch (Exception e) {
 
         }
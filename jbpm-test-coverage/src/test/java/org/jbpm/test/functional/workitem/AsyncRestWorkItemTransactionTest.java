@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.test.functional.workitem;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.InitialContext;
+import javax.transaction.UserTransaction;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jbpm.process.workitem.rest.RESTWorkItemHandler;
+import org.jbpm.test.JbpmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.manager.audit.ProcessInstanceLog;
+import org.kie.api.runtime.manager.audit.VariableInstanceLog;
+import org.kie.api.runtime.process.ProcessInstance;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the REST work item handler in ASYNC mode with a persistent runtime manager, where the request must not be
+ * sent (and so the work item must not be completed) before the transaction that executed the work item committed.
+ */
+public class AsyncRestWorkItemTransactionTest extends JbpmTestCase {
+
+    private static final String ASYNC_REST = "org/jbpm/test/functional/workitem/async-rest.bpmn2";
+    private static final String ASYNC_REST_ID = "org.jbpm.test.functional.workitem.AsyncRest";
+
+    private HttpServer server;
+    private String serverUrl;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private RESTWorkItemHandler handler;
+    private KieSession ksession;
+
+    public AsyncRestWorkItemTransactionTest() {
+        super(true, true);
+    }
+
+    @Before
+    public void init() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/test", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "Hello from REST".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        serverUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/test";
+
+        handler = new RESTWorkItemHandler();
+        addWorkItemHandler("Rest", handler);
+        createRuntimeManager(ASYNC_REST);
+        ksession = getRuntimeEngine().getKieSession();
+    }
+
+    @After
+    public void stopServer() {
+        handler.close();
+        server.stop(0);
+    }
+
+    @Test(timeout = 30000)
+    public void testRequestSentAfterCommit() throws Exception {
+        UserTransaction ut = getUserTransaction();
+        long processInstanceId;
+        try {
+            ut.begin();
+            ProcessInstance pi = ksession.startProcess(ASYNC_REST_ID, Collections.singletonMap("url", serverUrl));
+            processInstanceId = pi.getId();
+
+            // the work item is not stored yet, so the request must wait for the commit
+            Thread.sleep(1000);
+            assertEquals(0, requests.get());
+
+            ut.commit();
+        } catch (Exception ex) {
+            ut.rollback();
+            throw ex;
+        }
+
+        waitForProcessInstanceCompleted(processInstanceId);
+        assertEquals(1, requests.get());
+        List<? extends VariableInstanceLog> results = getLogService().findVariableInstances(processInstanceId, "result");
+        assertFalse(results.isEmpty());
+        assertEquals("Hello from REST", results.get(results.size() - 1).getValue());
+    }
+
+    @Test(timeout = 30000)
+    public void testRequestNotSentOnRollback() throws Exception {
+        UserTransaction ut = getUserTransaction();
+        long processInstanceId;
+        try {
+            ut.begin();
+            ProcessInstance pi = ksession.startProcess(ASYNC_REST_ID, Collections.singletonMap("url", serverUrl));
+            processInstanceId = pi.getId();
+        } finally {
+            ut.rollback();
+        }
+
+        Thread.sleep(1000);
+        assertEquals(0, requests.get());
+        assertProcessInstanceNeverRun(processInstanceId);
+    }
+
+    @Test(timeout = 30000)
+    public void testRequestSentWithoutTransaction() throws Exception {
+        ProcessInstance pi = ksession.startProcess(ASYNC_REST_ID, Collections.singletonMap("url", serverUrl));
+
+        waitForProcessInstanceCompleted(pi.getId());
+        assertEquals(1, requests.get());
+    }
+
+    private void waitForProcessInstanceCompleted(long processInstanceId) throws InterruptedException {
+        ProcessInstanceLog log = getLogService().findProcessInstance(processInstanceId);
+        while (log == null || log.getStatus() != ProcessInstance.STATE_COMPLETED) {
+            Thread.sleep(100);
+            log = getLogService().findProcessInstance(processInstanceId);
+        }
+    }
+
+    private UserTransaction getUserTransaction() throws Exception {
+        return InitialContext.doLookup("java:comp/UserTransaction");
+    }
+}
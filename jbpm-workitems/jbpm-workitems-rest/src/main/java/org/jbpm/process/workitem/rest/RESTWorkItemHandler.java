@@ -25,7 +25,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import javax.xml.bind.JAXBContext;
 
@@ -56,6 +64,7 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.client.protocol.ClientContext;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.auth.BasicScheme;
@@ -66,11 +75,18 @@ import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.params.CoreConnectionPNames;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.util.EntityUtils;
+import org.drools.core.process.instance.impl.WorkItemImpl;
 import org.drools.core.util.StringUtils;
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionManagerFactory;
+import org.drools.persistence.api.TransactionSynchronization;
 import org.jbpm.process.workitem.core.AbstractLogOrThrowWorkItemHandler;
 import org.jbpm.process.workitem.core.util.Wid;
 import org.jbpm.process.workitem.core.util.WidMavenDepends;
@@ -79,9 +95,16 @@ import org.jbpm.process.workitem.core.util.WidResult;
 import org.jbpm.process.workitem.core.util.service.WidAction;
 import org.jbpm.process.workitem.core.util.service.WidAuth;
 import org.jbpm.process.workitem.core.util.service.WidService;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.runtime.manager.RuntimeEngine;
+import org.kie.api.runtime.manager.RuntimeManager;
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.api.runtime.process.WorkItemManager;
 import org.kie.internal.runtime.Cacheable;
+import org.kie.internal.runtime.manager.InternalRuntimeManager;
+import org.kie.internal.runtime.manager.RuntimeManagerRegistry;
+import org.kie.internal.runtime.manager.context.ProcessInstanceIdContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
@@ -112,7 +135,21 @@ import org.apache.http.conn.routing.HttpRoutePlanner;
  * if not given string format will be returned</li>
  * <li>AcceptHeader - accept header value</li>
  * <li>Headers - additional HTTP Headers in format: header1=val1;header2=val2</li>
+ * <li>Mode - SYNC (default) or ASYNC, see below</li>
  * </ul>
+ * In ASYNC mode the request is sent with a non-blocking (NIO) client and <code>executeWorkItem</code> returns
+ * right away, without waiting for the response. Once the response arrives the work item is completed (or aborted
+ * in case the request failed, timed out or - with HandleResponseErrors - returned an unsuccessful response code)
+ * in a new transaction, through the <code>RuntimeManager</code> of the deployment that owns the work item.
+ * Within a transaction the request is sent once the transaction that executes the work item committed.
+ * The async client is shared by all handlers and its limits can be configured with system properties:
+ * <ul>
+ * <li>org.kie.workitem.rest.async.maxConnections - max connections in total - defaults to 500</li>
+ * <li>org.kie.workitem.rest.async.maxConnectionsPerRoute - max connections per route - defaults to 50</li>
+ * <li>org.kie.workitem.rest.async.completionThreads - threads completing work items - defaults to 10</li>
+ * </ul>
+ * Requests waiting for a connection are bounded by the ConnectTimeout. FORM BASED authentication is not supported
+ * in ASYNC mode.
  */
 
 @Wid(widfile = "RestDefinitions.wid", name = "Rest",
@@ -138,7 +175,8 @@ import org.apache.http.conn.routing.HttpRoutePlanner;
                 @WidParameter(name = "Password"),
                 @WidParameter(name = "AuthUrl"),
                 @WidParameter(name = "ContentType"),
-                @WidParameter(name = "ContentTypeCharset")
+                @WidParameter(name = "ContentTypeCharset"),
+                @WidParameter(name = "Mode")
         },
         results = {
                 @WidResult(name = "Result", runtimeType = "java.lang.Object")
@@ -158,6 +196,11 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
     private static final int DEFAULT_TOTAL_POOL_CONNECTIONS = 500;
     private static final int DEFAULT_MAX_POOL_CONNECTIONS_PER_ROUTE = 50;
     protected static final String USE_SYSTEM_PROPERTIES = "org.kie.workitem.rest.useSystemProperties";
+    private static final int DEFAULT_ASYNC_COMPLETION_THREADS = 10;
+
+    public static final String ASYNC_MAX_CONNECTIONS = "org.kie.workitem.rest.async.maxConnections";
+    public static final String ASYNC_MAX_CONNECTIONS_PER_ROUTE = "org.kie.workitem.rest.async.maxConnectionsPerRoute";
+    public static final String ASYNC_COMPLETION_THREADS = "org.kie.workitem.rest.async.completionThreads";
 
     public static final String PARAM_AUTH_TYPE = "AuthType";
     public static final String PARAM_CONNECT_TIMEOUT = "ConnectTimeout";
@@ -173,6 +216,7 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
     public static final String PARAM_RESULT = "Result";
     public static final String PARAM_STATUS = "Status";
     public static final String PARAM_STATUS_MSG = "StatusMsg";
+    public static final String PARAM_MODE = "Mode";
 
     private String username;
     private String password;
@@ -186,6 +230,14 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
     protected static PoolingHttpClientConnectionManager connectionManager;
     protected static CloseableHttpClient cachedClient;
 
+    protected static CloseableHttpAsyncClient asyncClient;
+    protected static ExecutorService asyncCompletionExecutor;
+    // number of open handlers using the shared async client, it is closed when the last of them is closed
+    private static int asyncClientUsers;
+    private boolean asyncClientInUse;
+    // in flight async requests by deployment and work item id, so they can be cancelled when the work item is aborted
+    private static final Map<String, Future<HttpResponse>> pendingRequests = new ConcurrentHashMap<>();
+
     // protected for test purpose
     protected static boolean HTTP_CLIENT_API_43 = true;
 
@@ -791,6 +843,34 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
             headers = "";
         }
 
+        RequestMode mode = RequestMode.SYNC;
+        if (params.get(PARAM_MODE) != null) {
+            mode = RequestMode.valueOf(((String) params.get(PARAM_MODE)).toUpperCase());
+        }
+        if (mode == RequestMode.ASYNC) {
+            if (authType == AuthenticationType.FORM_BASED) {
+                throw new IllegalArgumentException("FORM_BASED authentication is not supported in ASYNC mode");
+            }
+            if (HTTP_CLIENT_API_43) {
+                RequestBuilder requestBuilder = (RequestBuilder) configureRequest(method,
+                                                                                  urlStr,
+                                                                                  params,
+                                                                                  acceptHeader,
+                                                                                  acceptCharset,
+                                                                                  headers);
+                executeAsync(workItem,
+                             manager,
+                             requestBuilder,
+                             params,
+                             authType,
+                             handleException,
+                             readTimeout,
+                             connectTimeout);
+                return;
+            }
+            logger.warn("ASYNC mode requires http client 4.3 api, executing request to {} synchronously", urlStr);
+        }
+
         HttpClient httpClient = getHttpClient(readTimeout,
                                               connectTimeout);
 
@@ -805,42 +885,12 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
                                                                methodObject,
                                                                params,
                                                                authType);
-            StatusLine statusLine = response.getStatusLine();
-            int responseCode = statusLine.getStatusCode();
-            Map<String, Object> results = new HashMap<String, Object>();
-            HttpEntity respEntity = response.getEntity();
-            String responseBody = null;
-            String contentType = null;
-            if (respEntity != null) {
-                responseBody = EntityUtils.toString(respEntity, acceptCharset);
-
-                if (respEntity.getContentType() != null) {
-                    contentType = respEntity.getContentType().getValue();
-                }
-            }
-            if (responseCode >= 200 && responseCode < 300) {
-                postProcessResult(responseBody,
-                                  resultClass,
-                                  contentType,
-                                  results);
-                results.put(PARAM_STATUS_MSG,
-                            "request to endpoint " + urlStr + " successfully completed " + statusLine.getReasonPhrase());
-            } else {
-                if (handleException) {
-                    handleException(new RESTServiceException(responseCode,
-                                                             responseBody,
-                                                             urlStr));
-                } else {
-                    logger.warn("Unsuccessful response from REST server (status: {}, endpoint: {}, response: {}",
-                                responseCode,
-                                urlStr,
-                                responseBody);
-                    results.put(PARAM_STATUS_MSG,
-                                "endpoint " + urlStr + " could not be reached: " + responseBody);
-                }
-            }
-            results.put(PARAM_STATUS,
-                        responseCode);
+            Map<String, Object> results = processResponse(response,
+                                                          urlStr,
+                                                          resultClass,
+                                                          acceptCharset,
+                                                          handleException,
+                                                          this::handleException);
 
             // notify manager that work item has been completed
             manager.completeWorkItem(workItem.getId(),
@@ -857,6 +907,249 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
         }
     }
 
+    /**
+     * Extracts the results of the work item from the given response.
+     * @param errorHandler - invoked with the error of an unsuccessful response when handleException is set
+     */
+    protected Map<String, Object> processResponse(HttpResponse response,
+                                                  String urlStr,
+                                                  String resultClass,
+                                                  String acceptCharset,
+                                                  boolean handleException,
+                                                  Consumer<RESTServiceException> errorHandler) throws IOException {
+        StatusLine statusLine = response.getStatusLine();
+        int responseCode = statusLine.getStatusCode();
+        Map<String, Object> results = new HashMap<String, Object>();
+        HttpEntity respEntity = response.getEntity();
+        String responseBody = null;
+        String contentType = null;
+        if (respEntity != null) {
+            responseBody = EntityUtils.toString(respEntity, acceptCharset);
+
+            if (respEntity.getContentType() != null) {
+                contentType = respEntity.getContentType().getValue();
+            }
+        }
+        if (responseCode >= 200 && responseCode < 300) {
+            postProcessResult(responseBody,
+                              resultClass,
+                              contentType,
+                              results);
+            results.put(PARAM_STATUS_MSG,
+                        "request to endpoint " + urlStr + " successfully completed " + statusLine.getReasonPhrase());
+        } else {
+            if (handleException) {
+                errorHandler.accept(new RESTServiceException(responseCode,
+                                                             responseBody,
+                                                             urlStr));
+            } else {
+                logger.warn("Unsuccessful response from REST server (status: {}, endpoint: {}, response: {}",
+                            responseCode,
+                            urlStr,
+                            responseBody);
+                results.put(PARAM_STATUS_MSG,
+                            "endpoint " + urlStr + " could not be reached: " + responseBody);
+            }
+        }
+        results.put(PARAM_STATUS,
+                    responseCode);
+        return results;
+    }
+
+    /**
+     * Sends the request with the shared async client and returns without waiting for the response. The work item
+     * is completed with the results of the response, or aborted when the request fails, by one of the
+     * completion threads. When the work item is executed within a transaction, the request is sent only once
+     * that transaction committed (and not at all when it rolled back), so that the response cannot complete
+     * a work item that is not stored yet.
+     */
+    protected void executeAsync(WorkItem workItem,
+                                WorkItemManager manager,
+                                RequestBuilder requestBuilder,
+                                Map<String, Object> params,
+                                AuthenticationType authType,
+                                boolean handleException,
+                                Integer readTimeout,
+                                Integer connectTimeout) {
+        final long workItemId = workItem.getId();
+        final long processInstanceId = workItem.getProcessInstanceId();
+        final String deploymentId = workItem instanceof WorkItemImpl ? ((WorkItemImpl) workItem).getDeploymentId() : null;
+        final String urlStr = (String) params.get("Url");
+        final String resultClass = (String) params.get("ResultClass");
+        final String acceptCharset = (String) params.get("AcceptCharset");
+        final String requestKey = getRequestKey(deploymentId, workItemId);
+
+        RequestConfig config = RequestConfig.custom()
+                .setSocketTimeout(readTimeout)
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .build();
+        HttpUriRequest request = requestBuilder.setConfig(config).build();
+        HttpClientContext clientContext = HttpClientContext.create();
+        if (authType == AuthenticationType.BASIC) {
+            clientContext = createPreemptiveAuthContext(request.getURI(),
+                                                        params);
+        }
+
+        final HttpClientContext context = clientContext;
+        TransactionManager txm = getTransactionManager(deploymentId);
+        if (txm == null || txm.getStatus() == TransactionManager.STATUS_NO_TRANSACTION) {
+            sendAsync(workItemId, processInstanceId, deploymentId, manager, request, context,
+                      urlStr, resultClass, acceptCharset, handleException);
+            return;
+        }
+        // the work item is persisted by the transaction of the caller, the response must not complete it before
+        // it is committed - the placeholder allows the work item to be aborted before the request is sent
+        final CompletableFuture<HttpResponse> notSent = new CompletableFuture<>();
+        pendingRequests.put(requestKey, notSent);
+        txm.registerTransactionSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void beforeCompletion() {
+                // no-op
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!pendingRequests.remove(requestKey, notSent)) {
+                    logger.debug("Work item {} was aborted, request to endpoint {} is not sent", workItemId, urlStr);
+                } else if (status == TransactionManager.STATUS_COMMITTED) {
+                    sendAsync(workItemId, processInstanceId, deploymentId, manager, request, context,
+                              urlStr, resultClass, acceptCharset, handleException);
+                } else {
+                    logger.debug("Transaction of work item {} was rolled back, request to endpoint {} is not sent", workItemId, urlStr);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends the request with the shared async client, the response completes the work item in one of the
+     * completion threads.
+     */
+    protected void sendAsync(long workItemId,
+                             long processInstanceId,
+                             String deploymentId,
+                             WorkItemManager manager,
+                             HttpUriRequest request,
+                             HttpClientContext clientContext,
+                             String urlStr,
+                             String resultClass,
+                             String acceptCharset,
+                             boolean handleException) {
+        final String requestKey = getRequestKey(deploymentId, workItemId);
+        acquireAsyncClient();
+        final ExecutorService completionExecutor = getAsyncCompletionExecutor();
+        Future<HttpResponse> future = getAsyncHttpClient().execute(request,
+                                                                   clientContext,
+                                                                   new FutureCallback<HttpResponse>() {
+
+            @Override
+            public void completed(HttpResponse response) {
+                pendingRequests.remove(requestKey);
+                completionExecutor.execute(() -> {
+                    Map<String, Object> results;
+                    try {
+                        results = processResponse(response,
+                                                  urlStr,
+                                                  resultClass,
+                                                  acceptCharset,
+                                                  handleException,
+                                                  e -> {
+                                                      throw e;
+                                                  });
+                    } catch (Exception e) {
+                        logger.error("Async request to endpoint {} of work item {} failed, aborting work item",
+                                     urlStr,
+                                     workItemId,
+                                     e);
+                        finishAsyncWorkItem(deploymentId, processInstanceId, manager,
+                                            workItemManager -> workItemManager.abortWorkItem(workItemId));
+                        return;
+                    }
+                    logger.debug("Received async response from endpoint {}, completing work item {}",
+                                 urlStr,
+                                 workItemId);
+                    finishAsyncWorkItem(deploymentId, processInstanceId, manager,
+                                        workItemManager -> workItemManager.completeWorkItem(workItemId, results));
+                });
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                pendingRequests.remove(requestKey);
+                logger.error("Async request to endpoint {} of work item {} failed, aborting work item",
+                             urlStr,
+                             workItemId,
+                             ex);
+                completionExecutor.execute(() -> finishAsyncWorkItem(deploymentId, processInstanceId, manager,
+                                                                     workItemManager -> workItemManager.abortWorkItem(workItemId)));
+            }
+
+            @Override
+            public void cancelled() {
+                pendingRequests.remove(requestKey);
+                logger.debug("Async request to endpoint {} of work item {} cancelled", urlStr, workItemId);
+            }
+        });
+        pendingRequests.put(requestKey, future);
+        if (future.isDone()) {
+            pendingRequests.remove(requestKey, future);
+        }
+    }
+
+    /**
+     * Completes or aborts (as given by the action) an async work item in a new transaction, through the
+     * runtime engine of the process instance.
+     */
+    protected void finishAsyncWorkItem(String deploymentId,
+                                       long processInstanceId,
+                                       WorkItemManager manager,
+                                       Consumer<WorkItemManager> action) {
+        try {
+            RuntimeManager runtimeManager = deploymentId == null ? null : RuntimeManagerRegistry.get().getManager(deploymentId);
+            if (runtimeManager != null) {
+                RuntimeEngine engine = runtimeManager.getRuntimeEngine(ProcessInstanceIdContext.get(processInstanceId));
+                try {
+                    action.accept(engine.getKieSession().getWorkItemManager());
+                } finally {
+                    runtimeManager.disposeRuntimeEngine(engine);
+                }
+            } else {
+                // in case there is no RuntimeManager available use the work item manager given on execution,
+                // as it might be used without runtime manager at all
+                action.accept(manager);
+            }
+        } catch (Exception e) {
+            logger.error("Unable to complete async work item of process instance {}",
+                         processInstanceId,
+                         e);
+        }
+    }
+
+    private static String getRequestKey(String deploymentId,
+                                        long workItemId) {
+        return deploymentId + ":" + workItemId;
+    }
+
+    /**
+     * Returns the transaction manager of the deployment that owns the work item, or null when the work item is not
+     * executed through a runtime manager.
+     */
+    protected TransactionManager getTransactionManager(String deploymentId) {
+        RuntimeManager runtimeManager = deploymentId == null ? null : RuntimeManagerRegistry.get().getManager(deploymentId);
+        if (!(runtimeManager instanceof InternalRuntimeManager)) {
+            return null;
+        }
+        Environment environment = ((InternalRuntimeManager) runtimeManager).getEnvironment().getEnvironment();
+        Object txm = environment.get(EnvironmentName.TRANSACTION_MANAGER);
+        if (txm instanceof TransactionManager) {
+            return (TransactionManager) txm;
+        }
+        TransactionManagerFactory factory = TransactionManagerFactory.get();
+        return factory == null ? null : factory.newTransactionManager(environment);
+    }
+
     protected Integer getParamAsInt(Object param) {
         if (param == null) {
             return null;
@@ -1082,27 +1375,9 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
             HttpHost targetHost = new HttpHost(requestUri.getHost(),
                                                requestUri.getPort(),
                                                requestUri.getScheme());
-
-            // Create AuthCache instance and add it: so that HttpClient thinks that it has already queried (as per the HTTP spec)
-            // - generate BASIC scheme object and add it to the local auth cache
-            AuthCache authCache = new BasicAuthCache();
-            BasicScheme basicAuth = new BasicScheme();
-            authCache.put(targetHost,
-                          basicAuth);
-
-            // - add AuthCache to the execution context:
-            HttpClientContext clientContext = HttpClientContext.create();
-            CredentialsProvider credsProvider = new BasicCredentialsProvider();
-            credsProvider.setCredentials(
-                    // specify host and port, since that is safer/more secure
-                    new AuthScope(requestUri.getHost(),
-                                  requestUri.getPort(),
-                                  AuthScope.ANY_REALM),
-                    new UsernamePasswordCredentials(u,
-                                                    p)
-            );
-            clientContext.setCredentialsProvider(credsProvider);
-            clientContext.setAuthCache(authCache);
+            HttpClientContext clientContext = createPreemptiveAuthContext(targetHost,
+                                                                          u,
+                                                                          p);
 
             // - execute request
             HttpUriRequest request = requestBuilder.build();
@@ -1183,6 +1458,53 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
         }
     }
 
+    protected HttpClientContext createPreemptiveAuthContext(URI requestUri,
+                                                            Map<String, Object> params) {
+        String u = (String) params.get(PARAM_USERNAME);
+        String p = (String) params.get(PARAM_PASSWORD);
+        if (u == null || p == null) {
+            u = this.username;
+            p = this.password;
+        }
+        if (u == null) {
+            throw new IllegalArgumentException("Could not find username");
+        }
+        if (p == null) {
+            throw new IllegalArgumentException("Could not find password");
+        }
+        return createPreemptiveAuthContext(new HttpHost(requestUri.getHost(),
+                                                        requestUri.getPort(),
+                                                        requestUri.getScheme()),
+                                           u,
+                                           p);
+    }
+
+    protected HttpClientContext createPreemptiveAuthContext(HttpHost targetHost,
+                                                            String u,
+                                                            String p) {
+        // Create AuthCache instance and add it: so that HttpClient thinks that it has already queried (as per the HTTP spec)
+        // - generate BASIC scheme object and add it to the local auth cache
+        AuthCache authCache = new BasicAuthCache();
+        BasicScheme basicAuth = new BasicScheme();
+        authCache.put(targetHost,
+                      basicAuth);
+
+        // - add AuthCache to the execution context:
+        HttpClientContext clientContext = HttpClientContext.create();
+        CredentialsProvider credsProvider = new BasicCredentialsProvider();
+        credsProvider.setCredentials(
+                // specify host and port, since that is safer/more secure
+                new AuthScope(targetHost.getHostName(),
+                              targetHost.getPort(),
+                              AuthScope.ANY_REALM),
+                new UsernamePasswordCredentials(u,
+                                                p)
+        );
+        clientContext.setCredentialsProvider(credsProvider);
+        clientContext.setAuthCache(authCache);
+        return clientContext;
+    }
+
     protected HttpResponse doRequestWithAuthorization(HttpClient httpclient,
                                                       HttpRequestBase httpMethod,
                                                       Map<String, Object> params,
@@ -1287,7 +1609,12 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
 
     public void abortWorkItem(WorkItem workItem,
                               WorkItemManager manager) {
-        // Do nothing, this work item cannot be aborted
+        // only requests sent in ASYNC mode can be cancelled, others are already done
+        String deploymentId = workItem instanceof WorkItemImpl ? ((WorkItemImpl) workItem).getDeploymentId() : null;
+        Future<HttpResponse> request = pendingRequests.remove(getRequestKey(deploymentId, workItem.getId()));
+        if (request != null) {
+            request.cancel(true);
+        }
     }
 
     public enum AuthenticationType {
@@ -1296,6 +1623,11 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
         FORM_BASED
     }
 
+    public enum RequestMode {
+        SYNC,
+        ASYNC
+    }
+
     protected HttpClient getHttpClient(Integer readTimeout,
                                        Integer connectTimeout) {
         if (getDoCacheClient() && HTTP_CLIENT_API_43) {
@@ -1343,7 +1675,7 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
         }
     }
     
-    private HttpRoutePlanner getRoutePlanner ()
+    private static HttpRoutePlanner getRoutePlanner ()
     {
         String proxyHost = System.getProperty("http.proxyHost");
         Integer proxyPort = Integer.getInteger("http.proxyPort");
@@ -1367,6 +1699,42 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
                 .build();
     }
 
+    protected static synchronized CloseableHttpAsyncClient getAsyncHttpClient() {
+        if (asyncClient == null) {
+            HttpAsyncClientBuilder clientBuilder = HttpAsyncClients.custom()
+                    .setMaxConnTotal(Integer.getInteger(ASYNC_MAX_CONNECTIONS, DEFAULT_TOTAL_POOL_CONNECTIONS))
+                    .setMaxConnPerRoute(Integer.getInteger(ASYNC_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_MAX_POOL_CONNECTIONS_PER_ROUTE))
+                    .setThreadFactory(newDaemonThreadFactory("rest-wih-async-io"));
+            if (Boolean.getBoolean(USE_SYSTEM_PROPERTIES)) {
+                HttpRoutePlanner routePlanner = getRoutePlanner();
+                if (routePlanner != null) {
+                    clientBuilder.setRoutePlanner(routePlanner);
+                }
+                clientBuilder.useSystemProperties();
+            }
+            asyncClient = clientBuilder.build();
+            asyncClient.start();
+        }
+        return asyncClient;
+    }
+
+    protected static synchronized ExecutorService getAsyncCompletionExecutor() {
+        if (asyncCompletionExecutor == null) {
+            asyncCompletionExecutor = Executors.newFixedThreadPool(Integer.getInteger(ASYNC_COMPLETION_THREADS, DEFAULT_ASYNC_COMPLETION_THREADS),
+                                                                   newDaemonThreadFactory("rest-wih-async-completion"));
+        }
+        return asyncCompletionExecutor;
+    }
+
+    private static ThreadFactory newDaemonThreadFactory(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     protected void close(HttpClient httpClient,
                          Object httpMethod) throws IOException {
         if (HTTP_CLIENT_API_43) {
@@ -1478,5 +1846,53 @@ public class RESTWorkItemHandler extends AbstractLogOrThrowWorkItemHandler imple
         } catch (Exception e) {
             logger.error("Unable to close cached client connection: " + e.getMessage());
         }
+        releaseAsyncClient();
+    }
+
+    /**
+     * Registers this handler as user of the shared async client, so it is not closed while this handler is open.
+     */
+    protected void acquireAsyncClient() {
+        synchronized (RESTWorkItemHandler.class) {
+            if (!asyncClientInUse) {
+                asyncClientInUse = true;
+                asyncClientUsers++;
+            }
+        }
+    }
+
+    /**
+     * Unregisters this handler as user of the shared async client and closes it if no other handler uses it.
+     */
+    protected void releaseAsyncClient() {
+        synchronized (RESTWorkItemHandler.class) {
+            if (asyncClientInUse) {
+                asyncClientInUse = false;
+                asyncClientUsers--;
+                if (asyncClientUsers == 0) {
+                    closeAsyncClient();
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the shared async client (cancelling requests in flight) and shuts down the completion threads once
+     * they completed the work items of responses already received. Both are created again on next use.
+     */
+    protected static synchronized void closeAsyncClient() {
+        try {
+            if (asyncClient != null) {
+                asyncClient.close();
+            }
+        } catch (Exception e) {
+            logger.error("Unable to close async client: " + e.getMessage());
+        } finally {
+            asyncClient = null;
+        }
+        if (asyncCompletionExecutor != null) {
+            asyncCompletionExecutor.shutdown();
+            asyncCompletionExecutor = null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.workitem.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.drools.core.process.instance.impl.WorkItemImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+
+import static org.jbpm.process.workitem.rest.RESTWorkItemHandler.PARAM_RESULT;
+import static org.jbpm.process.workitem.rest.RESTWorkItemHandler.PARAM_STATUS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the handler in ASYNC mode against a local stub server that only responds once released by the test.
+ */
+public class RESTWorkItemHandlerAsyncTest {
+
+    private HttpServer server;
+    private String serverUrl;
+    private CountDownLatch release;
+
+    @Before
+    public void startServer() throws IOException {
+        release = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/test", exchange -> respond(exchange, 200, "Hello from REST"));
+        server.createContext("/error", exchange -> respond(exchange, 500, "Internal error"));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        serverUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testGETOperationAsync() throws Exception {
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(1);
+        WorkItemImpl workItem = createWorkItem(1, "/test");
+
+        new RESTWorkItemHandler().executeWorkItem(workItem, manager);
+        // the handler returns before the server responds
+        assertFalse(manager.completedWorkItems.containsKey(workItem.getId()));
+
+        release.countDown();
+        assertTrue(manager.await());
+        Map<String, Object> results = manager.completedWorkItems.get(workItem.getId());
+        assertEquals("Hello from REST", results.get(PARAM_RESULT));
+        assertEquals(200, results.get(PARAM_STATUS));
+    }
+
+    @Test
+    public void testConcurrentRequestsAsync() throws Exception {
+        int requests = 20;
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(requests);
+        RESTWorkItemHandler handler = new RESTWorkItemHandler();
+        for (int i = 1; i <= requests; i++) {
+            handler.executeWorkItem(createWorkItem(i, "/test"), manager);
+        }
+        assertTrue(manager.completedWorkItems.isEmpty());
+
+        release.countDown();
+        assertTrue(manager.await());
+        assertEquals(requests, manager.completedWorkItems.size());
+    }
+
+    @Test
+    public void testReadTimeoutAbortsWorkItem() throws Exception {
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(1);
+        WorkItemImpl workItem = createWorkItem(1, "/test");
+        workItem.setParameter("ReadTimeout", "500");
+
+        new RESTWorkItemHandler().executeWorkItem(workItem, manager);
+
+        assertTrue(manager.await());
+        assertTrue(manager.abortedWorkItems.containsKey(workItem.getId()));
+        assertTrue(manager.completedWorkItems.isEmpty());
+    }
+
+    @Test
+    public void testHandleResponseErrorsAbortsWorkItem() throws Exception {
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(1);
+        WorkItemImpl workItem = createWorkItem(1, "/error");
+        workItem.setParameter("HandleResponseErrors", "true");
+
+        new RESTWorkItemHandler().executeWorkItem(workItem, manager);
+        release.countDown();
+
+        assertTrue(manager.await());
+        assertTrue(manager.abortedWorkItems.containsKey(workItem.getId()));
+    }
+
+    @Test
+    public void testUnsuccessfulResponseCompletesWorkItem() throws Exception {
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(1);
+        WorkItemImpl workItem = createWorkItem(1, "/error");
+
+        new RESTWorkItemHandler().executeWorkItem(workItem, manager);
+        release.countDown();
+
+        assertTrue(manager.await());
+        assertEquals(500, manager.completedWorkItems.get(workItem.getId()).get(PARAM_STATUS));
+    }
+
+    @Test
+    public void testAbortCancelsRequest() throws Exception {
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(1);
+        WorkItemImpl workItem = createWorkItem(1, "/test");
+        RESTWorkItemHandler handler = new RESTWorkItemHandler();
+
+        handler.executeWorkItem(workItem, manager);
+        handler.abortWorkItem(workItem, manager);
+        release.countDown();
+
+        // neither completed nor aborted (again) by the handler
+        assertFalse(manager.await(1));
+        assertTrue(manager.completedWorkItems.isEmpty());
+        assertTrue(manager.abortedWorkItems.isEmpty());
+    }
+
+    @Test
+    public void testCloseOfOtherHandlerKeepsRequestsInFlight() throws Exception {
+        AsyncWorkItemManager manager = new AsyncWorkItemManager(2);
+        RESTWorkItemHandler handler = new RESTWorkItemHandler();
+        RESTWorkItemHandler otherHandler = new RESTWorkItemHandler();
+
+        handler.executeWorkItem(createWorkItem(1, "/test"), manager);
+        otherHandler.executeWorkItem(createWorkItem(2, "/test"), manager);
+        // handlers that never sent a request and the other handler do not close the shared client
+        new RESTWorkItemHandler().close();
+        otherHandler.close();
+        release.countDown();
+
+        assertTrue(manager.await());
+        assertEquals(2, manager.completedWorkItems.size());
+        assertTrue(manager.abortedWorkItems.isEmpty());
+        handler.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFormBasedAuthenticationNotSupportedAsync() {
+        WorkItemImpl workItem = createWorkItem(1, "/test");
+        workItem.setParameter("AuthType", "FORM_BASED");
+
+        new RESTWorkItemHandler().executeWorkItem(workItem, new AsyncWorkItemManager(1));
+    }
+
+    private WorkItemImpl createWorkItem(long id, String path) {
+        WorkItemImpl workItem = new WorkItemImpl();
+        workItem.setId(id);
+        workItem.setParameter("Url", serverUrl + path);
+        workItem.setParameter("Method", "GET");
+        workItem.setParameter("Mode", "ASYNC");
+        return workItem;
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        try {
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // client is already gone (timed out or cancelled)
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static class AsyncWorkItemManager implements WorkItemManager {
+
+        private final Map<Long, Map<String, Object>> completedWorkItems = new ConcurrentHashMap<>();
+        private final Map<Long, Boolean> abortedWorkItems = new ConcurrentHashMap<>();
+        private final CountDownLatch latch;
+
+        private AsyncWorkItemManager(int workItems) {
+            this.latch = new CountDownLatch(workItems);
+        }
+
+        @Override
+        public void completeWorkItem(long id, Map<String, Object> results) {
+            completedWorkItems.put(id, results);
+            latch.countDown();
+        }
+
+        @Override
+        public void abortWorkItem(long id) {
+            abortedWorkItems.put(id, Boolean.TRUE);
+            latch.countDown();
+        }
+
+        @Override
+        public void registerWorkItemHandler(String workItemName, WorkItemHandler handler) {
+        }
+
+        private boolean await() throws InterruptedException {
+            return await(10);
+        }
+
+        private boolean await(int seconds) throws InterruptedException {
+            return latch.await(seconds, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -16,13 +16,14 @@
 
 package org.jbpm.xes;
 
-import java.io.File;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.cli.*;
 import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
-import org.apache.commons.io.FileUtils;
 import org.jbpm.xes.dataset.DataSetService;
 import org.jbpm.xes.dataset.DataSetServiceImpl;
 
@@ -77,11 +78,17 @@ public class XESExportMain {
                 filter.withAllNodeTypes();
             }
 
-            final String xml = service.export(filter.build());
+            if (line.hasOption("chunk")) {
+                service.setChunkSize(Integer.parseInt(line.getOptionValue("chunk")));
+            }
+
             if (line.hasOption("file")) {
-                FileUtils.write(new File(line.getOptionValue("file")), xml, "UTF-8");
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(line.getOptionValue("file")))) {
+                    service.export(filter.build(), out);
+                }
             } else {
-                System.out.println(xml);
+                service.export(filter.build(), System.out);
+                System.out.println();
             }
         } catch (ParseException exp) {
             System.err.println("Parsing options failed. Reason: " + exp.getMessage());
@@ -106,6 +113,7 @@ public class XESExportMain {
         options.addOption(Option.builder("version").argName("version").hasArg().desc("Process version to export").build());
         options.addOption(Option.builder("status").argName("status").hasArgs().valueSeparator(',').desc("Process status to export. Valid status are from 0 to 4, comma separated.").build());
         options.addOption(Option.builder("nodetypes").argName("a").desc("Export all node type. Default will only export relevant activities.").build());
+        options.addOption(Option.builder("chunk").argName("chunk").hasArg().desc("Number of process instances fetched per query while streaming the export. Default is " + XESExportServiceImpl.DEFAULT_CHUNK_SIZE + ".").build());
         options.addOption(Option.builder("logtype").argName("logtype").hasArg().desc("Use 0 for node entered events or 1 for exit events. Default will export all types.").build());
         return options;
     }
@@ -16,7 +16,16 @@
 
 package org.jbpm.xes;
 
+import java.io.OutputStream;
+
 public interface XESExportService {
 
     String export(XESProcessFilter filter) throws Exception;
+
+    /**
+     * Streams the XES log matching the given filter to the output stream, fetching traces and
+     * their events in bounded chunks so that memory use does not depend on the export size.
+     * The output stream is not closed.
+     */
+    void export(XESProcessFilter filter, OutputStream outputStream) throws Exception;
 }
\ No newline at end of file
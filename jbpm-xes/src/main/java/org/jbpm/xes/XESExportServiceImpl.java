@@ -16,6 +16,7 @@
 
 package org.jbpm.xes;
 
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -34,6 +35,7 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.filter.FilterFactory.greaterThan;
 import static org.dashbuilder.dataset.filter.FilterFactory.in;
 import static org.jbpm.xes.dataset.DataSetUtils.getColumnLongValue;
 import static org.jbpm.xes.mapper.EventTypeMapper.COLUMN_NODE_TYPE;
@@ -44,18 +46,26 @@ public class XESExportServiceImpl implements XESExportService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XESExportServiceImpl.class);
 
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
     private DataSetService dataSetService;
     private XESLogMarshaller marshaller = new XESLogMarshaller();
+    private int chunkSize = Integer.getInteger("org.jbpm.xes.export.chunk.size", DEFAULT_CHUNK_SIZE);
 
     public void setDataSetService(DataSetService dataSetService) {
         this.dataSetService = dataSetService;
     }
 
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+        this.chunkSize = chunkSize;
+    }
+
     @Override
     public String export(final XESProcessFilter filter) throws Exception {
-        if (filter == null || isNullOrEmpty(filter.getProcessId())) {
-            throw new RuntimeException("Process Id must be provided for filtering the logs");
-        }
+        validateFilter(filter);
 
         LOGGER.info("Starting XES export...");
         LOGGER.debug("XES filter: {}", filter);
@@ -84,6 +94,77 @@ public class XESExportServiceImpl implements XESExportService {
 
         log.getTrace().addAll(traces);
 
+        addEvents(instances, filter);
+
+        final String xml = marshaller.marshall(log);
+
+        LOGGER.info("XES exported finished in {} seconds", Duration.between(start, LocalDateTime.now()).getSeconds());
+
+        return xml;
+    }
+
+    @Override
+    public void export(final XESProcessFilter filter, final OutputStream outputStream) throws Exception {
+        validateFilter(filter);
+
+        LOGGER.info("Starting XES streaming export with chunks of {} process instances...", chunkSize);
+        LOGGER.debug("XES filter: {}", filter);
+
+        final LocalDateTime start = LocalDateTime.now();
+
+        final List<ColumnFilter> filters = new ColumnFilterMapper().apply(filter);
+        long exported = 0;
+
+        try (XESLogStreamWriter writer = marshaller.createStreamWriter(outputStream)) {
+            writer.writeHeader(new LogTypeMapper().apply(null, filter.getProcessId()));
+
+            Long lastLogId = null;
+            int rowCount;
+            do {
+//              Seek after the last exported trace instead of paging with offsets
+                final List<ColumnFilter> chunkFilters = new ArrayList<>(filters);
+                if (lastLogId != null) {
+                    chunkFilters.add(greaterThan(TraceTypeMapper.COLUMN_ID, lastLogId));
+                }
+                final DataSet tracesDataSet = dataSetService.findTraces(chunkSize, chunkFilters.toArray(new ColumnFilter[chunkFilters.size()]));
+                rowCount = tracesDataSet.getRowCount();
+                if (rowCount == 0) {
+                    break;
+                }
+
+                final Map<Long, TraceType> instances = new LinkedHashMap<>();
+                for (int row = 0; row < rowCount; row++) {
+                    instances.put(getColumnLongValue(tracesDataSet, COLUMN_PROCESS_INSTANCE_ID, row),
+                                  new TraceTypeMapper().apply(tracesDataSet, row));
+                }
+                lastLogId = getColumnLongValue(tracesDataSet, TraceTypeMapper.COLUMN_ID, rowCount - 1);
+
+                addEvents(instances, filter);
+
+                for (TraceType trace : instances.values()) {
+                    writer.writeTrace(trace);
+                }
+                writer.flush();
+
+                exported += rowCount;
+                LOGGER.debug("Exported {} process instances so far.", exported);
+            } while (rowCount == chunkSize);
+        }
+
+        if (exported == 0) {
+            LOGGER.warn("Could not find any process instance to export, please review filter: {}", filter);
+        }
+
+        LOGGER.info("XES exported {} process instances in {} seconds", exported, Duration.between(start, LocalDateTime.now()).getSeconds());
+    }
+
+    protected void validateFilter(final XESProcessFilter filter) {
+        if (filter == null || isNullOrEmpty(filter.getProcessId())) {
+            throw new RuntimeException("Process Id must be provided for filtering the logs");
+        }
+    }
+
+    protected void addEvents(final Map<Long, TraceType> instances, final XESProcessFilter filter) {
         final List<ColumnFilter> eventFilters = getEventsColumnFilter(new ArrayList<>(instances.keySet()), filter);
         final DataSet eventsDataSet = dataSetService.findEvents(eventFilters.toArray(new ColumnFilter[eventFilters.size()]));
 
@@ -92,12 +173,6 @@ public class XESExportServiceImpl implements XESExportService {
             Long pId = getColumnLongValue(eventsDataSet, COLUMN_PROCESS_INSTANCE_ID, row);
             instances.get(pId).getEvent().add(new EventTypeMapper().apply(eventsDataSet, row));
         });
-
-        final String xml = marshaller.marshall(log);
-
-        LOGGER.info("XES exported finished in {} seconds", Duration.between(start, LocalDateTime.now()).getSeconds());
-
-        return xml;
     }
 
     protected List<ColumnFilter> getEventsColumnFilter(final List<Long> pInstances, final XESProcessFilter filter) {
@@ -17,6 +17,7 @@
 package org.jbpm.xes;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
@@ -62,6 +63,11 @@ public class XESLogMarshaller {
         return xml;
     }
 
+    public XESLogStreamWriter createStreamWriter(OutputStream outputStream) throws Exception {
+        return new XESLogStreamWriter(context,
+                                      outputStream);
+    }
+
     public LogType unmarshall(String xml) throws Exception {
         Unmarshaller unmarshaller = context.createUnmarshaller();
         JAXBElement<LogType> log = (JAXBElement<LogType>) unmarshaller.unmarshal(new StringReader(xml));
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.xes;
+
+import java.io.OutputStream;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jbpm.xes.model.LogType;
+import org.jbpm.xes.model.ObjectFactory;
+import org.jbpm.xes.model.TraceType;
+
+/**
+ * Writes a XES log incrementally to an output stream using StAX.
+ * <p>
+ * The log header (extensions, globals, classifiers and log attributes) is written once through
+ * {@link #writeHeader(LogType)}, after which every trace is marshalled as an individual fragment
+ * so only the trace being written needs to be kept in memory. The underlying output stream is
+ * flushed but not closed by {@link #close()}.
+ */
+public class XESLogStreamWriter implements AutoCloseable {
+
+    private static final QName TRACE_QNAME = new QName("", "trace");
+
+    private final XMLStreamWriter writer;
+    private final Marshaller marshaller;
+    private boolean headerWritten = false;
+
+    public XESLogStreamWriter(JAXBContext context,
+                              OutputStream outputStream) throws JAXBException, XMLStreamException {
+        this.writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, "UTF-8");
+        this.marshaller = context.createMarshaller();
+        this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT,
+                                    Boolean.TRUE);
+    }
+
+    public void writeHeader(LogType log) throws JAXBException, XMLStreamException {
+        if (headerWritten) {
+            throw new IllegalStateException("XES log header has already been written");
+        }
+        if (log.getTrace().isEmpty() == false) {
+            throw new IllegalArgumentException("XES log header must not contain traces, write them with writeTrace instead");
+        }
+        writer.writeStartDocument("UTF-8",
+                                  "1.0");
+        marshaller.marshal(new ObjectFactory().createLog(log),
+                           new OpenRootStreamWriter(writer));
+        headerWritten = true;
+    }
+
+    public void writeTrace(TraceType trace) throws JAXBException {
+        if (headerWritten == false) {
+            throw new IllegalStateException("XES log header must be written before any trace");
+        }
+        marshaller.marshal(new JAXBElement<>(TRACE_QNAME,
+                                             TraceType.class,
+                                             trace),
+                           writer);
+    }
+
+    public void flush() throws XMLStreamException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        try {
+            if (headerWritten) {
+                // closes the log element left open by the header
+                writer.writeEndElement();
+                writer.writeEndDocument();
+            }
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Delegating writer that swallows the end tag of the root element, so traces can be appended
+     * to the log after the header has been marshalled.
+     */
+    private static class OpenRootStreamWriter implements XMLStreamWriter {
+
+        private final XMLStreamWriter delegate;
+        private int depth = 0;
+
+        OpenRootStreamWriter(XMLStreamWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void writeStartElement(String localName) throws XMLStreamException {
+            depth++;
+            delegate.writeStartElement(localName);
+        }
+
+        @Override
+        public void writeStartElement(String namespaceURI,
+                                      String localName) throws XMLStreamException {
+            depth++;
+            delegate.writeStartElement(namespaceURI,
+                                       localName);
+        }
+
+        @Override
+        public void writeStartElement(String prefix,
+                                      String localName,
+                                      String namespaceURI) throws XMLStreamException {
+            depth++;
+            delegate.writeStartElement(prefix,
+                                       localName,
+                                       namespaceURI);
+        }
+
+        @Override
+        public void writeEndElement() throws XMLStreamException {
+            depth--;
+            if (depth > 0) {
+                delegate.writeEndElement();
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String namespaceURI,
+                                      String localName) throws XMLStreamException {
+            delegate.writeEmptyElement(namespaceURI,
+                                       localName);
+        }
+
+        @Override
+        public void writeEmptyElement(String prefix,
+                                      String localName,
+                                      String namespaceURI) throws XMLStreamException {
+            delegate.writeEmptyElement(prefix,
+                                       localName,
+                                       namespaceURI);
+        }
+
+        @Override
+        public void writeEmptyElement(String localName) throws XMLStreamException {
+            delegate.writeEmptyElement(localName);
+        }
+
+        @Override
+        public void writeEndDocument() throws XMLStreamException {
+            // the document is ended by the owning XESLogStreamWriter
+        }
+
+        @Override
+        public void close() throws XMLStreamException {
+            // the underlying writer is closed by the owning XESLogStreamWriter
+        }
+
+        @Override
+        public void flush() throws XMLStreamException {
+            delegate.flush();
+        }
+
+        @Override
+        public void writeAttribute(String localName,
+                                   String value) throws XMLStreamException {
+            delegate.writeAttribute(localName,
+                                    value);
+        }
+
+        @Override
+        public void writeAttribute(String prefix,
+                                   String namespaceURI,
+                                   String localName,
+                                   String value) throws XMLStreamException {
+            delegate.writeAttribute(prefix,
+                                    namespaceURI,
+                                    localName,
+                                    value);
+        }
+
+        @Override
+        public void writeAttribute(String namespaceURI,
+                                   String localName,
+                                   String value) throws XMLStreamException {
+            delegate.writeAttribute(namespaceURI,
+                                    localName,
+                                    value);
+        }
+
+        @Override
+        public void writeNamespace(String prefix,
+                                   String namespaceURI) throws XMLStreamException {
+            delegate.writeNamespace(prefix,
+                                    namespaceURI);
+        }
+
+        @Override
+        public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+            delegate.writeDefaultNamespace(namespaceURI);
+        }
+
+        @Override
+        public void writeComment(String data) throws XMLStreamException {
+            delegate.writeComment(data);
+        }
+
+        @Override
+        public void writeProcessingInstruction(String target) throws XMLStreamException {
+            delegate.writeProcessingInstruction(target);
+        }
+
+        @Override
+        public void writeProcessingInstruction(String target,
+                                               String data) throws XMLStreamException {
+            delegate.writeProcessingInstruction(target,
+                                                data);
+        }
+
+        @Override
+        public void writeCData(String data) throws XMLStreamException {
+            delegate.writeCData(data);
+        }
+
+        @Override
+        public void writeDTD(String dtd) throws XMLStreamException {
+            delegate.writeDTD(dtd);
+        }
+
+        @Override
+        public void writeEntityRef(String name) throws XMLStreamException {
+            delegate.writeEntityRef(name);
+        }
+
+        @Override
+        public void writeStartDocument() throws XMLStreamException {
+            // the document is started by the owning XESLogStreamWriter
+        }
+
+        @Override
+        public void writeStartDocument(String version) throws XMLStreamException {
+            // the document is started by the owning XESLogStreamWriter
+        }
+
+        @Override
+        public void writeStartDocument(String encoding,
+                                       String version) throws XMLStreamException {
+            // the document is started by the owning XESLogStreamWriter
+        }
+
+        @Override
+        public void writeCharacters(String text) throws XMLStreamException {
+            delegate.writeCharacters(text);
+        }
+
+        @Override
+        public void writeCharacters(char[] text,
+                                    int start,
+                                    int len) throws XMLStreamException {
+            delegate.writeCharacters(text,
+                                     start,
+                                     len);
+        }
+
+        @Override
+        public String getPrefix(String uri) throws XMLStreamException {
+            return delegate.getPrefix(uri);
+        }
+
+        @Override
+        public void setPrefix(String prefix,
+                              String uri) throws XMLStreamException {
+            delegate.setPrefix(prefix,
+                               uri);
+        }
+
+        @Override
+        public void setDefaultNamespace(String uri) throws XMLStreamException {
+            delegate.setDefaultNamespace(uri);
+        }
+
+        @Override
+        public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+            delegate.setNamespaceContext(context);
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            return delegate.getNamespaceContext();
+        }
+
+        @Override
+        public Object getProperty(String name) throws IllegalArgumentException {
+            return delegate.getProperty(name);
+        }
+    }
+}
@@ -23,5 +23,10 @@ public interface DataSetService {
 
     DataSet findTraces(ColumnFilter... filters);
 
+    /**
+     * Same as {@link #findTraces(ColumnFilter...)} but limited to the first <code>rows</code> traces ordered by log id.
+     */
+    DataSet findTraces(int rows, ColumnFilter... filters);
+
     DataSet findEvents(ColumnFilter... filters);
 }
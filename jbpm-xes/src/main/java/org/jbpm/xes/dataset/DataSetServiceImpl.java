@@ -74,6 +74,17 @@ public class DataSetServiceImpl implements DataSetService {
         return result;
     }
 
+    @Override
+    public DataSet findTraces(int rows, ColumnFilter... filters) {
+        DataSetLookupBuilder<?> builder = DataSetLookupFactory.newDataSetLookupBuilder().dataset("jbpmXESTraces");
+        builder.filter(filters);
+        builder.sort("id", SortOrder.ASCENDING);
+        builder.rowNumber(rows);
+        DataSet result = dataSetManager.lookupDataSet(builder.buildLookup());
+        LOGGER.debug("Data set query result: {}", result);
+        return result;
+    }
+
     @Override
     public DataSet findEvents(ColumnFilter... filters) {
         DataSetLookupBuilder<?> builder = DataSetLookupFactory.newDataSetLookupBuilder().dataset("jbpmXESEvents");
@@ -16,6 +16,7 @@
 
 package org.jbpm.xes;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.Date;
 
@@ -38,8 +39,12 @@ import static org.jbpm.xes.mapper.EventTypeMapper.*;
 import static org.jbpm.xes.mapper.TraceTypeMapper.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyVararg;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -53,14 +58,72 @@ public class XESExportServiceTest {
 
     @Test
     public void testExport() throws Exception {
-        final DataSetImpl tracesDataSet = new DataSetImpl();
         final Integer processInstanceId = 1;
+        when(dataSetService.findTraces(any())).thenReturn(createTracesDataSet(processInstanceId));
+        when(dataSetService.findEvents(anyVararg())).thenReturn(createEventsDataSet(processInstanceId));
+
+        String xml = xesExportService.export(XESProcessFilter.builder().withProcessId("processId").build());
+
+        final XESLogMarshaller marshaller = new XESLogMarshaller();
+
+        LogType log = marshaller.unmarshall(xml);
+        assertNotNull(log);
+        assertEquals(4, log.getExtension().size());
+        assertEquals(3, log.getStringOrDateOrInt().size());
+        assertEquals(2, log.getGlobal().size());
+        assertEquals(4, log.getClassifier().size());
+        assertEquals(1, log.getTrace().size());
+        assertEquals(2, log.getTrace().get(0).getEvent().size());
+    }
+
+    @Test
+    public void testStreamingExportInChunks() throws Exception {
+        xesExportService.setChunkSize(1);
+        when(dataSetService.findTraces(anyInt(), anyVararg())).thenReturn(createTracesDataSet(1),
+                                                                          createTracesDataSet(2),
+                                                                          new DataSetImpl());
+        when(dataSetService.findEvents(anyVararg())).thenReturn(createEventsDataSet(1),
+                                                                createEventsDataSet(2));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        xesExportService.export(XESProcessFilter.builder().withProcessId("processId").build(), out);
+
+        LogType log = new XESLogMarshaller().unmarshall(out.toString("UTF-8"));
+        assertNotNull(log);
+        assertEquals(4, log.getExtension().size());
+        assertEquals(3, log.getStringOrDateOrInt().size());
+        assertEquals(2, log.getGlobal().size());
+        assertEquals(4, log.getClassifier().size());
+        assertEquals(2, log.getTrace().size());
+        assertEquals(2, log.getTrace().get(0).getEvent().size());
+        assertEquals(2, log.getTrace().get(1).getEvent().size());
+
+        verify(dataSetService, times(3)).findTraces(anyInt(), anyVararg());
+        verify(dataSetService, times(2)).findEvents(anyVararg());
+    }
+
+    @Test
+    public void testStreamingExportWithoutTraces() throws Exception {
+        when(dataSetService.findTraces(anyInt(), anyVararg())).thenReturn(new DataSetImpl());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        xesExportService.export(XESProcessFilter.builder().withProcessId("processId").build(), out);
+
+        LogType log = new XESLogMarshaller().unmarshall(out.toString("UTF-8"));
+        assertNotNull(log);
+        assertEquals(4, log.getExtension().size());
+        assertEquals(0, log.getTrace().size());
+        verify(dataSetService, never()).findEvents(anyVararg());
+    }
+
+    private DataSetImpl createTracesDataSet(final Integer processInstanceId) {
+        final DataSetImpl tracesDataSet = new DataSetImpl();
         tracesDataSet.addColumn(COLUMN_PROCESS_INSTANCE_ID,
                                 ColumnType.NUMBER,
                                 singletonList(processInstanceId));
         tracesDataSet.addColumn(TraceTypeMapper.COLUMN_ID,
                                 ColumnType.NUMBER,
-                                singletonList(1));
+                                singletonList(processInstanceId));
         tracesDataSet.addColumn(COLUMN_USER_IDENTITY,
                                 ColumnType.LABEL,
                                 singletonList("admin"));
@@ -82,8 +145,10 @@ public class XESExportServiceTest {
         tracesDataSet.addColumn(COLUMN_SLA_COMPLIANCE,
                                 ColumnType.NUMBER,
                                 singletonList(0));
-        when(dataSetService.findTraces(any())).thenReturn(tracesDataSet);
+        return tracesDataSet;
+    }
 
+    private DataSetImpl createEventsDataSet(final Integer processInstanceId) {
         final DataSetImpl eventsDataSet = new DataSetImpl();
         eventsDataSet.addColumn(COLUMN_TYPE,
                                 ColumnType.NUMBER,
@@ -122,19 +187,6 @@ public class XESExportServiceTest {
                                 Arrays.asList(null,
                                               null));
 
-        when(dataSetService.findEvents(anyVararg())).thenReturn(eventsDataSet);
-
-        String xml = xesExportService.export(XESProcessFilter.builder().withProcessId("processId").build());
-
-        final XESLogMarshaller marshaller = new XESLogMarshaller();
-
-        LogType log = marshaller.unmarshall(xml);
-        assertNotNull(log);
-        assertEquals(4, log.getExtension().size());
-        assertEquals(3, log.getStringOrDateOrInt().size());
-        assertEquals(2, log.getGlobal().size());
-        assertEquals(4, log.getClassifier().size());
-        assertEquals(1, log.getTrace().size());
-        assertEquals(2, log.getTrace().get(0).getEvent().size());
+        return eventsDataSet;
     }
 }